@@ -60,10 +60,57 @@ public interface Client {
    */
   CompletableFuture<BatchedQueryResult> executeQuery(String sql, Map<String, Object> properties);
 
+  /**
+   * Prepare a pull query, so that it can be executed many times without the server parsing and
+   * analyzing it each time. The literals in the WHERE clause of the query are its parameters.
+   *
+   * @param sql statement of pull query to prepare.
+   * @return the prepared query.
+   */
+  CompletableFuture<PreparedQuery> prepareQuery(String sql);
+
+  /**
+   * Prepare a pull query, so that it can be executed many times without the server parsing and
+   * analyzing it each time. The literals in the WHERE clause of the query are its parameters.
+   *
+   * @param sql statement of pull query to prepare.
+   * @param properties query properties.
+   * @return the prepared query.
+   */
+  CompletableFuture<PreparedQuery> prepareQuery(String sql, Map<String, Object> properties);
+
+  /**
+   * Execute a prepared query and receive the results one row at a time.
+   *
+   * @param query the prepared query to execute.
+   * @param parameters values to bind to the parameters of the query, in order.
+   * @return query result.
+   */
+  CompletableFuture<StreamedQueryResult> streamQuery(PreparedQuery query, List<Object> parameters);
+
+  /**
+   * Execute a prepared query and receive all result rows together, once the query has completed.
+   *
+   * @param query the prepared query to execute.
+   * @param parameters values to bind to the parameters of the query, in order.
+   * @return query result.
+   */
+  CompletableFuture<BatchedQueryResult> executeQuery(PreparedQuery query, List<Object> parameters);
+
   CompletableFuture<Void> insertInto(String streamName, Map<String, Object> row);
 
   Publisher<InsertAck> streamInserts(String streamName, Publisher<List<Object>> insertsPublisher);
 
+  /**
+   * Streamed queries, and other requests, are multiplexed over a pool of HTTP/2 connections. A
+   * new connection is only opened once each existing connection has as many streams open as it
+   * allows. See {@link ClientOptions#setMaxConnections} and
+   * {@link ClientOptions#setMaxStreamsPerConnection}.
+   *
+   * @return metrics of the streams on each of the client's open connections.
+   */
+  List<ConnectionMetrics> connectionMetrics();
+
   void close();
 
   static Client create(ClientOptions clientOptions) {
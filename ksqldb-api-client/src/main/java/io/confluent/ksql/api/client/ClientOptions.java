@@ -41,6 +41,16 @@ public interface ClientOptions {
 
   ClientOptions setExecuteQueryMaxResultRows(int maxRows);
 
+  ClientOptions setUseBinaryEncoding(boolean useBinaryEncoding);
+
+  ClientOptions setUseCompression(boolean useCompression);
+
+  ClientOptions setMaxConnections(int maxConnections);
+
+  ClientOptions setMaxStreamsPerConnection(int maxStreamsPerConnection);
+
+  ClientOptions setStreamWindowSize(int streamWindowSize);
+
   String getHost();
 
   int getPort();
@@ -67,6 +77,16 @@ public interface ClientOptions {
 
   int getExecuteQueryMaxResultRows();
 
+  boolean isUseBinaryEncoding();
+
+  boolean isUseCompression();
+
+  int getMaxConnections();
+
+  int getMaxStreamsPerConnection();
+
+  int getStreamWindowSize();
+
   ClientOptions copy();
 
   static ClientOptions create() {
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.client;
+
+/**
+ * A snapshot of the streams on one of the HTTP/2 connections that the client multiplexes its
+ * requests over.
+ */
+public interface ConnectionMetrics {
+
+  /**
+   * @return the local address of the connection.
+   */
+  String localAddress();
+
+  /**
+   * @return the server address of the connection.
+   */
+  String remoteAddress();
+
+  /**
+   * @return the number of streams, i.e. requests, currently open on the connection.
+   */
+  int openStreams();
+
+  /**
+   * @return the total number of streams opened on the connection.
+   */
+  long totalStreams();
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.client;
+
+/**
+ * A pull query that the server has parsed and analyzed once, and which can then be executed
+ * many times with different parameter values.
+ *
+ * <p>The literals in the WHERE clause of the prepared statement are its parameters, in the order
+ * they appear in the statement. For example, {@code SELECT * FROM T WHERE ID = 'a';} has a single
+ * parameter.
+ */
+public interface PreparedQuery {
+
+  /**
+   * @return the server-side id of the prepared query.
+   */
+  String id();
+
+  /**
+   * @return the number of parameter values that must be supplied on each execution.
+   */
+  int parameterCount();
+
+}
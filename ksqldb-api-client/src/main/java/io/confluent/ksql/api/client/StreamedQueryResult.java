@@ -50,6 +50,20 @@ public interface StreamedQueryResult extends Publisher<Row> {
 
   boolean isComplete();
 
+  /**
+   * Returns the progress token for the position following the rows already consumed from this
+   * result, by polling or by the subscriber.
+   *
+   * <p>To resume the push query after the connection to the server is lost, stream the same query
+   * again, passing the token in the {@code ksql.query.push.resume.token} property. The new query
+   * then starts with the row following the last row consumed before the token. Only push queries
+   * that the server runs with a plain consumer, i.e. that only filter and project a single
+   * stream while {@code ksql.query.push.lightweight.enabled} is set, report progress.
+   *
+   * @return the token, or null if the query reports no progress or has yet to report any.
+   */
+  String progressToken();
+
   void close();
 
 }
\ No newline at end of file
@@ -15,23 +15,30 @@
 
 package io.confluent.ksql.api.client.impl;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT;
 import static io.netty.handler.codec.http.HttpHeaderNames.AUTHORIZATION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 
 import io.confluent.ksql.api.client.BatchedQueryResult;
 import io.confluent.ksql.api.client.Client;
 import io.confluent.ksql.api.client.ClientOptions;
+import io.confluent.ksql.api.client.ConnectionMetrics;
 import io.confluent.ksql.api.client.InsertAck;
+import io.confluent.ksql.api.client.PreparedQuery;
 import io.confluent.ksql.api.client.StreamedQueryResult;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec;
 import io.confluent.ksql.rest.client.KsqlRestClientException;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.SocketAddress;
@@ -46,12 +53,19 @@ import org.reactivestreams.Publisher;
 
 public class ClientImpl implements Client {
 
+  // The number of streams a ksqlDB server allows on each connection, by default:
+  private static final int DEFAULT_SERVER_MAX_STREAMS = 100;
+  private static final String DELIMITED_CONTENT_TYPE = "application/vnd.ksqlapi.delimited.v1";
+  private static final String BINARY_OR_DELIMITED =
+      BinaryQueryStreamCodec.CONTENT_TYPE + ", " + DELIMITED_CONTENT_TYPE + ";q=0.9";
+
   private final ClientOptions clientOptions;
   private final Vertx vertx;
   private final HttpClient httpClient;
   private final SocketAddress serverSocketAddress;
   private final String basicAuthHeader;
   private final boolean ownedVertx;
+  private final ConnectionStreamTracker streamTracker = new ConnectionStreamTracker();
 
   public ClientImpl(final ClientOptions clientOptions) {
     this(clientOptions, Vertx.vertx(), true);
@@ -82,7 +96,14 @@ public class ClientImpl implements Client {
       final String sql,
       final Map<String, Object> properties
   ) {
-    return makeQueryRequest(sql, properties, StreamQueryResponseHandler::new);
+    return makeQueryRequest(
+        "/query-stream",
+        new JsonObject()
+            .put("sql", sql)
+            .put("properties", properties)
+            .put("progressTokens", true),
+        StreamQueryResponseHandler::new
+    );
   }
 
   @Override
@@ -96,9 +117,76 @@ public class ClientImpl implements Client {
       final Map<String, Object> properties
   ) {
     return makeQueryRequest(
-        sql,
-        properties,
-        (context, recordParser, cf) -> new ExecuteQueryResponseHandler(
+        "/query-stream",
+        new JsonObject().put("sql", sql).put("properties", properties),
+        (context, recordParser, cf, closeStream) -> new ExecuteQueryResponseHandler(
+            context, recordParser, cf, clientOptions.getExecuteQueryMaxResultRows())
+    );
+  }
+
+  @Override
+  public CompletableFuture<PreparedQuery> prepareQuery(final String sql) {
+    return prepareQuery(sql, Collections.emptyMap());
+  }
+
+  @Override
+  public CompletableFuture<PreparedQuery> prepareQuery(
+      final String sql,
+      final Map<String, Object> properties
+  ) {
+    final JsonObject requestBody = new JsonObject().put("sql", sql).put("properties", properties);
+
+    final CompletableFuture<PreparedQuery> cf = new CompletableFuture<>();
+
+    HttpClientRequest request = httpClient.request(HttpMethod.POST,
+        serverSocketAddress, clientOptions.getPort(), clientOptions.getHost(),
+        "/query-stream/prepare",
+        response -> {
+          final Runnable streamClosed =
+              streamTracker.streamOpened(response.request().connection());
+          if (response.statusCode() == OK.code()) {
+            response.bodyHandler(buffer -> {
+              streamClosed.run();
+              final JsonObject prepared = buffer.toJsonObject();
+              cf.complete(new PreparedQueryImpl(
+                  prepared.getString("preparedQueryId"),
+                  prepared.getInteger("parameterCount")
+              ));
+            });
+          } else {
+            handleErrorResponse(response, cf, streamClosed);
+          }
+        })
+        .exceptionHandler(cf::completeExceptionally);
+    if (clientOptions.isUseBasicAuth()) {
+      request = configureBasicAuth(request);
+    }
+    request.end(requestBody.toBuffer());
+
+    return cf;
+  }
+
+  @Override
+  public CompletableFuture<StreamedQueryResult> streamQuery(
+      final PreparedQuery query,
+      final List<Object> parameters
+  ) {
+    return makeQueryRequest(
+        "/query-stream/execute",
+        preparedQueryRequestBody(query, parameters),
+        StreamQueryResponseHandler::new
+    );
+  }
+
+  @Override
+  public CompletableFuture<BatchedQueryResult> executeQuery(
+      final PreparedQuery query,
+      final List<Object> parameters
+  ) {
+    return makeQueryRequest(
+        "/query-stream/execute",
+        preparedQueryRequestBody(query, parameters),
+        (context, recordParser, cf, closeStream) -> new ExecuteQueryResponseHandler(
             context, recordParser, cf, clientOptions.getExecuteQueryMaxResultRows())
     );
   }
@@ -115,6 +203,11 @@ public class ClientImpl implements Client {
     return null; // not yet implemented
   }
 
+  @Override
+  public List<ConnectionMetrics> connectionMetrics() {
+    return streamTracker.snapshot();
+  }
+
   @Override
   public void close() {
     httpClient.close();
@@ -125,69 +218,121 @@ public class ClientImpl implements Client {
 
   @FunctionalInterface
   private interface ResponseHandlerSupplier<T> {
-    QueryResponseHandler<T> get(Context ctx, RecordParser recordParser, CompletableFuture<T> cf);
+    QueryResponseHandler<T> get(
+        Context ctx,
+        RecordParser recordParser,
+        CompletableFuture<T> cf,
+        Runnable closeStream
+    );
   }
 
   private <T> CompletableFuture<T> makeQueryRequest(
-      final String sql,
-      final Map<String, Object> properties,
+      final String path,
+      final JsonObject requestBody,
       final ResponseHandlerSupplier<T> responseHandlerSupplier
   ) {
 
-    final JsonObject requestBody = new JsonObject().put("sql", sql).put("properties", properties);
-
     final CompletableFuture<T> cf = new CompletableFuture<>();
 
     HttpClientRequest request = httpClient.request(HttpMethod.POST,
         serverSocketAddress, clientOptions.getPort(), clientOptions.getHost(),
-        "/query-stream",
+        path,
         response -> handleResponse(response, cf, responseHandlerSupplier))
         .exceptionHandler(cf::completeExceptionally);
     if (clientOptions.isUseBasicAuth()) {
       request = configureBasicAuth(request);
     }
+    if (clientOptions.isUseBinaryEncoding()) {
+      // Servers of earlier versions only produce the delimited format:
+      request = request.putHeader(ACCEPT.toString(), BINARY_OR_DELIMITED);
+    }
     request.end(requestBody.toBuffer());
 
     return cf;
   }
 
+  private static JsonObject preparedQueryRequestBody(
+      final PreparedQuery query,
+      final List<Object> parameters
+  ) {
+    return new JsonObject()
+        .put("preparedQueryId", query.id())
+        .put("parameters", new JsonArray(parameters));
+  }
+
   private HttpClientRequest configureBasicAuth(final HttpClientRequest request) {
     return request.putHeader(AUTHORIZATION.toString(), basicAuthHeader);
   }
 
-  private static <T> void handleResponse(
+  private <T> void handleResponse(
       final HttpClientResponse response,
       final CompletableFuture<T> cf,
       final ResponseHandlerSupplier<T> responseHandlerSupplier) {
+    final Runnable streamClosed = streamTracker.streamOpened(response.request().connection());
     if (response.statusCode() == OK.code()) {
-      final RecordParser recordParser = RecordParser.newDelimited("\n", response);
+      final String contentType = response.getHeader(CONTENT_TYPE.toString());
+      final boolean binary = contentType != null
+          && contentType.startsWith(BinaryQueryStreamCodec.CONTENT_TYPE);
+      final RecordParser recordParser = binary
+          ? RecordParser.newFixed(BinaryQueryStreamCodec.FRAME_HEADER_SIZE, response)
+          : RecordParser.newDelimited("\n", response);
+      // Resetting the stream ends the request without closing the connection it shares:
+      final Runnable closeStream = () -> {
+        response.request().reset();
+        streamClosed.run();
+      };
       final QueryResponseHandler<T> responseHandler =
-          responseHandlerSupplier.get(Vertx.currentContext(), recordParser, cf);
+          responseHandlerSupplier.get(Vertx.currentContext(), recordParser, cf, closeStream);
 
-      recordParser.handler(responseHandler::handleBodyBuffer);
-      recordParser.endHandler(responseHandler::handleBodyEnd);
-      recordParser.exceptionHandler(responseHandler::handleException);
-    } else {
-      response.bodyHandler(buffer -> {
-        final JsonObject errorResponse = buffer.toJsonObject();
-        cf.completeExceptionally(new KsqlRestClientException(String.format(
-            "Received %d response from server: %s. Error code: %d",
-            response.statusCode(),
-            errorResponse.getString("message"),
-            errorResponse.getInteger("errorCode")
-        )));
+      if (binary) {
+        recordParser.handler(responseHandler::handleBinaryBodyBuffer);
+      } else {
+        recordParser.handler(responseHandler::handleBodyBuffer);
+      }
+      recordParser.endHandler(v -> {
+        streamClosed.run();
+        responseHandler.handleBodyEnd(v);
       });
+      recordParser.exceptionHandler(t -> {
+        streamClosed.run();
+        responseHandler.handleException(t);
+      });
+    } else {
+      handleErrorResponse(response, cf, streamClosed);
     }
   }
 
+  private static <T> void handleErrorResponse(
+      final HttpClientResponse response,
+      final CompletableFuture<T> cf,
+      final Runnable streamClosed
+  ) {
+    response.bodyHandler(buffer -> {
+      streamClosed.run();
+      final JsonObject errorResponse = buffer.toJsonObject();
+      cf.completeExceptionally(new KsqlRestClientException(String.format(
+          "Received %d response from server: %s. Error code: %d",
+          response.statusCode(),
+          errorResponse.getString("message"),
+          errorResponse.getInteger("errorCode")
+      )));
+    });
+  }
+
   private static HttpClient createHttpClient(final Vertx vertx, final ClientOptions clientOptions) {
     HttpClientOptions options = new HttpClientOptions()
         .setSsl(clientOptions.isUseTls())
         .setUseAlpn(true)
         .setProtocolVersion(HttpVersion.HTTP_2)
         .setVerifyHost(clientOptions.isVerifyHost())
+        .setTryUseCompression(clientOptions.isUseCompression())
         .setDefaultHost(clientOptions.getHost())
-        .setDefaultPort(clientOptions.getPort());
+        .setDefaultPort(clientOptions.getPort())
+        .setHttp2MaxPoolSize(clientOptions.getMaxConnections())
+        .setHttp2MultiplexingLimit(clientOptions.getMaxStreamsPerConnection())
+        .setInitialSettings(
+            new Http2Settings().setInitialWindowSize(clientOptions.getStreamWindowSize()))
+        .setHttp2ConnectionWindowSize(connectionWindowSize(clientOptions));
     if (clientOptions.isUseTls() && !clientOptions.getTrustStore().isEmpty()) {
       options = options.setTrustStoreOptions(
           new JksOptions()
@@ -205,6 +350,19 @@ public class ClientImpl implements Client {
     return vertx.createHttpClient(options);
   }
 
+  /**
+   * Sizes the window shared by the streams of a connection so that every stream can fill its own
+   * window. Otherwise, the rows buffered for queries that are paused, as their subscribers are not
+   * keeping up, could use up the shared window and stall every other query on the connection.
+   */
+  private static int connectionWindowSize(final ClientOptions clientOptions) {
+    final int maxStreams = clientOptions.getMaxStreamsPerConnection() > 0
+        ? clientOptions.getMaxStreamsPerConnection()
+        : DEFAULT_SERVER_MAX_STREAMS;
+    return (int) Math.min(
+        (long) clientOptions.getStreamWindowSize() * maxStreams, Integer.MAX_VALUE);
+  }
+
   private static String createBasicAuthHeader(final ClientOptions clientOptions) {
     if (!clientOptions.isUseBasicAuth()) {
       return "";
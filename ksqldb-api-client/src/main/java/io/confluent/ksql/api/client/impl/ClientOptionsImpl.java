@@ -34,6 +34,14 @@ public class ClientOptionsImpl implements ClientOptions {
   private String basicAuthUsername;
   private String basicAuthPassword;
   private int executeQueryMaxResultRows = 10000;
+  private boolean useBinaryEncoding = false;
+  private boolean useCompression = false;
+  // Queries are multiplexed over each connection, up to the stream limit, before another opens:
+  private int maxConnections = 5;
+  // -1 uses the limit set by the server:
+  private int maxStreamsPerConnection = -1;
+  // The HTTP/2 default window:
+  private int streamWindowSize = 65535;
 
   public ClientOptionsImpl() {
   }
@@ -48,7 +56,12 @@ public class ClientOptionsImpl implements ClientOptions {
       final String trustStorePath, final String trustStorePassword,
       final String keyStorePath, final String keyStorePassword,
       final String basicAuthUsername, final String basicAuthPassword,
-      final int executeQueryMaxResultRows) {
+      final int executeQueryMaxResultRows,
+      final boolean useBinaryEncoding,
+      final boolean useCompression,
+      final int maxConnections,
+      final int maxStreamsPerConnection,
+      final int streamWindowSize) {
     this.host = Objects.requireNonNull(host);
     this.port = port;
     this.useTls = useTls;
@@ -63,6 +76,11 @@ public class ClientOptionsImpl implements ClientOptions {
     this.basicAuthUsername = basicAuthUsername;
     this.basicAuthPassword = basicAuthPassword;
     this.executeQueryMaxResultRows = executeQueryMaxResultRows;
+    this.useBinaryEncoding = useBinaryEncoding;
+    this.useCompression = useCompression;
+    this.maxConnections = maxConnections;
+    this.maxStreamsPerConnection = maxStreamsPerConnection;
+    this.streamWindowSize = streamWindowSize;
   }
 
   @Override
@@ -133,6 +151,36 @@ public class ClientOptionsImpl implements ClientOptions {
     return this;
   }
 
+  @Override
+  public ClientOptions setUseBinaryEncoding(final boolean useBinaryEncoding) {
+    this.useBinaryEncoding = useBinaryEncoding;
+    return this;
+  }
+
+  @Override
+  public ClientOptions setUseCompression(final boolean useCompression) {
+    this.useCompression = useCompression;
+    return this;
+  }
+
+  @Override
+  public ClientOptions setMaxConnections(final int maxConnections) {
+    this.maxConnections = maxConnections;
+    return this;
+  }
+
+  @Override
+  public ClientOptions setMaxStreamsPerConnection(final int maxStreamsPerConnection) {
+    this.maxStreamsPerConnection = maxStreamsPerConnection;
+    return this;
+  }
+
+  @Override
+  public ClientOptions setStreamWindowSize(final int streamWindowSize) {
+    this.streamWindowSize = streamWindowSize;
+    return this;
+  }
+
   @Override
   public String getHost() {
     return host == null ? "" : host;
@@ -198,6 +246,31 @@ public class ClientOptionsImpl implements ClientOptions {
     return executeQueryMaxResultRows;
   }
 
+  @Override
+  public boolean isUseBinaryEncoding() {
+    return useBinaryEncoding;
+  }
+
+  @Override
+  public boolean isUseCompression() {
+    return useCompression;
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  @Override
+  public int getMaxStreamsPerConnection() {
+    return maxStreamsPerConnection;
+  }
+
+  @Override
+  public int getStreamWindowSize() {
+    return streamWindowSize;
+  }
+
   @Override
   public ClientOptions copy() {
     return new ClientOptionsImpl(
@@ -208,6 +281,11 @@ public class ClientOptionsImpl implements ClientOptions {
         trustStorePath, trustStorePassword,
         keyStorePath, keyStorePassword,
         basicAuthUsername, basicAuthPassword,
-        executeQueryMaxResultRows);
+        executeQueryMaxResultRows,
+        useBinaryEncoding,
+        useCompression,
+        maxConnections,
+        maxStreamsPerConnection,
+        streamWindowSize);
   }
 }
\ No newline at end of file
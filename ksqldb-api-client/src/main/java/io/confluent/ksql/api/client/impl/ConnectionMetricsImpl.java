@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.client.impl;
+
+import io.confluent.ksql.api.client.ConnectionMetrics;
+import java.util.Objects;
+
+public class ConnectionMetricsImpl implements ConnectionMetrics {
+
+  private final String localAddress;
+  private final String remoteAddress;
+  private final int openStreams;
+  private final long totalStreams;
+
+  public ConnectionMetricsImpl(
+      final String localAddress,
+      final String remoteAddress,
+      final int openStreams,
+      final long totalStreams
+  ) {
+    this.localAddress = Objects.requireNonNull(localAddress);
+    this.remoteAddress = Objects.requireNonNull(remoteAddress);
+    this.openStreams = openStreams;
+    this.totalStreams = totalStreams;
+  }
+
+  @Override
+  public String localAddress() {
+    return localAddress;
+  }
+
+  @Override
+  public String remoteAddress() {
+    return remoteAddress;
+  }
+
+  @Override
+  public int openStreams() {
+    return openStreams;
+  }
+
+  @Override
+  public long totalStreams() {
+    return totalStreams;
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionMetrics{"
+        + "localAddress='" + localAddress + '\''
+        + ", remoteAddress='" + remoteAddress + '\''
+        + ", openStreams=" + openStreams
+        + ", totalStreams=" + totalStreams
+        + '}';
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.client.impl;
+
+import io.confluent.ksql.api.client.ConnectionMetrics;
+import io.vertx.core.http.HttpConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the streams opened on each of the connections of a client, until the connection closes.
+ */
+class ConnectionStreamTracker {
+
+  private final Map<HttpConnection, StreamCounts> connections = new ConcurrentHashMap<>();
+
+  /**
+   * Records a stream opened on the connection.
+   *
+   * @param connection the connection.
+   * @return the callback to run once the stream has closed. Runs after the first are ignored.
+   */
+  Runnable streamOpened(final HttpConnection connection) {
+    final StreamCounts newCounts = new StreamCounts();
+    final StreamCounts existing = connections.putIfAbsent(connection, newCounts);
+    if (existing == null) {
+      connection.closeHandler(v -> connections.remove(connection));
+    }
+
+    final StreamCounts counts = existing == null ? newCounts : existing;
+    counts.open.incrementAndGet();
+    counts.total.incrementAndGet();
+
+    final AtomicBoolean closed = new AtomicBoolean();
+    return () -> {
+      if (closed.compareAndSet(false, true)) {
+        counts.open.decrementAndGet();
+      }
+    };
+  }
+
+  List<ConnectionMetrics> snapshot() {
+    return connections.entrySet().stream()
+        .map(e -> new ConnectionMetricsImpl(
+            String.valueOf(e.getKey().localAddress()),
+            String.valueOf(e.getKey().remoteAddress()),
+            e.getValue().open.get(),
+            e.getValue().total.get()))
+        .collect(Collectors.toList());
+  }
+
+  private static final class StreamCounts {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicLong total = new AtomicLong();
+  }
+}
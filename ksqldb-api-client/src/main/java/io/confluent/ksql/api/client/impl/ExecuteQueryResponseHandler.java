@@ -63,7 +63,7 @@ public class ExecuteQueryResponseHandler extends QueryResponseHandler<BatchedQue
 
   @Override
   protected void handleRow(final Buffer buff) {
-    final JsonArray values = new JsonArray(buff);
+    final JsonArray values = decodeRow(buff);
     if (rows.size() < maxRows) {
       rows.add(new RowImpl(columnNames, columnTypes, values, columnNameToIndex));
     } else {
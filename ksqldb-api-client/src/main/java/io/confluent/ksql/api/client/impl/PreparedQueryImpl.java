@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.client.impl;
+
+import io.confluent.ksql.api.client.PreparedQuery;
+import java.util.Objects;
+
+public class PreparedQueryImpl implements PreparedQuery {
+
+  private final String id;
+  private final int parameterCount;
+
+  public PreparedQueryImpl(final String id, final int parameterCount) {
+    this.id = Objects.requireNonNull(id);
+    this.parameterCount = parameterCount;
+  }
+
+  @Override
+  public String id() {
+    return id;
+  }
+
+  @Override
+  public int parameterCount() {
+    return parameterCount;
+  }
+
+  @Override
+  public String toString() {
+    return "PreparedQuery{"
+        + "id='" + id + '\''
+        + ", parameterCount=" + parameterCount
+        + '}';
+  }
+}
@@ -16,11 +16,17 @@
 package io.confluent.ksql.api.client.impl;
 
 import io.confluent.ksql.api.client.util.JsonMapper;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec.ColumnEncoding;
 import io.confluent.ksql.api.server.protocol.QueryResponseMetadata;
+import io.confluent.ksql.rest.client.KsqlRestClientException;
 import io.confluent.ksql.util.VertxUtils;
 import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.parsetools.RecordParser;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 abstract class QueryResponseHandler<T> {
@@ -29,6 +35,9 @@ abstract class QueryResponseHandler<T> {
   protected final RecordParser recordParser;
   protected final CompletableFuture<T> cf;
   protected boolean hasReadArguments;
+  private boolean binary;
+  private List<ColumnEncoding> binaryEncodings;
+  private byte frameType;
 
   QueryResponseHandler(final Context context, final RecordParser recordParser,
       final CompletableFuture<T> cf) {
@@ -41,11 +50,34 @@ abstract class QueryResponseHandler<T> {
     checkContext();
     if (!hasReadArguments) {
       handleArgs(buff);
+    } else if (!binary && buff.length() > 0 && buff.getByte(0) == '{') {
+      handleObject(buff.toJsonObject());
     } else {
       handleRow(buff);
     }
   }
 
+  /**
+   * Handles a record of a response in the binary format, which is read as alternating frame
+   * headers and payloads: the record parser must start in fixed size mode, reading headers.
+   */
+  public void handleBinaryBodyBuffer(final Buffer buff) {
+    checkContext();
+    binary = true;
+    if (frameType == 0) {
+      frameType = buff.getByte(0);
+      final int payloadLength = buff.getInt(1);
+      if (payloadLength > 0) {
+        recordParser.fixedSizeMode(payloadLength);
+        return;
+      }
+      handleFrame(Buffer.buffer());
+    } else {
+      recordParser.fixedSizeMode(BinaryQueryStreamCodec.FRAME_HEADER_SIZE);
+      handleFrame(buff);
+    }
+  }
+
   public void handleException(final Throwable t) {
     checkContext();
     if (!cf.isDone()) {
@@ -68,10 +100,64 @@ abstract class QueryResponseHandler<T> {
 
   protected abstract void handleExceptionAfterFutureCompleted(Throwable t);
 
+  /**
+   * Called with each progress token of a push query whose progress tokens were requested.
+   *
+   * @param progressToken the token for the position following the rows already received.
+   */
+  protected void handleProgress(final String progressToken) {
+  }
+
   protected void checkContext() {
     VertxUtils.checkContext(context);
   }
 
+  /**
+   * @param buff the values of a row, as received from the server.
+   * @return the values of the row as JSON, whatever the format of the response.
+   */
+  protected JsonArray decodeRow(final Buffer buff) {
+    if (binaryEncodings == null) {
+      return new JsonArray(buff);
+    }
+    return BinaryQueryStreamCodec.decodeRow(binaryEncodings, buff);
+  }
+
+  private void handleFrame(final Buffer payload) {
+    final byte type = frameType;
+    frameType = 0;
+
+    switch (type) {
+      case BinaryQueryStreamCodec.METADATA_FRAME:
+      case BinaryQueryStreamCodec.ROW_FRAME:
+        handleBodyBuffer(payload);
+        break;
+      case BinaryQueryStreamCodec.ERROR_FRAME:
+        final JsonObject error = payload.toJsonObject();
+        handleException(new KsqlRestClientException(String.format(
+            "Received error from server: %s. Error code: %d",
+            error.getString("message"),
+            error.getInteger("errorCode")
+        )));
+        break;
+      case BinaryQueryStreamCodec.PROGRESS_FRAME:
+        handleObject(payload.toJsonObject());
+        break;
+      default:
+        handleException(new KsqlRestClientException("Unknown frame type: " + type));
+        break;
+    }
+  }
+
+  private void handleObject(final JsonObject object) {
+    final String progressToken = object.getString("progressToken");
+    if (progressToken != null) {
+      handleProgress(progressToken);
+    } else {
+      handleRow(object.toBuffer());
+    }
+  }
+
   private void handleArgs(final Buffer buff) {
     hasReadArguments = true;
 
@@ -84,6 +170,9 @@ abstract class QueryResponseHandler<T> {
       return;
     }
 
+    if (binary) {
+      binaryEncodings = BinaryQueryStreamCodec.columnEncodings(queryResponseMetadata.columnTypes);
+    }
     handleMetadata(queryResponseMetadata);
   }
 }
\ No newline at end of file
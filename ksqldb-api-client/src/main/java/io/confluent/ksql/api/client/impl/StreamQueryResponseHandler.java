@@ -25,24 +25,27 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.parsetools.RecordParser;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 public class StreamQueryResponseHandler extends QueryResponseHandler<StreamedQueryResult> {
 
   private StreamedQueryResultImpl queryResult;
   private Map<String, Integer> columnNameToIndex;
+  private final Runnable closeStream;
   private boolean paused;
 
   StreamQueryResponseHandler(final Context context, final RecordParser recordParser,
-      final CompletableFuture<StreamedQueryResult> cf) {
+      final CompletableFuture<StreamedQueryResult> cf, final Runnable closeStream) {
     super(context, recordParser, cf);
+    this.closeStream = Objects.requireNonNull(closeStream);
   }
 
   @Override
   protected void handleMetadata(final QueryResponseMetadata queryResponseMetadata) {
     this.queryResult = new StreamedQueryResultImpl(context, queryResponseMetadata.queryId,
         Collections.unmodifiableList(queryResponseMetadata.columnNames),
-        RowUtil.columnTypesFromStrings(queryResponseMetadata.columnTypes));
+        RowUtil.columnTypesFromStrings(queryResponseMetadata.columnTypes), closeStream);
     this.columnNameToIndex = RowUtil.valueToIndexMap(queryResponseMetadata.columnNames);
     cf.complete(queryResult);
   }
@@ -53,7 +56,7 @@ public class StreamQueryResponseHandler extends QueryResponseHandler<StreamedQue
       throw new IllegalStateException("handleRow called before metadata processed");
     }
 
-    final JsonArray values = new JsonArray(buff);
+    final JsonArray values = decodeRow(buff);
     final Row row = new RowImpl(
         queryResult.columnNames(),
         queryResult.columnTypes(),
@@ -68,6 +71,11 @@ public class StreamQueryResponseHandler extends QueryResponseHandler<StreamedQue
     }
   }
 
+  @Override
+  protected void handleProgress(final String progressToken) {
+    queryResult.acceptProgress(progressToken);
+  }
+
   @Override
   protected void handleBodyEnd() {
     queryResult.complete();
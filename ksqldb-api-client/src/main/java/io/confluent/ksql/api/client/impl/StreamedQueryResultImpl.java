@@ -20,7 +20,10 @@ import io.confluent.ksql.api.client.Row;
 import io.confluent.ksql.api.client.StreamedQueryResult;
 import io.confluent.ksql.reactive.BufferedPublisher;
 import io.vertx.core.Context;
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import org.reactivestreams.Subscriber;
 
@@ -30,20 +33,29 @@ class StreamedQueryResultImpl extends BufferedPublisher<Row> implements Streamed
   private final List<String> columnNames;
   private final List<ColumnType> columnTypes;
   private final PollableSubscriber pollableSubscriber;
+  private final Runnable closeStream;
+  private final Object progressLock = new Object();
+  private final Queue<ReceivedProgress> receivedProgress = new ArrayDeque<>();
+  private long rowsReceived;
+  private long rowsConsumed;
+  private String progressToken;
   private volatile boolean polling;
+  private volatile boolean closed;
   private boolean subscribing;
 
   StreamedQueryResultImpl(
       final Context context,
       final String queryId,
       final List<String> columnNames,
-      final List<ColumnType> columnTypes
+      final List<ColumnType> columnTypes,
+      final Runnable closeStream
   ) {
     super(context);
     this.queryId = queryId;
     this.columnNames = columnNames;
     this.columnTypes = columnTypes;
     this.pollableSubscriber = new PollableSubscriber(ctx, this::sendError);
+    this.closeStream = Objects.requireNonNull(closeStream);
   }
 
   @Override
@@ -87,7 +99,25 @@ class StreamedQueryResultImpl extends BufferedPublisher<Row> implements Streamed
       subscribing = false;
       polling = true;
     }
-    return pollableSubscriber.poll(timeout, timeUnit);
+    final Row row = pollableSubscriber.poll(timeout, timeUnit);
+    if (row != null) {
+      onConsumed();
+    }
+    return row;
+  }
+
+  @Override
+  public boolean accept(final Row row) {
+    rowsReceived++;
+    return super.accept(row);
+  }
+
+  @Override
+  protected void doOnNext(final Row row) {
+    super.doOnNext(row);
+    if (getSubscriber() != pollableSubscriber) {
+      onConsumed();
+    }
   }
 
   @Override
@@ -95,13 +125,52 @@ class StreamedQueryResultImpl extends BufferedPublisher<Row> implements Streamed
     return super.isComplete();
   }
 
+  @Override
+  public String progressToken() {
+    synchronized (progressLock) {
+      while (!receivedProgress.isEmpty() && receivedProgress.peek().rowsReceived <= rowsConsumed) {
+        progressToken = receivedProgress.poll().progressToken;
+      }
+      return progressToken;
+    }
+  }
+
+  void acceptProgress(final String progressToken) {
+    checkContext();
+    synchronized (progressLock) {
+      receivedProgress.add(new ReceivedProgress(rowsReceived, progressToken));
+    }
+  }
+
   public void handleError(final Exception e) {
-    sendError(e);
+    if (!closed) {
+      sendError(e);
+    }
   }
 
   @Override
   public void close() {
+    closed = true;
     pollableSubscriber.close();
+    // Only this query's stream is closed, as other queries may share its connection:
+    ctx.runOnContext(v -> closeStream.run());
+  }
+
+  private void onConsumed() {
+    synchronized (progressLock) {
+      rowsConsumed++;
+    }
+  }
+
+  private static final class ReceivedProgress {
+
+    private final long rowsReceived;
+    private final String progressToken;
+
+    ReceivedProgress(final long rowsReceived, final String progressToken) {
+      this.rowsReceived = rowsReceived;
+      this.progressToken = progressToken;
+    }
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * Runs the client tests with the server encoding query responses in the binary format.
+ */
+public class ClientBinaryEncodingTest extends ClientTest {
+
+  private static final String DELIMITED_CONTENT_TYPE = "application/vnd.ksqlapi.delimited.v1";
+
+  @Override
+  protected ClientOptions createJavaClientOptions() {
+    return super.createJavaClientOptions()
+        .setUseBinaryEncoding(true);
+  }
+
+  @Test
+  public void shouldFallBackToDelimitedFormatIfServerOnlyProducesDelimited() throws Exception {
+    // Given:
+    final AtomicReference<String> accept = new AtomicReference<>();
+    final Router router = Router.router(vertx);
+    router.route(HttpMethod.POST, "/query-stream")
+        .produces(DELIMITED_CONTENT_TYPE)
+        .handler(routingContext -> {
+          accept.set(routingContext.request().getHeader("Accept"));
+          routingContext.response()
+              .putHeader("Content-Type", DELIMITED_CONTENT_TYPE)
+              .end(new JsonObject()
+                  .put("columnNames", new JsonArray().add("name"))
+                  .put("columnTypes", new JsonArray().add("STRING"))
+                  .encode() + "\n"
+                  + new JsonArray().add("foo").encode() + "\n");
+        });
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx.createHttpServer().requestHandler(router).listen(0, "localhost", ar -> {
+      if (ar.succeeded()) {
+        listening.complete(ar.result());
+      } else {
+        listening.completeExceptionally(ar.cause());
+      }
+    });
+    final HttpServer delimitedServer = listening.get();
+    final Client delimitedClient = Client.create(
+        createJavaClientOptions().setPort(delimitedServer.actualPort()), vertx);
+
+    try {
+      // When:
+      final List<Row> rows = delimitedClient.executeQuery(DEFAULT_PULL_QUERY).get().rows();
+
+      // Then:
+      assertThat(accept.get(), is(BinaryQueryStreamCodec.CONTENT_TYPE + ", "
+          + DELIMITED_CONTENT_TYPE + ";q=0.9"));
+      assertThat(rows, hasSize(1));
+      assertThat(rows.get(0).getString("name"), is("foo"));
+    } finally {
+      delimitedClient.close();
+      delimitedServer.close();
+    }
+  }
+}
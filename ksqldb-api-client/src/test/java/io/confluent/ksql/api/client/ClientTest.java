@@ -27,6 +27,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThrows;
 
 import io.confluent.ksql.api.BaseApiTest;
+import io.confluent.ksql.api.client.impl.PreparedQueryImpl;
 import io.confluent.ksql.api.client.util.RowUtil;
 import io.confluent.ksql.api.server.PushQueryId;
 import io.confluent.ksql.parser.exception.ParseFailedException;
@@ -127,6 +128,39 @@ public class ClientTest extends BaseApiTest {
     assertThat(streamedQueryResult.isComplete(), is(false));
   }
 
+  @Test
+  public void shouldMultiplexPushQueriesOverOneConnection() throws Exception {
+    // When:
+    for (int i = 0; i < 3; i++) {
+      javaClient.streamQuery(DEFAULT_PUSH_QUERY, DEFAULT_PUSH_QUERY_REQUEST_PROPERTIES).get();
+    }
+
+    // Then:
+    final List<ConnectionMetrics> metrics = javaClient.connectionMetrics();
+    assertThat(metrics, hasSize(1));
+    assertThat(metrics.get(0).openStreams(), is(3));
+    assertThat(server.getQueryIDs(), hasSize(3));
+  }
+
+  @Test
+  public void shouldCloseOnlyStreamOfClosedPushQuery() throws Exception {
+    // Given:
+    final StreamedQueryResult closed =
+        javaClient.streamQuery(DEFAULT_PUSH_QUERY, DEFAULT_PUSH_QUERY_REQUEST_PROPERTIES).get();
+    javaClient.streamQuery(DEFAULT_PUSH_QUERY, DEFAULT_PUSH_QUERY_REQUEST_PROPERTIES).get();
+
+    // When:
+    closed.close();
+
+    // Then:
+    assertThatEventually(() -> server.getQueryIDs(), hasSize(1));
+    assertThat(server.getQueryIDs().contains(new PushQueryId(closed.queryID())), is(false));
+    final List<ConnectionMetrics> metrics = javaClient.connectionMetrics();
+    assertThat(metrics, hasSize(1));
+    assertThat(metrics.get(0).openStreams(), is(1));
+    assertThat(metrics.get(0).totalStreams(), is(2L));
+  }
+
   @Test
   public void shouldStreamPullQueryAsync() throws Exception {
     // When
@@ -318,6 +352,64 @@ public class ClientTest extends BaseApiTest {
     assertThat(e.getCause().getMessage(), containsString("invalid query blah"));
   }
 
+  @Test
+  public void shouldExecutePreparedPullQuery() throws Exception {
+    // Given
+    final PreparedQuery preparedQuery = javaClient.prepareQuery(DEFAULT_PULL_QUERY).get();
+
+    // When
+    final BatchedQueryResult batchedQueryResult =
+        javaClient.executeQuery(preparedQuery, Collections.singletonList("5678")).get();
+
+    // Then
+    assertThat(preparedQuery.parameterCount(), is(1));
+    assertThat(batchedQueryResult.columnNames(), is(DEFAULT_COLUMN_NAMES));
+    assertThat(batchedQueryResult.columnTypes(), is(DEFAULT_COLUMN_TYPES));
+    assertThat(batchedQueryResult.rows(), hasSize(DEFAULT_ROWS.size()));
+    assertThat(testEndpoints.getLastParameters(), is(Collections.singletonList("5678")));
+
+    verifyPullQueryServerState();
+  }
+
+  @Test
+  public void shouldStreamPreparedPullQuery() throws Exception {
+    // Given
+    final PreparedQuery preparedQuery = javaClient.prepareQuery(DEFAULT_PULL_QUERY).get();
+
+    // When
+    final StreamedQueryResult streamedQueryResult =
+        javaClient.streamQuery(preparedQuery, Collections.singletonList("5678")).get();
+
+    // Then
+    assertThat(streamedQueryResult.columnNames(), is(DEFAULT_COLUMN_NAMES));
+    assertThat(streamedQueryResult.columnTypes(), is(DEFAULT_COLUMN_TYPES));
+
+    shouldDeliver(streamedQueryResult, DEFAULT_ROWS.size(), true);
+
+    assertThat(testEndpoints.getLastParameters(), is(Collections.singletonList("5678")));
+
+    verifyPullQueryServerState();
+
+    assertThatEventually(streamedQueryResult::isComplete, is(true));
+  }
+
+  @Test
+  public void shouldHandleErrorResponseFromExecutingUnknownPreparedQuery() {
+    // Given
+    final PreparedQuery preparedQuery = new PreparedQueryImpl("unknown", 1);
+
+    // When
+    final Exception e = assertThrows(
+        ExecutionException.class, // thrown from .get() when the future completes exceptionally
+        () -> javaClient.executeQuery(preparedQuery, Collections.singletonList("5678")).get()
+    );
+
+    // Then
+    assertThat(e.getCause(), instanceOf(KsqlRestClientException.class));
+    assertThat(e.getCause().getMessage(), containsString("Received 400 response from server"));
+    assertThat(e.getCause().getMessage(), containsString("No prepared query with id unknown"));
+  }
+
   protected Client createJavaClient() {
     return Client.create(createJavaClientOptions(), vertx);
   }
@@ -15,11 +15,21 @@
 
 package io.confluent.ksql.api.client.impl;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import io.confluent.ksql.api.client.Row;
 import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,12 +45,15 @@ public class StreamedQueryResultImplTest {
   private Context context;
   @Mock
   private Subscriber<Row> subscriber;
+  @Mock
+  private Runnable closeStream;
 
   private StreamedQueryResultImpl queryResult;
 
   @Before
   public void setUp() {
-    queryResult = new StreamedQueryResultImpl(context, "queryId", Collections.emptyList(), Collections.emptyList());
+    queryResult = new StreamedQueryResultImpl(
+        context, "queryId", Collections.emptyList(), Collections.emptyList(), closeStream);
   }
 
   @Test
@@ -60,4 +73,50 @@ public class StreamedQueryResultImplTest {
     // When / Then
     assertThrows(IllegalStateException.class, () -> queryResult.poll());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldCloseStreamOnContextOnClose() {
+    // Given:
+    doAnswer(inv -> {
+      inv.<Handler<Void>>getArgument(0).handle(null);
+      return null;
+    }).when(context).runOnContext(any());
+
+    // When:
+    queryResult.close();
+
+    // Then:
+    verify(closeStream).run();
+  }
+
+  @Test
+  public void shouldReturnProgressTokenOnceRowsBeforeItAreConsumed() throws Exception {
+    final Vertx vertx = Vertx.vertx();
+    try {
+      // Given:
+      final Context vertxContext = vertx.getOrCreateContext();
+      final StreamedQueryResultImpl result = new StreamedQueryResultImpl(
+          vertxContext, "queryId", Collections.emptyList(), Collections.emptyList(), closeStream);
+      final Row row1 = mock(Row.class);
+      final CompletableFuture<Void> received = new CompletableFuture<>();
+      vertxContext.runOnContext(v -> {
+        result.accept(row1);
+        result.acceptProgress("0:1");
+        result.accept(mock(Row.class));
+        result.acceptProgress("0:2");
+        received.complete(null);
+      });
+      received.get(10, TimeUnit.SECONDS);
+      assertThat(result.progressToken(), is(nullValue()));
+
+      // When:
+      final Row polled = result.poll(10, TimeUnit.SECONDS);
+
+      // Then:
+      assertThat(polled, is(row1));
+      assertThat(result.progressToken(), is("0:1"));
+    } finally {
+      vertx.close();
+    }
+  }
+}
@@ -32,7 +32,6 @@ import io.confluent.ksql.util.Pair;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collections;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -118,15 +117,23 @@ public class SerdeBenchmark {
     @Param({"JSON", "Avro"})
     public String serializationFormat;
 
+    // Whether rows are written and read directly, rather than via Connect structs:
+    @Param({"true", "false"})
+    public boolean directRowSerde;
+
     @Setup(Level.Iteration)
     public void setUp(final SchemaAndGenericRowState rowState) {
+      final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of(
+          KsqlConfig.KSQL_SERDE_DIRECT_ROW_ENABLED_CONFIG, directRowSerde
+      ));
+
       final Serde<GenericRow> serde;
       switch (serializationFormat) {
         case "JSON":
-          serde = getJsonSerde(rowState.schema);
+          serde = getJsonSerde(rowState.schema, ksqlConfig);
           break;
         case "Avro":
-          serde = getAvroSerde(rowState.schema);
+          serde = getAvroSerde(rowState.schema, ksqlConfig);
           break;
         default:
           throw new RuntimeException("Invalid format: " + serializationFormat);
@@ -138,11 +145,14 @@ public class SerdeBenchmark {
     }
 
     private static Serde<GenericRow> getJsonSerde(
-        final org.apache.kafka.connect.data.Schema schema) {
-      final Serializer<GenericRow> serializer = getJsonSerdeHelper(schema).serializer();
+        final org.apache.kafka.connect.data.Schema schema,
+        final KsqlConfig ksqlConfig
+    ) {
+      final Serializer<GenericRow> serializer =
+          getJsonSerdeHelper(schema, ksqlConfig).serializer();
       // KsqlJsonDeserializer requires schema field names to be uppercase
       final Deserializer<GenericRow> deserializer =
-          getJsonSerdeHelper(convertFieldNamesToUppercase(schema)).deserializer();
+          getJsonSerdeHelper(convertFieldNamesToUppercase(schema), ksqlConfig).deserializer();
       return Serdes.serdeFrom(serializer, deserializer);
     }
 
@@ -156,17 +166,20 @@ public class SerdeBenchmark {
     }
 
     private static Serde<GenericRow> getJsonSerdeHelper(
-        final org.apache.kafka.connect.data.Schema schema
+        final org.apache.kafka.connect.data.Schema schema,
+        final KsqlConfig ksqlConfig
     ) {
       return getGenericRowSerde(
           FormatInfo.of(FormatFactory.JSON.name()),
           schema,
+          ksqlConfig,
           () -> null
       );
     }
 
     private static Serde<GenericRow> getAvroSerde(
-        final org.apache.kafka.connect.data.Schema schema
+        final org.apache.kafka.connect.data.Schema schema,
+        final KsqlConfig ksqlConfig
     ) {
       final SchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
 
@@ -175,6 +188,7 @@ public class SerdeBenchmark {
               FormatFactory.AVRO.name(),
               ImmutableMap.of(AvroFormat.FULL_SCHEMA_NAME, "benchmarkSchema")),
           schema,
+          ksqlConfig,
           () -> schemaRegistryClient
       );
     }
@@ -182,12 +196,13 @@ public class SerdeBenchmark {
     private static Serde<GenericRow> getGenericRowSerde(
         final FormatInfo format,
         final org.apache.kafka.connect.data.Schema schema,
+        final KsqlConfig ksqlConfig,
         final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
     ) {
       return GenericRowSerDe.from(
           format,
           PersistenceSchema.from((ConnectSchema) schema, false),
-          new KsqlConfig(Collections.emptyMap()),
+          ksqlConfig,
           schemaRegistryClientFactory,
           "benchmark",
           ProcessingLogContext.create()
@@ -34,21 +34,28 @@ public class SerdeBenchmarkTest {
 
   private static final List<String> SCHEMAS = ImmutableList.of("impressions", "metrics");
   private static final List<String> FORMATS = ImmutableList.of("JSON", "Avro");
+  private static final List<Boolean> DIRECT_ROW_SERDE = ImmutableList.of(true, false);
   private static final String TOPIC_NAME = "serde_benchmark";
 
   private final String schemaName;
   private final String serializationFormat;
+  private final boolean directRowSerde;
 
   private SerdeState serdeState;
 
-  public SerdeBenchmarkTest(final String schemaName, final String serializationFormat) {
+  public SerdeBenchmarkTest(
+      final String schemaName,
+      final String serializationFormat,
+      final boolean directRowSerde
+  ) {
     this.schemaName = schemaName;
     this.serializationFormat = serializationFormat;
+    this.directRowSerde = directRowSerde;
   }
 
-  @Parameterized.Parameters(name = "{0} - {1}")
+  @Parameterized.Parameters(name = "{0} - {1} - direct: {2}")
   public static Iterable<Object[]> data() {
-    return Lists.cartesianProduct(SCHEMAS, FORMATS)
+    return Lists.<Object>cartesianProduct(SCHEMAS, FORMATS, DIRECT_ROW_SERDE)
         .stream()
         .map(List::toArray)
         .collect(Collectors.toList());
@@ -62,6 +69,7 @@ public class SerdeBenchmarkTest {
 
     serdeState = new SerdeState();
     serdeState.serializationFormat = serializationFormat;
+    serdeState.directRowSerde = directRowSerde;
     serdeState.setUp(schemaState);
   }
 
@@ -24,10 +24,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class GenericRow {
 
   private final ArrayList<Object> values;
+  // The number of lazy values not yet decoded:
+  private int undecoded;
 
   public GenericRow() {
     this(0);
@@ -62,11 +65,29 @@ public class GenericRow {
     return values.size();
   }
 
+  /**
+   * Gets the value of a column, decoding it first if it is a lazy value not yet decoded.
+   *
+   * @param index the index of the column.
+   * @return the value.
+   * @throws RuntimeException if the value is a lazy value that can not be decoded.
+   */
   public Object get(final int index) {
-    return values.get(index);
+    final Object value = values.get(index);
+    if (undecoded == 0 || !(value instanceof LazyValue)) {
+      return value;
+    }
+
+    final Object decoded = ((LazyValue) value).decode();
+    values.set(index, decoded);
+    undecoded--;
+    return decoded;
   }
 
   public void set(final int index, final Object value) {
+    if (undecoded != 0 && values.get(index) instanceof LazyValue) {
+      undecoded--;
+    }
     values.set(index, value);
   }
 
@@ -75,6 +96,32 @@ public class GenericRow {
     return this;
   }
 
+  /**
+   * Append a value that is only decoded when it is first read from the row.
+   *
+   * <p>Useful to avoid decoding values that may never be read, e.g. as the row is dropped by a
+   * filter that does not read them.
+   *
+   * @param value the lazy value.
+   * @return this row.
+   */
+  public GenericRow appendLazy(final LazyValue value) {
+    values.add(Objects.requireNonNull(value, "value"));
+    undecoded++;
+    return this;
+  }
+
+  /**
+   * Decodes any lazy values of the row that have not yet been read.
+   *
+   * @throws RuntimeException if a lazy value can not be decoded.
+   */
+  public void decodeAll() {
+    for (int i = 0; undecoded != 0 && i < values.size(); i++) {
+      get(i);
+    }
+  }
+
   public GenericRow appendAll(final Collection<?> values) {
     this.values.addAll(values);
     return this;
@@ -82,13 +129,14 @@ public class GenericRow {
 
   @JsonProperty("columns")
   public List<Object> values() {
+    decodeAll();
     return Collections.unmodifiableList(values);
   }
 
   @Override
   public String toString() {
-    return values.stream()
-        .map(GenericRow::formatValue)
+    return IntStream.range(0, values.size())
+        .mapToObj(this::formatColumn)
         .collect(Collectors.joining(" | ", "[ ", " ]"));
   }
 
@@ -103,14 +151,26 @@ public class GenericRow {
     }
 
     final GenericRow that = (GenericRow) o;
+    this.decodeAll();
+    that.decodeAll();
     return Objects.equals(this.values, that.values);
   }
 
   @Override
   public int hashCode() {
+    decodeAll();
     return Objects.hash(values);
   }
 
+  private String formatColumn(final int index) {
+    try {
+      return formatValue(get(index));
+    } catch (final RuntimeException e) {
+      // Rows are printed when logging errors, so must still print if a value can't be decoded:
+      return "<undecodable>";
+    }
+  }
+
   private static String formatValue(final Object value) {
     if (value == null) {
       return "null";
@@ -126,4 +186,19 @@ public class GenericRow {
 
     return value.toString();
   }
+
+  /**
+   * A value that is decoded only when it is first read from a row.
+   *
+   * @see #appendLazy
+   */
+  @FunctionalInterface
+  public interface LazyValue {
+
+    /**
+     * @return the decoded value.
+     * @throws RuntimeException if the value can not be decoded.
+     */
+    Object decode();
+  }
 }
@@ -16,16 +16,29 @@
 package io.confluent.ksql.properties.with;
 
 import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigDef.Importance;
 
 /**
  * 'With Clause' properties for 'CREATE AS' statements.
  */
 public final class CreateAsConfigs {
 
+  public static final String INDEXED_COLUMNS_PROPERTY = "INDEXED_COLUMNS";
+
   private static final ConfigDef CONFIG_DEF = new ConfigDef();
 
   static {
     CommonCreateConfigs.addToConfigDef(CONFIG_DEF, false, false);
+
+    CONFIG_DEF.define(
+        INDEXED_COLUMNS_PROPERTY,
+        ConfigDef.Type.STRING,
+        null,
+        Importance.LOW,
+        "A comma separated list of the value columns of an aggregate table to maintain secondary "
+            + "indexes on. Pull queries can look up the rows of the table by their value of an "
+            + "indexed column, e.g. `WHERE <indexed-column>=Y`."
+    );
   }
 
   public static final ConfigMetaData CONFIG_METADATA = ConfigMetaData.of(CONFIG_DEF);
@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.util;
 
+import static io.confluent.ksql.configdef.ConfigValidators.oneOrMore;
 import static io.confluent.ksql.configdef.ConfigValidators.zeroOrPositive;
 
 import com.google.common.base.Splitter;
@@ -203,6 +204,109 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_QUERY_PULL_MAX_QPS_DOC = "The maximum qps allowed for pull "
       + "queries. Once the limit is hit, queries will fail immediately";
 
+  public static final String KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_CONFIG =
+      "ksql.query.pull.plan.cache.max.entries";
+  public static final Integer KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_DEFAULT = 1000;
+  public static final String KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_DOC = "The maximum number "
+      + "of pull query plans to cache. Pull queries that differ only in the literal values of "
+      + "their WHERE clause share a plan, avoiding the cost of analyzing the statement and "
+      + "compiling its projection on every request. Set to 0 to disable the cache.";
+
+  public static final String KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_CONFIG =
+      "ksql.query.pull.prepared.max.entries";
+  public static final Integer KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_DEFAULT = 10000;
+  public static final String KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_DOC = "The maximum number "
+      + "of pull queries prepared through the /query-stream/prepare endpoint that the server "
+      + "retains. Once exceeded, the least recently used prepared queries are discarded and "
+      + "must be prepared again.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG =
+      "ksql.query.pull.hedge.delay.ms";
+  public static final Long KSQL_QUERY_PULL_HEDGE_DELAY_MS_DEFAULT = 0L;
+  public static final String KSQL_QUERY_PULL_HEDGE_DELAY_MS_DOC = "If a host has not answered "
+      + "a pull query within this many milliseconds, the query is also sent to the next host "
+      + "able to serve it, e.g. a standby within the allowed lag, and whichever answers first "
+      + "is used. This bounds the latency added by a slow or paused host. Set to 0 to disable "
+      + "hedging, in which case the next host is only tried once a host fails.";
+
+  public static final String KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_CONFIG =
+      "ksql.query.pull.hedge.thread.pool.size";
+  public static final Integer KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DEFAULT = 50;
+  public static final String KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DOC = "The maximum number "
+      + "of threads used to route hedged pull queries. Once all are busy, pull queries are "
+      + "routed without hedging.";
+
+  public static final String KSQL_QUERY_PULL_LATENCY_AWARE_ROUTING_ENABLE_CONFIG =
+      "ksql.query.pull.latency.aware.routing.enable";
+  public static final boolean KSQL_QUERY_PULL_LATENCY_AWARE_ROUTING_ENABLE_DEFAULT = false;
+  public static final String KSQL_QUERY_PULL_LATENCY_AWARE_ROUTING_ENABLE_DOC = "If true, pull "
+      + "queries are routed to the host that has recently answered fastest, out of the alive "
+      + "hosts within the allowed lag, rather than always preferring the active host. Response "
+      + "times are tracked from routed pull queries and heartbeats. Only has an effect when "
+      + "standby reads are enabled.";
+
+  public static final String KSQL_QUERY_PULL_RESULT_CACHE_MAX_BYTES_CONFIG =
+      "ksql.query.pull.result.cache.max.bytes";
+  public static final Long KSQL_QUERY_PULL_RESULT_CACHE_MAX_BYTES_DEFAULT = 0L;
+  public static final String KSQL_QUERY_PULL_RESULT_CACHE_MAX_BYTES_DOC = "The maximum number "
+      + "of bytes of heap each non-windowed table uses to cache the rows returned by key lookups "
+      + "of pull queries, so that frequently read keys are not read and deserialized from the "
+      + "state store each time. Cached rows are invalidated as the table updates them. Enabling "
+      + "the cache disables Kafka Streams record caching for the state store of each "
+      + "materialized table that pull queries read, so that updates reach the store, and "
+      + "invalidate the cache, as soon as they are processed. Other state stores are unaffected. "
+      + "The cache is only used when standby reads are disabled. Applies to queries started "
+      + "after it is set. Set to 0 to disable the cache.";
+
+  public static final String KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_CONFIG =
+      "ksql.query.pull.table.scan.max.rows";
+  public static final Integer KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_DEFAULT = 10000;
+  public static final String KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_DOC = "The maximum number "
+      + "of rows a pull query that does not look up specific keys, e.g. one bound only by "
+      + "WINDOWSTART, may return. Each server stops scanning its state stores and fails the "
+      + "query once it finds more rows than this, so that a single query can not exhaust the "
+      + "memory of a server.";
+
+  public static final String KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG =
+      "ksql.query.push.shared.enabled";
+  public static final boolean KSQL_QUERY_PUSH_SHARED_ENABLED_DEFAULT = false;
+  public static final String KSQL_QUERY_PUSH_SHARED_ENABLED_DOC = "Config to enable sharing "
+      + "a single running query between push queries of the same user with the same plan and "
+      + "properties. Only "
+      + "stateless queries over streams that read from the latest offset are shared. Each push "
+      + "query keeps its own LIMIT. Rather than slow the delivery of rows to the other clients "
+      + "sharing the query, the push query of a client that does not read rows fast enough to "
+      + "keep up fails.";
+
+  public static final String KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_CONFIG =
+      "ksql.query.push.lightweight.enabled";
+  public static final boolean KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_DEFAULT = false;
+  public static final String KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_DOC = "Config to enable "
+      + "running push queries that only filter and project a single non-windowed stream with "
+      + "a plain consumer, rather than a Kafka Streams topology. Such queries start faster and "
+      + "use fewer resources, as they need no consumer group, stream threads or internal "
+      + "topics.";
+
+  public static final String KSQL_QUERY_PUSH_RESUME_TOKEN_CONFIG =
+      "ksql.query.push.resume.token";
+  public static final String KSQL_QUERY_PUSH_RESUME_TOKEN_DEFAULT = "";
+  public static final String KSQL_QUERY_PUSH_RESUME_TOKEN_DOC = "The progress token of an "
+      + "earlier run of a push query, from which to resume the query. The query starts at the "
+      + "source offsets in the token, so it outputs the rows that follow the last row the earlier "
+      + "run returned to the client before the token. Only push queries that run with a plain "
+      + "consumer, see " + KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_CONFIG + ", can be resumed.";
+
+  public static final String KSQL_SERDE_DIRECT_ROW_ENABLED_CONFIG =
+      "ksql.serde.direct.row.enabled";
+  public static final boolean KSQL_SERDE_DIRECT_ROW_ENABLED_DEFAULT = true;
+  public static final String KSQL_SERDE_DIRECT_ROW_ENABLED_DOC = "Config to enable "
+      + "serializing and deserializing the values of formats that support it, e.g. JSON and "
+      + "Avro, straight to and from rows, rather than via Connect structs. Disabling this falls "
+      + "back to the struct based serdes, which produce the same data but are slower. When "
+      + "enabled, queries that filter and project streams only deserialize the columns they "
+      + "read, and JSON objects and arrays in columns the first filter does not read are only "
+      + "decoded for the records that pass it.";
+
   public static final Collection<CompatibilityBreakingConfigDef> COMPATIBLY_BREAKING_CONFIG_DEFS
       = ImmutableList.of();
 
@@ -624,6 +728,86 @@ public class KsqlConfig extends AbstractConfig {
             Importance.LOW,
             KSQL_QUERY_PULL_MAX_QPS_DOC
         )
+        .define(
+            KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_DEFAULT,
+            oneOrMore(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG,
+            Type.LONG,
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_DELAY_MS_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            Importance.LOW,
+            KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_LATENCY_AWARE_ROUTING_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PULL_LATENCY_AWARE_ROUTING_ENABLE_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PULL_LATENCY_AWARE_ROUTING_ENABLE_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_RESULT_CACHE_MAX_BYTES_CONFIG,
+            Type.LONG,
+            KSQL_QUERY_PULL_RESULT_CACHE_MAX_BYTES_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PULL_RESULT_CACHE_MAX_BYTES_DOC
+        )
+        .define(
+            KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_CONFIG,
+            Type.INT,
+            KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_DOC
+        ).define(
+            KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PUSH_SHARED_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PUSH_SHARED_ENABLED_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_CONFIG,
+            Type.BOOLEAN,
+            KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_RESUME_TOKEN_CONFIG,
+            Type.STRING,
+            KSQL_QUERY_PUSH_RESUME_TOKEN_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PUSH_RESUME_TOKEN_DOC
+        )
+        .define(
+            KSQL_SERDE_DIRECT_ROW_ENABLED_CONFIG,
+            Type.BOOLEAN,
+            KSQL_SERDE_DIRECT_ROW_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_SERDE_DIRECT_ROW_ENABLED_DOC
+        )
         .withClientSslSupport();
 
     for (final CompatibilityBreakingConfigDef compatibilityBreakingConfigDef
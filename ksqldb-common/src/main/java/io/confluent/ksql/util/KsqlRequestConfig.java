@@ -32,6 +32,35 @@ public class KsqlRequestConfig extends AbstractConfig {
   private static final String KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING_DOC =
       "Controls whether a ksql host forwards a pull query request to another host";
 
+  public static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS =
+      "request.ksql.query.pull.partitions";
+  public static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS_DEFAULT = "";
+  private static final String KSQL_REQUEST_QUERY_PULL_PARTITIONS_DOC =
+      "Indicates which partitions a forwarded pull query should be served from. "
+          + "If empty, all partitions are served";
+
+  public static final String KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE =
+      "request.ksql.query.pull.binary.response";
+  public static final boolean KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE_DEFAULT = false;
+  private static final String KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE_DOC =
+      "Indicates whether the rows of a forwarded pull query should be returned in the compact "
+          + "binary encoding used between servers, rather than as JSON";
+
+  public static final String KSQL_REQUEST_QUERY_PULL_PAGE_SIZE =
+      "request.ksql.query.pull.page.size";
+  public static final int KSQL_REQUEST_QUERY_PULL_PAGE_SIZE_DEFAULT = 0;
+  private static final String KSQL_REQUEST_QUERY_PULL_PAGE_SIZE_DOC =
+      "The maximum number of rows a pull query on a windowed table returns. If there are more "
+          + "rows, the response carries a continuation token from which to request the next "
+          + "page. If zero, all rows are returned";
+
+  public static final String KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN =
+      "request.ksql.query.pull.continuation.token";
+  public static final String KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN_DEFAULT = "";
+  private static final String KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN_DOC =
+      "The continuation token returned with the previous page of a paged pull query. "
+          + "If empty, the first page is returned";
+
   public static final String KSQL_REQUEST_INTERNAL_REQUEST =
       "request.ksql.internal.request";
   public static final boolean KSQL_REQUEST_INTERNAL_REQUEST_DEFAULT = false;
@@ -46,6 +75,31 @@ public class KsqlRequestConfig extends AbstractConfig {
             KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING_DEFAULT,
             ConfigDef.Importance.MEDIUM,
             KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING_DOC
+        ).define(
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS,
+            Type.LIST,
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS_DEFAULT,
+            ConfigDef.Importance.LOW,
+            KSQL_REQUEST_QUERY_PULL_PARTITIONS_DOC
+        ).define(
+            KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE,
+            Type.BOOLEAN,
+            KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE_DEFAULT,
+            ConfigDef.Importance.LOW,
+            KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE_DOC
+        ).define(
+            KSQL_REQUEST_QUERY_PULL_PAGE_SIZE,
+            Type.INT,
+            KSQL_REQUEST_QUERY_PULL_PAGE_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            ConfigDef.Importance.LOW,
+            KSQL_REQUEST_QUERY_PULL_PAGE_SIZE_DOC
+        ).define(
+            KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN,
+            Type.STRING,
+            KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN_DEFAULT,
+            ConfigDef.Importance.LOW,
+            KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN_DOC
         ).define(
             KSQL_REQUEST_INTERNAL_REQUEST,
             Type.BOOLEAN,
@@ -20,10 +20,17 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.testing.EqualsTester;
+import io.confluent.ksql.GenericRow.LazyValue;
 import java.math.BigDecimal;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
@@ -77,6 +84,83 @@ public class GenericRowTest {
     assertThat(row.values(), contains(1.3, 492, 1.2, "this", BigDecimal.ONE));
   }
 
+  @Test
+  public void shouldNotDecodeLazyValueUntilRead() {
+    // Given:
+    final LazyValue lazy = mock(LazyValue.class);
+
+    // When:
+    final GenericRow row = genericRow(10).appendLazy(lazy);
+    row.get(0);
+
+    // Then:
+    verify(lazy, never()).decode();
+  }
+
+  @Test
+  public void shouldDecodeLazyValueOnlyOnce() {
+    // Given:
+    final LazyValue lazy = mock(LazyValue.class);
+    when(lazy.decode()).thenReturn(20);
+    final GenericRow row = genericRow(10).appendLazy(lazy);
+
+    // When:
+    row.get(1);
+    final Object value = row.get(1);
+
+    // Then:
+    assertThat(value, is(20));
+    verify(lazy, times(1)).decode();
+  }
+
+  @Test
+  public void shouldDecodeLazyValuesOnGetValues() {
+    // Given:
+    final GenericRow row = genericRow(10).appendLazy(() -> 20).append(30);
+
+    // Then:
+    assertThat(row.values(), contains(10, 20, 30));
+  }
+
+  @Test
+  public void shouldNotDecodeLazyValueThatIsReplaced() {
+    // Given:
+    final LazyValue lazy = mock(LazyValue.class);
+    final GenericRow row = genericRow(10).appendLazy(lazy);
+
+    // When:
+    row.set(1, 20);
+
+    // Then:
+    assertThat(row.values(), contains(10, 20));
+    verify(lazy, never()).decode();
+  }
+
+  @Test
+  public void shouldThrowIfLazyValueCanNotBeDecoded() {
+    // Given:
+    final GenericRow row = new GenericRow().appendLazy(() -> {
+      throw new IllegalStateException("bad");
+    });
+
+    // Then:
+    assertThrows(IllegalStateException.class, () -> row.get(0));
+    assertThrows(IllegalStateException.class, row::decodeAll);
+  }
+
+  @Test
+  public void shouldPrintLazyValuesThatCanNotBeDecoded() {
+    // Given:
+    final GenericRow row = genericRow("a")
+        .appendLazy(() -> 1L)
+        .appendLazy(() -> {
+          throw new IllegalStateException("bad");
+        });
+
+    // Then:
+    assertThat(row.toString(), is("[ 'a' | 1L | <undecodable> ]"));
+  }
+
   @Test
   public void shouldPrintRowCorrectly() {
     final Struct address = new Struct(addressSchema);
@@ -176,7 +260,8 @@ public class GenericRowTest {
         )
         .addEqualityGroup(
             genericRow("nr"),
-            genericRow("nr")
+            genericRow("nr"),
+            new GenericRow().appendLazy(() -> "nr")
         )
         .addEqualityGroup(
             genericRow(1.0, 94.9238, 1.2550, 0.13242, -1.0285235),
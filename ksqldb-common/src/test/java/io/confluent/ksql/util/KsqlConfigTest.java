@@ -22,9 +22,11 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
+import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.errors.LogMetricAndContinueExceptionHandler;
@@ -36,6 +38,7 @@ import java.util.Map;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.config.SslConfigs;
 import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.streams.StreamsConfig;
@@ -575,4 +578,34 @@ public class KsqlConfigTest {
     assertThat(ksqlConfig.getProducerClientConfigProps(), hasEntry(ProducerConfig.CLIENT_ID_CONFIG, null));
     assertThat(ksqlConfig.getProducerClientConfigProps(), not(hasKey("not.a.config")));
   }
+
+  @Test
+  public void shouldRejectNegativePullQueryPlanCacheSize() {
+    // Given:
+    final Map<String, Object> configs = ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_CONFIG, -1
+    );
+
+    // When:
+    final Exception e = assertThrows(ConfigException.class, () -> new KsqlConfig(configs));
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        KsqlConfig.KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_CONFIG));
+  }
+
+  @Test
+  public void shouldRejectPreparedPullQueryCacheWithoutEntries() {
+    // Given:
+    final Map<String, Object> configs = ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_CONFIG, 0
+    );
+
+    // When:
+    final Exception e = assertThrows(ConfigException.class, () -> new KsqlConfig(configs));
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        KsqlConfig.KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_CONFIG));
+  }
 }
@@ -32,6 +32,7 @@ import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.ExecutableDdlStatement;
 import io.confluent.ksql.query.QueryExecutor;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.SharedTransientQueries;
 import io.confluent.ksql.query.id.QueryIdGenerator;
 import io.confluent.ksql.services.SandboxedServiceContext;
 import io.confluent.ksql.services.ServiceContext;
@@ -62,6 +63,7 @@ final class EngineContext {
   private final KsqlParser parser;
   private final BiConsumer<ServiceContext, QueryMetadata> outerOnQueryCloseCallback;
   private final Map<QueryId, PersistentQueryMetadata> persistentQueries;
+  private final SharedTransientQueries sharedTransientQueries = new SharedTransientQueries();
 
   static EngineContext create(
       final ServiceContext serviceContext,
@@ -124,6 +126,10 @@ final class EngineContext {
     return Collections.unmodifiableMap(persistentQueries);
   }
 
+  SharedTransientQueries getSharedTransientQueries() {
+    return sharedTransientQueries;
+  }
+
   MutableMetaStore getMetaStore() {
     return metaStore;
   }
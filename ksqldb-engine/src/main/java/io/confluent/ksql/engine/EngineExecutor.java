@@ -40,8 +40,12 @@ import io.confluent.ksql.planner.PlanSourceExtractorVisitor;
 import io.confluent.ksql.planner.plan.KsqlStructuredDataOutputNode;
 import io.confluent.ksql.planner.plan.OutputNode;
 import io.confluent.ksql.planner.plan.PlanNode;
+import io.confluent.ksql.query.ConsumerLoopPipeline;
 import io.confluent.ksql.query.QueryExecutor;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.QueryStartupTimer;
+import io.confluent.ksql.query.QueryStartupTimer.Phase;
+import io.confluent.ksql.query.SharedTransientQueries;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.services.ServiceContext;
@@ -53,6 +57,7 @@ import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.PlanSummary;
 import io.confluent.ksql.util.TransientQueryMetadata;
+import java.security.Principal;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -114,23 +119,90 @@ final class EngineExecutor {
         .orElseGet(() -> ExecuteResult.of(ddlResult.get()));
   }
 
-  @SuppressWarnings("OptionalGetWithoutIsPresent") // Known to be non-empty
   TransientQueryMetadata executeQuery(final ConfiguredStatement<Query> statement) {
+    return executeQuery(statement, Optional.empty());
+  }
+
+  /**
+   * @param principal the principal the query runs for. Push queries are only shared between
+   *                  queries of the same principal.
+   */
+  TransientQueryMetadata executeQuery(
+      final ConfiguredStatement<Query> statement,
+      final Optional<Principal> principal
+  ) {
+    final long planStartNs = System.nanoTime();
     final ExecutorPlans plans = planQuery(statement, statement.getStatement(), Optional.empty());
+    final long buildStartNs = System.nanoTime();
+    final TransientQueryMetadata query = buildQuery(statement, plans, principal);
+
+    final QueryStartupTimer startupTimer = query.getStartupTimer();
+    startupTimer.record(Phase.PLAN, buildStartNs - planStartNs);
+    startupTimer.record(Phase.BUILD, System.nanoTime() - buildStartNs);
+    return query;
+  }
+
+  @SuppressWarnings("OptionalGetWithoutIsPresent") // Known to be non-empty
+  private TransientQueryMetadata buildQuery(
+      final ConfiguredStatement<Query> statement,
+      final ExecutorPlans plans,
+      final Optional<Principal> principal
+  ) {
     final OutputNode outputNode = plans.logicalPlan.getNode().get();
     final QueryExecutor executor = engineContext.createQueryExecutor(
         ksqlConfig,
         overriddenProperties,
         serviceContext
     );
+    final ExecutionStep<?> physicalPlan = plans.physicalPlan.getPhysicalPlan();
+    final KsqlConfig queryConfig = ksqlConfig.cloneWithPropertyOverwrite(overriddenProperties);
+    final boolean resuming = !queryConfig
+        .getString(KsqlConfig.KSQL_QUERY_PUSH_RESUME_TOKEN_CONFIG).isEmpty();
+    if (resuming && !ConsumerLoopPipeline.isSupported(physicalPlan, queryConfig)) {
+      throw new KsqlStatementException(
+          "Only push queries that run with a plain consumer can be resumed from a progress "
+              + "token. Set '" + KsqlConfig.KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_CONFIG
+              + "' to true, and only filter and project a single stream.",
+          statement.getStatementText());
+    }
+
+    if (!resuming && SharedTransientQueries.isShareable(physicalPlan, queryConfig)) {
+      return engineContext.getSharedTransientQueries().subscribe(
+          physicalPlan,
+          overriddenProperties,
+          principal,
+          statement.getStatementText(),
+          outputNode.getLimit(),
+          () -> executor.buildSharedTransientQuery(
+              plans.physicalPlan.getQueryId(),
+              getSourceNames(outputNode),
+              physicalPlan,
+              buildPlanSummary(plans.physicalPlan.getQueryId(), physicalPlan),
+              outputNode.getSchema()
+          )
+      );
+    }
+
+    if (ConsumerLoopPipeline.isSupported(physicalPlan, queryConfig)) {
+      return executor.buildConsumerLoopQuery(
+          statement.getStatementText(),
+          plans.physicalPlan.getQueryId(),
+          getSourceNames(outputNode),
+          physicalPlan,
+          buildPlanSummary(plans.physicalPlan.getQueryId(), physicalPlan),
+          outputNode.getSchema(),
+          outputNode.getLimit()
+      );
+    }
+
     return executor.buildTransientQuery(
         statement.getStatementText(),
         plans.physicalPlan.getQueryId(),
         getSourceNames(outputNode),
-        plans.physicalPlan.getPhysicalPlan(),
+        physicalPlan,
         buildPlanSummary(
             plans.physicalPlan.getQueryId(),
-            plans.physicalPlan.getPhysicalPlan()),
+            physicalPlan),
         outputNode.getSchema(),
         outputNode.getLimit()
     );
@@ -35,14 +35,17 @@ import io.confluent.ksql.planner.plan.ConfiguredKsqlPlan;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.query.id.QueryIdGenerator;
 import io.confluent.ksql.schema.registry.SchemaRegistryUtil;
+import io.confluent.ksql.security.KsqlSecurityContext;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
+import io.confluent.ksql.util.SharedTransientQueryMetadata;
 import io.confluent.ksql.util.TransientQueryMetadata;
 import java.io.Closeable;
+import java.security.Principal;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -214,6 +217,32 @@ public class KsqlEngine implements KsqlExecutionContext, Closeable {
   public TransientQueryMetadata executeQuery(
       final ServiceContext serviceContext,
       final ConfiguredStatement<Query> statement
+  ) {
+    return executeQuery(serviceContext, statement, Optional.empty());
+  }
+
+  /**
+   * Executes a query on behalf of the principal of the supplied security context.
+   *
+   * <p>Push queries are only shared between queries of the same principal.
+   *
+   * @return the query metadata
+   */
+  public TransientQueryMetadata executeQuery(
+      final KsqlSecurityContext securityContext,
+      final ConfiguredStatement<Query> statement
+  ) {
+    return executeQuery(
+        securityContext.getServiceContext(),
+        statement,
+        securityContext.getUserPrincipal()
+    );
+  }
+
+  private TransientQueryMetadata executeQuery(
+      final ServiceContext serviceContext,
+      final ConfiguredStatement<Query> statement,
+      final Optional<Principal> principal
   ) {
     try {
       final TransientQueryMetadata query = EngineExecutor
@@ -222,7 +251,7 @@ public class KsqlEngine implements KsqlExecutionContext, Closeable {
               serviceContext,
               statement.getConfig(),
               statement.getConfigOverrides())
-          .executeQuery(statement);
+          .executeQuery(statement, principal);
       registerQuery(query);
       return query;
     } catch (final KsqlStatementException e) {
@@ -254,12 +283,26 @@ public class KsqlEngine implements KsqlExecutionContext, Closeable {
 
   private void registerQuery(final QueryMetadata query) {
     allLiveQueries.add(query);
+
+    if (query instanceof SharedTransientQueryMetadata
+        && !((SharedTransientQueryMetadata) query).isFirstSubscriber()) {
+      // Metrics of the shared query are registered by the first push query sharing it:
+      return;
+    }
+
     engineMetrics.registerQuery(query);
   }
 
   private void unregisterQuery(final ServiceContext serviceContext, final QueryMetadata query) {
     final String applicationId = query.getQueryApplicationId();
 
+    if (query instanceof SharedTransientQueryMetadata
+        && !((SharedTransientQueryMetadata) query).isLastSubscriber()) {
+      // Other push queries still share the running query, and so its metrics:
+      allLiveQueries.remove(query);
+      return;
+    }
+
     if (!query.getState().equals(State.NOT_RUNNING)) {
       log.warn(
           "Unregistering query that has not terminated. "
@@ -271,6 +314,8 @@ public class KsqlEngine implements KsqlExecutionContext, Closeable {
       return;
     }
 
+    engineMetrics.unregisterQuery(query);
+
     if (query.hasEverBeenStarted()) {
       SchemaRegistryUtil
           .cleanupInternalTopicSchemas(applicationId, serviceContext.getSchemaRegistryClient());
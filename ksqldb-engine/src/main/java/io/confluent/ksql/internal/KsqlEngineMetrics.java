@@ -16,18 +16,29 @@
 package io.confluent.ksql.internal;
 
 import io.confluent.ksql.engine.KsqlEngine;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
 import io.confluent.ksql.metrics.MetricCollectors;
+import io.confluent.ksql.query.BlockingRowQueue;
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.QueryStartupTimer.Phase;
+import io.confluent.ksql.query.TransientQueryQueue;
+import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.ReservedInternalTopics;
+import io.confluent.ksql.util.SharedTransientQueryMetadata;
+import io.confluent.ksql.util.TransientQueryMetadata;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.metrics.Gauge;
@@ -49,6 +60,7 @@ public class KsqlEngineMetrics implements Closeable {
 
   private final List<Sensor> sensors;
   private final List<CountMetric> countMetrics;
+  private final Map<QueryId, List<MetricName>> queryMetrics = new ConcurrentHashMap<>();
   private final String metricGroupPrefix;
   private final String metricGroupName;
   private final Sensor messagesIn;
@@ -58,6 +70,7 @@ public class KsqlEngineMetrics implements Closeable {
   private final Sensor numIdleQueries;
   private final Sensor messageConsumptionByQuery;
   private final Sensor errorRate;
+  private final Map<Phase, Sensor> pushQueryStartupSensors;
 
   private final String ksqlServiceId;
   private final Map<String, String> customMetricsTags;
@@ -109,6 +122,7 @@ public class KsqlEngineMetrics implements Closeable {
     this.numIdleQueries = configureIdleQueriesSensor();
     this.messageConsumptionByQuery = configureMessageConsumptionByQuerySensor();
     this.errorRate = configureErrorRate();
+    this.pushQueryStartupSensors = configurePushQueryStartupSensors();
     Arrays.stream(State.values())
         .forEach(this::configureNumActiveQueriesForGivenState);
 
@@ -119,6 +133,8 @@ public class KsqlEngineMetrics implements Closeable {
   public void close() {
     sensors.forEach(sensor -> metrics.removeSensor(sensor.name()));
     countMetrics.forEach(countMetric -> metrics.removeMetric(countMetric.getMetricName()));
+    queryMetrics.values().forEach(names -> names.forEach(metrics::removeMetric));
+    queryMetrics.clear();
   }
 
   public void updateMetrics() {
@@ -151,6 +167,35 @@ public class KsqlEngineMetrics implements Closeable {
     );
 
     query.registerQueryStateListener(listener);
+
+    if (query instanceof PersistentQueryMetadata) {
+      ((PersistentQueryMetadata) query).getResultCache().ifPresent(
+          cache -> configureResultCacheMetrics(metricsPrefix, query.getQueryId(), cache));
+    }
+
+    if (query instanceof TransientQueryMetadata) {
+      final BlockingRowQueue queue = ((TransientQueryMetadata) query).getRowQueue();
+      if (query instanceof SharedTransientQueryMetadata) {
+        // Report the backpressure of all the push queries sharing the query, not just this one:
+        final SharedTransientQueryMetadata shared = (SharedTransientQueryMetadata) query;
+        configureBackpressureMetrics(metricsPrefix, query.getQueryId(),
+            shared::getBackpressureTimeMs, shared::getBackpressureCount);
+      } else if (queue instanceof TransientQueryQueue) {
+        final TransientQueryQueue transientQueue = (TransientQueryQueue) queue;
+        configureBackpressureMetrics(metricsPrefix, query.getQueryId(),
+            transientQueue::getBackpressureTimeMs, transientQueue::getBackpressureCount);
+      }
+
+      ((TransientQueryMetadata) query).getStartupTimer().setListener(
+          (phase, durationNs) -> pushQueryStartupSensors.get(phase).record(durationNs / 1e6));
+    }
+  }
+
+  public void unregisterQuery(final QueryMetadata query) {
+    final List<MetricName> names = queryMetrics.remove(query.getQueryId());
+    if (names != null) {
+      names.forEach(metrics::removeMetric);
+    }
   }
 
   private void recordMessageConsumptionByQueryStats(
@@ -293,6 +338,20 @@ public class KsqlEngineMetrics implements Closeable {
     return sensor;
   }
 
+  private Map<Phase, Sensor> configurePushQueryStartupSensors() {
+    final Map<Phase, Sensor> startupSensors = new EnumMap<>(Phase.class);
+    for (final Phase phase : Phase.values()) {
+      final String name = "push-query-startup-" + phase.metricName() + "-time";
+      final String description = "time push queries spent in the " + phase.metricName()
+          + " phase of starting, in milliseconds";
+      final Sensor sensor = createSensor(name);
+      configureMetric(sensor, KsqlMetric.of(name + "-avg-ms", "Mean " + description, Avg::new));
+      configureMetric(sensor, KsqlMetric.of(name + "-max-ms", "Max " + description, Max::new));
+      startupSensors.put(phase, sensor);
+    }
+    return startupSensors;
+  }
+
   private void configureMetric(
       final Sensor sensor,
       final KsqlMetric metric) {
@@ -341,6 +400,61 @@ public class KsqlEngineMetrics implements Closeable {
     countMetrics.add(countMetric);
   }
 
+  private void configureResultCacheMetrics(
+      final String groupPrefix,
+      final QueryId queryId,
+      final ResultCache cache
+  ) {
+    final String group = groupPrefix + "ksql-queries";
+    final Map<String, String> tags = Collections.singletonMap("query-id", queryId.toString());
+
+    queryMetrics.put(queryId, Arrays.asList(
+        addGauge(
+            metrics.metricName("pull-query-result-cache-hits", group,
+                "The number of pull query key lookups served from the result cache of the "
+                    + "given query.", tags),
+            (config, now) -> cache.getHitCount()),
+        addGauge(
+            metrics.metricName("pull-query-result-cache-misses", group,
+                "The number of pull query key lookups not found in the result cache of the "
+                    + "given query.", tags),
+            (config, now) -> cache.getMissCount()),
+        addGauge(
+            metrics.metricName("pull-query-result-cache-evictions", group,
+                "The number of entries evicted from the result cache of the given query to "
+                    + "bound its size.", tags),
+            (config, now) -> cache.getEvictionCount())
+    ));
+  }
+
+  private void configureBackpressureMetrics(
+      final String groupPrefix,
+      final QueryId queryId,
+      final LongSupplier backpressureTimeMs,
+      final LongSupplier backpressureCount
+  ) {
+    final String group = groupPrefix + "ksql-queries";
+    final Map<String, String> tags = Collections.singletonMap("query-id", queryId.toString());
+
+    queryMetrics.put(queryId, Arrays.asList(
+        addGauge(
+            metrics.metricName("push-query-backpressure-time-ms", group,
+                "The total time the given push query has spent unable to output rows as its "
+                    + "client was not reading them fast enough.", tags),
+            (config, now) -> backpressureTimeMs.getAsLong()),
+        addGauge(
+            metrics.metricName("push-query-backpressure-count", group,
+                "The number of times the given push query was unable to output rows as its "
+                    + "client was not reading them fast enough.", tags),
+            (config, now) -> backpressureCount.getAsLong())
+    ));
+  }
+
+  private MetricName addGauge(final MetricName metricName, final Gauge<Long> gauge) {
+    metrics.addMetric(metricName, gauge);
+    return metricName;
+  }
+
   private void configureNumActiveQueriesForGivenState(
       final KafkaStreams.State state) {
     final String name = state + "-queries";
@@ -36,11 +36,13 @@ import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp
 import io.confluent.ksql.execution.expression.tree.VisitParentExpressionVisitor;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.streams.PartitionByParamsFactory;
+import io.confluent.ksql.execution.streams.materialization.SecondaryIndex;
 import io.confluent.ksql.execution.streams.timestamp.TimestampExtractionPolicyFactory;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
 import io.confluent.ksql.execution.util.ExpressionTypeManager;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.function.udf.AsValue;
+import io.confluent.ksql.metastore.model.DataSource.DataSourceType;
 import io.confluent.ksql.metastore.model.KeyField;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
@@ -65,6 +67,7 @@ import io.confluent.ksql.planner.plan.PlanNode;
 import io.confluent.ksql.planner.plan.PlanNodeId;
 import io.confluent.ksql.planner.plan.ProjectNode;
 import io.confluent.ksql.planner.plan.RepartitionNode;
+import io.confluent.ksql.properties.with.CreateAsConfigs;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.Column.Namespace;
 import io.confluent.ksql.schema.ksql.ColumnNames;
@@ -165,10 +168,43 @@ public class LogicalPlanner {
         analysis.getLimitClause(),
         intoDataSource.isCreate(),
         getSerdeOptions(sourcePlanNode, intoDataSource),
-        intoDataSource.getName()
+        intoDataSource.getName(),
+        getIndexedColumns(sourcePlanNode)
     );
   }
 
+  private List<ColumnName> getIndexedColumns(final PlanNode sourcePlanNode) {
+    final List<ColumnName> indexedColumns = analysis.getProperties().getIndexedColumns();
+    if (indexedColumns.isEmpty()) {
+      return indexedColumns;
+    }
+
+    if (sourcePlanNode.getNodeOutputType() != DataSourceType.KTABLE
+        || !analysis.getGroupBy().isPresent()
+        || analysis.getWindowExpression().isPresent()) {
+      throw new KsqlException(CreateAsConfigs.INDEXED_COLUMNS_PROPERTY + " is only supported "
+          + "on tables created by non-windowed aggregate queries.");
+    }
+
+    final LogicalSchema schema = sourcePlanNode.getSchema();
+    for (final ColumnName name : indexedColumns) {
+      if (schema.isKeyColumn(name) || SystemColumns.isSystemColumn(name)) {
+        throw new KsqlException("Indexed column must be a value column: " + name.text());
+      }
+
+      final Column column = schema.findValueColumn(name)
+          .orElseThrow(() -> new KsqlException("Indexed column not found: " + name.text()));
+
+      if (!SecondaryIndex.supports(column.type())) {
+        throw new KsqlException("Indexed column '" + name.text() + "' has unsupported type: "
+            + column.type() + ". Only BOOLEAN, INT, BIGINT, DOUBLE and STRING columns can be "
+            + "indexed.");
+      }
+    }
+
+    return indexedColumns;
+  }
+
   private Set<SerdeOption> getSerdeOptions(
       final PlanNode sourcePlanNode,
       final Into intoDataSource
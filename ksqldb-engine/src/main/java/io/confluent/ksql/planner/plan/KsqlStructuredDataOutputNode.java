@@ -18,6 +18,7 @@ package io.confluent.ksql.planner.plan;
 import static io.confluent.ksql.metastore.model.DataSource.DataSourceType;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
@@ -33,6 +34,7 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.serde.SerdeOption;
 import io.confluent.ksql.structured.SchemaKStream;
 import io.confluent.ksql.util.KsqlException;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalInt;
@@ -47,6 +49,7 @@ public class KsqlStructuredDataOutputNode extends OutputNode {
   private final boolean doCreateInto;
   private final ImmutableSet<SerdeOption> serdeOptions;
   private final SourceName intoSourceName;
+  private final ImmutableList<ColumnName> indexedColumns;
 
   // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
   public KsqlStructuredDataOutputNode(
@@ -59,7 +62,8 @@ public class KsqlStructuredDataOutputNode extends OutputNode {
       final OptionalInt limit,
       final boolean doCreateInto,
       final Set<SerdeOption> serdeOptions,
-      final SourceName intoSourceName) {
+      final SourceName intoSourceName,
+      final List<ColumnName> indexedColumns) {
     // CHECKSTYLE_RULES.ON: ParameterNumberCheck
     super(
         id,
@@ -79,6 +83,7 @@ public class KsqlStructuredDataOutputNode extends OutputNode {
     this.ksqlTopic = requireNonNull(ksqlTopic, "ksqlTopic");
     this.doCreateInto = doCreateInto;
     this.intoSourceName = requireNonNull(intoSourceName, "intoSourceName");
+    this.indexedColumns = ImmutableList.copyOf(requireNonNull(indexedColumns, "indexedColumns"));
 
     validate(source, intoSourceName);
   }
@@ -99,6 +104,10 @@ public class KsqlStructuredDataOutputNode extends OutputNode {
     return intoSourceName;
   }
 
+  public List<ColumnName> getIndexedColumns() {
+    return indexedColumns;
+  }
+
   @Override
   public QueryId getQueryId(final QueryIdGenerator queryIdGenerator) {
     final String base = queryIdGenerator.getNext().toUpperCase();
@@ -128,7 +137,8 @@ public class KsqlStructuredDataOutputNode extends OutputNode {
         getKsqlTopic().getValueFormat(),
         serdeOptions,
         contextStacker,
-        getTimestampColumn()
+        getTimestampColumn(),
+        indexedColumns
     );
   }
 
@@ -39,7 +39,11 @@ public interface BlockingRowQueue {
   void setLimitHandler(LimitHandler limitHandler);
 
   /**
-   * Sets the callback that will be called any time a new row is accepted into the queue.
+   * Sets the callback that will be called when a new row is accepted into the queue.
+   *
+   * <p>The callback may not be called for rows accepted while the consumer has yet to read earlier
+   * rows, as the consumer will read them without being told. Consumers should therefore read all
+   * the available rows each time the callback is called.
    *
    * @param callback the callback.
    */
@@ -70,6 +74,18 @@ public interface BlockingRowQueue {
    */
   void drainTo(Collection<? super GenericRow> collection);
 
+  /**
+   * Drain at most {@code maxRows} rows from the queue to the supplied {@code collection}.
+   *
+   * <p>Prefer this to polling for each row when writing rows to the client in batches.
+   *
+   * @param collection the collection to add drained rows to.
+   * @param maxRows the maximum number of rows to drain.
+   * @return the number of rows drained.
+   * @see BlockingQueue#drainTo(Collection, int)
+   */
+  int drainTo(Collection<? super GenericRow> collection, int maxRows);
+
   /**
    * The size of the queue.
    *
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.streams.SourceBuilder;
+import io.confluent.ksql.execution.streams.SourceColumns;
+import io.confluent.ksql.execution.transform.KsqlProcessingContext;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
+import io.confluent.ksql.execution.transform.select.Selection;
+import io.confluent.ksql.execution.transform.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.Topology.AutoOffsetReset;
+import org.apache.kafka.streams.processor.TimestampExtractor;
+
+/**
+ * The processing of a push query that only filters and projects a single stream, compiled to
+ * run on the records returned by a plain consumer, rather than in a Kafka Streams topology.
+ *
+ * <p>Each record is processed as the steps of the query would process it in a topology: bad
+ * records and records with an invalid timestamp are skipped, and the ROWTIME and key columns
+ * are added to the row before it is filtered and projected.
+ */
+public final class ConsumerLoopPipeline {
+
+  private final String topicName;
+  private final AutoOffsetReset offsetReset;
+  private final Deserializer<Struct> keyDeserializer;
+  private final Deserializer<GenericRow> valueDeserializer;
+  private final TimestampExtractor timestampExtractor;
+  private final Function<Struct, Collection<?>> keyGenerator;
+  private final List<KsqlTransformer<Struct, GenericRow>> stages;
+
+  /**
+   * @param physicalPlan the plan of the query.
+   * @param ksqlConfig the config of the query, including any overrides.
+   * @return {@code true} if the query can be run by a consumer loop.
+   */
+  public static boolean isSupported(
+      final ExecutionStep<?> physicalPlan,
+      final KsqlConfig ksqlConfig
+  ) {
+    return ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_CONFIG)
+        && isFilterOrProjection(physicalPlan);
+  }
+
+  /**
+   * Compiles the steps of the plan, which must be {@link #isSupported supported}.
+   */
+  public static ConsumerLoopPipeline build(
+      final ExecutionStep<?> physicalPlan,
+      final KsqlQueryBuilder queryBuilder
+  ) {
+    final List<KsqlTransformer<Struct, GenericRow>> stages = new ArrayList<>();
+    buildStages(physicalPlan, queryBuilder, stages);
+
+    final StreamSource source = findSource(physicalPlan);
+    final PhysicalSchema physicalSchema = PhysicalSchema.from(
+        source.getSourceSchema(),
+        source.getFormats().getOptions()
+    );
+    final QueryContext queryContext = source.getProperties().getQueryContext();
+
+    final SourceColumns readColumns = findProjection(physicalPlan)
+        .flatMap(SourceColumns::readBy)
+        .orElseGet(() -> SourceColumns.all(source));
+
+    return new ConsumerLoopPipeline(
+        source.getTopicName(),
+        SourceBuilder.getAutoOffsetReset(AutoOffsetReset.LATEST, queryBuilder),
+        queryBuilder.buildKeySerde(
+            source.getFormats().getKeyFormat(),
+            physicalSchema,
+            queryContext
+        ).deserializer(),
+        SourceBuilder.buildValueSerde(queryBuilder, readColumns).deserializer(),
+        SourceBuilder.timestampExtractor(queryBuilder, source),
+        SourceBuilder.nonWindowedKeyGenerator(source.getSourceSchema()),
+        stages
+    );
+  }
+
+  ConsumerLoopPipeline(
+      final String topicName,
+      final AutoOffsetReset offsetReset,
+      final Deserializer<Struct> keyDeserializer,
+      final Deserializer<GenericRow> valueDeserializer,
+      final TimestampExtractor timestampExtractor,
+      final Function<Struct, Collection<?>> keyGenerator,
+      final List<KsqlTransformer<Struct, GenericRow>> stages
+  ) {
+    this.topicName = Objects.requireNonNull(topicName, "topicName");
+    this.offsetReset = Objects.requireNonNull(offsetReset, "offsetReset");
+    this.keyDeserializer = Objects.requireNonNull(keyDeserializer, "keyDeserializer");
+    this.valueDeserializer = Objects.requireNonNull(valueDeserializer, "valueDeserializer");
+    this.timestampExtractor = Objects.requireNonNull(timestampExtractor, "timestampExtractor");
+    this.keyGenerator = Objects.requireNonNull(keyGenerator, "keyGenerator");
+    this.stages = ImmutableList.copyOf(Objects.requireNonNull(stages, "stages"));
+  }
+
+  public String getTopicName() {
+    return topicName;
+  }
+
+  public AutoOffsetReset getOffsetReset() {
+    return offsetReset;
+  }
+
+  /**
+   * @param record the record read from the source topic.
+   * @return the row output by the query for the record, if any.
+   */
+  public Optional<GenericRow> process(final ConsumerRecord<byte[], byte[]> record) {
+    final Struct key;
+    final GenericRow value;
+    try {
+      key = keyDeserializer.deserialize(record.topic(), record.key());
+      value = valueDeserializer.deserialize(record.topic(), record.value());
+    } catch (final SerializationException e) {
+      // Already logged to the processing log by the deserializer:
+      return Optional.empty();
+    }
+
+    if (value == null) {
+      return Optional.empty();
+    }
+
+    final long rowTime = timestampExtractor.extract(
+        new ConsumerRecord<>(
+            record.topic(),
+            record.partition(),
+            record.offset(),
+            record.timestamp(),
+            record.timestampType(),
+            ConsumerRecord.NULL_CHECKSUM,
+            record.serializedKeySize(),
+            record.serializedValueSize(),
+            key,
+            value
+        ),
+        -1L
+    );
+
+    if (rowTime < 0) {
+      return Optional.empty();
+    }
+
+    final Collection<?> keyColumns = keyGenerator.apply(key);
+    value.ensureAdditionalCapacity(1 + keyColumns.size());
+    value.append(rowTime);
+    value.appendAll(keyColumns);
+
+    final KsqlProcessingContext ctx = () -> rowTime;
+    GenericRow row = value;
+    for (final KsqlTransformer<Struct, GenericRow> stage : stages) {
+      row = stage.transform(key, row, ctx);
+      if (row == null) {
+        return Optional.empty();
+      }
+    }
+
+    return Optional.of(row);
+  }
+
+  private static boolean isFilterOrProjection(final ExecutionStep<?> step) {
+    if (step instanceof StreamSource) {
+      return true;
+    }
+
+    return (step instanceof StreamFilter || step instanceof StreamSelect)
+        && isFilterOrProjection(step.getSources().get(0));
+  }
+
+  private static StreamSource findSource(final ExecutionStep<?> step) {
+    if (step instanceof StreamSource) {
+      return (StreamSource) step;
+    }
+
+    return findSource(step.getSources().get(0));
+  }
+
+  /**
+   * @return the projection closest to the source, if any.
+   */
+  private static Optional<StreamSelect<?>> findProjection(final ExecutionStep<?> step) {
+    if (step instanceof StreamSource) {
+      return Optional.empty();
+    }
+
+    final Optional<StreamSelect<?>> projection = findProjection(step.getSources().get(0));
+    if (projection.isPresent() || !(step instanceof StreamSelect)) {
+      return projection;
+    }
+
+    return Optional.of((StreamSelect<?>) step);
+  }
+
+  /**
+   * Adds the stages of the step, and the steps it reads from, to the list.
+   *
+   * @return the schema of the rows output by the step.
+   */
+  private static LogicalSchema buildStages(
+      final ExecutionStep<?> step,
+      final KsqlQueryBuilder queryBuilder,
+      final List<KsqlTransformer<Struct, GenericRow>> stages
+  ) {
+    if (step instanceof StreamSource) {
+      return ((StreamSource) step).getSourceSchema().withPseudoAndKeyColsInValue(false);
+    }
+
+    final LogicalSchema schema = buildStages(step.getSources().get(0), queryBuilder, stages);
+    final QueryContext queryContext = step.getProperties().getQueryContext();
+
+    if (step instanceof StreamFilter) {
+      final SqlPredicate predicate = new SqlPredicate(
+          ((StreamFilter<?>) step).getFilterExpression(),
+          schema,
+          queryBuilder.getKsqlConfig(),
+          queryBuilder.getFunctionRegistry()
+      );
+
+      final KsqlTransformer<Struct, Optional<GenericRow>> filter =
+          predicate.getTransformer(queryBuilder.getProcessingLogger(queryContext));
+
+      stages.add((key, row, ctx) -> filter.transform(key, row, ctx).orElse(null));
+      return schema;
+    }
+
+    final Selection<Struct> selection = Selection.of(
+        schema,
+        ((StreamSelect<?>) step).getSelectExpressions(),
+        queryBuilder.getKsqlConfig(),
+        queryBuilder.getFunctionRegistry()
+    );
+
+    stages.add(selection.getMapper()
+        .getTransformer(queryBuilder.getProcessingLogger(queryContext)));
+    return selection.getSchema();
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.util.KsqlException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks how far through the partitions of its source topic a push query has got, in terms of
+ * the rows taken from its queue, so that a client can later resume the query from the row after
+ * the last it received.
+ *
+ * <p>The query thread reports each record it is done with, i.e. once the record's row, if any,
+ * has been accepted into the queue. The reader of the queue then asks for the offsets reached
+ * once it has taken a given number of rows. These are the offsets of the records that follow all
+ * the rows taken, so a query started at them outputs exactly the rows that follow, and are
+ * encoded as an opaque progress token.
+ */
+public final class PushQueryProgress {
+
+  private static final Splitter PARTITION_SPLITTER = Splitter.on(',').omitEmptyStrings();
+  private static final Splitter OFFSET_SPLITTER = Splitter.on(':');
+
+  private final Queue<Advance> advances = new ConcurrentLinkedQueue<>();
+
+  // Only accessed by the query thread:
+  private final Map<Integer, Long> unreported = new TreeMap<>();
+  private long rowsQueued;
+
+  // Guarded by this:
+  private final Map<Integer, Long> offsets = new TreeMap<>();
+
+  /**
+   * Called by the query thread once it is done with a record.
+   *
+   * @param partition the partition of the record.
+   * @param nextOffset the offset following the record's.
+   * @param rowQueued whether the record output a row, which was accepted into the queue.
+   */
+  public void advance(final int partition, final long nextOffset, final boolean rowQueued) {
+    if (rowQueued) {
+      flush();
+      rowsQueued++;
+    }
+    unreported.put(partition, nextOffset);
+  }
+
+  /**
+   * Called by the query thread to make the records it is done with visible to the reader.
+   *
+   * <p>Records that output no rows are reported in batches, to avoid the cost of reporting each
+   * of them.
+   */
+  public void flush() {
+    if (!unreported.isEmpty()) {
+      advances.add(new Advance(rowsQueued, ImmutableMap.copyOf(unreported)));
+      unreported.clear();
+    }
+  }
+
+  /**
+   * @param rowsTaken the number of rows taken from the queue.
+   * @return the token for the position following the rows taken, if the query has started.
+   */
+  public synchronized Optional<String> getToken(final long rowsTaken) {
+    Advance advance;
+    while ((advance = advances.peek()) != null && advance.rowsQueued <= rowsTaken) {
+      offsets.putAll(advance.offsets);
+      advances.poll();
+    }
+
+    return offsets.isEmpty() ? Optional.empty() : Optional.of(toToken(offsets));
+  }
+
+  static String toToken(final Map<Integer, Long> offsets) {
+    return offsets.entrySet().stream()
+        .map(e -> e.getKey() + ":" + e.getValue())
+        .collect(Collectors.joining(","));
+  }
+
+  /**
+   * @param token the progress token.
+   * @return the offsets in the token, by partition.
+   * @throws KsqlException if the token is invalid.
+   */
+  public static Map<Integer, Long> parseToken(final String token) {
+    final Map<Integer, Long> offsets = new TreeMap<>();
+    for (final String partitionOffset : PARTITION_SPLITTER.split(token)) {
+      final List<String> parts = OFFSET_SPLITTER.splitToList(partitionOffset);
+      if (parts.size() != 2) {
+        throw invalidToken(token);
+      }
+
+      try {
+        offsets.put(Integer.parseInt(parts.get(0)), Long.parseLong(parts.get(1)));
+      } catch (final NumberFormatException e) {
+        throw invalidToken(token);
+      }
+    }
+    return offsets;
+  }
+
+  private static KsqlException invalidToken(final String token) {
+    return new KsqlException("Invalid push query progress token: " + token);
+  }
+
+  private static final class Advance {
+
+    private final long rowsQueued;
+    private final Map<Integer, Long> offsets;
+
+    Advance(final long rowsQueued, final Map<Integer, Long> offsets) {
+      this.rowsQueued = rowsQueued;
+      this.offsets = offsets;
+    }
+  }
+}
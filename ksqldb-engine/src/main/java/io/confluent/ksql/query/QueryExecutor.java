@@ -29,6 +29,8 @@ import io.confluent.ksql.execution.plan.PlanBuilder;
 import io.confluent.ksql.execution.streams.KSPlanBuilder;
 import io.confluent.ksql.execution.streams.materialization.KsqlMaterializationFactory;
 import io.confluent.ksql.execution.streams.materialization.MaterializationProvider;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
+import io.confluent.ksql.execution.streams.materialization.ResultCaches;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterialization;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterializationFactory;
 import io.confluent.ksql.function.FunctionRegistry;
@@ -40,16 +42,19 @@ import io.confluent.ksql.metrics.ConsumerCollector;
 import io.confluent.ksql.metrics.ProducerCollector;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.query.KafkaStreamsBuilder.BuildResult;
+import io.confluent.ksql.query.SharedTransientQueries.SharedQuery;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import io.confluent.ksql.serde.GenericKeySerDe;
 import io.confluent.ksql.serde.KeyFormat;
 import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.util.ConsumerLoopQueryMetadata;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.ReservedInternalTopics;
+import io.confluent.ksql.util.SharedTransientQueryMetadata;
 import io.confluent.ksql.util.TransientQueryMetadata;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -61,13 +66,15 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.function.Consumer;
+import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.Topology;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.KTable;
 
@@ -180,6 +187,106 @@ public final class QueryExecutor {
     );
   }
 
+  /**
+   * Builds a transient query that push queries with the same plan can share.
+   *
+   * @see SharedTransientQueries
+   */
+  public SharedQuery buildSharedTransientQuery(
+      final QueryId queryId,
+      final Set<SourceName> sources,
+      final ExecutionStep<?> physicalPlan,
+      final String planSummary,
+      final LogicalSchema schema
+  ) {
+    final TransientQueryFanOut fanOut = new TransientQueryFanOut();
+    buildTransientQueryStream(queryId, physicalPlan).foreach((k, v) -> fanOut.acceptRow(v));
+
+    final String applicationId = addTimeSuffix(getQueryApplicationId(
+        getServiceId(),
+        ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+        queryId
+    ));
+
+    final Map<String, Object> streamsProperties = buildStreamsProperties(applicationId, queryId);
+
+    final BuildResult built =
+        kafkaStreamsBuilder.buildKafkaStreams(streamsBuilder, streamsProperties);
+
+    built.kafkaStreams.setUncaughtExceptionHandler(fanOut::uncaughtException);
+
+    return new SharedQuery(fanOut, (statementText, queue, first, unsubscribe) ->
+        new SharedTransientQueryMetadata(
+            statementText,
+            built.kafkaStreams,
+            schema,
+            sources,
+            planSummary,
+            queue,
+            applicationId,
+            built.topology,
+            streamsProperties,
+            overrides,
+            queryCloseCallback,
+            ksqlConfig.getLong(KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG),
+            fanOut,
+            first,
+            unsubscribe
+        ));
+  }
+
+  /**
+   * Builds a transient query that runs in a consumer loop, rather than in Kafka Streams.
+   *
+   * <p>The query starts at the offsets of any progress token it is resuming from.
+   *
+   * @see ConsumerLoopPipeline
+   */
+  public TransientQueryMetadata buildConsumerLoopQuery(
+      final String statementText,
+      final QueryId queryId,
+      final Set<SourceName> sources,
+      final ExecutionStep<?> physicalPlan,
+      final String planSummary,
+      final LogicalSchema schema,
+      final OptionalInt limit
+  ) {
+    final TransientQueryQueue queue = new TransientQueryQueue(limit);
+    final ConsumerLoopPipeline pipeline =
+        ConsumerLoopPipeline.build(physicalPlan, queryBuilder(queryId));
+
+    final String applicationId = addTimeSuffix(getQueryApplicationId(
+        getServiceId(),
+        ksqlConfig.getString(KsqlConfig.KSQL_TRANSIENT_QUERY_NAME_PREFIX_CONFIG),
+        queryId
+    ));
+
+    final Map<String, Object> streamsProperties = buildStreamsProperties(applicationId, queryId);
+
+    // Consumer configs without a group id, as the consumer is assigned all partitions:
+    final Map<String, Object> consumerProperties =
+        new StreamsConfig(streamsProperties).getGlobalConsumerConfigs(applicationId);
+    consumerProperties.put(CommonClientConfigs.CLIENT_ID_CONFIG, applicationId);
+
+    return new ConsumerLoopQueryMetadata(
+        statementText,
+        schema,
+        sources,
+        planSummary,
+        queue,
+        applicationId,
+        new Topology(),
+        streamsProperties,
+        overrides,
+        queryCloseCallback,
+        ksqlConfig.getLong(KSQL_SHUTDOWN_TIMEOUT_MS_CONFIG),
+        pipeline,
+        () -> serviceContext.getKafkaClientSupplier().getConsumer(consumerProperties),
+        PushQueryProgress.parseToken(
+            ksqlConfig.getString(KsqlConfig.KSQL_QUERY_PUSH_RESUME_TOKEN_CONFIG))
+    );
+  }
+
   private static Optional<MaterializationInfo> getMaterializationInfo(final Object result) {
     if (result instanceof KTableHolder) {
       return ((KTableHolder<?>) result).getMaterializationBuilder().map(Builder::build);
@@ -196,7 +303,9 @@ public final class QueryExecutor {
       final String planSummary
   ) {
     final KsqlQueryBuilder ksqlQueryBuilder = queryBuilder(queryId);
-    final PlanBuilder planBuilder = new KSPlanBuilder(ksqlQueryBuilder);
+    final ResultCaches resultCaches = new ResultCaches(
+        ksqlConfig.getLong(KsqlConfig.KSQL_QUERY_PULL_RESULT_CACHE_MAX_BYTES_CONFIG));
+    final PlanBuilder planBuilder = new KSPlanBuilder(ksqlQueryBuilder, resultCaches);
     final Object result = physicalPlan.build(planBuilder);
     final String persistenceQueryPrefix =
         ksqlConfig.getString(KsqlConfig.KSQL_PERSISTENT_QUERY_NAME_PREFIX_CONFIG);
@@ -208,19 +317,26 @@ public final class QueryExecutor {
     final Map<String, Object> streamsProperties = buildStreamsProperties(applicationId, queryId);
     final BuildResult built =
         kafkaStreamsBuilder.buildKafkaStreams(streamsBuilder, streamsProperties);
+    if (resultCaches.isEnabled()) {
+      built.kafkaStreams.setGlobalStateRestoreListener(resultCaches.restoreListener());
+    }
 
     final PhysicalSchema querySchema = PhysicalSchema.from(
         sinkDataSource.getSchema(),
         sinkDataSource.getSerdeOptions()
     );
-    final Optional<MaterializationProvider> materializationBuilder = getMaterializationInfo(result)
+    final Optional<MaterializationInfo> materializationInfo = getMaterializationInfo(result);
+    final Optional<ResultCache> resultCache = materializationInfo
+        .flatMap(info -> resultCaches.get(info.stateStoreName()));
+    final Optional<MaterializationProvider> materializationBuilder = materializationInfo
         .flatMap(info -> buildMaterializationProvider(
             info,
             built.kafkaStreams,
             querySchema,
             sinkDataSource.getKsqlTopic().getKeyFormat(),
             streamsProperties,
-            applicationId
+            applicationId,
+            resultCache
         ));
     return new PersistentQueryMetadata(
         statementText,
@@ -232,6 +348,7 @@ public final class QueryExecutor {
         queryId,
         sinkDataSource.getDataSourceType(),
         materializationBuilder,
+        resultCache,
         applicationId,
         sinkDataSource.getKsqlTopic(),
         built.topology,
@@ -246,6 +363,15 @@ public final class QueryExecutor {
       final QueryId queryId,
       final ExecutionStep<?> physicalPlan,
       final OptionalInt limit) {
+    final TransientQueryQueue queue = new TransientQueryQueue(limit);
+    buildTransientQueryStream(queryId, physicalPlan).foreach((k, v) -> queue.acceptRow(v));
+    return queue;
+  }
+
+  private KStream<?, GenericRow> buildTransientQueryStream(
+      final QueryId queryId,
+      final ExecutionStep<?> physicalPlan
+  ) {
     final KsqlQueryBuilder ksqlQueryBuilder = queryBuilder(queryId);
     final PlanBuilder planBuilder = new KSPlanBuilder(ksqlQueryBuilder);
     final Object buildResult = physicalPlan.build(planBuilder);
@@ -258,9 +384,7 @@ public final class QueryExecutor {
     } else {
       throw new IllegalStateException("Unexpected type built from exection plan");
     }
-    final TransientQueryQueue queue = new TransientQueryQueue(limit);
-    kstream.foreach((k, v) -> queue.acceptRow(v));
-    return queue;
+    return kstream;
   }
 
   private KsqlQueryBuilder queryBuilder(final QueryId queryId) {
@@ -347,27 +471,30 @@ public final class QueryExecutor {
       final PhysicalSchema schema,
       final KeyFormat keyFormat,
       final Map<String, Object> streamsProperties,
-      final String applicationId
+      final String applicationId,
+      final Optional<ResultCache> resultCache
   ) {
-    final Serializer<Struct> keySerializer = new GenericKeySerDe().create(
+    final Serde<Struct> keySerde = new GenericKeySerDe().create(
         keyFormat.getFormatInfo(),
         schema.keySchema(),
         ksqlConfig,
         serviceContext.getSchemaRegistryClientFactory(),
         "",
         NoopProcessingLogContext.INSTANCE
-    ).serializer();
+    );
 
     final Optional<KsMaterialization> ksMaterialization = ksMaterializationFactory
         .create(
             info.stateStoreName(),
             kafkaStreams,
             info.getStateStoreSchema(),
-            keySerializer,
+            keySerde,
             keyFormat.getWindowInfo(),
             streamsProperties,
             ksqlConfig,
-            applicationId
+            applicationId,
+            resultCache,
+            info.getIndexStoreNames()
         );
 
     return ksMaterialization.map(ksMat -> (queryId, contextStacker) -> ksqlMaterializationFactory
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.base.Ticker;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Times the phases of starting a push query, up to it outputting its first row.
+ *
+ * <p>The phases are timed one after the other: each phase ends when the next begins. A phase
+ * is skipped if a later phase ends first, e.g. a push query that shares an already running query
+ * has no rebalance, so the time to its first row is timed from the end of its build.
+ */
+public final class QueryStartupTimer {
+
+  public enum Phase {
+    PLAN,
+    BUILD,
+    REBALANCE,
+    FIRST_ROW;
+
+    public String metricName() {
+      return name().toLowerCase().replace('_', '-');
+    }
+  }
+
+  private final Ticker ticker;
+  private final Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+  private long phaseStartNs;
+  private Phase lastPhase;
+  private BiConsumer<Phase, Long> listener = (phase, durationNs) -> { };
+
+  public QueryStartupTimer() {
+    this(Ticker.systemTicker());
+  }
+
+  QueryStartupTimer(final Ticker ticker) {
+    this.ticker = Objects.requireNonNull(ticker, "ticker");
+    this.phaseStartNs = ticker.read();
+  }
+
+  /**
+   * Records a phase that was timed by the caller. The next phase is timed from now.
+   *
+   * @param phase the phase.
+   * @param durationNs the duration of the phase, in nanoseconds.
+   */
+  public synchronized void record(final Phase phase, final long durationNs) {
+    if (lastPhase != null && phase.compareTo(lastPhase) <= 0) {
+      return;
+    }
+
+    phaseStartNs = ticker.read();
+    lastPhase = phase;
+    durations.put(phase, durationNs);
+    listener.accept(phase, durationNs);
+  }
+
+  /**
+   * Ends a phase that began when the previous phase ended.
+   *
+   * @param phase the phase.
+   */
+  public synchronized void end(final Phase phase) {
+    record(phase, ticker.read() - phaseStartNs);
+  }
+
+  /**
+   * Sets the listener called with the duration of each phase as it ends, in nanoseconds.
+   *
+   * <p>The listener is called immediately for any phases that have already ended.
+   *
+   * @param listener the listener.
+   */
+  public synchronized void setListener(final BiConsumer<Phase, Long> listener) {
+    this.listener = Objects.requireNonNull(listener, "listener");
+    durations.forEach(listener);
+  }
+
+  /**
+   * @return the durations of the phases that have ended, in nanoseconds.
+   */
+  public synchronized Map<Phase, Long> getDurations() {
+    return new EnumMap<>(durations);
+  }
+}
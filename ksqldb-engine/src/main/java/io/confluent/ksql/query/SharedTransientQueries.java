@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamFlatMap;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.plan.WindowedStreamSource;
+import io.confluent.ksql.execution.streams.SourceBuilder;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.TransientQueryMetadata;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.apache.kafka.streams.Topology.AutoOffsetReset;
+
+/**
+ * The transient queries that push queries with the same plan share, rather than each running a
+ * topology of their own that reads and deserializes the same topic.
+ *
+ * <p>A shared query runs for as long as any push query is subscribed to it. A push query that
+ * subscribes after the query started only receives the rows output from then on, so only
+ * stateless queries that read from the latest offset are shared: such a push query receives the
+ * same rows as if it had started its own query.
+ *
+ * <p>A query that fails is no longer shared: the next push query for its plan builds a new one.
+ */
+public final class SharedTransientQueries {
+
+  private static final Set<Class<?>> STATELESS_STEPS = ImmutableSet.of(
+      StreamSource.class,
+      WindowedStreamSource.class,
+      StreamFilter.class,
+      StreamSelect.class,
+      StreamFlatMap.class
+  );
+
+  private final Map<List<Object>, SharedQuery> queries = new HashMap<>();
+
+  /**
+   * Creates the push query of a client subscribed to the shared query for the plan.
+   *
+   * @param physicalPlan the plan of the query.
+   * @param overrides the property overrides of the query.
+   * @param principal the principal of the client, if any. Queries are only shared between
+   *                  clients of the same principal.
+   * @param statementText the text of the client's statement.
+   * @param limit the client's limit on the number of rows.
+   * @param builder builds the shared query, if none is running for the plan or it has failed.
+   * @return the client's push query.
+   */
+  public synchronized TransientQueryMetadata subscribe(
+      final ExecutionStep<?> physicalPlan,
+      final Map<String, Object> overrides,
+      final Optional<Principal> principal,
+      final String statementText,
+      final OptionalInt limit,
+      final Supplier<SharedQuery> builder
+  ) {
+    final List<Object> key = ImmutableList.of(
+        physicalPlan,
+        ImmutableMap.copyOf(overrides),
+        principal.map(Principal::getName)
+    );
+    final SharedQuery running = queries.get(key);
+    // Subscribers of a failed query keep it until they close, but new ones get a new query:
+    final boolean first = running == null || running.fanOut.hasFailed();
+    final SharedQuery query = first ? builder.get() : running;
+    queries.put(key, query);
+
+    final TransientQueryQueue queue = new TransientQueryQueue(limit);
+    query.fanOut.add(queue);
+    return query.subscriberFactory.create(
+        statementText,
+        queue,
+        first,
+        () -> unsubscribe(key, query, queue)
+    );
+  }
+
+  /**
+   * @param physicalPlan the plan of the query.
+   * @param ksqlConfig the config of the query, including any overrides.
+   * @return {@code true} if the query can be shared.
+   */
+  public static boolean isShareable(
+      final ExecutionStep<?> physicalPlan,
+      final KsqlConfig ksqlConfig
+  ) {
+    if (!ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG)) {
+      return false;
+    }
+
+    // Resolved as the stream sources of the query resolve it:
+    final AutoOffsetReset offsetReset =
+        SourceBuilder.getAutoOffsetReset(AutoOffsetReset.LATEST, ksqlConfig);
+
+    return offsetReset == AutoOffsetReset.LATEST && isStateless(physicalPlan);
+  }
+
+  synchronized int size() {
+    return queries.size();
+  }
+
+  /**
+   * @return {@code true} if the unsubscribed client was the last subscribed to the query.
+   */
+  private synchronized boolean unsubscribe(
+      final List<Object> key,
+      final SharedQuery query,
+      final TransientQueryQueue queue
+  ) {
+    if (!query.fanOut.remove(queue)) {
+      return false;
+    }
+
+    queries.remove(key, query);
+    return true;
+  }
+
+  private static boolean isStateless(final ExecutionStep<?> step) {
+    return STATELESS_STEPS.contains(step.getClass())
+        && step.getSources().stream().allMatch(SharedTransientQueries::isStateless);
+  }
+
+  /**
+   * A running query shared between push queries.
+   */
+  public static final class SharedQuery {
+
+    private final TransientQueryFanOut fanOut;
+    private final SubscriberFactory subscriberFactory;
+
+    public SharedQuery(
+        final TransientQueryFanOut fanOut,
+        final SubscriberFactory subscriberFactory
+    ) {
+      this.fanOut = Objects.requireNonNull(fanOut, "fanOut");
+      this.subscriberFactory = Objects.requireNonNull(subscriberFactory, "subscriberFactory");
+    }
+  }
+
+  public interface SubscriberFactory {
+
+    /**
+     * @param statementText the text of the subscriber's statement.
+     * @param queue the queue of rows for the subscriber.
+     * @param first whether the subscriber is the first, i.e. the query was built for it.
+     * @param unsubscribe unsubscribes the subscriber, returning {@code true} if it was the last.
+     * @return the subscriber's push query.
+     */
+    TransientQueryMetadata create(
+        String statementText,
+        TransientQueryQueue queue,
+        boolean first,
+        BooleanSupplier unsubscribe
+    );
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.util.KsqlException;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans the output of a transient query out to each of the push queries sharing it.
+ *
+ * <p>Each push query has its own queue, so keeps its own LIMIT and backpressure. The stream
+ * threads never wait for space in a queue, as that would hold up the rows of every push query
+ * sharing the query: a push query whose queue is full, as its client is not reading the rows fast
+ * enough, is failed instead, leaving the others to carry on.
+ *
+ * <p>Once the query itself fails, all of its push queries, including any that subscribe later, are
+ * failed with the same error.
+ */
+public final class TransientQueryFanOut {
+
+  private final Map<TransientQueryQueue, Subscriber> subscribers = new ConcurrentHashMap<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final AtomicReference<QueryStateListener> stateListener = new AtomicReference<>();
+  private final LongAdder removedBackpressureTimeMs = new LongAdder();
+  private final LongAdder removedBackpressureCount = new LongAdder();
+  private volatile Failure failure;
+
+  public void acceptRow(final GenericRow row) {
+    for (final Subscriber subscriber : subscribers.values()) {
+      if (!subscriber.hasFailed() && !subscriber.queue.tryAcceptRow(row)) {
+        subscriber.fail(new Failure(Thread.currentThread(), new KsqlException(
+            "Push query closed as its client did not read rows fast enough to keep up with the "
+                + "other push queries sharing its source.")));
+      }
+    }
+  }
+
+  /**
+   * Passes an exception from a stream thread to the handlers of all push queries sharing the
+   * query, and of any that subscribe to it later.
+   */
+  public void uncaughtException(final Thread thread, final Throwable exception) {
+    final Failure failure = new Failure(thread, exception);
+    this.failure = failure;
+    subscribers.values().forEach(subscriber -> subscriber.fail(failure));
+  }
+
+  /**
+   * Sets the handler of the push query's errors. The handler is called straight away if the push
+   * query has already failed.
+   */
+  public void setUncaughtExceptionHandler(
+      final TransientQueryQueue queue,
+      final UncaughtExceptionHandler handler
+  ) {
+    Objects.requireNonNull(handler, "handler");
+    final Subscriber subscriber = subscribers.get(queue);
+    if (subscriber != null) {
+      subscriber.setHandler(handler);
+    }
+  }
+
+  /**
+   * @return {@code true} if a stream thread of the query has failed, so the query should not be
+   *         shared with any more push queries.
+   */
+  public boolean hasFailed() {
+    return failure != null;
+  }
+
+  /**
+   * @return {@code true} if the caller should start the query, i.e. it was not already started.
+   */
+  public boolean markStarted() {
+    return started.compareAndSet(false, true);
+  }
+
+  public boolean hasStarted() {
+    return started.get();
+  }
+
+  /**
+   * Sets the listener reporting the state of the query, unless one is already set.
+   */
+  public void setQueryStateListener(final QueryStateListener listener) {
+    stateListener.compareAndSet(null, Objects.requireNonNull(listener, "listener"));
+  }
+
+  public Optional<QueryStateListener> getQueryStateListener() {
+    return Optional.ofNullable(stateListener.get());
+  }
+
+  /**
+   * @return the total time the push queries sharing the query, including those since closed, have
+   *         spent unable to queue rows as their clients were not reading them fast enough.
+   */
+  public long getBackpressureTimeMs() {
+    return removedBackpressureTimeMs.sum() + subscribers.keySet().stream()
+        .mapToLong(TransientQueryQueue::getBackpressureTimeMs)
+        .sum();
+  }
+
+  /**
+   * @return the number of times the queue of a push query sharing the query, including those
+   *         since closed, was found full.
+   */
+  public long getBackpressureCount() {
+    return removedBackpressureCount.sum() + subscribers.keySet().stream()
+        .mapToLong(TransientQueryQueue::getBackpressureCount)
+        .sum();
+  }
+
+  void add(final TransientQueryQueue queue) {
+    final Subscriber subscriber = new Subscriber(Objects.requireNonNull(queue, "queue"));
+    subscribers.put(queue, subscriber);
+
+    // Check once the subscriber is visible to a failing stream thread, so it is failed either way:
+    final Failure failure = this.failure;
+    if (failure != null) {
+      subscriber.fail(failure);
+    }
+  }
+
+  /**
+   * @return {@code true} if no push queries remain sharing the query.
+   */
+  boolean remove(final TransientQueryQueue queue) {
+    if (subscribers.remove(queue) != null) {
+      removedBackpressureTimeMs.add(queue.getBackpressureTimeMs());
+      removedBackpressureCount.add(queue.getBackpressureCount());
+    }
+    return subscribers.isEmpty();
+  }
+
+  private static final class Failure {
+
+    private final Thread thread;
+    private final Throwable exception;
+
+    Failure(final Thread thread, final Throwable exception) {
+      this.thread = Objects.requireNonNull(thread, "thread");
+      this.exception = Objects.requireNonNull(exception, "exception");
+    }
+
+    void report(final UncaughtExceptionHandler handler) {
+      handler.uncaughtException(thread, exception);
+    }
+  }
+
+  private static final class Subscriber {
+
+    private final TransientQueryQueue queue;
+    private UncaughtExceptionHandler handler;
+    private volatile Failure failure;
+
+    Subscriber(final TransientQueryQueue queue) {
+      this.queue = queue;
+    }
+
+    boolean hasFailed() {
+      return failure != null;
+    }
+
+    synchronized void setHandler(final UncaughtExceptionHandler handler) {
+      this.handler = handler;
+      if (failure != null) {
+        failure.report(handler);
+      }
+    }
+
+    /**
+     * Fails the push query, unless it has already failed, calling its handler if one is set.
+     */
+    synchronized void fail(final Failure failure) {
+      if (this.failure != null) {
+        return;
+      }
+
+      this.failure = failure;
+      if (handler != null) {
+        failure.report(handler);
+      }
+    }
+  }
+}
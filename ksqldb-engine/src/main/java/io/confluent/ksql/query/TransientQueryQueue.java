@@ -18,38 +18,86 @@ package io.confluent.ksql.query;
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.GenericRow;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.OptionalInt;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A queue of rows for transient queries.
+ *
+ * <p>Rows are handed from the stream threads to the thread serving the client through a bounded
+ * ring buffer, without taking locks on the fast path. Each slot of the buffer carries a sequence
+ * number that tells producers when the slot is free and the consumer when it holds a row, so
+ * neither side needs to check the other's position.
+ *
+ * <p>A transient query may run more than one stream thread, so producers claim slots with a
+ * compare-and-set. There is only ever a single consumer.
+ *
+ * <p>Neither side polls: a consumer waiting for rows, or a producer waiting for space, parks and
+ * is woken by the other side. The queued callback is only invoked when the consumer may have
+ * caught up with the producers, rather than once per row, so that a consumer that is behind reads
+ * the rows in batches.
+ *
+ * <p>The queue records the time producers spend backpressured, i.e. unable to queue rows as the
+ * queue is full because the client is not reading them fast enough.
  */
 public class TransientQueryQueue implements BlockingRowQueue {
 
   public static final int BLOCKING_QUEUE_CAPACITY = 500;
 
-  private final BlockingQueue<GenericRow> rowQueue;
-  private final int offerTimeoutMs;
-  private LimitQueueCallback callback;
+  private final int capacity;
+  private final AtomicReferenceArray<GenericRow> rows;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong backpressuredSince = new AtomicLong();
+  private final LongAdder backpressuredNanos = new LongAdder();
+  private final LongAdder backpressureCount = new LongAdder();
+  private final Set<Thread> waitingProducers = ConcurrentHashMap.newKeySet();
+  private final long offerTimeoutNs;
+  private final LimitQueueCallback callback;
+  private volatile Runnable queuedCallback = () -> { };
+  private volatile Runnable firstRowCallback = () -> { };
+  private volatile Thread waitingConsumer;
   private volatile boolean closed = false;
 
   public TransientQueryQueue(final OptionalInt limit) {
     this(limit, BLOCKING_QUEUE_CAPACITY, 100);
   }
 
+  /**
+   * @param limit the optional limit on the number of rows to queue.
+   * @param queueSizeLimit the capacity of the queue.
+   * @param offerTimeoutMs the longest time a producer waiting for space in a full queue parks
+   *                       before checking if the queue has been closed.
+   */
   @VisibleForTesting
   TransientQueryQueue(
       final OptionalInt limit,
       final int queueSizeLimit,
       final int offerTimeoutMs
   ) {
+    if (queueSizeLimit <= 0) {
+      throw new IllegalArgumentException("queueSizeLimit must be positive: " + queueSizeLimit);
+    }
+
     this.callback = limit.isPresent()
         ? new LimitedQueueCallback(limit.getAsInt())
         : new UnlimitedQueueCallback();
-    this.rowQueue = new LinkedBlockingQueue<>(queueSizeLimit);
-    this.offerTimeoutMs = offerTimeoutMs;
+    this.capacity = queueSizeLimit;
+    this.rows = new AtomicReferenceArray<>(queueSizeLimit);
+    this.sequences = new AtomicLongArray(queueSizeLimit);
+    for (int i = 0; i != queueSizeLimit; ++i) {
+      sequences.set(i, i);
+    }
+    this.offerTimeoutNs = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
   }
 
   @Override
@@ -59,77 +107,282 @@ public class TransientQueryQueue implements BlockingRowQueue {
 
   @Override
   public void setQueuedCallback(final Runnable queuedCallback) {
-    final LimitQueueCallback parent = callback;
-
-    callback = new LimitQueueCallback() {
-      @Override
-      public boolean shouldQueue() {
-        return parent.shouldQueue();
-      }
-
-      @Override
-      public void onQueued() {
-        parent.onQueued();
-        queuedCallback.run();
-      }
+    this.queuedCallback = Objects.requireNonNull(queuedCallback, "queuedCallback");
+  }
 
-      @Override
-      public void setLimitHandler(final LimitHandler limitHandler) {
-        parent.setLimitHandler(limitHandler);
-      }
-    };
+  /**
+   * Sets the callback that will be called when the first row is accepted into the queue.
+   *
+   * @param firstRowCallback the callback.
+   */
+  public void setFirstRowCallback(final Runnable firstRowCallback) {
+    this.firstRowCallback = Objects.requireNonNull(firstRowCallback, "firstRowCallback");
   }
 
   @Override
   public GenericRow poll(final long timeout, final TimeUnit unit)
       throws InterruptedException {
-    return rowQueue.poll(timeout, unit);
+    GenericRow row = poll();
+    if (row != null) {
+      return row;
+    }
+
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    waitingConsumer = Thread.currentThread();
+    try {
+      // Check again now producers can see this thread is waiting, so a wake-up is not missed:
+      while ((row = poll()) == null) {
+        final long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return null;
+        }
+
+        LockSupport.parkNanos(this, remaining);
+
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+      return row;
+    } finally {
+      waitingConsumer = null;
+    }
   }
 
   @Override
   public GenericRow poll() {
-    return rowQueue.poll();
+    final GenericRow row = take();
+    if (row != null) {
+      wakeProducers();
+    }
+    return row;
   }
 
   @Override
   public void drainTo(final Collection<? super GenericRow> collection) {
-    rowQueue.drainTo(collection);
+    drainTo(collection, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(final Collection<? super GenericRow> collection, final int maxRows) {
+    int drained = 0;
+    while (drained < maxRows) {
+      final GenericRow row = take();
+      if (row == null) {
+        break;
+      }
+
+      collection.add(row);
+      drained++;
+    }
+
+    if (drained != 0) {
+      wakeProducers();
+    }
+    return drained;
   }
 
   @Override
   public int size() {
-    return rowQueue.size();
+    final long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, capacity));
   }
 
   @Override
   public boolean isEmpty() {
-    return rowQueue.isEmpty();
+    final long position = head.get();
+    return sequences.get(index(position)) != position + 1;
   }
 
   @Override
   public void close() {
     closed = true;
+    wakeProducers();
   }
 
   public void acceptRow(final GenericRow row) {
+    if (row == null) {
+      return;
+    }
+
+    if (!callback.shouldQueue()) {
+      return;
+    }
+
+    final long position = put(row);
+    if (position < 0) {
+      return;
+    }
+
+    onQueued(position);
+  }
+
+  /**
+   * Queues the row if the queue has space for it, without waiting.
+   *
+   * <p>Used by producers that, rather than blocking while the queue is full, stop reading from
+   * their source until the queue has {@link #hasDrained drained}.
+   *
+   * @return {@code false} if the queue is full, in which case the row should be offered again
+   *         later, or {@code true} if the row was queued or discarded, e.g. as the queue is closed.
+   */
+  public boolean tryAcceptRow(final GenericRow row) {
+    if (row == null || closed || !callback.shouldQueue()) {
+      return true;
+    }
+
+    final long position = offer(row);
+    if (position < 0) {
+      startBackpressure();
+      return false;
+    }
+
+    endBackpressure();
+    onQueued(position);
+    return true;
+  }
+
+  /**
+   * @return {@code true} if the consumer has read at least half the rows of the queue, so that a
+   *         producer that stopped reading from its source can resume.
+   */
+  public boolean hasDrained() {
+    return size() <= capacity / 2;
+  }
+
+  /**
+   * @return the total time producers have spent unable to queue rows as the queue was full.
+   */
+  public long getBackpressureTimeMs() {
+    final long since = backpressuredSince.get();
+    final long current = since == 0 ? 0 : System.nanoTime() - since;
+    return TimeUnit.NANOSECONDS.toMillis(backpressuredNanos.sum() + current);
+  }
+
+  /**
+   * @return the number of times producers found the queue full.
+   */
+  public long getBackpressureCount() {
+    return backpressureCount.sum();
+  }
+
+  private void onQueued(final long position) {
+    if (position == 0) {
+      firstRowCallback.run();
+    }
+
+    callback.onQueued();
+
+    final Thread consumer = waitingConsumer;
+    if (consumer != null) {
+      LockSupport.unpark(consumer);
+    }
+
+    // A consumer still behind this row will read it without being told:
+    if (head.get() >= position) {
+      queuedCallback.run();
+    }
+  }
+
+  /**
+   * Puts the row in the next free slot, waiting for one to be free if the queue is full.
+   *
+   * @return the position of the row, or -1 if the queue was closed or the thread interrupted
+   *         before the row could be queued.
+   */
+  private long put(final GenericRow row) {
+    if (closed) {
+      return -1;
+    }
+
+    long position = offer(row);
+    if (position >= 0) {
+      return position;
+    }
+
+    startBackpressure();
+
+    final Thread producer = Thread.currentThread();
+    waitingProducers.add(producer);
     try {
-      if (row == null) {
-        return;
-      }
+      // Check again now the consumer can see this thread is waiting, so a wake-up is not missed:
+      while ((position = offer(row)) < 0) {
+        if (closed) {
+          return -1;
+        }
+
+        LockSupport.parkNanos(this, offerTimeoutNs);
+
+        if (Thread.interrupted()) {
+          // Forced shutdown?
+          producer.interrupt();
+          return -1;
+        }
 
-      if (!callback.shouldQueue()) {
-        return;
+        // Another producer may have ended the period of backpressure this one is still in:
+        backpressuredSince.compareAndSet(0, System.nanoTime());
       }
+      return position;
+    } finally {
+      waitingProducers.remove(producer);
+      endBackpressure();
+    }
+  }
+
+  private void startBackpressure() {
+    if (backpressuredSince.compareAndSet(0, System.nanoTime())) {
+      backpressureCount.increment();
+    }
+  }
+
+  private void endBackpressure() {
+    final long since = backpressuredSince.getAndSet(0);
+    if (since != 0) {
+      backpressuredNanos.add(System.nanoTime() - since);
+    }
+  }
+
+  private long offer(final GenericRow row) {
+    while (true) {
+      final long position = tail.get();
+      final int index = index(position);
+      final long sequence = sequences.get(index);
 
-      while (!closed) {
-        if (rowQueue.offer(row, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
-          callback.onQueued();
-          break;
+      if (sequence == position) {
+        if (tail.compareAndSet(position, position + 1)) {
+          rows.lazySet(index, row);
+          sequences.set(index, position + 1);
+          return position;
         }
+      } else if (sequence < position) {
+        // Slot still holds the row from the last time round the buffer, i.e. the queue is full:
+        return -1;
       }
-    } catch (final InterruptedException e) {
-      // Forced shutdown?
-      Thread.currentThread().interrupt();
+      // Otherwise another producer claimed the slot first, so try the next one.
+    }
+  }
+
+  private GenericRow take() {
+    final long position = head.get();
+    final int index = index(position);
+    if (sequences.get(index) != position + 1) {
+      return null;
     }
+
+    final GenericRow row = rows.get(index);
+    rows.lazySet(index, null);
+    sequences.lazySet(index, position + capacity);
+    head.set(position + 1);
+    return row;
+  }
+
+  private void wakeProducers() {
+    if (!waitingProducers.isEmpty()) {
+      waitingProducers.forEach(LockSupport::unpark);
+    }
+  }
+
+  private int index(final long position) {
+    return (int) (position % capacity);
   }
 }
@@ -99,8 +99,13 @@ public class SchemaKStream<K> {
       final ValueFormat valueFormat,
       final Set<SerdeOption> options,
       final QueryContext.Stacker contextStacker,
-      final Optional<TimestampColumn> timestampColumn
+      final Optional<TimestampColumn> timestampColumn,
+      final List<ColumnName> indexedColumns
   ) {
+    if (!indexedColumns.isEmpty()) {
+      throw new KsqlException("Only tables can have indexed columns.");
+    }
+
     final StreamSink<K> step = ExecutionStepFactory.streamSink(
         contextStacker,
         Formats.of(keyFormat, valueFormat, options),
@@ -77,14 +77,16 @@ public class SchemaKTable<K> extends SchemaKStream<K> {
       final ValueFormat valueFormat,
       final Set<SerdeOption> options,
       final QueryContext.Stacker contextStacker,
-      final Optional<TimestampColumn> timestampColumn
+      final Optional<TimestampColumn> timestampColumn,
+      final List<ColumnName> indexedColumns
   ) {
     final TableSink<K> step = ExecutionStepFactory.tableSink(
         contextStacker,
         sourceTableStep,
         Formats.of(keyFormat, valueFormat, options),
         kafkaTopicName,
-        timestampColumn
+        timestampColumn,
+        indexedColumns
     );
     return new SchemaKTable<>(
         step,
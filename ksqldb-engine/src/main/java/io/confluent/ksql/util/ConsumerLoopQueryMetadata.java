@@ -0,0 +1,336 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.ConsumerLoopPipeline;
+import io.confluent.ksql.query.PushQueryProgress;
+import io.confluent.ksql.query.QueryStartupTimer.Phase;
+import io.confluent.ksql.query.TransientQueryQueue;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.LagInfo;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.Topology.AutoOffsetReset;
+import org.apache.kafka.streams.state.StreamsMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metadata of a push query that runs as a loop polling a plain consumer, rather than in Kafka
+ * Streams.
+ *
+ * <p>The consumer is assigned all the partitions of the source topic, so the query needs no
+ * consumer group, and seeks to their beginning or end depending on the offset reset policy of
+ * the query. No offsets are committed. The state of the query is reported using the states of
+ * {@code KafkaStreams}, so it is displayed in the same way as that of other queries.
+ *
+ * <p>Rather than blocking while the client is slow to read rows, the loop pauses the partitions
+ * of the source topic once the queue of rows is full, and resumes them once the client has
+ * drained the queue. The consumer keeps polling while paused, so remains responsive to close.
+ *
+ * <p>The query can be started at given offsets, rather than by the offset reset policy, to resume
+ * an earlier run of it from the progress it {@link #trackProgress tracked}.
+ *
+ * @see ConsumerLoopPipeline
+ */
+public class ConsumerLoopQueryMetadata extends TransientQueryMetadata {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ConsumerLoopQueryMetadata.class);
+
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+  private static final Duration PAUSED_POLL_TIMEOUT = Duration.ofMillis(10);
+
+  private final ConsumerLoopPipeline pipeline;
+  private final TransientQueryQueue queue;
+  private final Supplier<org.apache.kafka.clients.consumer.Consumer<byte[], byte[]>>
+      consumerFactory;
+  private final long closeTimeout;
+  private final Map<Integer, Long> startOffsets;
+
+  private volatile State state = State.CREATED;
+  private volatile boolean closed;
+  private volatile Optional<QueryStateListener> stateListener = Optional.empty();
+  private volatile Optional<UncaughtExceptionHandler> exceptionHandler = Optional.empty();
+  private volatile org.apache.kafka.clients.consumer.Consumer<byte[], byte[]> consumer;
+  private volatile Optional<PushQueryProgress> progress = Optional.empty();
+  private Thread thread;
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  public ConsumerLoopQueryMetadata(
+      final String statementString,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final TransientQueryQueue queue,
+      final String queryApplicationId,
+      final Topology topology,
+      final Map<String, Object> streamsProperties,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final long closeTimeout,
+      final ConsumerLoopPipeline pipeline,
+      final Supplier<org.apache.kafka.clients.consumer.Consumer<byte[], byte[]>> consumerFactory,
+      final Map<Integer, Long> startOffsets
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    super(
+        statementString,
+        logicalSchema,
+        sourceNames,
+        executionPlan,
+        queue,
+        queryApplicationId,
+        topology,
+        streamsProperties,
+        overriddenProperties,
+        closeCallback,
+        closeTimeout
+    );
+    this.queue = Objects.requireNonNull(queue, "queue");
+    this.pipeline = Objects.requireNonNull(pipeline, "pipeline");
+    this.consumerFactory = Objects.requireNonNull(consumerFactory, "consumerFactory");
+    this.closeTimeout = closeTimeout;
+    this.startOffsets = ImmutableMap.copyOf(Objects.requireNonNull(startOffsets, "startOffsets"));
+  }
+
+  @Override
+  public boolean isRunning() {
+    return !closed;
+  }
+
+  @Override
+  public synchronized boolean hasEverBeenStarted() {
+    return thread != null;
+  }
+
+  @Override
+  public State getState() {
+    return state;
+  }
+
+  @Override
+  public void registerQueryStateListener(final QueryStateListener queryStateListener) {
+    stateListener = Optional.of(queryStateListener);
+    queryStateListener.onChange(state, state);
+  }
+
+  @Override
+  public synchronized void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    exceptionHandler = Optional.of(handler);
+    if (thread != null) {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+  }
+
+  @Override
+  public Map<String, Map<Integer, LagInfo>> getAllLocalStorePartitionLags() {
+    return ImmutableMap.of();
+  }
+
+  @Override
+  public Collection<StreamsMetadata> getAllMetadata() {
+    return ImmutableList.of();
+  }
+
+  @Override
+  public synchronized Optional<PushQueryProgress> trackProgress() {
+    if (thread != null) {
+      throw new IllegalStateException("Progress must be tracked before the query is started");
+    }
+
+    if (!progress.isPresent()) {
+      progress = Optional.of(new PushQueryProgress());
+    }
+    return progress;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (thread != null || closed) {
+      return;
+    }
+
+    LOG.info("Starting query with application id: {}", getQueryApplicationId());
+    consumer = consumerFactory.get();
+    thread = new Thread(this::run, getQueryApplicationId());
+    thread.setDaemon(true);
+    exceptionHandler.ifPresent(thread::setUncaughtExceptionHandler);
+    setState(State.REBALANCING);
+    thread.start();
+  }
+
+  @Override
+  protected void doClose(final boolean cleanUp) {
+    // Close the queue first, so the consumer thread isn't blocked writing to it:
+    queue.close();
+    closed = true;
+
+    final Thread consumerThread;
+    synchronized (this) {
+      consumerThread = thread;
+    }
+
+    setState(State.PENDING_SHUTDOWN);
+    if (consumerThread != null) {
+      consumer.wakeup();
+      awaitTermination(consumerThread);
+    }
+
+    setState(State.NOT_RUNNING);
+    stateListener.ifPresent(QueryStateListener::close);
+  }
+
+  private void run() {
+    try (org.apache.kafka.clients.consumer.Consumer<byte[], byte[]> c = consumer) {
+      final List<TopicPartition> partitions = c.partitionsFor(pipeline.getTopicName()).stream()
+          .map(info -> new TopicPartition(info.topic(), info.partition()))
+          .collect(Collectors.toList());
+
+      c.assign(partitions);
+      seek(c, partitions);
+      progress.ifPresent(p -> {
+        partitions.forEach(tp -> p.advance(tp.partition(), c.position(tp), false));
+        p.flush();
+      });
+      setState(State.RUNNING);
+      getStartupTimer().end(Phase.REBALANCE);
+
+      final Deque<ProcessedRecord> pending = new ArrayDeque<>();
+      while (!closed) {
+        final boolean paused = !c.paused().isEmpty();
+        for (final ConsumerRecord<byte[], byte[]> record
+            : c.poll(paused ? PAUSED_POLL_TIMEOUT : POLL_TIMEOUT)) {
+          pending.add(new ProcessedRecord(record, pipeline.process(record)));
+        }
+
+        while (!pending.isEmpty() && pending.peek().tryQueue()) {
+          final ProcessedRecord processed = pending.poll();
+          progress.ifPresent(p -> p.advance(
+              processed.partition, processed.offset + 1, processed.row.isPresent()));
+        }
+        progress.ifPresent(PushQueryProgress::flush);
+
+        if (!paused && !pending.isEmpty()) {
+          // The client is not keeping up, so stop fetching until it has drained the queue:
+          c.pause(c.assignment());
+        } else if (paused && pending.isEmpty() && queue.hasDrained()) {
+          c.resume(c.paused());
+        }
+      }
+    } catch (final WakeupException e) {
+      // Query closed
+    } catch (final RuntimeException e) {
+      if (closed) {
+        return;
+      }
+
+      LOG.error("Unhandled exception in query: {}", getQueryApplicationId(), e);
+      setState(State.ERROR);
+      throw e;
+    }
+  }
+
+  private void seek(
+      final org.apache.kafka.clients.consumer.Consumer<byte[], byte[]> c,
+      final List<TopicPartition> partitions
+  ) {
+    final List<TopicPartition> unknown = new ArrayList<>();
+    for (final TopicPartition tp : partitions) {
+      final Long offset = startOffsets.get(tp.partition());
+      if (offset == null) {
+        unknown.add(tp);
+      } else {
+        c.seek(tp, offset);
+      }
+    }
+
+    if (unknown.isEmpty()) {
+      // An empty collection would seek all partitions:
+      return;
+    }
+
+    if (pipeline.getOffsetReset() == AutoOffsetReset.EARLIEST) {
+      c.seekToBeginning(unknown);
+    } else {
+      c.seekToEnd(unknown);
+    }
+  }
+
+  private void awaitTermination(final Thread consumerThread) {
+    if (consumerThread == Thread.currentThread()) {
+      // Closed from the consumer thread itself, e.g. when the query's limit was reached:
+      return;
+    }
+
+    try {
+      consumerThread.join(closeTimeout);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private synchronized void setState(final State newState) {
+    final State oldState = state;
+    if (oldState == newState || !oldState.isValidTransition(newState)) {
+      return;
+    }
+
+    state = newState;
+    stateListener.ifPresent(listener -> listener.onChange(newState, oldState));
+  }
+
+  private final class ProcessedRecord {
+
+    private final int partition;
+    private final long offset;
+    private final Optional<GenericRow> row;
+
+    ProcessedRecord(final ConsumerRecord<?, ?> record, final Optional<GenericRow> row) {
+      this.partition = record.partition();
+      this.offset = record.offset();
+      this.row = row;
+    }
+
+    /**
+     * @return {@code true} if the record is done with, i.e. its row, if any, was queued.
+     */
+    boolean tryQueue() {
+      return !row.isPresent() || queue.tryAcceptRow(row.get());
+    }
+  }
+}
@@ -21,6 +21,7 @@ import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.ddl.commands.KsqlTopic;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializationProvider;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
 import io.confluent.ksql.metastore.model.DataSource.DataSourceType;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.query.QueryId;
@@ -44,6 +45,7 @@ public class PersistentQueryMetadata extends QueryMetadata {
   private final PhysicalSchema resultSchema;
   private final DataSourceType dataSourceType;
   private final Optional<MaterializationProvider> materializationProvider;
+  private final Optional<ResultCache> resultCache;
 
   // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
   public PersistentQueryMetadata(
@@ -56,6 +58,7 @@ public class PersistentQueryMetadata extends QueryMetadata {
       final QueryId id,
       final DataSourceType dataSourceType,
       final Optional<MaterializationProvider> materializationProvider,
+      final Optional<ResultCache> resultCache,
       final String queryApplicationId,
       final KsqlTopic resultTopic,
       final Topology topology,
@@ -85,6 +88,7 @@ public class PersistentQueryMetadata extends QueryMetadata {
     this.resultSchema = requireNonNull(schema, "schema");
     this.materializationProvider =
         requireNonNull(materializationProvider, "materializationProvider");
+    this.resultCache = requireNonNull(resultCache, "resultCache");
     this.dataSourceType = Objects.requireNonNull(dataSourceType, "dataSourceType");
   }
 
@@ -98,6 +102,7 @@ public class PersistentQueryMetadata extends QueryMetadata {
     this.schemas = other.schemas;
     this.resultSchema = other.resultSchema;
     this.materializationProvider = other.materializationProvider;
+    this.resultCache = other.resultCache;
     this.dataSourceType = other.dataSourceType;
   }
 
@@ -136,6 +141,14 @@ public class PersistentQueryMetadata extends QueryMetadata {
     return materializationProvider.map(builder -> builder.build(queryId, contextStacker));
   }
 
+  /**
+   * @return the cache of pull query key lookups against the table the query materializes, if
+   *     result caching is enabled.
+   */
+  public Optional<ResultCache> getResultCache() {
+    return resultCache;
+  }
+
   @Override
   public void stop() {
     doClose(false);
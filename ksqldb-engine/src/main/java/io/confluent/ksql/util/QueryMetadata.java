@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.KafkaStreams.StateListener;
 import org.apache.kafka.streams.LagInfo;
 import org.apache.kafka.streams.Topology;
 import org.apache.kafka.streams.errors.StreamsException;
@@ -75,10 +76,77 @@ public abstract class QueryMetadata {
       final Consumer<QueryMetadata> closeCallback,
       final long closeTimeout,
       final QueryId queryId
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    this(
+        statementString,
+        Optional.of(Objects.requireNonNull(kafkaStreams, "kafkaStreams")),
+        logicalSchema,
+        sourceNames,
+        executionPlan,
+        queryApplicationId,
+        topology,
+        streamsProperties,
+        overriddenProperties,
+        closeCallback,
+        closeTimeout,
+        queryId
+    );
+  }
+
+  /**
+   * Constructor for queries that do not run in Kafka Streams. Such queries must override all
+   * the methods that otherwise access the streams, e.g. {@link #getState()} and {@link #start()}.
+   */
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  protected QueryMetadata(
+      final String statementString,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final String queryApplicationId,
+      final Topology topology,
+      final Map<String, Object> streamsProperties,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final long closeTimeout,
+      final QueryId queryId
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    this(
+        statementString,
+        Optional.empty(),
+        logicalSchema,
+        sourceNames,
+        executionPlan,
+        queryApplicationId,
+        topology,
+        streamsProperties,
+        overriddenProperties,
+        closeCallback,
+        closeTimeout,
+        queryId
+    );
+  }
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  private QueryMetadata(
+      final String statementString,
+      final Optional<KafkaStreams> kafkaStreams,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final String queryApplicationId,
+      final Topology topology,
+      final Map<String, Object> streamsProperties,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final long closeTimeout,
+      final QueryId queryId
   ) {
     // CHECKSTYLE_RULES.ON: ParameterNumberCheck
     this.statementString = Objects.requireNonNull(statementString, "statementString");
-    this.kafkaStreams = Objects.requireNonNull(kafkaStreams, "kafkaStreams");
+    this.kafkaStreams = kafkaStreams.orElse(null);
     this.executionPlan = Objects.requireNonNull(executionPlan, "executionPlan");
     this.queryApplicationId = Objects.requireNonNull(queryApplicationId, "queryApplicationId");
     this.topology = Objects.requireNonNull(topology, "kafkaTopicClient");
@@ -112,7 +180,7 @@ public abstract class QueryMetadata {
 
   public void registerQueryStateListener(final QueryStateListener queryStateListener) {
     this.queryStateListener = Optional.of(queryStateListener);
-    queryStateListener.onChange(kafkaStreams.state(), kafkaStreams.state());
+    queryStateListener.onChange(streams().state(), streams().state());
   }
 
   public Map<String, Object> getOverriddenProperties() {
@@ -124,11 +192,11 @@ public abstract class QueryMetadata {
   }
 
   public void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
-    kafkaStreams.setUncaughtExceptionHandler(handler);
+    streams().setUncaughtExceptionHandler(handler);
   }
 
   public State getState() {
-    return kafkaStreams.state();
+    return streams().state();
   }
 
   public String getExecutionPlan() {
@@ -145,7 +213,7 @@ public abstract class QueryMetadata {
 
   public Map<String, Map<Integer, LagInfo>> getAllLocalStorePartitionLags() {
     try {
-      return kafkaStreams.allLocalStorePartitionLags();
+      return streams().allLocalStorePartitionLags();
     } catch (IllegalStateException | StreamsException e) {
       LOG.error(e.getMessage());
       return ImmutableMap.of();
@@ -154,7 +222,7 @@ public abstract class QueryMetadata {
 
   public Collection<StreamsMetadata> getAllMetadata() {
     try {
-      return ImmutableList.copyOf(kafkaStreams.allMetadata());
+      return ImmutableList.copyOf(streams().allMetadata());
     } catch (IllegalStateException e) {
       LOG.error(e.getMessage());
     }
@@ -210,10 +278,10 @@ public abstract class QueryMetadata {
   }
 
   protected void doClose(final boolean cleanUp) {
-    kafkaStreams.close(Duration.ofMillis(closeTimeout));
+    streams().close(Duration.ofMillis(closeTimeout));
 
     if (cleanUp) {
-      kafkaStreams.cleanUp();
+      streams().cleanUp();
     }
 
     queryStateListener.ifPresent(QueryStateListener::close);
@@ -222,11 +290,25 @@ public abstract class QueryMetadata {
   public void start() {
     LOG.info("Starting query with application id: {}", queryApplicationId);
     everStarted = true;
-    queryStateListener.ifPresent(kafkaStreams::setStateListener);
-    kafkaStreams.start();
+    streamsStateListener().ifPresent(streams()::setStateListener);
+    streams().start();
+  }
+
+  /**
+   * @return the listener to set on the Kafka Streams app of the query when it is started, if any.
+   */
+  protected Optional<StateListener> streamsStateListener() {
+    return queryStateListener.map(StateListener.class::cast);
   }
 
   public String getTopologyDescription() {
     return topology.describe().toString();
   }
+
+  private KafkaStreams streams() {
+    if (kafkaStreams == null) {
+      throw new IllegalStateException("Query does not run in Kafka Streams: " + queryId);
+    }
+    return kafkaStreams;
+  }
 }
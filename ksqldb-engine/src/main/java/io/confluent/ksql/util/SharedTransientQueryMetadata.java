@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.TransientQueryFanOut;
+import io.confluent.ksql.query.TransientQueryQueue;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.Topology;
+
+/**
+ * Metadata of a push query subscribed to a transient query that it shares with other push
+ * queries.
+ *
+ * <p>The shared query is started by the first of its push queries to start, and closed, along
+ * with its internal topics, once the last of them closes.
+ *
+ * @see io.confluent.ksql.query.SharedTransientQueries
+ */
+public class SharedTransientQueryMetadata extends TransientQueryMetadata {
+
+  private final TransientQueryQueue queue;
+  private final TransientQueryFanOut fanOut;
+  private final boolean firstSubscriber;
+  private final BooleanSupplier unsubscribe;
+  private final AtomicBoolean subscribed = new AtomicBoolean(true);
+  private volatile boolean lastSubscriber;
+
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  public SharedTransientQueryMetadata(
+      final String statementString,
+      final KafkaStreams kafkaStreams,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final TransientQueryQueue queue,
+      final String queryApplicationId,
+      final Topology topology,
+      final Map<String, Object> streamsProperties,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final long closeTimeout,
+      final TransientQueryFanOut fanOut,
+      final boolean firstSubscriber,
+      final BooleanSupplier unsubscribe
+  ) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    super(
+        statementString,
+        kafkaStreams,
+        logicalSchema,
+        sourceNames,
+        executionPlan,
+        queue,
+        queryApplicationId,
+        topology,
+        streamsProperties,
+        overriddenProperties,
+        closeCallback,
+        closeTimeout
+    );
+    this.queue = Objects.requireNonNull(queue, "queue");
+    this.fanOut = Objects.requireNonNull(fanOut, "fanOut");
+    this.firstSubscriber = firstSubscriber;
+    this.unsubscribe = Objects.requireNonNull(unsubscribe, "unsubscribe");
+  }
+
+  /**
+   * @return {@code true} if the shared query was built for this push query. Only the first push
+   *         query registers the metrics of the shared query, which cover all its push queries.
+   */
+  public boolean isFirstSubscriber() {
+    return firstSubscriber;
+  }
+
+  /**
+   * @return {@code true} if this push query has closed the shared query, as it was the last push
+   *         query subscribed to it.
+   */
+  public boolean isLastSubscriber() {
+    return lastSubscriber;
+  }
+
+  /**
+   * @return the total time the push queries sharing the query have spent unable to queue rows as
+   *         their clients were not reading them fast enough.
+   */
+  public long getBackpressureTimeMs() {
+    return fanOut.getBackpressureTimeMs();
+  }
+
+  /**
+   * @return the number of times the queue of a push query sharing the query was found full.
+   */
+  public long getBackpressureCount() {
+    return fanOut.getBackpressureCount();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return subscribed.get() && super.isRunning();
+  }
+
+  @Override
+  public boolean hasEverBeenStarted() {
+    return fanOut.hasStarted();
+  }
+
+  @Override
+  public void setUncaughtExceptionHandler(final UncaughtExceptionHandler handler) {
+    // The shared query may already be running, so the handler can't be set on its streams:
+    fanOut.setUncaughtExceptionHandler(queue, handler);
+  }
+
+  @Override
+  public void registerQueryStateListener(final QueryStateListener queryStateListener) {
+    fanOut.setQueryStateListener(queryStateListener);
+    super.registerQueryStateListener(queryStateListener);
+  }
+
+  @Override
+  public void start() {
+    if (fanOut.markStarted()) {
+      // Report the state of the shared query, whichever push query starts it:
+      fanOut.getQueryStateListener().ifPresent(super::registerQueryStateListener);
+      super.start();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (!subscribed.compareAndSet(true, false)) {
+      return;
+    }
+
+    lastSubscriber = unsubscribe.getAsBoolean();
+    super.close();
+  }
+
+  @Override
+  protected void doClose(final boolean cleanUp) {
+    if (lastSubscriber) {
+      super.doClose(cleanUp);
+      fanOut.getQueryStateListener().ifPresent(QueryStateListener::close);
+    } else {
+      queue.close();
+    }
+  }
+}
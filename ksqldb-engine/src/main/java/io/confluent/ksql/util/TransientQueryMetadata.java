@@ -18,15 +18,22 @@ package io.confluent.ksql.util;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.query.BlockingRowQueue;
 import io.confluent.ksql.query.LimitHandler;
+import io.confluent.ksql.query.PushQueryProgress;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.QueryStartupTimer;
+import io.confluent.ksql.query.QueryStartupTimer.Phase;
+import io.confluent.ksql.query.TransientQueryQueue;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConstants.KsqlQueryType;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.KafkaStreams.StateListener;
 import org.apache.kafka.streams.Topology;
 
 /**
@@ -36,6 +43,7 @@ public class TransientQueryMetadata extends QueryMetadata {
 
   private final BlockingRowQueue rowQueue;
   private final AtomicBoolean isRunning = new AtomicBoolean(true);
+  private final QueryStartupTimer startupTimer = new QueryStartupTimer();
 
   // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
   public TransientQueryMetadata(
@@ -67,10 +75,46 @@ public class TransientQueryMetadata extends QueryMetadata {
         new QueryId(queryApplicationId)
     );
     this.rowQueue = Objects.requireNonNull(rowQueue, "rowQueue");
+    validateSchema(logicalSchema);
+    timeFirstRow(rowQueue);
+  }
 
-    if (!logicalSchema.key().isEmpty()) {
-      throw new IllegalArgumentException("Transient queries only support value columns");
-    }
+  /**
+   * Constructor for transient queries that do not run in Kafka Streams.
+   *
+   * @see QueryMetadata#QueryMetadata(String, LogicalSchema, Set, String, String, Topology, Map,
+   *      Map, Consumer, long, QueryId)
+   */
+  // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
+  protected TransientQueryMetadata(
+      final String statementString,
+      final LogicalSchema logicalSchema,
+      final Set<SourceName> sourceNames,
+      final String executionPlan,
+      final BlockingRowQueue rowQueue,
+      final String queryApplicationId,
+      final Topology topology,
+      final Map<String, Object> streamsProperties,
+      final Map<String, Object> overriddenProperties,
+      final Consumer<QueryMetadata> closeCallback,
+      final long closeTimeout) {
+    // CHECKSTYLE_RULES.ON: ParameterNumberCheck
+    super(
+        statementString,
+        logicalSchema,
+        sourceNames,
+        executionPlan,
+        queryApplicationId,
+        topology,
+        streamsProperties,
+        overriddenProperties,
+        closeCallback,
+        closeTimeout,
+        new QueryId(queryApplicationId)
+    );
+    this.rowQueue = Objects.requireNonNull(rowQueue, "rowQueue");
+    validateSchema(logicalSchema);
+    timeFirstRow(rowQueue);
   }
 
   public boolean isRunning() {
@@ -80,6 +124,24 @@ public class TransientQueryMetadata extends QueryMetadata {
   public BlockingRowQueue getRowQueue() {
     return rowQueue;
   }
+
+  /**
+   * Starts tracking the progress of the query through its source, so that it can be resumed.
+   *
+   * <p>Must be called before the query is started.
+   *
+   * @return the progress of the query, or empty if the query cannot be resumed.
+   */
+  public Optional<PushQueryProgress> trackProgress() {
+    return Optional.empty();
+  }
+
+  /**
+   * @return the timer of the phases of starting the query.
+   */
+  public QueryStartupTimer getStartupTimer() {
+    return startupTimer;
+  }
   
   @Override
   public KsqlQueryType getQueryType() {
@@ -111,6 +173,17 @@ public class TransientQueryMetadata extends QueryMetadata {
     close();
   }
 
+  @Override
+  protected Optional<StateListener> streamsStateListener() {
+    final Optional<StateListener> listener = super.streamsStateListener();
+    return Optional.of((newState, oldState) -> {
+      if (newState == State.RUNNING) {
+        startupTimer.end(Phase.REBALANCE);
+      }
+      listener.ifPresent(l -> l.onChange(newState, oldState));
+    });
+  }
+
   @Override
   protected void doClose(final boolean cleanUp) {
     // To avoid deadlock, close the queue first to ensure producer side isn't blocked trying to
@@ -121,4 +194,17 @@ public class TransientQueryMetadata extends QueryMetadata {
     super.doClose(cleanUp);
     isRunning.set(false);
   }
+
+  private void timeFirstRow(final BlockingRowQueue rowQueue) {
+    if (rowQueue instanceof TransientQueryQueue) {
+      ((TransientQueryQueue) rowQueue)
+          .setFirstRowCallback(() -> startupTimer.end(Phase.FIRST_ROW));
+    }
+  }
+
+  private static void validateSchema(final LogicalSchema logicalSchema) {
+    if (!logicalSchema.key().isEmpty()) {
+      throw new IllegalArgumentException("Transient queries only support value columns");
+    }
+  }
 }
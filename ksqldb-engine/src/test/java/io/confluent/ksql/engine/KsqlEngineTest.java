@@ -18,6 +18,7 @@ package io.confluent.ksql.engine;
 import static io.confluent.ksql.engine.KsqlEngineTestUtil.execute;
 import static io.confluent.ksql.metastore.model.MetaStoreMatchers.FieldMatchers.hasFullName;
 import static io.confluent.ksql.statement.ConfiguredStatement.of;
+import static io.confluent.ksql.test.util.AssertEventually.assertThatEventually;
 import static io.confluent.ksql.util.KsqlExceptionMatcher.rawMessage;
 import static io.confluent.ksql.util.KsqlExceptionMatcher.statementText;
 import static java.util.Collections.emptyMap;
@@ -36,17 +37,23 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.confluent.kafka.schemaregistry.avro.AvroSchema;
 import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.KsqlConfigTestUtil;
 import io.confluent.ksql.KsqlExecutionContext;
 import io.confluent.ksql.KsqlExecutionContext.ExecuteResult;
 import io.confluent.ksql.function.InternalFunctionRegistry;
+import io.confluent.ksql.internal.KsqlEngineMetrics;
 import io.confluent.ksql.metastore.MutableMetaStore;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.parser.KsqlParser.ParsedStatement;
@@ -56,12 +63,16 @@ import io.confluent.ksql.parser.tree.CreateStream;
 import io.confluent.ksql.parser.tree.CreateStreamAsSelect;
 import io.confluent.ksql.parser.tree.CreateTable;
 import io.confluent.ksql.parser.tree.DropTable;
+import io.confluent.ksql.query.PushQueryProgress;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.id.SequentialQueryIdGenerator;
 import io.confluent.ksql.schema.ksql.SystemColumns;
+import io.confluent.ksql.services.ConnectClient;
 import io.confluent.ksql.services.FakeKafkaTopicClient;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.services.TestServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
+import io.confluent.ksql.util.FakeKafkaClientSupplier;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlConstants;
 import io.confluent.ksql.util.KsqlException;
@@ -69,17 +80,31 @@ import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.MetaStoreFixture;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
+import io.confluent.ksql.util.SharedTransientQueryMetadata;
+import io.confluent.ksql.util.TransientQueryMetadata;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Type;
 import org.apache.avro.SchemaBuilder;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.LongSerializer;
 import org.apache.kafka.common.utils.Utils;
 import org.junit.After;
 import org.junit.Assert;
@@ -726,6 +751,115 @@ public class KsqlEngineTest {
     verify(topicClient).deleteInternalTopics(query.getQueryApplicationId());
   }
 
+  @Test
+  public void shouldKeepMetricsOfSharedQueryUntilLastSubscriberCloses() {
+    // Given:
+    final KsqlEngineMetrics engineMetrics = mock(KsqlEngineMetrics.class);
+    final KsqlEngine engine = KsqlEngineTestUtil.createKsqlEngine(
+        serviceContext,
+        metaStore,
+        e -> engineMetrics,
+        new SequentialQueryIdGenerator()
+    );
+    final Map<String, Object> overrides = ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG, true,
+        ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest"
+    );
+
+    try {
+      final TransientQueryMetadata first = KsqlEngineTestUtil.executeQuery(
+          serviceContext, engine, "select * from test1 EMIT CHANGES;", KSQL_CONFIG, overrides);
+      final TransientQueryMetadata second = KsqlEngineTestUtil.executeQuery(
+          serviceContext, engine, "select * from test1 EMIT CHANGES;", KSQL_CONFIG, overrides);
+
+      // When:
+      first.close();
+
+      // Then:
+      assertThat(first, instanceOf(SharedTransientQueryMetadata.class));
+      verify(engineMetrics, times(1)).registerQuery(any());
+      verify(engineMetrics, never()).unregisterQuery(any());
+      assertThat(engine.getAllLiveQueries(), contains(second));
+
+      // When:
+      second.close();
+
+      // Then:
+      verify(engineMetrics).unregisterQuery(second);
+      assertThat(engine.getAllLiveQueries(), is(empty()));
+    } finally {
+      engine.close();
+    }
+  }
+
+  @Test
+  public void shouldResumeLightweightPushQueryAfterLastRowTaken() throws Exception {
+    // Given:
+    final ServiceContext context = TestServiceContext.create(
+        new FakeKafkaClientSupplier() {
+          @Override
+          public Consumer<byte[], byte[]> getConsumer(final Map<String, Object> config) {
+            return test1Consumer(10L, 11L, 12L);
+          }
+        },
+        new FakeKafkaClientSupplier().getAdmin(emptyMap()),
+        topicClient,
+        schemaRegistryClientFactory,
+        mock(ConnectClient.class)
+    );
+    final Map<String, Object> overrides = ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_CONFIG, true,
+        ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"
+    );
+
+    try {
+      final TransientQueryMetadata first = KsqlEngineTestUtil.executeQuery(
+          context, ksqlEngine, "select COL0 from test1 EMIT CHANGES;", KSQL_CONFIG, overrides);
+      final PushQueryProgress progress = first.trackProgress().get();
+      first.start();
+
+      final List<Long> taken = ImmutableList.of(takeCol0(first), takeCol0(first));
+      final String token = assertThatEventually(
+          () -> progress.getToken(taken.size()), is(Optional.of("0:2"))).get();
+      first.close();
+
+      // When:
+      final TransientQueryMetadata resumed = KsqlEngineTestUtil.executeQuery(
+          context, ksqlEngine, "select COL0 from test1 EMIT CHANGES;", KSQL_CONFIG,
+          ImmutableMap.<String, Object>builder()
+              .putAll(overrides)
+              .put(KsqlConfig.KSQL_QUERY_PUSH_RESUME_TOKEN_CONFIG, token)
+              .build());
+      resumed.start();
+
+      // Then:
+      assertThat(taken, contains(10L, 11L));
+      assertThat(takeCol0(resumed), is(12L));
+      resumed.close();
+    } finally {
+      context.close();
+    }
+  }
+
+  @Test
+  public void shouldNotResumePushQueryNotRunWithPlainConsumer() {
+    // When:
+    final KsqlStatementException e = assertThrows(
+        KsqlStatementException.class,
+        () -> KsqlEngineTestUtil.executeQuery(
+            serviceContext,
+            ksqlEngine,
+            "select * from test1 EMIT CHANGES;",
+            KSQL_CONFIG,
+            ImmutableMap.of(KsqlConfig.KSQL_QUERY_PUSH_RESUME_TOKEN_CONFIG, "0:2")
+        )
+    );
+
+    // Then:
+    assertThat(e, rawMessage(containsString(
+        "Only push queries that run with a plain consumer can be resumed from a progress token.")));
+  }
+
   @Test
   public void shouldNotCleanUpInternalTopicsOnEngineCloseForPersistentQueries() {
     // Given:
@@ -1401,6 +1535,31 @@ public class KsqlEngineTest {
     }
   }
 
+  private static MockConsumer<byte[], byte[]> test1Consumer(final long... col0s) {
+    final MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.NONE);
+    consumer.updatePartitions("test1", ImmutableList.of(
+        new PartitionInfo("test1", 0, null, null, null)));
+    consumer.updateBeginningOffsets(ImmutableMap.of(new TopicPartition("test1", 0), 0L));
+
+    final byte[] key = new LongSerializer().serialize("test1", 1L);
+    consumer.schedulePollTask(() -> {
+      for (int offset = 0; offset != col0s.length; ++offset) {
+        final byte[] value = ("{\"COL0\": " + col0s[offset] + "}")
+            .getBytes(StandardCharsets.UTF_8);
+        consumer.addRecord(new ConsumerRecord<>("test1", 0, offset, 1000L,
+            TimestampType.CREATE_TIME, ConsumerRecord.NULL_CHECKSUM, key.length, value.length,
+            key, value));
+      }
+    });
+    return consumer;
+  }
+
+  private static Long takeCol0(final TransientQueryMetadata query) throws InterruptedException {
+    final GenericRow row = query.getRowQueue().poll(30, TimeUnit.SECONDS);
+    assertThat(row, is(notNullValue()));
+    return (Long) row.get(0);
+  }
+
   private static QueryId getQueryId(final QueryMetadata query) {
     return ((PersistentQueryMetadata) query).getQueryId();
   }
@@ -17,6 +17,7 @@ package io.confluent.ksql.internal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.number.IsCloseTo.closeTo;
 import static org.junit.Assert.assertTrue;
@@ -28,17 +29,25 @@ import static org.mockito.Mockito.when;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.engine.KsqlEngine;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
 import io.confluent.ksql.metrics.ConsumerCollector;
 import io.confluent.ksql.metrics.MetricCollectors;
 import io.confluent.ksql.metrics.ProducerCollector;
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.QueryStartupTimer;
+import io.confluent.ksql.query.QueryStartupTimer.Phase;
+import io.confluent.ksql.query.TransientQueryQueue;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.QueryMetadata;
 import io.confluent.ksql.util.ReservedInternalTopics;
+import io.confluent.ksql.util.SharedTransientQueryMetadata;
+import io.confluent.ksql.util.TransientQueryMetadata;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Supplier;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -46,6 +55,7 @@ import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.metrics.KafkaMetric;
 import org.apache.kafka.common.metrics.MeasurableStat;
 import org.apache.kafka.common.metrics.MetricConfig;
 import org.apache.kafka.common.metrics.Metrics;
@@ -279,6 +289,113 @@ public class KsqlEngineMetricsTest {
     verify(query1).registerQueryStateListener(any());
   }
 
+  @Test
+  public void shouldRegisterResultCacheMetricsForPersistentQueries() {
+    // Given:
+    final PersistentQueryMetadata query = mock(PersistentQueryMetadata.class);
+    when(query.getQueryApplicationId()).thenReturn("app-2");
+    when(query.getQueryId()).thenReturn(new QueryId("CTAS_1"));
+    when(query.getResultCache()).thenReturn(Optional.of(
+        new ResultCache("store", 1024, (topic, key) -> new byte[0])));
+
+    // When:
+    engineMetrics.registerQuery(query);
+
+    // Then:
+    assertThat(queryMetric("pull-query-result-cache-hits", "CTAS_1"), is(notNullValue()));
+    assertThat(queryMetric("pull-query-result-cache-misses", "CTAS_1").metricValue(), is(0L));
+    assertThat(queryMetric("pull-query-result-cache-evictions", "CTAS_1"), is(notNullValue()));
+  }
+
+  @Test
+  public void shouldRemoveResultCacheMetricsWhenQueryUnregistered() {
+    // Given:
+    final PersistentQueryMetadata query = mock(PersistentQueryMetadata.class);
+    when(query.getQueryApplicationId()).thenReturn("app-2");
+    when(query.getQueryId()).thenReturn(new QueryId("CTAS_1"));
+    when(query.getResultCache()).thenReturn(Optional.of(
+        new ResultCache("store", 1024, (topic, key) -> new byte[0])));
+    engineMetrics.registerQuery(query);
+
+    // When:
+    engineMetrics.unregisterQuery(query);
+
+    // Then:
+    assertThat(queryMetric("pull-query-result-cache-hits", "CTAS_1"), is(nullValue()));
+  }
+
+  @Test
+  public void shouldRegisterBackpressureMetricsForPushQueries() {
+    // Given:
+    final TransientQueryMetadata query = mock(TransientQueryMetadata.class);
+    when(query.getQueryApplicationId()).thenReturn("app-3");
+    when(query.getQueryId()).thenReturn(new QueryId("transient_1"));
+    when(query.getRowQueue()).thenReturn(new TransientQueryQueue(OptionalInt.empty()));
+    when(query.getStartupTimer()).thenReturn(new QueryStartupTimer());
+
+    // When:
+    engineMetrics.registerQuery(query);
+
+    // Then:
+    assertThat(queryMetric("push-query-backpressure-time-ms", "transient_1").metricValue(),
+        is(0L));
+    assertThat(queryMetric("push-query-backpressure-count", "transient_1").metricValue(),
+        is(0L));
+  }
+
+  @Test
+  public void shouldRegisterBackpressureMetricsOfAllPushQueriesSharingQuery() {
+    // Given:
+    final SharedTransientQueryMetadata query = mock(SharedTransientQueryMetadata.class);
+    when(query.getQueryApplicationId()).thenReturn("app-5");
+    when(query.getQueryId()).thenReturn(new QueryId("transient_3"));
+    when(query.getStartupTimer()).thenReturn(new QueryStartupTimer());
+    when(query.getBackpressureTimeMs()).thenReturn(40L, 70L);
+    when(query.getBackpressureCount()).thenReturn(2L, 3L);
+
+    // When:
+    engineMetrics.registerQuery(query);
+
+    // Then:
+    assertThat(queryMetric("push-query-backpressure-time-ms", "transient_3").metricValue(),
+        is(40L));
+    assertThat(queryMetric("push-query-backpressure-count", "transient_3").metricValue(),
+        is(2L));
+    assertThat(queryMetric("push-query-backpressure-time-ms", "transient_3").metricValue(),
+        is(70L));
+    assertThat(queryMetric("push-query-backpressure-count", "transient_3").metricValue(),
+        is(3L));
+  }
+
+  @Test
+  public void shouldRecordStartupPhasesOfPushQueries() {
+    // Given:
+    final TransientQueryMetadata query = mock(TransientQueryMetadata.class);
+    final QueryStartupTimer startupTimer = new QueryStartupTimer();
+    when(query.getQueryApplicationId()).thenReturn("app-4");
+    when(query.getQueryId()).thenReturn(new QueryId("transient_2"));
+    when(query.getRowQueue()).thenReturn(new TransientQueryQueue(OptionalInt.empty()));
+    when(query.getStartupTimer()).thenReturn(startupTimer);
+    startupTimer.record(Phase.PLAN, 2_000_000L);
+
+    // When:
+    engineMetrics.registerQuery(query);
+    startupTimer.record(Phase.BUILD, 4_000_000L);
+
+    // Then:
+    assertThat(getMetricValue("push-query-startup-plan-time-max-ms"), is(2.0));
+    assertThat(getMetricValue("push-query-startup-build-time-avg-ms"), is(4.0));
+  }
+
+  private static KafkaMetric queryMetric(final String metricName, final String queryId) {
+    final Metrics metrics = MetricCollectors.getMetrics();
+    return metrics.metric(metrics.metricName(
+        metricName,
+        METRIC_GROUP + "ksql-queries",
+        ImmutableMap.of("query-id", queryId)
+    ));
+  }
+
   private double getMetricValue(final String metricName) {
     final Metrics metrics = engineMetrics.getMetrics();
     return Double.valueOf(
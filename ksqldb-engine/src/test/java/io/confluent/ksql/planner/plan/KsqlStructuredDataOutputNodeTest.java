@@ -109,7 +109,7 @@ public class KsqlStructuredDataOutputNodeTest {
     when(sourceNode.getNodeOutputType()).thenReturn(DataSourceType.KSTREAM);
     when(sourceNode.buildStream(ksqlStreamBuilder)).thenReturn((SchemaKStream) sourceStream);
 
-    when(sourceStream.into(any(), any(), any(), any(), any()))
+    when(sourceStream.into(any(), any(), any(), any(), any(), any()))
         .thenReturn((SchemaKStream) sinkStream);
 
     when(ksqlStreamBuilder.buildNodeContext(any())).thenAnswer(inv ->
@@ -205,7 +205,7 @@ public class KsqlStructuredDataOutputNodeTest {
     outputNode.buildStream(ksqlStreamBuilder);
 
     // Then:
-    verify(sourceStream).into(any(), eq(valueFormat), any(), any(), any());
+    verify(sourceStream).into(any(), eq(valueFormat), any(), any(), any(), any());
   }
 
   @Test
@@ -219,7 +219,8 @@ public class KsqlStructuredDataOutputNodeTest {
         eq(JSON_FORMAT),
         eq(SerdeOption.none()),
         stackerCaptor.capture(),
-        eq(outputNode.getTimestampColumn())
+        eq(outputNode.getTimestampColumn()),
+        eq(ImmutableList.of())
     );
     assertThat(
         stackerCaptor.getValue().getQueryContext().getContext(),
@@ -244,7 +245,8 @@ public class KsqlStructuredDataOutputNodeTest {
         OptionalInt.empty(),
         createInto,
         SerdeOption.none(),
-        SourceName.of(PLAN_NODE_ID.toString()));
+        SourceName.of(PLAN_NODE_ID.toString()),
+        ImmutableList.of());
   }
 
   private void givenSourceSchema(final LogicalSchema schema) {
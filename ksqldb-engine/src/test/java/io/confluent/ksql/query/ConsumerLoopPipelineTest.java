@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.SerdeOption;
+import io.confluent.ksql.util.KsqlConfig;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.Topology.AutoOffsetReset;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConsumerLoopPipelineTest {
+
+  private static final String TOPIC = "topic";
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("K"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("V"), SqlTypes.BIGINT)
+      .build();
+
+  private static final UnqualifiedColumnReferenceExp K =
+      new UnqualifiedColumnReferenceExp(ColumnName.of("K"));
+
+  private static final UnqualifiedColumnReferenceExp V =
+      new UnqualifiedColumnReferenceExp(ColumnName.of("V"));
+
+  private static final ExecutionStepPropertiesV1 PROPERTIES =
+      new ExecutionStepPropertiesV1(new QueryContext.Stacker().getQueryContext());
+
+  private static final StreamSource SOURCE = new StreamSource(
+      PROPERTIES,
+      TOPIC,
+      Formats.of(FormatInfo.of("KAFKA"), FormatInfo.of("JSON"), SerdeOption.none()),
+      Optional.empty(),
+      SCHEMA
+  );
+
+  private static final StreamSelect<Struct> PLAN = new StreamSelect<>(
+      PROPERTIES,
+      new StreamFilter<>(
+          PROPERTIES,
+          SOURCE,
+          new ComparisonExpression(Type.GREATER_THAN, V, new LongLiteral(10))
+      ),
+      ImmutableList.of(
+          SelectExpression.of(ColumnName.of("K"), K),
+          SelectExpression.of(ColumnName.of("V"), V)
+      )
+  );
+
+  private static final byte[] KEY_BYTES = "key".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] VALUE_BYTES = "value".getBytes(StandardCharsets.UTF_8);
+
+  @Mock
+  private KsqlQueryBuilder queryBuilder;
+  @Mock
+  private Serde<Struct> keySerde;
+  @Mock
+  private Serde<GenericRow> valueSerde;
+  @Mock
+  private Deserializer<Struct> keyDeserializer;
+  @Mock
+  private Deserializer<GenericRow> valueDeserializer;
+  @Mock
+  private FunctionRegistry functionRegistry;
+  @Mock
+  private ProcessingLogger processingLogger;
+  private ConsumerLoopPipeline pipeline;
+
+  @Before
+  public void setUp() {
+    when(queryBuilder.getKsqlConfig()).thenReturn(new KsqlConfig(ImmutableMap.of()));
+    when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
+    when(queryBuilder.getProcessingLogger(any())).thenReturn(processingLogger);
+    when(queryBuilder.buildKeySerde(any(FormatInfo.class), any(), any())).thenReturn(keySerde);
+    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
+    when(keySerde.deserializer()).thenReturn(keyDeserializer);
+    when(valueSerde.deserializer()).thenReturn(valueDeserializer);
+
+    pipeline = ConsumerLoopPipeline.build(PLAN, queryBuilder);
+  }
+
+  @Test
+  public void shouldFilterAndProjectRecords() {
+    // Given:
+    givenRecord("a", 11L);
+
+    // When:
+    final Optional<GenericRow> result = pipeline.process(record(1000L));
+
+    // Then:
+    assertThat(result, is(Optional.of(genericRow("a", 11L))));
+  }
+
+  @Test
+  public void shouldFilterOutRecordsNotMatchingPredicate() {
+    // Given:
+    givenRecord("a", 10L);
+
+    // When:
+    final Optional<GenericRow> result = pipeline.process(record(1000L));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldSkipRecordsThatFailToDeserialize() {
+    // Given:
+    when(keyDeserializer.deserialize(TOPIC, KEY_BYTES)).thenReturn(key("a"));
+    when(valueDeserializer.deserialize(TOPIC, VALUE_BYTES))
+        .thenThrow(new SerializationException("boom"));
+
+    // When:
+    final Optional<GenericRow> result = pipeline.process(record(1000L));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldSkipTombstones() {
+    // Given:
+    when(keyDeserializer.deserialize(TOPIC, KEY_BYTES)).thenReturn(key("a"));
+
+    // When:
+    final Optional<GenericRow> result = pipeline.process(record(1000L));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldReadFromLatestOffsetByDefault() {
+    assertThat(pipeline.getOffsetReset(), is(AutoOffsetReset.LATEST));
+    assertThat(pipeline.getTopicName(), is(TOPIC));
+  }
+
+  @Test
+  public void shouldReadFromEarliestOffsetIfConfigured() {
+    // Given:
+    when(queryBuilder.getKsqlConfig()).thenReturn(new KsqlConfig(ImmutableMap.of(
+        ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"
+    )));
+
+    // When:
+    pipeline = ConsumerLoopPipeline.build(PLAN, queryBuilder);
+
+    // Then:
+    assertThat(pipeline.getOffsetReset(), is(AutoOffsetReset.EARLIEST));
+  }
+
+  @Test
+  public void shouldOnlyReadValueColumnsReadByQuery() {
+    // Given:
+    when(queryBuilder.buildValueSerde(any(), any(), any(), any(), any())).thenReturn(valueSerde);
+
+    final StreamSelect<Struct> keyOnly = new StreamSelect<>(
+        PROPERTIES,
+        SOURCE,
+        ImmutableList.of(SelectExpression.of(ColumnName.of("K"), K))
+    );
+
+    // When:
+    ConsumerLoopPipeline.build(keyOnly, queryBuilder);
+
+    // Then:
+    verify(queryBuilder).buildValueSerde(
+        FormatInfo.of("JSON"),
+        PhysicalSchema.from(SCHEMA, SerdeOption.none()),
+        PROPERTIES.getQueryContext(),
+        ImmutableSet.of(),
+        ImmutableSet.of()
+    );
+  }
+
+  @Test
+  public void shouldSupportFiltersAndProjectionsOfStreamsIfEnabled() {
+    assertThat(ConsumerLoopPipeline.isSupported(PLAN, config(true)), is(true));
+  }
+
+  @Test
+  public void shouldNotSupportQueriesIfDisabled() {
+    assertThat(ConsumerLoopPipeline.isSupported(PLAN, config(false)), is(false));
+  }
+
+  @Test
+  public void shouldNotSupportOtherSteps() {
+    // Given:
+    final ExecutionStep<?> aggregate = mock(ExecutionStep.class);
+
+    // Then:
+    assertThat(ConsumerLoopPipeline.isSupported(aggregate, config(true)), is(false));
+  }
+
+  private void givenRecord(final String key, final long value) {
+    when(keyDeserializer.deserialize(TOPIC, KEY_BYTES)).thenReturn(key(key));
+    when(valueDeserializer.deserialize(TOPIC, VALUE_BYTES))
+        .thenReturn(genericRow(value));
+  }
+
+  private static Struct key(final String key) {
+    return new Struct(SCHEMA.keyConnectSchema()).put("K", key);
+  }
+
+  private static ConsumerRecord<byte[], byte[]> record(final long timestamp) {
+    return new ConsumerRecord<>(
+        TOPIC,
+        0,
+        0L,
+        timestamp,
+        TimestampType.CREATE_TIME,
+        ConsumerRecord.NULL_CHECKSUM,
+        KEY_BYTES.length,
+        VALUE_BYTES.length,
+        KEY_BYTES,
+        VALUE_BYTES
+    );
+  }
+
+  private static KsqlConfig config(final boolean enabled) {
+    return new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PUSH_LIGHTWEIGHT_ENABLED_CONFIG, enabled
+    ));
+  }
+}
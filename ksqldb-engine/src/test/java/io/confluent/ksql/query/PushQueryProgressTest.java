@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.util.KsqlException;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PushQueryProgressTest {
+
+  private PushQueryProgress progress;
+
+  @Before
+  public void setUp() {
+    progress = new PushQueryProgress();
+
+    // Query started at offset 10 of partition 0 and 20 of partition 1:
+    progress.advance(0, 10, false);
+    progress.advance(1, 20, false);
+    progress.flush();
+  }
+
+  @Test
+  public void shouldReturnStartOffsetsBeforeAnyRowsTaken() {
+    assertThat(progress.getToken(0), is(Optional.of("0:10,1:20")));
+  }
+
+  @Test
+  public void shouldOnlyIncludeRecordsUpToRowsTaken() {
+    // Given:
+    progress.advance(0, 11, true);
+    progress.advance(1, 21, true);
+    progress.flush();
+
+    // Then:
+    assertThat(progress.getToken(1), is(Optional.of("0:11,1:20")));
+    assertThat(progress.getToken(2), is(Optional.of("0:11,1:21")));
+  }
+
+  @Test
+  public void shouldIncludeRecordsWithoutRowsFollowingRowsTaken() {
+    // Given:
+    progress.advance(0, 11, true);
+    progress.advance(0, 12, false);
+    progress.advance(1, 21, false);
+    progress.advance(1, 22, true);
+    progress.flush();
+
+    // Then:
+    assertThat(progress.getToken(1), is(Optional.of("0:12,1:21")));
+  }
+
+  @Test
+  public void shouldNotIncludeRecordsNotFlushed() {
+    // Given:
+    progress.advance(0, 11, false);
+
+    // Then:
+    assertThat(progress.getToken(0), is(Optional.of("0:10,1:20")));
+  }
+
+  @Test
+  public void shouldReturnEmptyBeforeQueryStarted() {
+    assertThat(new PushQueryProgress().getToken(0), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldParseToken() {
+    assertThat(PushQueryProgress.parseToken("0:10,1:20"), is(ImmutableMap.of(0, 10L, 1, 20L)));
+  }
+
+  @Test
+  public void shouldParseEmptyToken() {
+    assertThat(PushQueryProgress.parseToken(""), is(ImmutableMap.of()));
+  }
+
+  @Test
+  public void shouldThrowOnInvalidToken() {
+    assertThrows(KsqlException.class, () -> PushQueryProgress.parseToken("0:10,1"));
+    assertThrows(KsqlException.class, () -> PushQueryProgress.parseToken("0:x"));
+  }
+}
@@ -179,7 +179,8 @@ public class QueryExecutorTest {
     when(materializationBuilder.build()).thenReturn(materializationInfo);
     when(materializationInfo.getStateStoreSchema()).thenReturn(aggregationSchema);
     when(materializationInfo.stateStoreName()).thenReturn(STORE_NAME);
-    when(ksMaterializationFactory.create(any(), any(), any(), any(), any(), any(), any(), any()))
+    when(ksMaterializationFactory.create(
+        any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
         .thenReturn(Optional.of(ksMaterialization));
     when(ksqlMaterializationFactory.create(any(), any(), any(), any())).thenReturn(materialization);
     when(processingLogContext.getLoggerFactory()).thenReturn(processingLoggerFactory);
@@ -313,7 +314,9 @@ public class QueryExecutorTest {
         eq(Optional.empty()),
         eq(properties),
         eq(ksqlConfig),
-        any()
+        any(),
+        eq(Optional.empty()),
+        eq(ImmutableMap.of())
     );
   }
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.query.QueryStartupTimer.Phase;
+import java.util.function.BiConsumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueryStartupTimerTest {
+
+  @Mock
+  private Ticker ticker;
+  @Mock
+  private BiConsumer<Phase, Long> listener;
+  private QueryStartupTimer timer;
+
+  @Before
+  public void setUp() {
+    when(ticker.read()).thenReturn(0L);
+    timer = new QueryStartupTimer(ticker);
+  }
+
+  @Test
+  public void shouldTimePhaseFromEndOfPreviousPhase() {
+    // Given:
+    when(ticker.read()).thenReturn(100L);
+    timer.record(Phase.BUILD, 30L);
+
+    // When:
+    when(ticker.read()).thenReturn(250L);
+    timer.end(Phase.REBALANCE);
+
+    // Then:
+    assertThat(timer.getDurations(), is(ImmutableMap.of(
+        Phase.BUILD, 30L,
+        Phase.REBALANCE, 150L
+    )));
+  }
+
+  @Test
+  public void shouldSkipPhaseIfLaterPhaseEndedFirst() {
+    // Given:
+    when(ticker.read()).thenReturn(100L);
+    timer.end(Phase.FIRST_ROW);
+
+    // When:
+    timer.end(Phase.REBALANCE);
+
+    // Then:
+    assertThat(timer.getDurations(), is(ImmutableMap.of(Phase.FIRST_ROW, 100L)));
+  }
+
+  @Test
+  public void shouldNotRecordPhaseTwice() {
+    // Given:
+    timer.record(Phase.PLAN, 10L);
+
+    // When:
+    timer.record(Phase.PLAN, 20L);
+
+    // Then:
+    assertThat(timer.getDurations(), is(ImmutableMap.of(Phase.PLAN, 10L)));
+  }
+
+  @Test
+  public void shouldReplayEndedPhasesToListener() {
+    // Given:
+    timer.record(Phase.PLAN, 10L);
+
+    // When:
+    timer.setListener(listener);
+    timer.record(Phase.BUILD, 20L);
+
+    // Then:
+    final InOrder inOrder = inOrder(listener);
+    inOrder.verify(listener).accept(Phase.PLAN, 10L);
+    inOrder.verify(listener).accept(Phase.BUILD, 20L);
+  }
+
+  @Test
+  public void shouldUseHyphenatedMetricNames() {
+    assertThat(Phase.FIRST_ROW.metricName(), is("first-row"));
+  }
+}
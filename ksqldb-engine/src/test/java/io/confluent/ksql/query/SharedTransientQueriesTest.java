@@ -0,0 +1,456 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.query.SharedTransientQueries.SharedQuery;
+import io.confluent.ksql.query.SharedTransientQueries.SubscriberFactory;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.SerdeOption;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.TransientQueryMetadata;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedTransientQueriesTest {
+
+  private static final StreamSource SOURCE = new StreamSource(
+      new ExecutionStepPropertiesV1(new QueryContext.Stacker().getQueryContext()),
+      "topic",
+      Formats.of(FormatInfo.of("KAFKA"), FormatInfo.of("JSON"), SerdeOption.none()),
+      Optional.empty(),
+      LogicalSchema.builder()
+          .keyColumn(ColumnName.of("K"), SqlTypes.STRING)
+          .valueColumn(ColumnName.of("V"), SqlTypes.STRING)
+          .build()
+  );
+
+  private static final Map<String, Object> OVERRIDES =
+      ImmutableMap.of(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+  private static final GenericRow ROW = GenericRow.genericRow("a");
+
+  @Mock
+  private Supplier<SharedQuery> builder;
+  @Mock
+  private SubscriberFactory subscriberFactory;
+  @Mock
+  private TransientQueryMetadata subscriber;
+  @Mock
+  private UncaughtExceptionHandler handler;
+  @Mock
+  private UncaughtExceptionHandler otherHandler;
+  private final List<TransientQueryQueue> queues = new ArrayList<>();
+  private final List<Boolean> firsts = new ArrayList<>();
+  private final List<BooleanSupplier> unsubscribes = new ArrayList<>();
+  private TransientQueryFanOut fanOut;
+  private SharedTransientQueries sharedQueries;
+
+  @Before
+  public void setUp() {
+    sharedQueries = new SharedTransientQueries();
+  }
+
+  @Test
+  public void shouldShareQueryBetweenSubscribersWithSamePlan() {
+    // Given:
+    givenSubscriberFactory();
+
+    // When:
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+
+    // Then:
+    verify(builder, times(1)).get();
+    assertThat(firsts, contains(true, false));
+    assertThat(sharedQueries.size(), is(1));
+  }
+
+  @Test
+  public void shouldShareQueryBetweenSubscribersOfSamePrincipal() {
+    // Given:
+    givenSubscriberFactory();
+
+    // When:
+    subscribe(OptionalInt.empty(), Optional.of(principal("alice")));
+    subscribe(OptionalInt.empty(), Optional.of(principal("alice")));
+
+    // Then:
+    verify(builder, times(1)).get();
+    assertThat(firsts, contains(true, false));
+  }
+
+  @Test
+  public void shouldNotShareQueryBetweenPrincipals() {
+    // Given:
+    givenSubscriberFactory();
+
+    // When:
+    subscribe(OptionalInt.empty(), Optional.of(principal("alice")));
+    subscribe(OptionalInt.empty(), Optional.of(principal("bob")));
+    subscribe(OptionalInt.empty(), Optional.empty());
+
+    // Then:
+    verify(builder, times(3)).get();
+    assertThat(firsts, contains(true, true, true));
+    assertThat(sharedQueries.size(), is(3));
+  }
+
+  @Test
+  public void shouldGiveEachSubscriberItsOwnLimit() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.of(1));
+    subscribe(OptionalInt.empty());
+
+    // When:
+    fanOut.acceptRow(ROW);
+    fanOut.acceptRow(ROW);
+
+    // Then:
+    assertThat(drain(queues.get(0)), contains(ROW));
+    assertThat(drain(queues.get(1)), contains(ROW, ROW));
+  }
+
+  @Test
+  public void shouldOnlyCloseQueryOnceLastSubscriberUnsubscribes() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+
+    // When:
+    final boolean firstWasLast = unsubscribes.get(0).getAsBoolean();
+    final boolean secondWasLast = unsubscribes.get(1).getAsBoolean();
+
+    // Then:
+    assertThat(firstWasLast, is(false));
+    assertThat(secondWasLast, is(true));
+    assertThat(sharedQueries.size(), is(0));
+  }
+
+  @Test
+  public void shouldStopFanningOutRowsToUnsubscribedSubscriber() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+    unsubscribes.get(0).getAsBoolean();
+
+    // When:
+    fanOut.acceptRow(ROW);
+
+    // Then:
+    assertThat(queues.get(0).isEmpty(), is(true));
+    assertThat(drain(queues.get(1)), contains(ROW));
+  }
+
+  @Test
+  public void shouldBuildNewQueryForSubscriberAfterLastUnsubscribes() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    unsubscribes.get(0).getAsBoolean();
+
+    // When:
+    subscribe(OptionalInt.empty());
+
+    // Then:
+    verify(builder, times(2)).get();
+    assertThat(firsts, contains(true, true));
+  }
+
+  @Test
+  public void shouldKeepFanningOutRowsToOtherSubscribersWhileOneStalls() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+    final List<GenericRow> received = new ArrayList<>();
+
+    // When:
+    for (int i = 0; i != TransientQueryQueue.BLOCKING_QUEUE_CAPACITY * 2; ++i) {
+      fanOut.acceptRow(ROW);
+      received.addAll(drain(queues.get(1)));
+    }
+
+    // Then:
+    assertThat(received.size(), is(TransientQueryQueue.BLOCKING_QUEUE_CAPACITY * 2));
+    assertThat(queues.get(0).size(), is(TransientQueryQueue.BLOCKING_QUEUE_CAPACITY));
+  }
+
+  @Test
+  public void shouldFailOnlySubscriberWhoseQueueIsFull() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+    fanOut.setUncaughtExceptionHandler(queues.get(0), handler);
+    fanOut.setUncaughtExceptionHandler(queues.get(1), otherHandler);
+
+    // When:
+    for (int i = 0; i != TransientQueryQueue.BLOCKING_QUEUE_CAPACITY + 2; ++i) {
+      fanOut.acceptRow(ROW);
+      drain(queues.get(1));
+    }
+
+    // Then:
+    final ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+    verify(handler, times(1)).uncaughtException(any(), captor.capture());
+    assertThat(captor.getValue(), instanceOf(KsqlException.class));
+    verify(otherHandler, never()).uncaughtException(any(), any());
+  }
+
+  @Test
+  public void shouldReportBackpressureOfAllSubscribers() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+
+    // When:
+    for (int i = 0; i != TransientQueryQueue.BLOCKING_QUEUE_CAPACITY + 1; ++i) {
+      fanOut.acceptRow(ROW);
+    }
+
+    // Then:
+    assertThat(queues.get(0).getBackpressureCount(), is(1L));
+    assertThat(fanOut.getBackpressureCount(), is(2L));
+  }
+
+  @Test
+  public void shouldKeepReportingBackpressureOfUnsubscribedSubscribers() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+    for (int i = 0; i != TransientQueryQueue.BLOCKING_QUEUE_CAPACITY + 1; ++i) {
+      fanOut.acceptRow(ROW);
+    }
+
+    // When:
+    unsubscribes.get(0).getAsBoolean();
+
+    // Then:
+    assertThat(fanOut.getBackpressureCount(), is(2L));
+  }
+
+  @Test
+  public void shouldPassUncaughtExceptionToHandlersOfAllSubscribers() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    subscribe(OptionalInt.empty());
+    fanOut.setUncaughtExceptionHandler(queues.get(0), handler);
+    fanOut.setUncaughtExceptionHandler(queues.get(1), otherHandler);
+    final RuntimeException e = new RuntimeException("boom");
+
+    // When:
+    fanOut.uncaughtException(Thread.currentThread(), e);
+
+    // Then:
+    verify(handler).uncaughtException(Thread.currentThread(), e);
+    verify(otherHandler).uncaughtException(Thread.currentThread(), e);
+  }
+
+  @Test
+  public void shouldPassUncaughtExceptionToHandlerSetAfterFailure() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    final RuntimeException e = new RuntimeException("boom");
+    fanOut.uncaughtException(Thread.currentThread(), e);
+
+    // When:
+    fanOut.setUncaughtExceptionHandler(queues.get(0), handler);
+
+    // Then:
+    verify(handler).uncaughtException(Thread.currentThread(), e);
+  }
+
+  @Test
+  public void shouldBuildNewQueryForSubscriberAfterQueryFails() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    final TransientQueryFanOut failed = fanOut;
+    failed.uncaughtException(Thread.currentThread(), new RuntimeException("boom"));
+
+    // When:
+    subscribe(OptionalInt.empty());
+
+    // Then:
+    verify(builder, times(2)).get();
+    assertThat(firsts, contains(true, true));
+    assertThat(fanOut.hasFailed(), is(false));
+    assertThat(sharedQueries.size(), is(1));
+  }
+
+  @Test
+  public void shouldNotFailSubscriberOfNewQueryAfterQueryFails() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    fanOut.uncaughtException(Thread.currentThread(), new RuntimeException("boom"));
+    subscribe(OptionalInt.empty());
+
+    // When:
+    fanOut.setUncaughtExceptionHandler(queues.get(1), handler);
+    fanOut.acceptRow(ROW);
+
+    // Then:
+    verify(handler, never()).uncaughtException(any(), any());
+    assertThat(drain(queues.get(1)), contains(ROW));
+  }
+
+  @Test
+  public void shouldKeepNewQueryWhenLastSubscriberOfFailedQueryUnsubscribes() {
+    // Given:
+    givenSubscriberFactory();
+    subscribe(OptionalInt.empty());
+    fanOut.uncaughtException(Thread.currentThread(), new RuntimeException("boom"));
+    subscribe(OptionalInt.empty());
+
+    // When:
+    final boolean wasLast = unsubscribes.get(0).getAsBoolean();
+    subscribe(OptionalInt.empty());
+
+    // Then:
+    assertThat(wasLast, is(true));
+    verify(builder, times(2)).get();
+    assertThat(firsts, contains(true, true, false));
+  }
+
+  @Test
+  public void shouldShareStatelessQueriesReadingFromLatestOffset() {
+    assertThat(SharedTransientQueries.isShareable(SOURCE, config(true, "latest")), is(true));
+  }
+
+  @Test
+  public void shouldShareStatelessQueriesIfOffsetResetUnset() {
+    assertThat(SharedTransientQueries.isShareable(SOURCE, config(true)), is(true));
+  }
+
+  @Test
+  public void shouldResolveOffsetResetCaseInsensitively() {
+    assertThat(SharedTransientQueries.isShareable(SOURCE, config(true, "LATEST")), is(true));
+    assertThat(SharedTransientQueries.isShareable(SOURCE, config(true, "Earliest")), is(false));
+  }
+
+  @Test
+  public void shouldNotShareQueriesIfDisabled() {
+    assertThat(SharedTransientQueries.isShareable(SOURCE, config(false, "latest")), is(false));
+  }
+
+  @Test
+  public void shouldNotShareQueriesReadingFromEarliestOffset() {
+    assertThat(SharedTransientQueries.isShareable(SOURCE, config(true, "earliest")), is(false));
+  }
+
+  @Test
+  public void shouldNotShareStatefulQueries() {
+    // Given:
+    final ExecutionStep<?> aggregate = mock(ExecutionStep.class);
+
+    // Then:
+    assertThat(SharedTransientQueries.isShareable(aggregate, config(true, "latest")), is(false));
+  }
+
+  private void givenSubscriberFactory() {
+    when(builder.get()).thenAnswer(inv -> {
+      fanOut = new TransientQueryFanOut();
+      return new SharedQuery(fanOut, subscriberFactory);
+    });
+    when(subscriberFactory.create(anyString(), any(), anyBoolean(), any())).thenAnswer(inv -> {
+      queues.add(inv.getArgument(1));
+      firsts.add(inv.getArgument(2));
+      unsubscribes.add(inv.getArgument(3));
+      return subscriber;
+    });
+  }
+
+  private void subscribe(final OptionalInt limit) {
+    subscribe(limit, Optional.empty());
+  }
+
+  private void subscribe(final OptionalInt limit, final Optional<Principal> principal) {
+    sharedQueries.subscribe(
+        SOURCE, OVERRIDES, principal, "SELECT * FROM S EMIT CHANGES;", limit, builder);
+  }
+
+  private static Principal principal(final String name) {
+    final Principal principal = mock(Principal.class);
+    when(principal.getName()).thenReturn(name);
+    return principal;
+  }
+
+  private static List<GenericRow> drain(final TransientQueryQueue queue) {
+    final List<GenericRow> rows = new ArrayList<>();
+    queue.drainTo(rows);
+    return rows;
+  }
+
+  private static KsqlConfig config(final boolean enabled) {
+    return new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG, enabled
+    ));
+  }
+
+  private static KsqlConfig config(final boolean enabled, final String offsetReset) {
+    return new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PUSH_SHARED_ENABLED_CONFIG, enabled,
+        ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, offsetReset
+    ));
+  }
+}
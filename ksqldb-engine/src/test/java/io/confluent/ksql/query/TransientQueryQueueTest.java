@@ -17,6 +17,7 @@ package io.confluent.ksql.query;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -53,6 +54,8 @@ public class TransientQueryQueueTest {
 
   @Mock
   private LimitHandler limitHandler;
+  @Mock
+  private Runnable queuedCallback;
   private TransientQueryQueue queue;
   private ScheduledExecutorService executorService;
 
@@ -78,6 +81,20 @@ public class TransientQueryQueueTest {
     assertThat(drainValues(), contains(ROW_ONE, ROW_TWO));
   }
 
+  @Test
+  public void shouldCallFirstRowCallbackOnlyOnFirstRow() {
+    // Given:
+    final Runnable firstRowCallback = mock(Runnable.class);
+    queue.setFirstRowCallback(firstRowCallback);
+
+    // When:
+    queue.acceptRow(ROW_ONE);
+    queue.acceptRow(ROW_TWO);
+
+    // Then:
+    verify(firstRowCallback, times(1)).run();
+  }
+
   @Test
   public void shouldNotQueueNullValues() {
     // When:
@@ -158,6 +175,168 @@ public class TransientQueryQueueTest {
     assertThat(queue.size(), is(MAX_LIMIT));
   }
 
+  @Test
+  public void shouldDrainAtMostMaxRows() {
+    // Given:
+    queue.acceptRow(ROW_ONE);
+    queue.acceptRow(ROW_TWO);
+    final List<GenericRow> rows = new ArrayList<>();
+
+    // When:
+    final int drained = queue.drainTo(rows, 1);
+
+    // Then:
+    assertThat(drained, is(1));
+    assertThat(rows, contains(ROW_ONE));
+    assertThat(drainValues(), contains(ROW_TWO));
+  }
+
+  @Test
+  public void shouldQueueAroundTheBufferAsRowsAreDrained() {
+    // Given:
+    givenQueue(OptionalInt.empty());
+
+    // When:
+    final List<GenericRow> rows = new ArrayList<>();
+    IntStream.range(0, MAX_LIMIT * 3).forEach(idx -> {
+      queue.acceptRow(idx % 2 == 0 ? ROW_ONE : ROW_TWO);
+      queue.drainTo(rows, 1);
+    });
+
+    // Then:
+    assertThat(rows.size(), is(MAX_LIMIT * 3));
+    assertThat(rows.subList(MAX_LIMIT * 3 - 2, MAX_LIMIT * 3), contains(ROW_ONE, ROW_TWO));
+    assertThat(queue.isEmpty(), is(true));
+  }
+
+  @Test
+  public void shouldUnblockProducerOnceRowsDrained() {
+    // Given:
+    givenQueue(OptionalInt.empty());
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queue.acceptRow(ROW_ONE));
+
+    executorService = Executors.newSingleThreadScheduledExecutor();
+    executorService.schedule(() -> queue.poll(), 200, TimeUnit.MILLISECONDS);
+
+    // When:
+    queue.acceptRow(ROW_TWO);
+
+    // Then:
+    assertThat(queue.size(), is(MAX_LIMIT));
+    assertThat(drainValues().get(MAX_LIMIT - 1), is(ROW_TWO));
+  }
+
+  @Test
+  public void shouldWakeConsumerWaitingForRows() throws Exception {
+    // Given:
+    executorService = Executors.newSingleThreadScheduledExecutor();
+    executorService.schedule(() -> queue.acceptRow(ROW_ONE), 200, TimeUnit.MILLISECONDS);
+
+    // When:
+    final GenericRow result = queue.poll(1, TimeUnit.MINUTES);
+
+    // Then:
+    assertThat(result, is(ROW_ONE));
+  }
+
+  @Test
+  public void shouldOnlyInvokeQueuedCallbackWhenConsumerHasCaughtUp() {
+    // Given:
+    queue.setQueuedCallback(queuedCallback);
+
+    // When:
+    queue.acceptRow(ROW_ONE);
+    queue.acceptRow(ROW_TWO);
+
+    // Then:
+    verify(queuedCallback, times(1)).run();
+
+    // When:
+    drainValues();
+    queue.acceptRow(ROW_ONE);
+
+    // Then:
+    verify(queuedCallback, times(2)).run();
+  }
+
+  @Test
+  public void shouldNotWaitToQueueRowIfQueueFull() {
+    // Given:
+    givenQueue(OptionalInt.empty());
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queue.acceptRow(ROW_ONE));
+
+    // When:
+    final boolean queued = queue.tryAcceptRow(ROW_TWO);
+
+    // Then:
+    assertThat(queued, is(false));
+    assertThat(queue.size(), is(MAX_LIMIT));
+    assertThat(queue.getBackpressureCount(), is(1L));
+  }
+
+  @Test
+  public void shouldQueueRowOnceQueueHasSpace() {
+    // Given:
+    givenQueue(OptionalInt.empty());
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queue.acceptRow(ROW_ONE));
+    queue.tryAcceptRow(ROW_TWO);
+    queue.poll();
+
+    // When:
+    final boolean queued = queue.tryAcceptRow(ROW_TWO);
+
+    // Then:
+    assertThat(queued, is(true));
+    assertThat(drainValues().get(MAX_LIMIT - 1), is(ROW_TWO));
+    assertThat(queue.getBackpressureCount(), is(1L));
+  }
+
+  @Test
+  public void shouldOnlyReportDrainedOnceHalfTheRowsRead() {
+    // Given:
+    givenQueue(OptionalInt.empty());
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queue.acceptRow(ROW_ONE));
+
+    // When:
+    queue.drainTo(new ArrayList<>(), MAX_LIMIT / 2 - 1);
+
+    // Then:
+    assertThat(queue.hasDrained(), is(false));
+
+    // When:
+    queue.poll();
+
+    // Then:
+    assertThat(queue.hasDrained(), is(true));
+  }
+
+  @Test
+  public void shouldRecordTimeProducerBlocked() {
+    // Given:
+    givenQueue(OptionalInt.empty());
+
+    IntStream.range(0, MAX_LIMIT)
+        .forEach(idx -> queue.acceptRow(ROW_ONE));
+
+    executorService = Executors.newSingleThreadScheduledExecutor();
+    executorService.schedule(() -> queue.poll(), 200, TimeUnit.MILLISECONDS);
+
+    // When:
+    queue.acceptRow(ROW_TWO);
+
+    // Then:
+    assertThat(queue.getBackpressureCount(), is(1L));
+    assertThat(queue.getBackpressureTimeMs(), is(greaterThanOrEqualTo(100L)));
+  }
+
   private void givenWillCloseQueueAsync() {
     executorService = Executors.newSingleThreadScheduledExecutor();
     executorService.schedule(queue::close, 200, TimeUnit.MILLISECONDS);
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import static io.confluent.ksql.test.util.AssertEventually.assertThatEventually;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.internal.QueryStateListener;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.query.ConsumerLoopPipeline;
+import io.confluent.ksql.query.PushQueryProgress;
+import io.confluent.ksql.query.TransientQueryQueue;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.streams.KafkaStreams.State;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.Topology.AutoOffsetReset;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConsumerLoopQueryMetadataTest {
+
+  private static final String TOPIC = "source";
+  private static final TopicPartition TP0 = new TopicPartition(TOPIC, 0);
+  private static final TopicPartition TP1 = new TopicPartition(TOPIC, 1);
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("V0"), SqlTypes.STRING)
+      .build();
+  private static final GenericRow ROW = GenericRow.genericRow("v");
+  private static final long CLOSE_TIMEOUT = 30_000L;
+
+  @Mock
+  private ConsumerLoopPipeline pipeline;
+  @Mock
+  private TransientQueryQueue queue;
+  @Mock
+  private Topology topology;
+  @Mock
+  private Consumer<QueryMetadata> closeCallback;
+  @Mock
+  private QueryStateListener stateListener;
+  @Mock
+  private UncaughtExceptionHandler exceptionHandler;
+
+  private MockConsumer<byte[], byte[]> consumer;
+  private ConsumerLoopQueryMetadata query;
+
+  @Before
+  public void setUp() {
+    consumer = new MockConsumer<>(OffsetResetStrategy.NONE);
+    consumer.updatePartitions(TOPIC, ImmutableList.of(
+        new PartitionInfo(TOPIC, 0, null, null, null),
+        new PartitionInfo(TOPIC, 1, null, null, null)
+    ));
+    consumer.updateBeginningOffsets(ImmutableMap.of(TP0, 0L, TP1, 0L));
+    consumer.updateEndOffsets(ImmutableMap.of(TP0, 10L, TP1, 20L));
+
+    query = givenQuery(ImmutableMap.of());
+  }
+
+  @After
+  public void tearDown() {
+    if (query.isRunning()) {
+      query.close();
+    }
+  }
+
+  @Test
+  public void shouldSeekToBeginningIfOffsetResetIsEarliest() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+
+    // When:
+    startAndAwaitRunning();
+
+    // Then:
+    assertThat(consumer.assignment(), is(ImmutableSet.of(TP0, TP1)));
+    assertThat(consumer.position(TP0), is(0L));
+    assertThat(consumer.position(TP1), is(0L));
+  }
+
+  @Test
+  public void shouldSeekToEndIfOffsetResetIsLatest() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.LATEST);
+
+    // When:
+    startAndAwaitRunning();
+
+    // Then:
+    assertThat(consumer.position(TP0), is(10L));
+    assertThat(consumer.position(TP1), is(20L));
+  }
+
+  @Test
+  public void shouldSeekToStartOffsetsAndResetPartitionsWithoutStartOffset() {
+    // Given:
+    query = givenQuery(ImmutableMap.of(0, 5L));
+    givenOffsetReset(AutoOffsetReset.LATEST);
+
+    // When:
+    startAndAwaitRunning();
+
+    // Then:
+    assertThat(consumer.position(TP0), is(5L));
+    assertThat(consumer.position(TP1), is(20L));
+  }
+
+  @Test
+  public void shouldNotResetAnyPartitionIfAllHaveStartOffsets() {
+    // Given:
+    query = givenQuery(ImmutableMap.of(0, 5L, 1, 7L));
+    when(pipeline.getTopicName()).thenReturn(TOPIC);
+
+    // When:
+    startAndAwaitRunning();
+
+    // Then:
+    assertThat(consumer.position(TP0), is(5L));
+    assertThat(consumer.position(TP1), is(7L));
+    verify(pipeline, never()).getOffsetReset();
+  }
+
+  @Test
+  public void shouldQueueRowOfEachRecordPolled() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    when(pipeline.process(any())).thenReturn(Optional.of(ROW));
+    when(queue.tryAcceptRow(ROW)).thenReturn(true);
+    consumer.schedulePollTask(() -> {
+      consumer.addRecord(record(0, 0));
+      consumer.addRecord(record(0, 1));
+      consumer.addRecord(record(1, 0));
+    });
+
+    // When:
+    query.start();
+
+    // Then:
+    verify(queue, timeout(CLOSE_TIMEOUT).times(3)).tryAcceptRow(ROW);
+    assertThat(consumer.position(TP0), is(2L));
+    assertThat(consumer.position(TP1), is(1L));
+  }
+
+  @Test
+  public void shouldNotQueueRecordsWithoutRow() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    when(pipeline.process(any())).thenReturn(Optional.empty());
+    consumer.schedulePollTask(() -> consumer.addRecord(record(0, 0)));
+
+    // When:
+    query.start();
+
+    // Then:
+    verify(pipeline, timeout(CLOSE_TIMEOUT)).process(any());
+    verify(queue, never()).tryAcceptRow(any());
+  }
+
+  @Test
+  public void shouldPauseWhileQueueIsFullAndResumeOnceDrained() {
+    // Given:
+    final AtomicBoolean accept = new AtomicBoolean();
+    final AtomicBoolean drained = new AtomicBoolean();
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    when(pipeline.process(any())).thenReturn(Optional.of(ROW));
+    when(queue.tryAcceptRow(ROW)).thenAnswer(inv -> accept.get());
+    when(queue.hasDrained()).thenAnswer(inv -> drained.get());
+    consumer.schedulePollTask(() -> consumer.addRecord(record(0, 0)));
+
+    // When:
+    query.start();
+
+    // Then: paused while the row can not be queued:
+    assertThatEventually(consumer::paused, is(ImmutableSet.of(TP0, TP1)));
+
+    // When:
+    accept.set(true);
+
+    // Then: still paused until the queue has drained:
+    verify(queue, timeout(CLOSE_TIMEOUT).atLeastOnce()).hasDrained();
+    assertThat(consumer.paused(), is(ImmutableSet.of(TP0, TP1)));
+
+    // When:
+    drained.set(true);
+
+    // Then:
+    assertThatEventually(consumer::paused, is(empty()));
+  }
+
+  @Test
+  public void shouldCloseFromAnotherThread() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    query.registerQueryStateListener(stateListener);
+    startAndAwaitRunning();
+
+    // When:
+    query.close();
+
+    // Then:
+    assertThat(query.getState(), is(State.NOT_RUNNING));
+    assertThat(consumer.closed(), is(true));
+    final InOrder inOrder = inOrder(queue, stateListener, closeCallback);
+    inOrder.verify(queue).close();
+    inOrder.verify(stateListener).onChange(State.PENDING_SHUTDOWN, State.RUNNING);
+    inOrder.verify(stateListener).onChange(State.NOT_RUNNING, State.PENDING_SHUTDOWN);
+    inOrder.verify(stateListener).close();
+    inOrder.verify(closeCallback).accept(query);
+  }
+
+  @Test
+  public void shouldCloseFromConsumerThread() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    when(pipeline.process(any())).thenAnswer(inv -> {
+      // e.g. once the limit of the query is reached:
+      query.close();
+      return Optional.empty();
+    });
+    consumer.schedulePollTask(() -> consumer.addRecord(record(0, 0)));
+
+    // When:
+    query.start();
+
+    // Then:
+    verify(closeCallback, timeout(CLOSE_TIMEOUT)).accept(query);
+    assertThat(query.getState(), is(State.NOT_RUNNING));
+    assertThatEventually(consumer::closed, is(true));
+  }
+
+  @Test
+  public void shouldNotStartOnceClosed() {
+    // Given:
+    query.close();
+
+    // When:
+    query.start();
+
+    // Then:
+    assertThat(query.hasEverBeenStarted(), is(false));
+    assertThat(query.getState(), is(State.NOT_RUNNING));
+  }
+
+  @Test
+  public void shouldTransitionToErrorOnUnhandledException() {
+    // Given:
+    final RuntimeException error = new RuntimeException("boom");
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    when(pipeline.process(any())).thenThrow(error);
+    query.setUncaughtExceptionHandler(exceptionHandler);
+    query.registerQueryStateListener(stateListener);
+    consumer.schedulePollTask(() -> consumer.addRecord(record(0, 0)));
+
+    // When:
+    query.start();
+
+    // Then:
+    verify(exceptionHandler, timeout(CLOSE_TIMEOUT)).uncaughtException(any(), eq(error));
+    assertThat(query.getState(), is(State.ERROR));
+    verify(stateListener).onChange(State.ERROR, State.RUNNING);
+    assertThat(consumer.closed(), is(true));
+  }
+
+  @Test
+  public void shouldReportOffsetsOfResumeTokenAsProgressOnceStarted() {
+    // Given:
+    query = givenQuery(PushQueryProgress.parseToken("0:5,1:7"));
+    when(pipeline.getTopicName()).thenReturn(TOPIC);
+    final PushQueryProgress progress = query.trackProgress().get();
+
+    // When:
+    query.start();
+
+    // Then:
+    assertThatEventually(() -> progress.getToken(0), is(Optional.of("0:5,1:7")));
+  }
+
+  @Test
+  public void shouldTrackProgressOfRowsQueued() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    when(pipeline.process(any())).thenReturn(Optional.of(ROW));
+    when(queue.tryAcceptRow(ROW)).thenReturn(true);
+    consumer.schedulePollTask(() -> {
+      consumer.addRecord(record(0, 0));
+      consumer.addRecord(record(1, 0));
+      consumer.addRecord(record(0, 1));
+    });
+    final PushQueryProgress progress = query.trackProgress().get();
+
+    // When:
+    query.start();
+
+    // Then (tokens are asked for in order, as the rows would be taken):
+    assertThatEventually(() -> progress.getToken(0), is(Optional.of("0:0,1:0")));
+    assertThatEventually(() -> progress.getToken(1), is(Optional.of("0:1,1:0")));
+    assertThatEventually(() -> progress.getToken(2), is(Optional.of("0:1,1:1")));
+    assertThatEventually(() -> progress.getToken(3), is(Optional.of("0:2,1:1")));
+  }
+
+  @Test
+  public void shouldNotTrackProgressOnceStarted() {
+    // Given:
+    givenOffsetReset(AutoOffsetReset.EARLIEST);
+    startAndAwaitRunning();
+
+    // When:
+    final Exception e = assertThrows(IllegalStateException.class, query::trackProgress);
+
+    // Then:
+    assertThat(e.getMessage(), is("Progress must be tracked before the query is started"));
+  }
+
+  private ConsumerLoopQueryMetadata givenQuery(final Map<Integer, Long> startOffsets) {
+    return new ConsumerLoopQueryMetadata(
+        "sql",
+        SCHEMA,
+        ImmutableSet.of(),
+        "execution plan",
+        queue,
+        "queryId",
+        topology,
+        ImmutableMap.of(),
+        ImmutableMap.of(),
+        closeCallback,
+        CLOSE_TIMEOUT,
+        pipeline,
+        () -> consumer,
+        startOffsets
+    );
+  }
+
+  private void givenOffsetReset(final AutoOffsetReset offsetReset) {
+    when(pipeline.getTopicName()).thenReturn(TOPIC);
+    when(pipeline.getOffsetReset()).thenReturn(offsetReset);
+  }
+
+  private void startAndAwaitRunning() {
+    query.start();
+    assertThatEventually(query::getState, is(State.RUNNING));
+  }
+
+  private static ConsumerRecord<byte[], byte[]> record(final int partition, final long offset) {
+    return new ConsumerRecord<>(TOPIC, partition, offset, new byte[0], new byte[0]);
+  }
+}
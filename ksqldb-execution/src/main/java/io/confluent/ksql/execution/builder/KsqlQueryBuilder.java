@@ -24,6 +24,7 @@ import io.confluent.ksql.execution.context.QueryLoggerUtil;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
@@ -37,6 +38,8 @@ import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.QuerySchemas;
 import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.StreamsBuilder;
@@ -195,6 +198,45 @@ public final class KsqlQueryBuilder {
     );
   }
 
+  /**
+   * Builds a value serde whose deserializer need only read the supplied columns. The columns of
+   * others may be left null in the rows it outputs, and the lazy columns may be left to be
+   * decoded when first read from them.
+   *
+   * @param format the format of the values.
+   * @param schema the physical schema of the values.
+   * @param queryContext the context of the step reading the values.
+   * @param readColumns the value columns that must be read.
+   * @param lazyColumns the value columns to be read that may be decoded lazily.
+   * @return the value serde.
+   */
+  public Serde<GenericRow> buildValueSerde(
+      final FormatInfo format,
+      final PhysicalSchema schema,
+      final QueryContext queryContext,
+      final Set<ColumnName> readColumns,
+      final Set<ColumnName> lazyColumns
+  ) {
+    final String loggerNamePrefix = QueryLoggerUtil.queryLoggerName(queryId, queryContext);
+
+    track(loggerNamePrefix, schema.valueSchema());
+
+    return valueSerdeFactory.create(
+        format,
+        schema.valueSchema(),
+        fieldNames(readColumns),
+        fieldNames(lazyColumns),
+        ksqlConfig,
+        serviceContext.getSchemaRegistryClientFactory(),
+        loggerNamePrefix,
+        processingLogContext
+    );
+  }
+
+  private static Set<String> fieldNames(final Set<ColumnName> columns) {
+    return columns.stream().map(ColumnName::text).collect(Collectors.toSet());
+  }
+
   private void track(final String loggerNamePrefix, final PersistenceSchema schema) {
     if (schemas.containsKey(loggerNamePrefix)) {
       throw new IllegalStateException("Schema with tracked:" + loggerNamePrefix);
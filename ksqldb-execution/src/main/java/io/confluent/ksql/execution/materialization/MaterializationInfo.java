@@ -18,15 +18,19 @@ package io.confluent.ksql.execution.materialization;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.testing.EffectivelyImmutable;
 import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -41,6 +45,7 @@ public final class MaterializationInfo {
   private final LogicalSchema stateStoreSchema;
   private final ImmutableList<TransformInfo> transforms;
   private final LogicalSchema schema;
+  private final ImmutableMap<ColumnName, String> indexStoreNames;
 
   public String stateStoreName() {
     return stateStoreName;
@@ -58,16 +63,26 @@ public final class MaterializationInfo {
     return transforms;
   }
 
+  /**
+   * @return the names of the state stores indexing the table, by indexed column.
+   */
+  public Map<ColumnName, String> getIndexStoreNames() {
+    return indexStoreNames;
+  }
+
   private MaterializationInfo(
       final String stateStoreName,
       final LogicalSchema stateStoreSchema,
       final List<TransformInfo> transforms,
-      final LogicalSchema schema
+      final LogicalSchema schema,
+      final Map<ColumnName, String> indexStoreNames
   ) {
     this.stateStoreName = requireNonNull(stateStoreName, "stateStoreName");
     this.stateStoreSchema = requireNonNull(stateStoreSchema, "stateStoreSchema");
     this.transforms = ImmutableList.copyOf(requireNonNull(transforms, "transforms"));
     this.schema = requireNonNull(schema, "schema");
+    this.indexStoreNames = ImmutableMap
+        .copyOf(requireNonNull(indexStoreNames, "indexStoreNames"));
   }
 
   /**
@@ -86,6 +101,7 @@ public final class MaterializationInfo {
     private final String stateStoreName;
     private final LogicalSchema stateStoreSchema;
     private final List<TransformInfo> transforms;
+    private final Map<ColumnName, String> indexStoreNames;
     private LogicalSchema schema;
 
     private Builder(final String stateStoreName, final LogicalSchema stateStoreSchema) {
@@ -93,6 +109,7 @@ public final class MaterializationInfo {
       this.stateStoreSchema = requireNonNull(stateStoreSchema, "stateStoreSchema");
       this.transforms = new LinkedList<>();
       this.schema = stateStoreSchema;
+      this.indexStoreNames = new LinkedHashMap<>();
     }
 
     /**
@@ -128,13 +145,34 @@ public final class MaterializationInfo {
       return this;
     }
 
+    /**
+     * Adds a state store that indexes the materialized table on one of its value columns.
+     *
+     * @param column the indexed column of the materialized table.
+     * @param indexStoreName the name of the state store holding the index.
+     * @return A builder instance with this index.
+     */
+    public Builder index(final ColumnName column, final String indexStoreName) {
+      indexStoreNames.put(
+          requireNonNull(column, "column"),
+          requireNonNull(indexStoreName, "indexStoreName")
+      );
+      return this;
+    }
+
     /**
      * Builds a MaterializationInfo with the properties and transforms in the builder.
      *
      * @return a MaterializationInfo instance.
      */
     public MaterializationInfo build() {
-      return new MaterializationInfo(stateStoreName, stateStoreSchema, transforms, schema);
+      return new MaterializationInfo(
+          stateStoreName,
+          stateStoreSchema,
+          transforms,
+          schema,
+          indexStoreNames
+      );
     }
   }
 
@@ -16,8 +16,10 @@ package io.confluent.ksql.execution.plan;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -30,19 +32,24 @@ public class TableSink<K> implements ExecutionStep<KTableHolder<K>> {
   private final Formats formats;
   private final String topicName;
   private final Optional<TimestampColumn> timestampColumn;
+  private final ImmutableList<ColumnName> indexedColumns;
 
   public TableSink(
       @JsonProperty(value = "properties", required = true) final ExecutionStepPropertiesV1 props,
       @JsonProperty(value = "source", required = true) final ExecutionStep<KTableHolder<K>> source,
       @JsonProperty(value = "formats", required = true) final Formats formats,
       @JsonProperty(value = "topicName", required = true) final String topicName,
-      @JsonProperty(value = "timestampColumn") final Optional<TimestampColumn> timestampColumn
+      @JsonProperty(value = "timestampColumn") final Optional<TimestampColumn> timestampColumn,
+      @JsonProperty(value = "indexedColumns") final Optional<List<ColumnName>> indexedColumns
   ) {
     this.properties = Objects.requireNonNull(props, "props");
     this.source = Objects.requireNonNull(source, "source");
     this.formats = Objects.requireNonNull(formats, "formats");
     this.topicName = Objects.requireNonNull(topicName, "topicName");
     this.timestampColumn = Objects.requireNonNull(timestampColumn, "timestampColumn");
+    this.indexedColumns = Objects.requireNonNull(indexedColumns, "indexedColumns")
+        .map(ImmutableList::copyOf)
+        .orElseGet(ImmutableList::of);
   }
 
   @Override
@@ -72,6 +79,10 @@ public class TableSink<K> implements ExecutionStep<KTableHolder<K>> {
     return timestampColumn;
   }
 
+  public List<ColumnName> getIndexedColumns() {
+    return indexedColumns;
+  }
+
   @Override
   public KTableHolder<K> build(final PlanBuilder builder) {
     return builder.visitTableSink(this);
@@ -90,12 +101,13 @@ public class TableSink<K> implements ExecutionStep<KTableHolder<K>> {
         && Objects.equals(source, tableSink.source)
         && Objects.equals(formats, tableSink.formats)
         && Objects.equals(topicName, tableSink.topicName)
-        && Objects.equals(timestampColumn, tableSink.timestampColumn);
+        && Objects.equals(timestampColumn, tableSink.timestampColumn)
+        && Objects.equals(indexedColumns, tableSink.indexedColumns);
   }
 
   @Override
   public int hashCode() {
 
-    return Objects.hash(properties, source, formats, topicName, timestampColumn);
+    return Objects.hash(properties, source, formats, topicName, timestampColumn, indexedColumns);
   }
 }
@@ -27,6 +27,7 @@ import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.RecordProcessingError;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.util.KsqlConfig;
@@ -80,10 +81,12 @@ public final class SqlPredicate {
 
     private final ProcessingLogger processingLogger;
     private final String errorMsg;
+    private final String decodeErrorMsg;
 
     Transformer(final ProcessingLogger processingLogger) {
       this.processingLogger = requireNonNull(processingLogger, "processingLogger");
       this.errorMsg = "Error evaluating predicate " + filterExpression.toString();
+      this.decodeErrorMsg = "Error decoding row passing predicate " + filterExpression.toString();
     }
 
     @Override
@@ -99,9 +102,21 @@ public final class SqlPredicate {
       final boolean result = (Boolean) evaluator
           .evaluate(value, false, processingLogger, () -> errorMsg);
 
-      return result
-          ? Optional.of(value)
-          : Optional.empty();
+      if (!result) {
+        return Optional.empty();
+      }
+
+      // The row may have lazy values the predicate did not read. They are decoded now the row is
+      // known to pass, and the row dropped, as the source would have, if any fail to decode:
+      try {
+        value.decodeAll();
+      } catch (final Exception e) {
+        processingLogger.error(
+            RecordProcessingError.recordProcessingError(decodeErrorMsg, e, value::toString));
+        return Optional.empty();
+      }
+
+      return Optional.of(value);
     }
   }
 }
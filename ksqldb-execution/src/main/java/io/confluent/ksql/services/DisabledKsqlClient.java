@@ -17,13 +17,16 @@ package io.confluent.ksql.services;
 
 import io.confluent.ksql.rest.client.RestResponse;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
+import io.confluent.ksql.rest.entity.HeartbeatResponse;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.LagReportingMessage;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.util.KsqlHostInfo;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A KSQL client implementation for use when communication with other nodes is not supported.
@@ -56,7 +59,17 @@ public final class DisabledKsqlClient implements SimpleKsqlClient {
   }
 
   @Override
-  public void makeAsyncHeartbeatRequest(
+  public RestResponse<TableRowsEntity> makePullQueryRequest(
+      final URI serverEndPoint,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties
+  ) {
+    throw new UnsupportedOperationException("KSQL client is disabled");
+  }
+
+  @Override
+  public CompletableFuture<RestResponse<HeartbeatResponse>> makeAsyncHeartbeatRequest(
       final URI serverEndPoint,
       final KsqlHostInfo host,
       final long timestamp
@@ -17,13 +17,16 @@ package io.confluent.ksql.services;
 
 import io.confluent.ksql.rest.client.RestResponse;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
+import io.confluent.ksql.rest.entity.HeartbeatResponse;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.LagReportingMessage;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.util.KsqlHostInfo;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.concurrent.ThreadSafe;
 
 @ThreadSafe
@@ -57,13 +60,31 @@ public interface SimpleKsqlClient {
       Map<String, ?> requestProperties
   );
 
+  /**
+   * Send pull query request to remote Ksql server, receiving the rows in the compact binary
+   * encoding used between servers.
+   * @param serverEndPoint the remote destination
+   * @param sql the pull query statement
+   * @param configOverrides the config overrides provided by the client
+   * @param requestProperties the request metadata provided by the server
+   * @return the result of pull query evaluation
+   */
+  RestResponse<TableRowsEntity> makePullQueryRequest(
+      URI serverEndPoint,
+      String sql,
+      Map<String, ?> configOverrides,
+      Map<String, ?> requestProperties
+  );
+
   /**
    * Send heartbeat to remote Ksql server.
    * @param serverEndPoint the remote destination.
    * @param host the host information of the sender.
    * @param timestamp the timestamp the heartbeat is sent.
+   * @return a future that completes with the response, or with {@code null} if the request
+   *     failed.
    */
-  void makeAsyncHeartbeatRequest(
+  CompletableFuture<RestResponse<HeartbeatResponse>> makeAsyncHeartbeatRequest(
       URI serverEndPoint,
       KsqlHostInfo host,
       long timestamp
@@ -14,6 +14,7 @@
 
 package io.confluent.ksql.execution.plan;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.testing.EqualsTester;
 import io.confluent.ksql.execution.timestamp.TimestampColumn;
 import io.confluent.ksql.name.ColumnName;
@@ -43,13 +44,28 @@ public class TableSinkTest {
   public void shouldImplementEquals() {
     new EqualsTester()
         .addEqualityGroup(
-            new TableSink<>(properties1, source1, formats1, "topic1", Optional.empty()),
-            new TableSink<>(properties1, source1, formats1, "topic1", Optional.empty()))
-        .addEqualityGroup(new TableSink<>(properties2, source1, formats1, "topic1", Optional.empty()))
-        .addEqualityGroup(new TableSink<>(properties1, source2, formats1, "topic1", Optional.empty()))
-        .addEqualityGroup(new TableSink<>(properties1, source1, formats2, "topic1", Optional.empty()))
-        .addEqualityGroup(new TableSink<>(properties1, source1, formats1, "topic2", Optional.empty()))
+            sink(properties1, source1, formats1, "topic1", Optional.empty()),
+            sink(properties1, source1, formats1, "topic1", Optional.empty()),
+            new TableSink<>(properties1, source1, formats1, "topic1", Optional.empty(),
+                Optional.of(ImmutableList.of())))
+        .addEqualityGroup(sink(properties2, source1, formats1, "topic1", Optional.empty()))
+        .addEqualityGroup(sink(properties1, source2, formats1, "topic1", Optional.empty()))
+        .addEqualityGroup(sink(properties1, source1, formats2, "topic1", Optional.empty()))
+        .addEqualityGroup(sink(properties1, source1, formats1, "topic2", Optional.empty()))
+        .addEqualityGroup(sink(properties1, source1, formats1, "topic1",
+            Optional.of(new TimestampColumn(ColumnName.of("c1"), Optional.of("BIGINT")))))
         .addEqualityGroup(new TableSink<>(properties1, source1, formats1, "topic1",
-            Optional.of(new TimestampColumn(ColumnName.of("c1"), Optional.of("BIGINT")))));;
+            Optional.empty(), Optional.of(ImmutableList.of(ColumnName.of("c1")))));
   }
-}
\ No newline at end of file
+
+  private static TableSink<Struct> sink(
+      final ExecutionStepPropertiesV1 properties,
+      final ExecutionStep<KTableHolder<Struct>> source,
+      final Formats formats,
+      final String topicName,
+      final Optional<TimestampColumn> timestampColumn
+  ) {
+    return new TableSink<>(
+        properties, source, formats, topicName, timestampColumn, Optional.empty());
+  }
+}
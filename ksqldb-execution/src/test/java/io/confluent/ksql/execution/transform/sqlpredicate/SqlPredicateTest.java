@@ -26,6 +26,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.GenericRow.LazyValue;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
@@ -77,6 +78,8 @@ public class SqlPredicateTest {
   private Expression filterExpression;
   @Mock
   private ExpressionMetadata evaluator;
+  @Mock
+  private LazyValue lazyValue;
 
   private SqlPredicate predicate;
 
@@ -164,4 +167,66 @@ public class SqlPredicateTest {
 
     assertThat(errorMsgCaptor.getValue().get(), is("Error evaluating predicate filterExpression"));
   }
+
+  @Test
+  public void shouldEvaluateLazyValues() {
+    // Given:
+    predicate = new SqlPredicate(
+        new ComparisonExpression(Type.LESS_THAN, COL0, new LongLiteral(100)),
+        SCHEMA,
+        KSQL_CONFIG,
+        functionRegistry
+    );
+
+    transformer = predicate.getTransformer(processingLogger);
+
+    // When:
+    final Optional<GenericRow> result =
+        transformer.transform("key", new GenericRow().appendLazy(() -> 99L), ctx);
+
+    // Then:
+    assertThat(result, is(Optional.of(genericRow(99L))));
+  }
+
+  @Test
+  public void shouldNotDecodeLazyValuesOfRowsThatDoNotPass() {
+    // Given:
+    when(evaluator.evaluate(any(), any(), any(), any())).thenReturn(false);
+
+    // When:
+    transformer.transform("key", genericRow(22L).appendLazy(lazyValue), ctx);
+
+    // Then:
+    verify(lazyValue, never()).decode();
+  }
+
+  @Test
+  public void shouldDecodeLazyValuesOfRowsThatPass() {
+    // Given:
+    when(evaluator.evaluate(any(), any(), any(), any())).thenReturn(true);
+    when(lazyValue.decode()).thenReturn("a string");
+
+    // When:
+    final Optional<GenericRow> result =
+        transformer.transform("key", genericRow(22L, 33.3).appendLazy(lazyValue), ctx);
+
+    // Then:
+    assertThat(result, is(Optional.of(VALUE)));
+    verify(lazyValue).decode();
+  }
+
+  @Test
+  public void shouldDropAndLogRowsThatPassWithLazyValuesThatCanNotBeDecoded() {
+    // Given:
+    when(evaluator.evaluate(any(), any(), any(), any())).thenReturn(true);
+    when(lazyValue.decode()).thenThrow(new IllegalStateException("bad"));
+
+    // When:
+    final Optional<GenericRow> result =
+        transformer.transform("key", genericRow(22L).appendLazy(lazyValue), ctx);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+    verify(processingLogger).error(any());
+  }
 }
@@ -15,6 +15,8 @@
 
 package io.confluent.ksql.parser.properties.with;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
@@ -30,6 +32,7 @@ import io.confluent.ksql.serde.FormatInfo;
 import io.confluent.ksql.serde.avro.AvroFormat;
 import io.confluent.ksql.serde.delimited.DelimitedFormat;
 import io.confluent.ksql.util.KsqlException;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -91,6 +94,18 @@ public final class CreateSourceAsProperties {
     return Optional.ofNullable(props.getString(CommonCreateConfigs.TIMESTAMP_FORMAT_PROPERTY));
   }
 
+  public List<ColumnName> getIndexedColumns() {
+    final String columns = props.getString(CreateAsConfigs.INDEXED_COLUMNS_PROPERTY);
+    if (columns == null) {
+      return ImmutableList.of();
+    }
+
+    return Splitter.on(',').trimResults().omitEmptyStrings().splitToList(columns).stream()
+        .map(ColumnReferenceParser::parse)
+        .distinct()
+        .collect(ImmutableList.toImmutableList());
+  }
+
   public Optional<Boolean> getWrapSingleValues() {
     return Optional.ofNullable(props.getBoolean(CommonCreateConfigs.WRAP_SINGLE_VALUE));
   }
@@ -19,7 +19,9 @@ import static com.google.common.collect.ImmutableMap.of;
 import static io.confluent.ksql.parser.properties.with.CreateSourceAsProperties.from;
 import static io.confluent.ksql.properties.with.CommonCreateConfigs.TIMESTAMP_FORMAT_PROPERTY;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 
@@ -31,6 +33,7 @@ import io.confluent.ksql.execution.expression.tree.Literal;
 import io.confluent.ksql.execution.expression.tree.StringLiteral;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.properties.with.CommonCreateConfigs;
+import io.confluent.ksql.properties.with.CreateAsConfigs;
 import io.confluent.ksql.serde.avro.AvroFormat;
 import io.confluent.ksql.util.KsqlException;
 import java.util.Optional;
@@ -58,6 +61,7 @@ public class CreateSourceAsPropertiesTest {
     assertThat(properties.getReplicas(), is(Optional.empty()));
     assertThat(properties.getPartitions(), is(Optional.empty()));
     assertThat(properties.getWrapSingleValues(), is(Optional.empty()));
+    assertThat(properties.getIndexedColumns(), is(empty()));
   }
 
   @Test
@@ -80,6 +84,21 @@ public class CreateSourceAsPropertiesTest {
     assertThat(properties.getTimestampColumnName(), is(Optional.of(ColumnName.of("TS"))));
   }
 
+  @Test
+  public void shouldSetIndexedColumns() {
+    // When:
+    final CreateSourceAsProperties properties = CreateSourceAsProperties.from(
+        ImmutableMap.of(
+            CreateAsConfigs.INDEXED_COLUMNS_PROPERTY,
+            new StringLiteral("region, `Name`,region")
+        )
+    );
+
+    // Then:
+    assertThat(properties.getIndexedColumns(),
+        contains(ColumnName.of("REGION"), ColumnName.of("Name")));
+  }
+
   @Test
   public void shouldSetValidTimestampFormat() {
     // When:
@@ -20,11 +20,14 @@ import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.PushQueryHandle;
 import io.confluent.ksql.api.spi.QueryPublisher;
 import io.confluent.ksql.query.BlockingRowQueue;
+import io.confluent.ksql.query.PushQueryProgress;
 import io.confluent.ksql.reactive.BasePublisher;
 import io.vertx.core.Context;
 import io.vertx.core.WorkerExecutor;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +52,8 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
   private PushQueryHandle queryHandle;
   private List<String> columnNames;
   private List<String> columnTypes;
+  private Optional<PushQueryProgress> progress = Optional.empty();
+  private long rowsSent;
   private boolean complete;
   private volatile boolean closed;
 
@@ -92,6 +97,18 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
     return false;
   }
 
+  @Override
+  public boolean trackProgress() {
+    progress = queryHandle.trackProgress();
+    return progress.isPresent();
+  }
+
+  @Override
+  public Optional<String> getProgressToken() {
+    checkContext();
+    return progress.flatMap(p -> p.getToken(rowsSent));
+  }
+
   @Override
   protected void maybeSend() {
     ctx.runOnContext(v -> doSend());
@@ -117,19 +134,24 @@ public class BlockingQueryPublisher extends BasePublisher<GenericRow>
   private void doSend() {
     checkContext();
 
-    int num = 0;
-    while (getDemand() > 0 && !queue.isEmpty()) {
-      if (num < SEND_MAX_BATCH_SIZE) {
-        doOnNext(queue.poll());
-        if (complete && queue.isEmpty()) {
-          ctx.runOnContext(v -> sendComplete());
-        }
-        num++;
-      } else {
-        // Schedule another batch async
-        ctx.runOnContext(v -> doSend());
-        break;
-      }
+    final int max = (int) Math.min(getDemand(), SEND_MAX_BATCH_SIZE);
+    if (max <= 0) {
+      return;
+    }
+
+    final List<GenericRow> rows = new ArrayList<>(max);
+    if (queue.drainTo(rows, max) == 0) {
+      return;
+    }
+
+    rows.forEach(this::doOnNext);
+    rowsSent += rows.size();
+
+    if (complete && queue.isEmpty()) {
+      ctx.runOnContext(v -> sendComplete());
+    } else if (getDemand() > 0 && !queue.isEmpty()) {
+      // Schedule another batch async
+      ctx.runOnContext(v -> doSend());
     }
   }
 }
@@ -18,8 +18,11 @@ package io.confluent.ksql.api.endpoints;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 
 import io.confluent.ksql.api.auth.ApiSecurityContext;
+import io.confluent.ksql.api.server.ErrorCodes;
 import io.confluent.ksql.api.server.InsertResult;
 import io.confluent.ksql.api.server.InsertsStreamSubscriber;
+import io.confluent.ksql.api.server.KsqlApiException;
+import io.confluent.ksql.api.server.protocol.PrepareQueryResponse;
 import io.confluent.ksql.api.spi.Endpoints;
 import io.confluent.ksql.api.spi.QueryPublisher;
 import io.confluent.ksql.engine.KsqlEngine;
@@ -48,6 +51,7 @@ import io.vertx.core.MultiMap;
 import io.vertx.core.WorkerExecutor;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.json.JsonObject;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -74,6 +78,7 @@ public class KsqlServerEndpoints implements Endpoints {
   private final HealthCheckResource healthCheckResource;
   private final ServerMetadataResource serverMetadataResource;
   private final WSQueryEndpoint wsQueryEndpoint;
+  private final PreparedQueries preparedQueries;
 
   // CHECKSTYLE_RULES.OFF: ParameterNumber
   public KsqlServerEndpoints(
@@ -108,6 +113,8 @@ public class KsqlServerEndpoints implements Endpoints {
     this.healthCheckResource = Objects.requireNonNull(healthCheckResource);
     this.serverMetadataResource = Objects.requireNonNull(serverMetadataResource);
     this.wsQueryEndpoint = Objects.requireNonNull(wsQueryEndpoint);
+    this.preparedQueries = new PreparedQueries(
+        ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PULL_PREPARED_MAX_ENTRIES_CONFIG));
   }
 
   @Override
@@ -123,6 +130,47 @@ public class KsqlServerEndpoints implements Endpoints {
         workerExecutor);
   }
 
+  @Override
+  public CompletableFuture<PrepareQueryResponse> prepareQuery(final String sql,
+      final JsonObject properties,
+      final WorkerExecutor workerExecutor,
+      final ApiSecurityContext apiSecurityContext) {
+    return executeOnWorker(() -> {
+      final PreparedPullQuery preparedQuery =
+          new QueryEndpoint(ksqlEngine, ksqlConfig, pullQueryExecutor)
+              .prepareQuery(sql, properties);
+
+      final String preparedQueryId = preparedQueries.put(
+          apiSecurityContext.getPrincipal(), preparedQuery);
+
+      return new PrepareQueryResponse(preparedQueryId, preparedQuery.getParameterCount());
+    }, workerExecutor);
+  }
+
+  @Override
+  public CompletableFuture<QueryPublisher> createPreparedQueryPublisher(
+      final String preparedQueryId,
+      final List<Object> parameters,
+      final Context context,
+      final WorkerExecutor workerExecutor,
+      final ApiSecurityContext apiSecurityContext) {
+    final Optional<PreparedPullQuery> preparedQuery = preparedQueries.get(
+        preparedQueryId, apiSecurityContext.getPrincipal());
+    if (!preparedQuery.isPresent()) {
+      final CompletableFuture<QueryPublisher> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new KsqlApiException(
+          "No prepared query with id " + preparedQueryId,
+          ErrorCodes.ERROR_CODE_UNKNOWN_PREPARED_QUERY_ID));
+      return failed;
+    }
+
+    return executeOnWorker(
+        () -> new QueryEndpoint(ksqlEngine, ksqlConfig, pullQueryExecutor)
+            .createPreparedQueryPublisher(preparedQuery.get(), parameters, context,
+                ksqlSecurityContextProvider.provide(apiSecurityContext).getServiceContext()),
+        workerExecutor);
+  }
+
   @Override
   public CompletableFuture<InsertsStreamSubscriber> createInsertsSubscriber(final String target,
       final JsonObject properties,
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.endpoints;
+
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
+import io.confluent.ksql.execution.expression.tree.BooleanLiteral;
+import io.confluent.ksql.execution.expression.tree.DecimalLiteral;
+import io.confluent.ksql.execution.expression.tree.DoubleLiteral;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.NullLiteral;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.parser.SqlFormatter;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pull query that has been parsed once and can be executed many times with different values.
+ *
+ * <p>The literals in the WHERE clause of the prepared statement are its parameters, in the order
+ * they appear in the statement. For example, {@code SELECT * FROM T WHERE ID IN (1, 2);} has two
+ * parameters, both of which must be bound on each execution.
+ */
+public final class PreparedPullQuery {
+
+  private final ConfiguredStatement<Query> statement;
+  private final int parameterCount;
+
+  public PreparedPullQuery(final ConfiguredStatement<Query> statement) {
+    this.statement = Objects.requireNonNull(statement, "statement");
+    this.parameterCount = countParameters(statement.getStatement());
+  }
+
+  public int getParameterCount() {
+    return parameterCount;
+  }
+
+  /**
+   * Bind the supplied values to the parameters of the query.
+   *
+   * @param parameters the values, in the order of the parameters they are bound to.
+   * @return the statement to execute.
+   */
+  public ConfiguredStatement<Query> bind(final List<?> parameters) {
+    if (parameters.size() != parameterCount) {
+      throw new KsqlStatementException("Prepared query expects " + parameterCount
+          + " parameters, but " + parameters.size() + " were supplied",
+          statement.getStatementText());
+    }
+
+    if (parameterCount == 0) {
+      return statement;
+    }
+
+    final Query query = statement.getStatement();
+    final Iterator<?> values = parameters.iterator();
+
+    final Optional<Expression> where = query.getWhere()
+        .map(exp -> ExpressionTreeRewriter.rewriteWith(
+            (expression, ctx) -> expression instanceof Literal
+                ? Optional.of(toLiteral(values.next()))
+                : Optional.empty(),
+            exp
+        ));
+
+    final Query bound = new Query(
+        query.getLocation(),
+        query.getSelect(),
+        query.getFrom(),
+        query.getWindow(),
+        where,
+        query.getGroupBy(),
+        query.getPartitionBy(),
+        query.getHaving(),
+        query.getResultMaterialization(),
+        query.isPullQuery(),
+        query.getLimit()
+    );
+
+    // The text is used to forward the query to other nodes, so must match the bound statement:
+    return statement.withStatement(SqlFormatter.formatSql(bound) + ";", bound);
+  }
+
+  private static int countParameters(final Query query) {
+    final AtomicInteger count = new AtomicInteger();
+
+    query.getWhere().ifPresent(exp -> ExpressionTreeRewriter.rewriteWith(
+        (expression, ctx) -> {
+          if (expression instanceof Literal) {
+            count.incrementAndGet();
+          }
+          return Optional.empty();
+        },
+        exp
+    ));
+
+    return count.get();
+  }
+
+  private static Literal toLiteral(final Object value) {
+    if (value == null) {
+      return new NullLiteral();
+    }
+
+    if (value instanceof String) {
+      return new StringLiteral((String) value);
+    }
+
+    if (value instanceof Integer) {
+      return new IntegerLiteral((Integer) value);
+    }
+
+    if (value instanceof Long) {
+      return new LongLiteral((Long) value);
+    }
+
+    if (value instanceof Double || value instanceof Float) {
+      return new DoubleLiteral(((Number) value).doubleValue());
+    }
+
+    if (value instanceof BigDecimal) {
+      return new DecimalLiteral((BigDecimal) value);
+    }
+
+    if (value instanceof Boolean) {
+      return new BooleanLiteral(value.toString());
+    }
+
+    throw new KsqlStatementException(
+        "Unsupported parameter type: " + value.getClass().getSimpleName(),
+        String.valueOf(value)
+    );
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.endpoints;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.security.Principal;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The pull queries prepared through the API, each of which can only be executed by the principal
+ * that prepared it.
+ */
+final class PreparedQueries {
+
+  private final Cache<String, Entry> queries;
+
+  PreparedQueries(final int maxEntries) {
+    this.queries = CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .build();
+  }
+
+  /**
+   * @return the id of the prepared query.
+   */
+  String put(final Optional<Principal> principal, final PreparedPullQuery query) {
+    final String id = UUID.randomUUID().toString();
+    queries.put(id, new Entry(principalName(principal), query));
+    return id;
+  }
+
+  /**
+   * @return the prepared query, or empty if there is no query with the id or it was prepared by
+   *         a different principal. The two are not told apart, so that the ids of the queries of
+   *         other principals can not be probed for.
+   */
+  Optional<PreparedPullQuery> get(final String id, final Optional<Principal> principal) {
+    return Optional.ofNullable(queries.getIfPresent(id))
+        .filter(entry -> entry.principalName.equals(principalName(principal)))
+        .map(entry -> entry.query);
+  }
+
+  private static Optional<String> principalName(final Optional<Principal> principal) {
+    return principal.map(Principal::getName);
+  }
+
+  private static final class Entry {
+
+    private final Optional<String> principalName;
+    private final PreparedPullQuery query;
+
+    private Entry(final Optional<String> principalName, final PreparedPullQuery query) {
+      this.principalName = Objects.requireNonNull(principalName, "principalName");
+      this.query = Objects.requireNonNull(query, "query");
+    }
+  }
+}
@@ -23,6 +23,7 @@ import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Statement;
 import io.confluent.ksql.query.BlockingRowQueue;
+import io.confluent.ksql.query.PushQueryProgress;
 import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
 import io.confluent.ksql.schema.ksql.Column;
@@ -76,6 +77,34 @@ public class QueryEndpoint {
     }
   }
 
+  public PreparedPullQuery prepareQuery(
+      final String sql,
+      final JsonObject properties
+  ) {
+    // Must be run on worker as all this stuff is slow
+    VertxUtils.checkIsWorker();
+
+    final ConfiguredStatement<Query> statement = createStatement(sql, properties.getMap());
+
+    if (!statement.getStatement().isPullQuery()) {
+      throw new KsqlStatementException("Only pull queries can be prepared", sql);
+    }
+
+    return new PreparedPullQuery(statement);
+  }
+
+  public QueryPublisher createPreparedQueryPublisher(
+      final PreparedPullQuery preparedQuery,
+      final List<Object> parameters,
+      final Context context,
+      final ServiceContext serviceContext
+  ) {
+    // Must be run on worker as all this stuff is slow
+    VertxUtils.checkIsWorker();
+
+    return createPullQueryPublisher(context, serviceContext, preparedQuery.bind(parameters));
+  }
+
   private QueryPublisher createPushQueryPublisher(
       final Context context,
       final ServiceContext serviceContext,
@@ -177,5 +206,10 @@ public class QueryEndpoint {
     public BlockingRowQueue getQueue() {
       return queryMetadata.getRowQueue();
     }
+
+    @Override
+    public Optional<PushQueryProgress> trackProgress() {
+      return queryMetadata.trackProgress();
+    }
   }
 }
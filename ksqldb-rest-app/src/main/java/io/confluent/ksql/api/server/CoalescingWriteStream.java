@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server;
+
+import io.confluent.ksql.util.VertxUtils;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import java.util.Objects;
+
+/**
+ * A write stream that coalesces the many small writes of a streamed response, such as one per
+ * row, into fewer large writes to the underlying stream, so fewer frames are written and flushed
+ * to the socket.
+ *
+ * <p>Buffered data is written once it reaches the max batch size, or when the linger expires. A
+ * linger of zero writes the buffered data once the current task on the context completes, so
+ * coalescing the rows delivered together by a publisher without delaying any of them.
+ *
+ * <p>The state of this stream is always accessed on the same Vert.x context so does not require
+ * synchronization.
+ */
+public class CoalescingWriteStream implements WriteStream<Buffer> {
+
+  private static final long NO_TIMER = -1;
+
+  private final Context context;
+  private final WriteStream<Buffer> delegate;
+  private final int maxBatchBytes;
+  private final long lingerMs;
+  private Buffer pending = Buffer.buffer();
+  private boolean flushScheduled;
+  private long timerId = NO_TIMER;
+
+  public CoalescingWriteStream(
+      final Context context,
+      final WriteStream<Buffer> delegate,
+      final int maxBatchBytes,
+      final long lingerMs
+  ) {
+    this.context = Objects.requireNonNull(context);
+    this.delegate = Objects.requireNonNull(delegate);
+    this.maxBatchBytes = maxBatchBytes;
+    this.lingerMs = lingerMs;
+  }
+
+  @Override
+  public WriteStream<Buffer> exceptionHandler(final Handler<Throwable> handler) {
+    delegate.exceptionHandler(handler);
+    return this;
+  }
+
+  @Override
+  public WriteStream<Buffer> write(final Buffer data) {
+    VertxUtils.checkContext(context);
+    pending.appendBuffer(data);
+    if (pending.length() >= maxBatchBytes) {
+      flush();
+    } else {
+      scheduleFlush();
+    }
+    return this;
+  }
+
+  @Override
+  public WriteStream<Buffer> write(final Buffer data, final Handler<AsyncResult<Void>> handler) {
+    VertxUtils.checkContext(context);
+    pending.appendBuffer(data);
+    delegate.write(takePending(), handler);
+    return this;
+  }
+
+  @Override
+  public void end() {
+    flush();
+    delegate.end();
+  }
+
+  @Override
+  public void end(final Handler<AsyncResult<Void>> handler) {
+    flush();
+    delegate.end(handler);
+  }
+
+  @Override
+  public WriteStream<Buffer> setWriteQueueMaxSize(final int maxSize) {
+    delegate.setWriteQueueMaxSize(maxSize);
+    return this;
+  }
+
+  @Override
+  public boolean writeQueueFull() {
+    return delegate.writeQueueFull();
+  }
+
+  @Override
+  public WriteStream<Buffer> drainHandler(final Handler<Void> handler) {
+    delegate.drainHandler(handler);
+    return this;
+  }
+
+  /**
+   * Writes any buffered data to the underlying stream.
+   */
+  public void flush() {
+    VertxUtils.checkContext(context);
+    if (pending.length() > 0) {
+      delegate.write(takePending());
+    }
+  }
+
+  private Buffer takePending() {
+    final Buffer data = pending;
+    pending = Buffer.buffer();
+    if (timerId != NO_TIMER) {
+      context.owner().cancelTimer(timerId);
+      timerId = NO_TIMER;
+    }
+    return data;
+  }
+
+  private void scheduleFlush() {
+    if (lingerMs > 0) {
+      if (timerId == NO_TIMER) {
+        timerId = context.owner().setTimer(lingerMs, id -> {
+          timerId = NO_TIMER;
+          flush();
+        });
+      }
+    } else if (!flushScheduled) {
+      flushScheduled = true;
+      context.runOnContext(v -> {
+        flushScheduled = false;
+        flush();
+      });
+    }
+  }
+}
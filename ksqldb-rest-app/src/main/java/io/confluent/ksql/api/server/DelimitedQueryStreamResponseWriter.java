@@ -18,8 +18,10 @@ package io.confluent.ksql.api.server;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.protocol.ErrorResponse;
 import io.confluent.ksql.api.server.protocol.PojoCodec;
+import io.confluent.ksql.api.server.protocol.QueryProgress;
 import io.confluent.ksql.api.server.protocol.QueryResponseMetadata;
-import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
 import java.util.Objects;
 
 /**
@@ -35,15 +37,16 @@ import java.util.Objects;
  * query).
  *
  * <p>Each subsequent entry in the stream is a JSON array representing the values of the columns
- * returned by the query.
+ * returned by the query, or, if requested, a JSON object holding the progress token of a push
+ * query.
  *
  * <p>Please consult the API documentation for a full description of the format.
  */
 public class DelimitedQueryStreamResponseWriter implements QueryStreamResponseWriter {
 
-  private final HttpServerResponse response;
+  private final WriteStream<Buffer> response;
 
-  public DelimitedQueryStreamResponseWriter(final HttpServerResponse response) {
+  public DelimitedQueryStreamResponseWriter(final WriteStream<Buffer> response) {
     this.response = Objects.requireNonNull(response);
   }
 
@@ -65,6 +68,12 @@ public class DelimitedQueryStreamResponseWriter implements QueryStreamResponseWr
     return this;
   }
 
+  @Override
+  public QueryStreamResponseWriter writeProgress(final QueryProgress progress) {
+    response.write(progress.toBuffer().appendString("\n"));
+    return this;
+  }
+
   @Override
   public void end() {
     response.end();
@@ -18,9 +18,10 @@ package io.confluent.ksql.api.server;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.protocol.ErrorResponse;
 import io.confluent.ksql.api.server.protocol.PojoCodec;
+import io.confluent.ksql.api.server.protocol.QueryProgress;
 import io.confluent.ksql.api.server.protocol.QueryResponseMetadata;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.streams.WriteStream;
 import java.util.Objects;
 
 /**
@@ -43,9 +44,9 @@ import java.util.Objects;
  */
 public class JsonQueryStreamResponseWriter implements QueryStreamResponseWriter {
 
-  private final HttpServerResponse response;
+  private final WriteStream<Buffer> response;
 
-  public JsonQueryStreamResponseWriter(final HttpServerResponse response) {
+  public JsonQueryStreamResponseWriter(final WriteStream<Buffer> response) {
     this.response = Objects.requireNonNull(response);
   }
 
@@ -69,6 +70,12 @@ public class JsonQueryStreamResponseWriter implements QueryStreamResponseWriter
     return this;
   }
 
+  @Override
+  public QueryStreamResponseWriter writeProgress(final QueryProgress progress) {
+    writeBuffer(progress.toBuffer());
+    return this;
+  }
+
   private void writeBuffer(final Buffer buffer) {
     final Buffer buff = Buffer.buffer().appendByte((byte) ',');
     buff.appendBuffer(buffer);
@@ -77,6 +84,6 @@ public class JsonQueryStreamResponseWriter implements QueryStreamResponseWriter
 
   @Override
   public void end() {
-    response.write("]").end();
+    response.end(Buffer.buffer("]"));
   }
 }
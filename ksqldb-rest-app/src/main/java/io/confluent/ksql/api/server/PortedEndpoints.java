@@ -30,6 +30,7 @@ import io.confluent.ksql.api.auth.DefaultApiSecurityContext;
 import io.confluent.ksql.api.spi.Endpoints;
 import io.confluent.ksql.rest.ApiJsonMapper;
 import io.confluent.ksql.rest.EndpointResponse;
+import io.confluent.ksql.rest.client.TableRowsCodec;
 import io.confluent.ksql.rest.entity.ClusterTerminateRequest;
 import io.confluent.ksql.rest.entity.HeartbeatMessage;
 import io.confluent.ksql.rest.entity.KsqlErrorMessage;
@@ -322,6 +323,10 @@ class PortedEndpoints {
         final Buffer responseBody;
         if (endpointResponse.getEntity() instanceof String) {
           responseBody = Buffer.buffer((String) endpointResponse.getEntity());
+        } else if (endpointResponse.getEntity() instanceof byte[]) {
+          // Pull query rows forwarded between servers in their binary encoding
+          response.putHeader(CONTENT_TYPE_HEADER, TableRowsCodec.CONTENT_TYPE);
+          responseBody = Buffer.buffer((byte[]) endpointResponse.getEntity());
         } else {
           try {
             final byte[] bytes = OBJECT_MAPPER
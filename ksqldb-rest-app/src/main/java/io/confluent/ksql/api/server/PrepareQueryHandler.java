@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server;
+
+import static io.confluent.ksql.api.server.ServerUtils.checkHttp2;
+
+import io.confluent.ksql.api.auth.DefaultApiSecurityContext;
+import io.confluent.ksql.api.server.protocol.QueryStreamArgs;
+import io.confluent.ksql.api.spi.Endpoints;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handles requests to the query-stream/prepare endpoint
+ */
+public class PrepareQueryHandler implements Handler<RoutingContext> {
+
+  private static final Logger log = LoggerFactory.getLogger(PrepareQueryHandler.class);
+
+  private final Endpoints endpoints;
+  private final Server server;
+
+  public PrepareQueryHandler(final Endpoints endpoints, final Server server) {
+    this.endpoints = Objects.requireNonNull(endpoints);
+    this.server = Objects.requireNonNull(server);
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+
+    if (!checkHttp2(routingContext)) {
+      return;
+    }
+
+    final Optional<QueryStreamArgs> queryStreamArgs = ServerUtils
+        .deserialiseObject(routingContext.getBody(), routingContext, QueryStreamArgs.class);
+    if (!queryStreamArgs.isPresent()) {
+      return;
+    }
+
+    endpoints.prepareQuery(queryStreamArgs.get().sql, queryStreamArgs.get().properties,
+        server.getWorkerExecutor(), DefaultApiSecurityContext.create(routingContext))
+        .thenAccept(response -> routingContext.response().end(response.toBuffer()))
+        .exceptionally(t -> {
+          log.error("Failed to prepare query", t);
+          return ServerUtils.handleEndpointException(t, routingContext);
+        });
+  }
+}
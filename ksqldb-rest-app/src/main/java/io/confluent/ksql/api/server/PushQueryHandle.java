@@ -16,7 +16,9 @@
 package io.confluent.ksql.api.server;
 
 import io.confluent.ksql.query.BlockingRowQueue;
+import io.confluent.ksql.query.PushQueryProgress;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Handle to a push query running in the engine
@@ -32,4 +34,8 @@ public interface PushQueryHandle {
   void stop();
 
   BlockingRowQueue getQueue();
+
+  default Optional<PushQueryProgress> trackProgress() {
+    return Optional.empty();
+  }
 }
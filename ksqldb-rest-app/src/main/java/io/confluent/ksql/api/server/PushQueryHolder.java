@@ -15,8 +15,11 @@
 
 package io.confluent.ksql.api.server;
 
+import io.confluent.ksql.api.server.protocol.QueryProgress;
 import io.confluent.ksql.api.spi.QueryPublisher;
+import io.vertx.core.Vertx;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -33,6 +36,9 @@ public class PushQueryHolder {
   private final PushQueryId id;
   private final QueryPublisher queryPublisher;
   private final Consumer<PushQueryHolder> closeHandler;
+  private Optional<Vertx> vertx = Optional.empty();
+  private long progressTimerId;
+  private String lastProgressToken;
 
   PushQueryHolder(final Server server,
       final QueryPublisher queryPublisher,
@@ -43,7 +49,32 @@ public class PushQueryHolder {
     this.id = new PushQueryId(UUID.randomUUID().toString());
   }
 
+  /**
+   * Periodically passes the progress of the query to the handler, whenever it has changed, until
+   * the query is closed. The query's progress must be {@link QueryPublisher#trackProgress
+   * tracked}.
+   *
+   * @param vertx the Vert.x instance, whose current context the handler is called on.
+   * @param intervalMs how often to check the progress of the query.
+   * @param progressHandler the handler.
+   */
+  public void emitProgress(
+      final Vertx vertx,
+      final long intervalMs,
+      final Consumer<QueryProgress> progressHandler
+  ) {
+    this.vertx = Optional.of(vertx);
+    this.progressTimerId = vertx.setPeriodic(intervalMs, id ->
+        queryPublisher.getProgressToken()
+            .filter(token -> !token.equals(lastProgressToken))
+            .ifPresent(token -> {
+              lastProgressToken = token;
+              progressHandler.accept(new QueryProgress(token));
+            }));
+  }
+
   public void close() {
+    vertx.ifPresent(v -> v.cancelTimer(progressTimerId));
     server.removeQuery(id);
     queryPublisher.close();
     closeHandler.accept(this);
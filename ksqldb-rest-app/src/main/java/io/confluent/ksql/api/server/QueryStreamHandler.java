@@ -16,25 +16,28 @@
 package io.confluent.ksql.api.server;
 
 import static io.confluent.ksql.api.server.ServerUtils.checkHttp2;
-import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
-import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
 import io.confluent.ksql.api.auth.DefaultApiSecurityContext;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec;
+import io.confluent.ksql.api.server.protocol.ExecuteQueryArgs;
 import io.confluent.ksql.api.server.protocol.QueryResponseMetadata;
 import io.confluent.ksql.api.server.protocol.QueryStreamArgs;
 import io.confluent.ksql.api.spi.Endpoints;
-import io.confluent.ksql.util.KsqlStatementException;
+import io.confluent.ksql.api.spi.QueryPublisher;
+import io.confluent.ksql.rest.server.KsqlRestConfig;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.ext.web.RoutingContext;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Handles requests to the query-stream endpoint
+ * Handles requests to the query-stream endpoint, and to the query-stream/execute endpoint for
+ * executing prepared queries
  */
 public class QueryStreamHandler implements Handler<RoutingContext> {
 
@@ -46,15 +49,25 @@ public class QueryStreamHandler implements Handler<RoutingContext> {
   private final ConnectionQueryManager connectionQueryManager;
   private final Context context;
   private final Server server;
+  private final boolean prepared;
 
   public QueryStreamHandler(final Endpoints endpoints,
       final ConnectionQueryManager connectionQueryManager,
       final Context context,
       final Server server) {
+    this(endpoints, connectionQueryManager, context, server, false);
+  }
+
+  public QueryStreamHandler(final Endpoints endpoints,
+      final ConnectionQueryManager connectionQueryManager,
+      final Context context,
+      final Server server,
+      final boolean prepared) {
     this.endpoints = Objects.requireNonNull(endpoints);
     this.connectionQueryManager = Objects.requireNonNull(connectionQueryManager);
     this.context = Objects.requireNonNull(context);
     this.server = Objects.requireNonNull(server);
+    this.prepared = prepared;
   }
 
 
@@ -65,24 +78,43 @@ public class QueryStreamHandler implements Handler<RoutingContext> {
       return;
     }
 
+    final CoalescingWriteStream response = new CoalescingWriteStream(
+        context,
+        routingContext.response(),
+        server.getConfig().getInt(KsqlRestConfig.KSQL_QUERY_STREAM_WRITE_BATCH_MAX_BYTES_CONFIG),
+        server.getConfig().getLong(KsqlRestConfig.KSQL_QUERY_STREAM_WRITE_LINGER_MS_CONFIG)
+    );
+
     final String contentType = routingContext.getAcceptableContentType();
     final QueryStreamResponseWriter queryStreamResponseWriter;
     if (DELIMITED_CONTENT_TYPE.equals(contentType) || contentType == null) {
       // Default
-      queryStreamResponseWriter =
-          new DelimitedQueryStreamResponseWriter(routingContext.response());
+      queryStreamResponseWriter = new DelimitedQueryStreamResponseWriter(response);
+    } else if (BinaryQueryStreamCodec.CONTENT_TYPE.equals(contentType)) {
+      routingContext.response()
+          .putHeader(HttpHeaders.CONTENT_TYPE, BinaryQueryStreamCodec.CONTENT_TYPE);
+      queryStreamResponseWriter = new BinaryQueryStreamResponseWriter(response);
     } else {
-      queryStreamResponseWriter = new JsonQueryStreamResponseWriter(routingContext.response());
+      queryStreamResponseWriter = new JsonQueryStreamResponseWriter(response);
     }
 
-    final Optional<QueryStreamArgs> queryStreamArgs = ServerUtils
-        .deserialiseObject(routingContext.getBody(), routingContext, QueryStreamArgs.class);
-    if (!queryStreamArgs.isPresent()) {
+    final boolean progressTokens;
+    final Optional<CompletableFuture<QueryPublisher>> queryPublisherFuture;
+    if (prepared) {
+      progressTokens = false;
+      queryPublisherFuture = createPreparedQueryPublisher(routingContext);
+    } else {
+      final Optional<QueryStreamArgs> queryStreamArgs = ServerUtils
+          .deserialiseObject(routingContext.getBody(), routingContext, QueryStreamArgs.class);
+      progressTokens = queryStreamArgs.map(args -> args.progressTokens).orElse(false);
+      queryPublisherFuture = queryStreamArgs
+          .map(args -> createQueryPublisher(args, routingContext));
+    }
+    if (!queryPublisherFuture.isPresent()) {
       return;
     }
 
-    endpoints.createQueryPublisher(queryStreamArgs.get().sql, queryStreamArgs.get().properties,
-        context, server.getWorkerExecutor(), DefaultApiSecurityContext.create(routingContext))
+    queryPublisherFuture.get()
         .thenAccept(queryPublisher -> {
 
           final QueryResponseMetadata metadata;
@@ -102,12 +134,24 @@ public class QueryStreamHandler implements Handler<RoutingContext> {
 
             // When response is complete, publisher should be closed and query unregistered
             routingContext.response().endHandler(v -> query.close());
+
+            if (progressTokens && queryPublisher.trackProgress()) {
+              query.emitProgress(
+                  context.owner(),
+                  server.getConfig()
+                      .getLong(KsqlRestConfig.KSQL_QUERY_STREAM_PROGRESS_INTERVAL_MS_CONFIG),
+                  progress -> {
+                    if (!routingContext.response().ended()) {
+                      queryStreamResponseWriter.writeProgress(progress);
+                    }
+                  });
+            }
           }
 
           queryStreamResponseWriter.writeMetadata(metadata);
 
           final QuerySubscriber querySubscriber = new QuerySubscriber(context,
-              routingContext.response(),
+              response,
               queryStreamResponseWriter);
 
           queryPublisher.subscribe(querySubscriber);
@@ -116,26 +160,27 @@ public class QueryStreamHandler implements Handler<RoutingContext> {
         .exceptionally(t -> handleQueryPublisherException(t, routingContext));
   }
 
-  private Void handleQueryPublisherException(final Throwable t,
+  private CompletableFuture<QueryPublisher> createQueryPublisher(
+      final QueryStreamArgs args,
+      final RoutingContext routingContext) {
+    return endpoints.createQueryPublisher(args.sql, args.properties,
+        context, server.getWorkerExecutor(), DefaultApiSecurityContext.create(routingContext));
+  }
+
+  private Optional<CompletableFuture<QueryPublisher>> createPreparedQueryPublisher(
+      final RoutingContext routingContext) {
+    final Optional<ExecuteQueryArgs> executeQueryArgs = ServerUtils
+        .deserialiseObject(routingContext.getBody(), routingContext, ExecuteQueryArgs.class);
+
+    return executeQueryArgs.map(args -> endpoints.createPreparedQueryPublisher(
+        args.preparedQueryId, args.parameters, context, server.getWorkerExecutor(),
+        DefaultApiSecurityContext.create(routingContext)));
+  }
+
+  private static Void handleQueryPublisherException(final Throwable t,
       final RoutingContext routingContext) {
     log.error("Failed to execute query", t);
-    if (t instanceof CompletionException) {
-      final Throwable actual = t.getCause();
-      if (actual instanceof KsqlStatementException) {
-        routingContext.fail(BAD_REQUEST.code(),
-            new KsqlApiException(actual.getMessage(), ErrorCodes.ERROR_CODE_INVALID_QUERY));
-        return null;
-      } else if (actual instanceof KsqlApiException) {
-        routingContext.fail(BAD_REQUEST.code(), actual);
-        return null;
-      }
-    }
-    // We don't expose internal error message via public API
-    routingContext.fail(INTERNAL_SERVER_ERROR.code(), new KsqlApiException(
-        "The server encountered an internal error when processing the query."
-            + " Please consult the server logs for more information.",
-        ErrorCodes.ERROR_CODE_INTERNAL_ERROR));
-    return null;
+    return ServerUtils.handleEndpointException(t, routingContext);
   }
 
 }
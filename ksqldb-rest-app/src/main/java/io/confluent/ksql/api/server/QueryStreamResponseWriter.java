@@ -17,6 +17,7 @@ package io.confluent.ksql.api.server;
 
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.protocol.ErrorResponse;
+import io.confluent.ksql.api.server.protocol.QueryProgress;
 import io.confluent.ksql.api.server.protocol.QueryResponseMetadata;
 
 /**
@@ -30,6 +31,8 @@ public interface QueryStreamResponseWriter {
 
   QueryStreamResponseWriter writeError(ErrorResponse error);
 
+  QueryStreamResponseWriter writeProgress(QueryProgress progress);
+
   void end();
 
 }
@@ -21,7 +21,8 @@ import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.protocol.ErrorResponse;
 import io.confluent.ksql.reactive.BaseSubscriber;
 import io.vertx.core.Context;
-import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
 import java.util.Objects;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
@@ -30,17 +31,26 @@ import org.slf4j.LoggerFactory;
 /**
  * This is a reactive streams subscriber which receives a stream of results from a publisher which
  * is implemented by the back-end. The results are then written to the HTTP2 response.
+ *
+ * <p>The number of results requested at a time adapts to how fast the response is written: it
+ * grows while the response keeps up, so that more results are delivered, and coalesced into
+ * writes, together, and shrinks when the response's write queue fills.
  */
 public class QuerySubscriber extends BaseSubscriber<GenericRow> {
 
   private static final Logger log = LoggerFactory.getLogger(QuerySubscriber.class);
-  private static final int REQUEST_BATCH_SIZE = 200;
+  private static final int MIN_REQUEST_BATCH_SIZE = 50;
+  private static final int INITIAL_REQUEST_BATCH_SIZE = 200;
+  private static final int MAX_REQUEST_BATCH_SIZE = 3200;
 
-  private final HttpServerResponse response;
+  private final WriteStream<Buffer> response;
   private final QueryStreamResponseWriter queryStreamResponseWriter;
   private int tokens;
+  private int requestBatchSize = INITIAL_REQUEST_BATCH_SIZE;
+  private boolean writeQueueFilled;
+  private boolean requested;
 
-  public QuerySubscriber(final Context context, final HttpServerResponse response,
+  public QuerySubscriber(final Context context, final WriteStream<Buffer> response,
       final QueryStreamResponseWriter queryStreamResponseWriter) {
     super(context);
     this.response = Objects.requireNonNull(response);
@@ -57,6 +67,7 @@ public class QuerySubscriber extends BaseSubscriber<GenericRow> {
     queryStreamResponseWriter.writeRow(row);
     tokens--;
     if (response.writeQueueFull()) {
+      writeQueueFilled = true;
       response.drainHandler(v -> checkMakeRequest());
     } else {
       checkMakeRequest();
@@ -65,8 +76,15 @@ public class QuerySubscriber extends BaseSubscriber<GenericRow> {
 
   private void checkMakeRequest() {
     if (tokens == 0) {
-      tokens = REQUEST_BATCH_SIZE;
-      makeRequest(REQUEST_BATCH_SIZE);
+      if (writeQueueFilled) {
+        requestBatchSize = Math.max(MIN_REQUEST_BATCH_SIZE, requestBatchSize / 2);
+      } else if (requested) {
+        requestBatchSize = Math.min(MAX_REQUEST_BATCH_SIZE, requestBatchSize * 2);
+      }
+      writeQueueFilled = false;
+      tokens = requestBatchSize;
+      requested = true;
+      makeRequest(requestBatchSize);
     }
   }
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server;
+
+import io.confluent.ksql.metrics.MetricCollectors;
+import io.confluent.ksql.rest.server.KsqlRestConfig;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.ReservedInternalTopics;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.CumulativeCount;
+import org.apache.kafka.common.metrics.stats.CumulativeSum;
+import org.apache.kafka.common.metrics.stats.Rate;
+
+/**
+ * Decides which responses the server compresses, and records metrics of those it does.
+ *
+ * <p>When compression is enabled, Vert.x compresses the response to any request that accepts the
+ * gzip or deflate encodings, unless the response already has a {@code Content-Encoding}. This
+ * handler marks responses of a known size below the configured minimum with the identity
+ * encoding, so they are sent uncompressed. Streamed responses, such as those of push queries,
+ * have no known size when their headers are written, so are always compressed.
+ */
+public class ResponseCompressionHandler implements Handler<RoutingContext>, Closeable {
+
+  private static final String METRIC_GROUP = "response-compression";
+
+  private final int minSizeBytes;
+  private final Metrics metrics;
+  private final String metricGroup;
+  private final Map<String, String> customMetricsTags;
+  private final List<Sensor> sensors = new ArrayList<>();
+  private final Sensor compressedSensor;
+  private final Sensor uncompressedSensor;
+  private final Sensor compressedBytesSensor;
+
+  static ResponseCompressionHandler create(final KsqlRestConfig restConfig) {
+    final KsqlConfig ksqlConfig = new KsqlConfig(restConfig.getKsqlConfigProperties());
+    return new ResponseCompressionHandler(
+        restConfig.getInt(KsqlRestConfig.KSQL_SERVER_COMPRESSION_MIN_SIZE_BYTES_CONFIG),
+        MetricCollectors.getMetrics(),
+        ReservedInternalTopics.KSQL_INTERNAL_TOPIC_PREFIX
+            + ksqlConfig.getString(KsqlConfig.KSQL_SERVICE_ID_CONFIG),
+        ksqlConfig.getStringAsMap(KsqlConfig.KSQL_CUSTOM_METRICS_TAGS)
+    );
+  }
+
+  ResponseCompressionHandler(
+      final int minSizeBytes,
+      final Metrics metrics,
+      final String ksqlServiceId,
+      final Map<String, String> customMetricsTags
+  ) {
+    this.minSizeBytes = minSizeBytes;
+    this.metrics = Objects.requireNonNull(metrics, "metrics");
+    this.metricGroup = Objects.requireNonNull(ksqlServiceId, "ksqlServiceId") + METRIC_GROUP;
+    this.customMetricsTags = Objects.requireNonNull(customMetricsTags, "customMetricsTags");
+    this.compressedSensor = configureCountSensor(
+        "compressed-responses", "responses compressed");
+    this.uncompressedSensor = configureCountSensor(
+        "uncompressed-responses", "responses not compressed as they were below the minimum size");
+    this.compressedBytesSensor = configureBytesSensor();
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+    if (!acceptsCompression(routingContext.request().headers())) {
+      routingContext.next();
+      return;
+    }
+
+    final HttpServerResponse response = routingContext.response();
+    final AtomicBoolean compressed = new AtomicBoolean();
+    routingContext.addHeadersEndHandler(v -> {
+      final MultiMap headers = response.headers();
+      if (headers.contains(HttpHeaders.CONTENT_ENCODING)) {
+        return;
+      }
+
+      final String contentLength = headers.get(HttpHeaders.CONTENT_LENGTH);
+      if (contentLength != null && Long.parseLong(contentLength) < minSizeBytes) {
+        headers.set(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+        uncompressedSensor.record();
+      } else {
+        compressed.set(true);
+        compressedSensor.record();
+      }
+    });
+    routingContext.addBodyEndHandler(v -> {
+      if (compressed.get()) {
+        compressedBytesSensor.record(response.bytesWritten());
+      }
+    });
+
+    routingContext.next();
+  }
+
+  @Override
+  public void close() {
+    sensors.forEach(sensor -> metrics.removeSensor(sensor.name()));
+  }
+
+  private static boolean acceptsCompression(final MultiMap requestHeaders) {
+    final String acceptEncoding = requestHeaders.get(HttpHeaders.ACCEPT_ENCODING);
+    return acceptEncoding != null
+        && (acceptEncoding.contains("gzip") || acceptEncoding.contains("deflate"));
+  }
+
+  private Sensor configureCountSensor(final String name, final String description) {
+    final Sensor sensor = metrics.sensor(METRIC_GROUP + "-" + name);
+    sensor.add(
+        metrics.metricName(
+            name + "-count", metricGroup, "Count of " + description, customMetricsTags),
+        new CumulativeCount()
+    );
+    sensor.add(
+        metrics.metricName(
+            name + "-rate", metricGroup, "Rate of " + description, customMetricsTags),
+        new Rate()
+    );
+    sensors.add(sensor);
+    return sensor;
+  }
+
+  private Sensor configureBytesSensor() {
+    final String name = "compressed-responses-bytes";
+    final Sensor sensor = metrics.sensor(METRIC_GROUP + "-" + name);
+    sensor.add(
+        metrics.metricName(
+            name + "-total",
+            metricGroup,
+            "Total bytes of responses before they were compressed",
+            customMetricsTags
+        ),
+        new CumulativeSum()
+    );
+    sensor.add(
+        metrics.metricName(
+            name + "-rate",
+            metricGroup,
+            "Bytes per second of responses before they were compressed",
+            customMetricsTags
+        ),
+        new Rate()
+    );
+    sensors.add(sensor);
+    return sensor;
+  }
+}
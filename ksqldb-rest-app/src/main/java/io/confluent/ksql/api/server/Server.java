@@ -70,6 +70,7 @@ public class Server {
   private final ServerState serverState;
   private final List<URI> listeners = new ArrayList<>();
   private WorkerExecutor workerExecutor;
+  private Optional<ResponseCompressionHandler> responseCompressionHandler = Optional.empty();
 
   public Server(final Vertx vertx, final KsqlRestConfig config, final Endpoints endpoints,
       final KsqlSecurityExtension securityExtension,
@@ -92,6 +93,9 @@ public class Server {
         .setInstances(config.getInt(KsqlRestConfig.VERTICLE_INSTANCES));
     this.workerExecutor = vertx.createSharedWorkerExecutor("ksql-workers",
         config.getInt(KsqlRestConfig.WORKER_POOL_SIZE));
+    if (config.getBoolean(KsqlRestConfig.KSQL_SERVER_COMPRESSION_ENABLE_CONFIG)) {
+      this.responseCompressionHandler = Optional.of(ResponseCompressionHandler.create(config));
+    }
     log.debug("Deploying " + options.getInstances() + " instances of server verticle");
 
     final List<URI> listenUris = parseListeners(config);
@@ -152,6 +156,8 @@ public class Server {
     if (workerExecutor != null) {
       workerExecutor.close();
     }
+    responseCompressionHandler.ifPresent(ResponseCompressionHandler::close);
+    responseCompressionHandler = Optional.empty();
     final List<CompletableFuture<Void>> undeployFutures = new ArrayList<>();
     for (String deploymentID : deploymentIds) {
       final VertxCompletableFuture<Void> future = new VertxCompletableFuture<>();
@@ -200,6 +206,10 @@ public class Server {
     return authenticationPlugin;
   }
 
+  Optional<ResponseCompressionHandler> getResponseCompressionHandler() {
+    return responseCompressionHandler;
+  }
+
   ServerState getServerState() {
     return serverState;
   }
@@ -227,6 +237,8 @@ public class Server {
   private static HttpServerOptions createHttpServerOptions(final KsqlRestConfig ksqlRestConfig,
       final String host, final int port, final boolean tls) {
 
+    final int compressionLevel = ksqlRestConfig
+        .getInt(KsqlRestConfig.KSQL_SERVER_COMPRESSION_LEVEL_CONFIG);
     final HttpServerOptions options = new HttpServerOptions()
         .setHost(host)
         .setPort(port)
@@ -234,7 +246,12 @@ public class Server {
         .setReusePort(true)
         .setIdleTimeout(60).setIdleTimeoutUnit(TimeUnit.SECONDS)
         .setPerMessageWebSocketCompressionSupported(true)
-        .setPerFrameWebSocketCompressionSupported(true);
+        .setPerFrameWebSocketCompressionSupported(true)
+        .setWebSocketCompressionLevel(compressionLevel);
+
+    if (ksqlRestConfig.getBoolean(KsqlRestConfig.KSQL_SERVER_COMPRESSION_ENABLE_CONFIG)) {
+      options.setCompressionSupported(true).setCompressionLevel(compressionLevel);
+    }
 
     if (tls) {
       options.setUseAlpn(true).setSsl(true);
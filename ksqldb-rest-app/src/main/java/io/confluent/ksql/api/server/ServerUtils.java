@@ -18,14 +18,17 @@ package io.confluent.ksql.api.server;
 import static io.confluent.ksql.api.server.ErrorCodes.ERROR_CODE_MALFORMED_REQUEST;
 import static io.confluent.ksql.api.server.ErrorCodes.ERROR_CODE_MISSING_PARAM;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
 import io.confluent.ksql.api.server.protocol.PojoCodec;
 import io.confluent.ksql.api.server.protocol.PojoDeserializerErrorHandler;
+import io.confluent.ksql.util.KsqlStatementException;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.RoutingContext;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,6 +81,30 @@ public final class ServerUtils {
     }
   }
 
+  /**
+   * Fails the request with an appropriate status for an exception thrown by an endpoint.
+   */
+  public static Void handleEndpointException(final Throwable t,
+      final RoutingContext routingContext) {
+    if (t instanceof CompletionException) {
+      final Throwable actual = t.getCause();
+      if (actual instanceof KsqlStatementException) {
+        routingContext.fail(BAD_REQUEST.code(),
+            new KsqlApiException(actual.getMessage(), ErrorCodes.ERROR_CODE_INVALID_QUERY));
+        return null;
+      } else if (actual instanceof KsqlApiException) {
+        routingContext.fail(BAD_REQUEST.code(), actual);
+        return null;
+      }
+    }
+    // We don't expose internal error message via public API
+    routingContext.fail(INTERNAL_SERVER_ERROR.code(), new KsqlApiException(
+        "The server encountered an internal error when processing the query."
+            + " Please consult the server logs for more information.",
+        ErrorCodes.ERROR_CODE_INTERNAL_ERROR));
+    return null;
+  }
+
   private static class HttpResponseErrorHandler implements PojoDeserializerErrorHandler {
 
     private final RoutingContext routingContext;
@@ -22,6 +22,7 @@ import io.confluent.ksql.api.auth.AuthenticationPlugin;
 import io.confluent.ksql.api.auth.AuthenticationPluginHandler;
 import io.confluent.ksql.api.auth.JaasAuthProvider;
 import io.confluent.ksql.api.auth.KsqlAuthorizationProviderHandler;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec;
 import io.confluent.ksql.api.server.protocol.ErrorResponse;
 import io.confluent.ksql.api.spi.Endpoints;
 import io.confluent.ksql.rest.server.KsqlRestConfig;
@@ -100,6 +101,10 @@ public class ServerVerticle extends AbstractVerticle {
   private Router setupRouter() {
     final Router router = Router.router(vertx);
 
+    // Before all other handlers, so that it sees every response:
+    server.getResponseCompressionHandler()
+        .ifPresent(handler -> router.route().handler(handler));
+
     KsqlCorsHandler.setupCorsHandler(server, router);
 
     // /chc endpoints need to be before server state handler but after CORS handler as they
@@ -118,8 +123,19 @@ public class ServerVerticle extends AbstractVerticle {
     router.route(HttpMethod.POST, "/query-stream")
         .produces("application/vnd.ksqlapi.delimited.v1")
         .produces("application/json")
+        .produces(BinaryQueryStreamCodec.CONTENT_TYPE)
         .handler(BodyHandler.create())
         .handler(new QueryStreamHandler(endpoints, connectionQueryManager, context, server));
+    router.route(HttpMethod.POST, "/query-stream/prepare")
+        .produces("application/json")
+        .handler(BodyHandler.create())
+        .handler(new PrepareQueryHandler(endpoints, server));
+    router.route(HttpMethod.POST, "/query-stream/execute")
+        .produces("application/vnd.ksqlapi.delimited.v1")
+        .produces("application/json")
+        .produces(BinaryQueryStreamCodec.CONTENT_TYPE)
+        .handler(BodyHandler.create())
+        .handler(new QueryStreamHandler(endpoints, connectionQueryManager, context, server, true));
     router.route(HttpMethod.POST, "/inserts-stream")
         .produces("application/vnd.ksqlapi.delimited.v1")
         .produces("application/json")
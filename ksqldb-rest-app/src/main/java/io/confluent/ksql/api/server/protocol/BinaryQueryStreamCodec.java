@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server.protocol;
+
+import com.google.common.collect.ImmutableList;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes and decodes the frames of the binary query stream response format.
+ *
+ * <p>Each frame comprises a single byte giving the type of the frame, the length of its payload
+ * as a four byte big-endian integer, then the payload:
+ * <ul>
+ *   <li>{@link #METADATA_FRAME}: the metadata of the query, as JSON. Always the first frame.</li>
+ *   <li>{@link #ROW_FRAME}: the values of a row, encoded by the column types of the metadata.</li>
+ *   <li>{@link #ERROR_FRAME}: an error, as JSON.</li>
+ *   <li>{@link #PROGRESS_FRAME}: the progress of a push query, as JSON.</li>
+ * </ul>
+ *
+ * <p>A row starts with a bitmap of its null values, with the bit for the first column being the
+ * lowest bit of the first byte. Each non-null value then follows in column order: BOOLEAN as a
+ * single byte, INTEGER as four bytes, BIGINT as eight bytes, DOUBLE as an eight byte IEEE 754
+ * value, and STRING as its length in bytes followed by its UTF-8 bytes. Values of all other
+ * types are written as their length followed by their JSON text, as in the JSON formats. All
+ * numbers are big-endian.
+ */
+public final class BinaryQueryStreamCodec {
+
+  public static final String CONTENT_TYPE = "application/vnd.ksqlapi.binary.v1";
+
+  public static final byte METADATA_FRAME = 'M';
+  public static final byte ROW_FRAME = 'R';
+  public static final byte ERROR_FRAME = 'E';
+  public static final byte PROGRESS_FRAME = 'P';
+
+  public static final int FRAME_HEADER_SIZE = 5;
+
+  private BinaryQueryStreamCodec() {
+  }
+
+  public enum ColumnEncoding {
+    BOOLEAN,
+    INTEGER,
+    BIGINT,
+    DOUBLE,
+    STRING,
+    JSON
+  }
+
+  /**
+   * @param columnTypes the column types of the query metadata.
+   * @return the encoding of the values of each column.
+   */
+  public static List<ColumnEncoding> columnEncodings(final List<String> columnTypes) {
+    final ImmutableList.Builder<ColumnEncoding> encodings = ImmutableList.builder();
+    for (final String columnType : columnTypes) {
+      switch (columnType) {
+        case "BOOLEAN":
+          encodings.add(ColumnEncoding.BOOLEAN);
+          break;
+        case "INTEGER":
+          encodings.add(ColumnEncoding.INTEGER);
+          break;
+        case "BIGINT":
+          encodings.add(ColumnEncoding.BIGINT);
+          break;
+        case "DOUBLE":
+          encodings.add(ColumnEncoding.DOUBLE);
+          break;
+        case "STRING":
+          encodings.add(ColumnEncoding.STRING);
+          break;
+        default:
+          encodings.add(ColumnEncoding.JSON);
+          break;
+      }
+    }
+    return encodings.build();
+  }
+
+  public static Buffer frame(final byte frameType, final Buffer payload) {
+    return Buffer.buffer(FRAME_HEADER_SIZE + payload.length())
+        .appendByte(frameType)
+        .appendInt(payload.length())
+        .appendBuffer(payload);
+  }
+
+  public static Buffer encodeRow(
+      final List<ColumnEncoding> encodings,
+      final List<?> values
+  ) {
+    if (values.size() != encodings.size()) {
+      throw new IllegalArgumentException("Row has " + values.size() + " values, but the query "
+          + "has " + encodings.size() + " columns");
+    }
+
+    final int bitmapSize = (values.size() + 7) / 8;
+    final byte[] nulls = new byte[bitmapSize];
+    final Buffer buffer = Buffer.buffer(bitmapSize + values.size() * 8)
+        .appendBytes(nulls);
+
+    for (int i = 0; i < values.size(); i++) {
+      final Object value = values.get(i);
+      if (value == null) {
+        nulls[i / 8] |= (byte) (1 << (i % 8));
+        continue;
+      }
+
+      switch (encodings.get(i)) {
+        case BOOLEAN:
+          buffer.appendByte((Boolean) value ? (byte) 1 : (byte) 0);
+          break;
+        case INTEGER:
+          buffer.appendInt(((Number) value).intValue());
+          break;
+        case BIGINT:
+          buffer.appendLong(((Number) value).longValue());
+          break;
+        case DOUBLE:
+          buffer.appendDouble(((Number) value).doubleValue());
+          break;
+        case STRING:
+          appendBytes(buffer, ((String) value).getBytes(StandardCharsets.UTF_8));
+          break;
+        default:
+          appendBytes(buffer, PojoCodec.serializeObject(value).getBytes());
+          break;
+      }
+    }
+
+    buffer.setBytes(0, nulls);
+    return buffer;
+  }
+
+  /**
+   * @param encodings the encodings of the columns of the query.
+   * @param payload the payload of a row frame.
+   * @return the values of the row, as the JSON formats would decode them.
+   */
+  public static JsonArray decodeRow(
+      final List<ColumnEncoding> encodings,
+      final Buffer payload
+  ) {
+    final JsonArray values = new JsonArray();
+    int pos = (encodings.size() + 7) / 8;
+
+    for (int i = 0; i < encodings.size(); i++) {
+      if ((payload.getByte(i / 8) & (1 << (i % 8))) != 0) {
+        values.addNull();
+        continue;
+      }
+
+      switch (encodings.get(i)) {
+        case BOOLEAN:
+          values.add(payload.getByte(pos) != 0);
+          pos += 1;
+          break;
+        case INTEGER:
+          values.add(payload.getInt(pos));
+          pos += 4;
+          break;
+        case BIGINT:
+          values.add(payload.getLong(pos));
+          pos += 8;
+          break;
+        case DOUBLE:
+          values.add(payload.getDouble(pos));
+          pos += 8;
+          break;
+        case STRING:
+          final int strLen = payload.getInt(pos);
+          values.add(payload.getString(pos + 4, pos + 4 + strLen, "UTF-8"));
+          pos += 4 + strLen;
+          break;
+        default:
+          final int jsonLen = payload.getInt(pos);
+          values.add(Json.decodeValue(payload.getBuffer(pos + 4, pos + 4 + jsonLen)));
+          pos += 4 + jsonLen;
+          break;
+      }
+    }
+    return values;
+  }
+
+  private static void appendBytes(final Buffer buffer, final byte[] bytes) {
+    buffer.appendInt(bytes.length).appendBytes(bytes);
+  }
+}
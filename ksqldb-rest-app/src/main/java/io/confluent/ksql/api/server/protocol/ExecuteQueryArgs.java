@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server.protocol;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents the arguments to a request to execute a prepared query
+ */
+public class ExecuteQueryArgs {
+
+  public final String preparedQueryId;
+  public final List<Object> parameters;
+
+  public ExecuteQueryArgs(
+      final @JsonProperty(value = "preparedQueryId", required = true) String preparedQueryId,
+      final @JsonProperty(value = "parameters") List<Object> parameters) {
+    this.preparedQueryId = Objects.requireNonNull(preparedQueryId);
+    this.parameters = parameters == null
+        ? ImmutableList.of()
+        : Collections.unmodifiableList(new ArrayList<>(parameters));
+  }
+
+  @Override
+  public String toString() {
+    return "ExecuteQueryArgs{"
+        + "preparedQueryId='" + preparedQueryId + '\''
+        + ", parameters=" + parameters
+        + '}';
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server.protocol;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.errorprone.annotations.Immutable;
+import java.util.Objects;
+
+/**
+ * Represents the response to a request to prepare a query
+ */
+@Immutable
+public class PrepareQueryResponse extends SerializableObject {
+
+  public final String preparedQueryId;
+  public final int parameterCount;
+
+  public PrepareQueryResponse(
+      final @JsonProperty(value = "preparedQueryId") String preparedQueryId,
+      final @JsonProperty(value = "parameterCount") int parameterCount) {
+    this.preparedQueryId = Objects.requireNonNull(preparedQueryId);
+    this.parameterCount = parameterCount;
+  }
+
+  @Override
+  public String toString() {
+    return "PrepareQueryResponse{"
+        + "preparedQueryId='" + preparedQueryId + '\''
+        + ", parameterCount=" + parameterCount
+        + '}';
+  }
+}
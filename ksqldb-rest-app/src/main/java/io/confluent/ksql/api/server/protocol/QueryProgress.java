@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server.protocol;
+
+import com.google.errorprone.annotations.Immutable;
+import java.util.Objects;
+
+/**
+ * Represents the progress of a push query, following the rows sent before it
+ */
+@Immutable
+public class QueryProgress extends SerializableObject {
+
+  public final String progressToken;
+
+  public QueryProgress(final String progressToken) {
+    this.progressToken = Objects.requireNonNull(progressToken);
+  }
+
+  @Override
+  public String toString() {
+    return "QueryProgress{"
+        + "progressToken='" + progressToken + '\''
+        + '}';
+  }
+}
@@ -27,12 +27,15 @@ public class QueryStreamArgs {
 
   public final String sql;
   public final JsonObject properties;
+  public final boolean progressTokens;
 
   public QueryStreamArgs(final @JsonProperty(value = "sql", required = true) String sql,
       final @JsonProperty(value = "properties")
-          Map<String, Object> properties) {
+          Map<String, Object> properties,
+      final @JsonProperty(value = "progressTokens") Boolean progressTokens) {
     this.sql = Objects.requireNonNull(sql);
     this.properties = properties == null ? new JsonObject() : new JsonObject(properties);
+    this.progressTokens = progressTokens != null && progressTokens;
   }
 
   @Override
@@ -40,6 +43,7 @@ public class QueryStreamArgs {
     return "QueryStreamArgs{"
         + "sql='" + sql + '\''
         + ", properties=" + properties
+        + ", progressTokens=" + progressTokens
         + '}';
   }
 }
@@ -18,6 +18,7 @@ package io.confluent.ksql.api.spi;
 import io.confluent.ksql.api.auth.ApiSecurityContext;
 import io.confluent.ksql.api.server.InsertResult;
 import io.confluent.ksql.api.server.InsertsStreamSubscriber;
+import io.confluent.ksql.api.server.protocol.PrepareQueryResponse;
 import io.confluent.ksql.rest.EndpointResponse;
 import io.confluent.ksql.rest.entity.ClusterTerminateRequest;
 import io.confluent.ksql.rest.entity.HeartbeatMessage;
@@ -28,6 +29,7 @@ import io.vertx.core.MultiMap;
 import io.vertx.core.WorkerExecutor;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.json.JsonObject;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.reactivestreams.Subscriber;
 
@@ -51,6 +53,33 @@ public interface Endpoints {
   CompletableFuture<QueryPublisher> createQueryPublisher(String sql, JsonObject properties,
       Context context, WorkerExecutor workerExecutor, ApiSecurityContext apiSecurityContext);
 
+  /**
+   * Prepare a pull query, so that it can be executed many times without the server parsing and
+   * analyzing its statement each time. The literals in the WHERE clause of the query are its
+   * parameters.
+   *
+   * @param sql            The sql of the query
+   * @param properties     Optional properties for the query
+   * @param workerExecutor The worker executor to use for blocking operations
+   * @return A CompletableFuture representing the future result of the operation
+   */
+  CompletableFuture<PrepareQueryResponse> prepareQuery(String sql, JsonObject properties,
+      WorkerExecutor workerExecutor, ApiSecurityContext apiSecurityContext);
+
+  /**
+   * Create a publisher that will publish the results of a prepared query. A query can only be
+   * executed by the principal that prepared it.
+   *
+   * @param preparedQueryId The id of the prepared query
+   * @param parameters      The values to bind to the parameters of the query
+   * @param context         The Vert.x context
+   * @param workerExecutor  The worker executor to use for blocking operations
+   * @return A CompletableFuture representing the future result of the operation
+   */
+  CompletableFuture<QueryPublisher> createPreparedQueryPublisher(String preparedQueryId,
+      List<Object> parameters, Context context, WorkerExecutor workerExecutor,
+      ApiSecurityContext apiSecurityContext);
+
   /**
    * Create a subscriber which will receive a stream of inserts from the API server and process
    * them. This method takes an optional acksSubsciber - if specified this is used to receive a
@@ -17,6 +17,7 @@ package io.confluent.ksql.api.spi;
 
 import io.confluent.ksql.GenericRow;
 import java.util.List;
+import java.util.Optional;
 import org.reactivestreams.Publisher;
 
 /**
@@ -46,4 +47,22 @@ public interface QueryPublisher extends Publisher<GenericRow> {
    */
   boolean isPullQuery();
 
+  /**
+   * Starts tracking the progress of a push query, so that it can be resumed from the rows already
+   * published. Must be called before subscribing.
+   *
+   * @return true if the progress of the query is tracked
+   */
+  default boolean trackProgress() {
+    return false;
+  }
+
+  /**
+   * @return the progress token for the rows published so far, if the progress is tracked and the
+   *         query has started
+   */
+  default Optional<String> getProgressToken() {
+    return Optional.empty();
+  }
+
 }
@@ -23,6 +23,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.AbstractScheduledService;
 import com.google.common.util.concurrent.ServiceManager;
 import io.confluent.ksql.engine.KsqlEngine;
+import io.confluent.ksql.rest.client.RestResponse;
+import io.confluent.ksql.rest.entity.HeartbeatResponse;
 import io.confluent.ksql.rest.util.DiscoverRemoteHostsUtil;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.HostStatus;
@@ -36,6 +38,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
@@ -77,6 +80,7 @@ public final class HeartbeatAgent {
   private final ServiceContext serviceContext;
   private final HeartbeatConfig config;
   private final List<HostStatusListener> hostStatusListeners;
+  private final Optional<HostLatencyTracker> latencyTracker;
   private final ConcurrentHashMap<KsqlHostInfo, TreeMap<Long, HeartbeatInfo>> receivedHeartbeats;
   private final ConcurrentHashMap<KsqlHostInfo, HostStatus> hostsStatus;
   private final ScheduledExecutorService scheduledExecutorService;
@@ -92,12 +96,14 @@ public final class HeartbeatAgent {
   private HeartbeatAgent(final KsqlEngine engine,
                          final ServiceContext serviceContext,
                          final HeartbeatConfig config,
-                         final List<HostStatusListener> hostStatusListeners) {
+                         final List<HostStatusListener> hostStatusListeners,
+                         final Optional<HostLatencyTracker> latencyTracker) {
 
     this.engine = requireNonNull(engine, "engine");
     this.serviceContext = requireNonNull(serviceContext, "serviceContext");
     this.config = requireNonNull(config, "configuration parameters");
     this.hostStatusListeners = requireNonNull(hostStatusListeners, "heartbeatListeners");
+    this.latencyTracker = requireNonNull(latencyTracker, "latencyTracker");
     this.scheduledExecutorService = Executors.newScheduledThreadPool(config.threadPoolSize);
     this.serviceManager = new ServiceManager(Arrays.asList(
         new DiscoverClusterService(), new SendHeartbeatService(), new CheckHeartbeatService()));
@@ -306,7 +312,7 @@ public final class HeartbeatAgent {
    * only because the sending of heartbeats has not preceded.
    *
    * <p>This is an asynchronous RPC and we do not handle the response returned from the remote
-   * server.</p>
+   * server, other than to track the round trip time if a latency tracker is configured.</p>
    */
   class SendHeartbeatService extends AbstractScheduledService {
 
@@ -318,9 +324,11 @@ public final class HeartbeatAgent {
           if (!remoteHost.equals(localHost)) {
             final URI remoteUri = ServerUtil.buildRemoteUri(
                 localUrl, remoteHost.host(), remoteHost.port());
-            LOG.debug("Send heartbeat to host {} at {}", remoteHost, clock.millis());
+            final long sentAt = clock.millis();
+            LOG.debug("Send heartbeat to host {} at {}", remoteHost, sentAt);
             serviceContext.getKsqlClient().makeAsyncHeartbeatRequest(
-                remoteUri, localHost, clock.millis());
+                remoteUri, localHost, sentAt)
+                .thenAccept(response -> recordRoundTrip(remoteHost, sentAt, response));
           }
         } catch (Throwable t) {
           LOG.error("Request to server: " + remoteHost + " failed with exception: "
@@ -329,6 +337,20 @@ public final class HeartbeatAgent {
       }
     }
 
+    private void recordRoundTrip(
+        final KsqlHostInfo remoteHost,
+        final long sentAt,
+        final RestResponse<HeartbeatResponse> response
+    ) {
+      latencyTracker.ifPresent(tracker -> {
+        if (response != null && response.isSuccessful()) {
+          tracker.recordSuccess(remoteHost, clock.millis() - sentAt);
+        } else {
+          tracker.recordError(remoteHost);
+        }
+      });
+    }
+
     @Override
     protected Scheduler scheduler() {
       return Scheduler.newFixedRateSchedule(SEND_HEARTBEAT_DELAY_MS,
@@ -393,6 +415,7 @@ public final class HeartbeatAgent {
     private long nestedHeartbeatWindowMs;
     private long nestedHeartbeatMissedThreshold;
     private List<HostStatusListener> nestedHostStatusListeners = Lists.newArrayList();
+    private Optional<HostLatencyTracker> nestedLatencyTracker = Optional.empty();
 
     HeartbeatAgent.Builder threadPoolSize(final int size) {
       nestedThreadPoolSize = size;
@@ -429,6 +452,11 @@ public final class HeartbeatAgent {
       return this;
     }
 
+    HeartbeatAgent.Builder latencyTracker(final HostLatencyTracker tracker) {
+      nestedLatencyTracker = Optional.of(tracker);
+      return this;
+    }
+
     public HeartbeatAgent build(final KsqlEngine engine,
                                 final ServiceContext serviceContext) {
 
@@ -440,7 +468,8 @@ public final class HeartbeatAgent {
                                                       nestedHeartbeatWindowMs,
                                                       nestedHeartbeatMissedThreshold,
                                                       nestedDiscoverClusterIntervalMs),
-          nestedHostStatusListeners);
+          nestedHostStatusListeners,
+          nestedLatencyTracker);
     }
   }
 
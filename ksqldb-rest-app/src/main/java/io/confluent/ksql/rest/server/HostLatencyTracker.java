@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server;
+
+import io.confluent.ksql.util.KsqlHostInfo;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks how quickly, and how reliably, each ksql host answers requests sent to it.
+ *
+ * <p>Response times and errors are tracked as exponentially weighted moving averages, so that
+ * recent observations count for more than old ones. Observations come from pull queries routed
+ * to a host and from heartbeat round trips.
+ */
+@ThreadSafe
+public final class HostLatencyTracker {
+
+  // Weight of each new observation in the moving averages:
+  private static final double ALPHA = 0.2;
+
+  // How much a host's error rate inflates its score, e.g. a host failing half of its requests
+  // scores as if it were six times slower:
+  private static final double ERROR_PENALTY = 10.0;
+
+  private final ConcurrentMap<KsqlHostInfo, HostLatency> latencies = new ConcurrentHashMap<>();
+
+  public void recordSuccess(final KsqlHostInfo host, final long latencyMs) {
+    latencies.merge(host, HostLatency.of(latencyMs, 0.0), HostLatency::update);
+  }
+
+  public void recordError(final KsqlHostInfo host) {
+    latencies.merge(host, HostLatency.ERROR, HostLatency::update);
+  }
+
+  public Optional<HostLatency> getLatency(final KsqlHostInfo host) {
+    return Optional.ofNullable(latencies.get(host));
+  }
+
+  /**
+   * @return a comparator ordering hosts from fastest to slowest. Hosts that have not been
+   *     observed yet compare as the fastest, so that they are tried and observed.
+   */
+  public Comparator<KsqlHostInfo> fastestFirst() {
+    return Comparator.comparingDouble(host -> getLatency(host)
+        .map(HostLatency::score)
+        .orElse(0.0));
+  }
+
+  public static final class HostLatency {
+
+    private static final HostLatency ERROR = new HostLatency(Double.NaN, 1.0);
+
+    private final double latencyMs;
+    private final double errorRate;
+
+    private static HostLatency of(final double latencyMs, final double errorRate) {
+      return new HostLatency(latencyMs, errorRate);
+    }
+
+    private HostLatency(final double latencyMs, final double errorRate) {
+      this.latencyMs = latencyMs;
+      this.errorRate = errorRate;
+    }
+
+    /**
+     * @return the moving average of the host's response time, or {@code NaN} if the host has
+     *     only returned errors.
+     */
+    public double getLatencyMs() {
+      return latencyMs;
+    }
+
+    public double getErrorRate() {
+      return errorRate;
+    }
+
+    double score() {
+      if (Double.isNaN(latencyMs)) {
+        return Double.MAX_VALUE;
+      }
+      return latencyMs * (1 + ERROR_PENALTY * errorRate);
+    }
+
+    private HostLatency update(final HostLatency observation) {
+      // Errors carry no response time, so leave the average response time unchanged:
+      final double newLatency;
+      if (Double.isNaN(observation.latencyMs)) {
+        newLatency = latencyMs;
+      } else if (Double.isNaN(latencyMs)) {
+        newLatency = observation.latencyMs;
+      } else {
+        newLatency = ewma(latencyMs, observation.latencyMs);
+      }
+
+      return new HostLatency(newLatency, ewma(errorRate, observation.errorRate));
+    }
+
+    private static double ewma(final double average, final double observation) {
+      return average + ALPHA * (observation - average);
+    }
+  }
+}
@@ -92,6 +92,7 @@ import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.AppInfo;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.KsqlHostInfo;
 import io.confluent.ksql.util.KsqlServerException;
 import io.confluent.ksql.util.ReservedInternalTopics;
 import io.confluent.ksql.util.RetryUtil;
@@ -110,6 +111,7 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -451,6 +453,11 @@ public final class KsqlRestApplication implements Executable {
     } catch (final Exception e) {
       log.error("Exception while waiting for pull query metrics to close", e);
     }
+    try {
+      pullQueryExecutor.close();
+    } catch (final Exception e) {
+      log.error("Exception while closing pull query executor", e);
+    }
     try {
       ksqlEngine.close();
     } catch (final Exception e) {
@@ -630,13 +637,14 @@ public final class KsqlRestApplication implements Executable {
 
     final Optional<LagReportingAgent> lagReportingAgent =
         initializeLagReportingAgent(restConfig, ksqlEngine, serviceContext);
-    final Optional<HeartbeatAgent> heartbeatAgent =
-        initializeHeartbeatAgent(restConfig, ksqlEngine, serviceContext, lagReportingAgent);
+    final HostLatencyTracker hostLatencyTracker = new HostLatencyTracker();
+    final Optional<HeartbeatAgent> heartbeatAgent = initializeHeartbeatAgent(
+        restConfig, ksqlEngine, serviceContext, lagReportingAgent, hostLatencyTracker);
     final RoutingFilterFactory routingFilterFactory = initializeRoutingFilterFactory(ksqlConfig,
-        heartbeatAgent, lagReportingAgent);
+        heartbeatAgent, lagReportingAgent, hostLatencyTracker);
 
     final PullQueryExecutor pullQueryExecutor = new PullQueryExecutor(
-        ksqlEngine, routingFilterFactory, ksqlConfig);
+        ksqlEngine, routingFilterFactory, ksqlConfig, hostLatencyTracker);
 
     final StreamedQueryResource streamedQueryResource = new StreamedQueryResource(
         ksqlEngine,
@@ -720,11 +728,13 @@ public final class KsqlRestApplication implements Executable {
       final KsqlRestConfig restConfig,
       final KsqlEngine ksqlEngine,
       final ServiceContext serviceContext,
-      final Optional<LagReportingAgent> lagReportingAgent
+      final Optional<LagReportingAgent> lagReportingAgent,
+      final HostLatencyTracker hostLatencyTracker
   ) {
     if (restConfig.getBoolean(KsqlRestConfig.KSQL_HEARTBEAT_ENABLE_CONFIG)) {
       final Builder builder = HeartbeatAgent.builder();
       builder
+          .latencyTracker(hostLatencyTracker)
           .heartbeatSendInterval(restConfig.getLong(
               KsqlRestConfig.KSQL_HEARTBEAT_SEND_INTERVAL_MS_CONFIG))
           .heartbeatCheckInterval(restConfig.getLong(
@@ -767,7 +777,13 @@ public final class KsqlRestApplication implements Executable {
   private static RoutingFilterFactory initializeRoutingFilterFactory(
       final KsqlConfig configWithApplicationServer,
       final Optional<HeartbeatAgent> heartbeatAgent,
-      final Optional<LagReportingAgent> lagReportingAgent) {
+      final Optional<LagReportingAgent> lagReportingAgent,
+      final HostLatencyTracker hostLatencyTracker) {
+    final Optional<Comparator<KsqlHostInfo>> preference = configWithApplicationServer.getBoolean(
+        KsqlConfig.KSQL_QUERY_PULL_LATENCY_AWARE_ROUTING_ENABLE_CONFIG)
+        ? Optional.of(hostLatencyTracker.fastestFirst())
+        : Optional.empty();
+
     return (routingOptions, hosts, active, applicationQueryId, storeName, partition) -> {
       final ImmutableList.Builder<RoutingFilter> filterBuilder = ImmutableList.builder();
 
@@ -785,6 +801,7 @@ public final class KsqlRestApplication implements Executable {
         MaximumLagFilter.create(lagReportingAgent, routingOptions, hosts, applicationQueryId,
                                 storeName, partition)
             .map(filterBuilder::add);
+        return new RoutingFilters(filterBuilder.build(), preference);
       }
       return new RoutingFilters(filterBuilder.build());
     };
@@ -261,6 +261,49 @@ public class KsqlRestConfig extends AbstractConfig {
   public static final String KSQL_AUTHENTICATION_PLUGIN_DOC = "An extension class that allows "
       + " custom authentication to be plugged in.";
 
+  public static final String KSQL_SERVER_COMPRESSION_ENABLE_CONFIG =
+      KSQL_CONFIG_PREFIX + "server.compression.enable";
+  private static final String KSQL_SERVER_COMPRESSION_ENABLE_DOC =
+      "Whether the server compresses HTTP responses with gzip or deflate, for clients that "
+          + "accept them.";
+
+  public static final String KSQL_SERVER_COMPRESSION_LEVEL_CONFIG =
+      KSQL_CONFIG_PREFIX + "server.compression.level";
+  private static final int KSQL_SERVER_COMPRESSION_LEVEL_DEFAULT = 6;
+  private static final String KSQL_SERVER_COMPRESSION_LEVEL_DOC =
+      "The level, from 1 to 9, at which HTTP responses and websocket messages are compressed. "
+          + "Higher levels result in smaller responses, at the cost of more CPU.";
+
+  public static final String KSQL_SERVER_COMPRESSION_MIN_SIZE_BYTES_CONFIG =
+      KSQL_CONFIG_PREFIX + "server.compression.min.size.bytes";
+  private static final int KSQL_SERVER_COMPRESSION_MIN_SIZE_BYTES_DEFAULT = 1024;
+  private static final String KSQL_SERVER_COMPRESSION_MIN_SIZE_BYTES_DOC =
+      "HTTP responses smaller than this are not compressed, as compressing them saves little. "
+          + "Streamed responses, such as those of push queries, are of unknown size, so are "
+          + "always compressed.";
+
+  public static final String KSQL_QUERY_STREAM_WRITE_BATCH_MAX_BYTES_CONFIG =
+      KSQL_CONFIG_PREFIX + "query.stream.write.batch.max.bytes";
+  private static final int KSQL_QUERY_STREAM_WRITE_BATCH_MAX_BYTES_DEFAULT = 64 * 1024;
+  private static final String KSQL_QUERY_STREAM_WRITE_BATCH_MAX_BYTES_DOC =
+      "The rows of a /query-stream response are coalesced into writes of up to this many bytes, "
+          + "to reduce the number of frames written to the connection.";
+
+  public static final String KSQL_QUERY_STREAM_WRITE_LINGER_MS_CONFIG =
+      KSQL_CONFIG_PREFIX + "query.stream.write.linger.ms";
+  private static final String KSQL_QUERY_STREAM_WRITE_LINGER_MS_DOC =
+      "How long rows of a /query-stream response may wait to be coalesced with later rows. "
+          + "With the default of 0, only the rows available at the same time are coalesced, so "
+          + "no row is delayed. Larger values reduce the number of writes further, at the cost of "
+          + "latency.";
+
+  public static final String KSQL_QUERY_STREAM_PROGRESS_INTERVAL_MS_CONFIG =
+      KSQL_CONFIG_PREFIX + "query.stream.progress.interval.ms";
+  private static final String KSQL_QUERY_STREAM_PROGRESS_INTERVAL_MS_DOC =
+      "How often a /query-stream response that requested progress tokens includes the token "
+          + "for the rows sent so far, if it has changed. A client can resume the push query "
+          + "from the last token it received.";
+
   private static final ConfigDef CONFIG_DEF;
 
   static {
@@ -493,6 +536,47 @@ public class KsqlRestConfig extends AbstractConfig {
             KSQL_AUTHENTICATION_PLUGIN_DEFAULT,
             ConfigDef.Importance.LOW,
             KSQL_AUTHENTICATION_PLUGIN_DOC
+        ).define(
+            KSQL_SERVER_COMPRESSION_ENABLE_CONFIG,
+            Type.BOOLEAN,
+            false,
+            Importance.LOW,
+            KSQL_SERVER_COMPRESSION_ENABLE_DOC
+        ).define(
+            KSQL_SERVER_COMPRESSION_LEVEL_CONFIG,
+            Type.INT,
+            KSQL_SERVER_COMPRESSION_LEVEL_DEFAULT,
+            ConfigDef.Range.between(1, 9),
+            Importance.LOW,
+            KSQL_SERVER_COMPRESSION_LEVEL_DOC
+        ).define(
+            KSQL_SERVER_COMPRESSION_MIN_SIZE_BYTES_CONFIG,
+            Type.INT,
+            KSQL_SERVER_COMPRESSION_MIN_SIZE_BYTES_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_SERVER_COMPRESSION_MIN_SIZE_BYTES_DOC
+        ).define(
+            KSQL_QUERY_STREAM_WRITE_BATCH_MAX_BYTES_CONFIG,
+            Type.INT,
+            KSQL_QUERY_STREAM_WRITE_BATCH_MAX_BYTES_DEFAULT,
+            oneOrMore(),
+            Importance.LOW,
+            KSQL_QUERY_STREAM_WRITE_BATCH_MAX_BYTES_DOC
+        ).define(
+            KSQL_QUERY_STREAM_WRITE_LINGER_MS_CONFIG,
+            Type.LONG,
+            0L,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_STREAM_WRITE_LINGER_MS_DOC
+        ).define(
+            KSQL_QUERY_STREAM_PROGRESS_INTERVAL_MS_CONFIG,
+            Type.LONG,
+            1000L,
+            oneOrMore(),
+            Importance.LOW,
+            KSQL_QUERY_STREAM_PROGRESS_INTERVAL_MS_DOC
         );
   }
 
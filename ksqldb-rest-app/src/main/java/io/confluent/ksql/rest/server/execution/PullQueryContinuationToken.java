@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import com.google.common.base.Splitter;
+import com.google.errorprone.annotations.Immutable;
+import io.confluent.ksql.util.KsqlException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The position of the first row of the next page of a paged pull query on a windowed table.
+ *
+ * <p>Rows of a windowed pull query are returned in order of partition, then of the position of
+ * their key within the keys of the partition, then of window start. The token identifies the
+ * first row not yet returned by those three values, so that the next page can resume the scan of
+ * the window store from that row. Where the start of the next window is not known, the next page
+ * starts from the first key of the partition.
+ *
+ * <p>Clients treat the token as opaque: it is encoded as URL safe base64.
+ */
+@Immutable
+final class PullQueryContinuationToken {
+
+  private static final String SEPARATOR = ":";
+
+  private final int partition;
+  private final int keyIndex;
+  private final Optional<Instant> windowStart;
+
+  static PullQueryContinuationToken startOf(final int partition) {
+    return new PullQueryContinuationToken(partition, 0, Optional.empty());
+  }
+
+  static PullQueryContinuationToken at(
+      final int partition,
+      final int keyIndex,
+      final Instant windowStart
+  ) {
+    return new PullQueryContinuationToken(partition, keyIndex, Optional.of(windowStart));
+  }
+
+  static PullQueryContinuationToken parse(final String token) {
+    try {
+      final String decoded = new String(Base64.getUrlDecoder().decode(token),
+          StandardCharsets.UTF_8);
+
+      final List<String> parts = Splitter.on(SEPARATOR).splitToList(decoded);
+      if (parts.size() != 2 && parts.size() != 3) {
+        throw new IllegalArgumentException("Wrong number of parts");
+      }
+
+      return new PullQueryContinuationToken(
+          Integer.parseInt(parts.get(0)),
+          Integer.parseInt(parts.get(1)),
+          parts.size() == 3
+              ? Optional.of(Instant.ofEpochMilli(Long.parseLong(parts.get(2))))
+              : Optional.empty()
+      );
+    } catch (final IllegalArgumentException e) {
+      throw new KsqlException("Invalid continuation token: " + token, e);
+    }
+  }
+
+  private PullQueryContinuationToken(
+      final int partition,
+      final int keyIndex,
+      final Optional<Instant> windowStart
+  ) {
+    this.partition = partition;
+    this.keyIndex = keyIndex;
+    this.windowStart = Objects.requireNonNull(windowStart, "windowStart");
+  }
+
+  int partition() {
+    return partition;
+  }
+
+  int keyIndex() {
+    return keyIndex;
+  }
+
+  Optional<Instant> windowStart() {
+    return windowStart;
+  }
+
+  String serialize() {
+    final String text = partition + SEPARATOR + keyIndex
+        + windowStart.map(start -> SEPARATOR + start.toEpochMilli()).orElse("");
+
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final PullQueryContinuationToken that = (PullQueryContinuationToken) o;
+    return partition == that.partition
+        && keyIndex == that.keyIndex
+        && Objects.equals(windowStart, that.windowStart);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(partition, keyIndex, windowStart);
+  }
+
+  @Override
+  public String toString() {
+    return "PullQueryContinuationToken{"
+        + "partition=" + partition
+        + ", keyIndex=" + keyIndex
+        + ", windowStart=" + windowStart
+        + '}';
+  }
+}
@@ -16,6 +16,7 @@
 package io.confluent.ksql.rest.server.execution;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
 import com.google.common.collect.BoundType;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -25,19 +26,23 @@ import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Sets.SetView;
 import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.KsqlExecutionContext;
 import io.confluent.ksql.analyzer.ImmutableAnalysis;
 import io.confluent.ksql.analyzer.PullQueryValidator;
 import io.confluent.ksql.analyzer.QueryAnalyzer;
 import io.confluent.ksql.analyzer.RewrittenAnalysis;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
 import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter.Context;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryContext.Stacker;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
+import io.confluent.ksql.execution.expression.tree.BetweenPredicate;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
 import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
 import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.InPredicate;
 import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
 import io.confluent.ksql.execution.expression.tree.Literal;
 import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
@@ -52,10 +57,14 @@ import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
 import io.confluent.ksql.execution.streams.RoutingOptions;
 import io.confluent.ksql.execution.streams.materialization.Locator;
 import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlPartitionLocation;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
+import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
 import io.confluent.ksql.execution.streams.materialization.PullProcessingContext;
+import io.confluent.ksql.execution.streams.materialization.ScanLimitExceededException;
 import io.confluent.ksql.execution.streams.materialization.TableRow;
+import io.confluent.ksql.execution.streams.materialization.WindowedRow;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper;
 import io.confluent.ksql.execution.transform.select.SelectValueMapperFactory;
@@ -70,14 +79,14 @@ import io.confluent.ksql.parser.tree.AllColumns;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Select;
 import io.confluent.ksql.parser.tree.SingleColumn;
+import io.confluent.ksql.properties.with.CreateAsConfigs;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.SessionProperties;
 import io.confluent.ksql.rest.client.RestResponse;
-import io.confluent.ksql.rest.entity.StreamedRow;
-import io.confluent.ksql.rest.entity.StreamedRow.Header;
 import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.entity.TableRowsEntityFactory;
+import io.confluent.ksql.rest.server.HostLatencyTracker;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
 import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.DefaultSqlValueCoercer;
@@ -93,19 +102,37 @@ import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlConstants;
 import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.KsqlHostInfo;
 import io.confluent.ksql.util.KsqlRequestConfig;
 import io.confluent.ksql.util.KsqlServerException;
 import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.timestamp.PartialStringToTimestampParser;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Field;
@@ -134,17 +161,49 @@ public final class PullQueryExecutor {
   private final KsqlExecutionContext executionContext;
   private final RoutingFilterFactory routingFilterFactory;
   private final RateLimiter rateLimiter;
+  private final PullQueryPlanCache<PullQueryPlan> planCache;
+  private final ExecutorService hedgeExecutor;
+  private final HostLatencyTracker latencyTracker;
+  private final int maxScanRows;
 
   public PullQueryExecutor(
       final KsqlExecutionContext executionContext,
       final RoutingFilterFactory routingFilterFactory,
-      final KsqlConfig ksqlConfig
+      final KsqlConfig ksqlConfig,
+      final HostLatencyTracker latencyTracker
   ) {
     this.executionContext = Objects.requireNonNull(executionContext, "executionContext");
     this.routingFilterFactory =
         Objects.requireNonNull(routingFilterFactory, "routingFilterFactory");
     this.rateLimiter = RateLimiter.create(ksqlConfig.getInt(
         KsqlConfig.KSQL_QUERY_PULL_MAX_QPS_CONFIG));
+    this.planCache = new PullQueryPlanCache<>(ksqlConfig.getInt(
+        KsqlConfig.KSQL_QUERY_PULL_PLAN_CACHE_MAX_ENTRIES_CONFIG));
+    final int hedgeThreads =
+        ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PULL_HEDGE_THREAD_POOL_SIZE_CONFIG);
+    // No queue: hedging is only worthwhile if a thread is free to route the query now.
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        hedgeThreads,
+        hedgeThreads,
+        60L,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("pull-query-hedge-thread-%d")
+            .build()
+    );
+    executor.allowCoreThreadTimeOut(true);
+    this.hedgeExecutor = executor;
+    this.latencyTracker = Objects.requireNonNull(latencyTracker, "latencyTracker");
+    this.maxScanRows = ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_CONFIG);
+  }
+
+  /**
+   * Stops the threads used to hedge pull queries, cancelling any routing in progress.
+   */
+  public void close() {
+    hedgeExecutor.shutdownNow();
   }
 
   @SuppressWarnings("unused") // Needs to match validator API.
@@ -176,7 +235,7 @@ public final class PullQueryExecutor {
     }
 
     try {
-      final RoutingOptions routingOptions = new ConfigRoutingOptions(
+      final ConfigRoutingOptions routingOptions = new ConfigRoutingOptions(
           statement.getConfig(), statement.getConfigOverrides(), statement.getRequestProperties());
       final boolean isAlreadyForwarded = routingOptions.skipForwardRequest();
 
@@ -185,14 +244,13 @@ public final class PullQueryExecutor {
         checkRateLimit();
       }
 
-      final ImmutableAnalysis analysis = new RewrittenAnalysis(
-          analyze(statement, executionContext),
-          new ColumnReferenceRewriter()::process
-      );
+      final PullQueryPlan plan = getPlan(statement);
+      final PersistentQueryMetadata query = plan.query;
 
-      final PersistentQueryMetadata query = findMaterializingQuery(executionContext, analysis);
-
-      final WhereInfo whereInfo = extractWhereInfo(analysis, query);
+      // The plan may have been built from a statement with different literals:
+      final Optional<Expression> where = statement.getStatement().getWhere()
+          .map(exp -> ExpressionTreeRewriter
+              .rewriteWith(new ColumnReferenceRewriter()::process, exp));
 
       final QueryId queryId = uniqueQueryId();
 
@@ -200,18 +258,35 @@ public final class PullQueryExecutor {
 
       final Materialization mat = query
           .getMaterialization(queryId, contextStacker)
-          .orElseThrow(() -> notMaterializedException(getSourceName(analysis)));
+          .orElseThrow(() -> notMaterializedException(getSourceName(plan.analysis)));
+
+      final WhereInfo whereInfo = extractWhereInfo(where, query, mat.indexedColumns());
+
+      final List<Struct> keys = whereInfo.keysBound.stream()
+          .map(keyBound -> asKeyStruct(keyBound, query.getPhysicalSchema()))
+          .collect(ImmutableList.toImmutableList());
 
-      final Struct key = asKeyStruct(whereInfo.keyBound, query.getPhysicalSchema());
+      final Optional<KeyRange<Struct>> keyRange = whereInfo.keyRangeBound
+          .map(range -> range.map(bound -> asKeyStruct(bound, query.getPhysicalSchema())));
+
+      final Optional<Page> page = getPage(
+          routingOptions.getPageSize(),
+          routingOptions.getContinuationToken(),
+          whereInfo.windowStartBounds.isPresent(),
+          whereInfo.isWindowScan()
+      );
 
       final PullQueryContext pullQueryContext = new PullQueryContext(
-          key,
+          keys,
+          keyRange,
           mat,
-          analysis,
+          plan,
           whereInfo,
           queryId,
           contextStacker,
-          pullQueryMetrics);
+          pullQueryMetrics,
+          page,
+          maxScanRows);
 
       return handlePullQuery(
           statement,
@@ -230,6 +305,53 @@ public final class PullQueryExecutor {
     }
   }
 
+  private PullQueryPlan getPlan(final ConfiguredStatement<Query> statement) {
+    final Optional<PullQueryPlan> cached = planCache.get(statement);
+    if (cached.isPresent() && cached.get().isCurrent(executionContext)) {
+      return cached.get();
+    }
+
+    final ImmutableAnalysis analysis = new RewrittenAnalysis(
+        analyze(statement, executionContext),
+        new ColumnReferenceRewriter()::process
+    );
+
+    final PersistentQueryMetadata query = findMaterializingQuery(executionContext, analysis);
+
+    final PullQueryPlan plan = new PullQueryPlan(analysis, query);
+    planCache.put(statement, plan);
+    return plan;
+  }
+
+  /**
+   * @param pageSize the requested page size, or zero if not set.
+   * @param from the continuation token of the request, if any.
+   * @param windowed whether the query is on a windowed table.
+   * @param windowScan whether the query is bound only by window start.
+   * @return the page of rows to return, if the query is paged.
+   */
+  @VisibleForTesting
+  static Optional<Page> getPage(
+      final int pageSize,
+      final Optional<PullQueryContinuationToken> from,
+      final boolean windowed,
+      final boolean windowScan
+  ) {
+    if (pageSize == 0 && !from.isPresent()) {
+      return Optional.empty();
+    }
+
+    if (!windowed) {
+      throw new KsqlException("Paging is only supported for pull queries on windowed tables.");
+    }
+
+    if (windowScan) {
+      throw new KsqlException("Paging is not supported for pull queries without a key.");
+    }
+
+    return Optional.of(new Page(pageSize == 0 ? Integer.MAX_VALUE : pageSize, from));
+  }
+
   @VisibleForTesting
   void checkRateLimit() {
     if (!rateLimiter.tryAcquire()) {
@@ -243,36 +365,444 @@ public final class PullQueryExecutor {
       final KsqlExecutionContext executionContext,
       final ServiceContext serviceContext,
       final PullQueryContext pullQueryContext,
-      final RoutingOptions routingOptions
+      final ConfigRoutingOptions routingOptions
   ) {
-    // Get active and standby nodes for this key
+    // Get active and standby nodes for the partitions storing the required keys
     final Locator locator = pullQueryContext.mat.locator();
-    final List<KsqlNode> filteredAndOrderedNodes = locator.locate(
-        pullQueryContext.key,
-        routingOptions,
-        routingFilterFactory
-    );
+    final List<KsqlPartitionLocation> allLocations;
+    if (pullQueryContext.keyRange.isPresent()) {
+      allLocations = locator.locateRange(
+          pullQueryContext.keyRange.get().lower,
+          pullQueryContext.keyRange.get().upper,
+          routingOptions,
+          routingFilterFactory);
+    } else if (pullQueryContext.whereInfo.indexBound.isPresent()
+        || pullQueryContext.whereInfo.isWindowScan()) {
+      // Any partition may hold rows with the indexed value or within the window bounds:
+      allLocations = locator.locateAll(routingOptions, routingFilterFactory);
+    } else {
+      allLocations = locator.locate(
+          pullQueryContext.keys,
+          routingOptions,
+          routingFilterFactory);
+    }
+
+    // Checked against all locations, as a forwarded request may not include the token's partition:
+    pullQueryContext.page.ifPresent(page -> page.checkResumesWithin(allLocations));
 
-    if (filteredAndOrderedNodes.isEmpty()) {
+    // A forwarded request may be restricted to the partitions the forwarding host chose us for:
+    final Set<Integer> requestedPartitions = routingOptions.getPartitions();
+    final List<KsqlPartitionLocation> locations = requestedPartitions.isEmpty()
+        ? allLocations
+        : allLocations.stream()
+            .filter(location -> requestedPartitions.contains(location.partition()))
+            .collect(Collectors.toList());
+
+    if (locations.isEmpty()) {
+      return queryRowsLocally(statement, executionContext, pullQueryContext, locations);
+    }
+
+    if (locations.stream().anyMatch(location -> location.nodes().isEmpty())) {
       throw new MaterializationException("All nodes are dead or exceed max allowed lag.");
     }
 
+    final RouteQuery routeQuery = (node, nodeLocations, page) -> routeQueryTo(
+        node,
+        nodeLocations,
+        statement,
+        executionContext,
+        serviceContext,
+        page.map(pullQueryContext::withPage).orElse(pullQueryContext)
+    );
+
+    if (pullQueryContext.page.isPresent()) {
+      final Page page = pullQueryContext.page.get();
+      if (page.order(locations).isEmpty()) {
+        return queryRowsLocally(statement, executionContext, pullQueryContext, ImmutableList.of());
+      }
+
+      return routePages(locations, page, routingOptions.getHedgeDelayMs(),
+          pullQueryContext.pullQueryMetrics, statement.getStatementText(), routeQuery);
+    }
+
+    final List<TableRowsEntity> results = route(locations, Optional.empty(),
+        routingOptions.getHedgeDelayMs(), pullQueryContext.pullQueryMetrics, routeQuery);
+
+    if (results.size() > 1 && pullQueryContext.whereInfo.isWindowScan()) {
+      checkScanRows(
+          results.stream().mapToInt(result -> result.getRows().size()).sum(),
+          pullQueryContext.maxScanRows
+      );
+    }
+
+    return mergeResults(statement.getStatementText(), results);
+  }
+
+  /**
+   * Merge the results of the nodes a query was routed to. Rows are returned in the order the
+   * nodes were routed to, so the rows of a multi-key or key-range query are not ordered by key
+   * across partitions.
+   */
+  @VisibleForTesting
+  static TableRowsEntity mergeResults(
+      final String statementText,
+      final List<TableRowsEntity> results
+  ) {
+    if (results.size() == 1) {
+      return results.get(0);
+    }
+
+    final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
+    results.forEach(result -> rows.addAll(result.getRows()));
+
+    return new TableRowsEntity(
+        statementText,
+        results.get(0).getQueryId(),
+        results.get(0).getSchema(),
+        rows.build()
+    );
+  }
+
+  /**
+   * Route a paged query one partition at a time, in partition order, so that each partition is
+   * only asked for the rows remaining in the page, and no partition is queried once the page is
+   * full.
+   */
+  @VisibleForTesting
+  TableRowsEntity routePages(
+      final List<KsqlPartitionLocation> locations,
+      final Page page,
+      final long hedgeDelayMs,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+      final String statementText,
+      final RouteQuery routeQuery
+  ) {
+    final List<KsqlPartitionLocation> ordered = page.order(locations);
+
+    final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
+    TableRowsEntity last = null;
+    Optional<String> next = Optional.empty();
+    int remaining = page.limit;
+
+    for (final KsqlPartitionLocation location : ordered) {
+      if (remaining == 0) {
+        // The next page may turn out to be empty, which is cheaper than probing for more rows:
+        next = Optional.of(PullQueryContinuationToken.startOf(location.partition()).serialize());
+        break;
+      }
+
+      final List<TableRowsEntity> results = route(ImmutableList.of(location),
+          Optional.of(new Page(remaining, page.from)), hedgeDelayMs,
+          pullQueryMetrics, routeQuery);
+
+      for (final TableRowsEntity result : results) {
+        rows.addAll(result.getRows());
+        remaining -= result.getRows().size();
+        next = result.getContinuationToken();
+        last = result;
+      }
+
+      if (next.isPresent()) {
+        break;
+      }
+    }
+
+    return new TableRowsEntity(
+        statementText,
+        last.getQueryId(),
+        last.getSchema(),
+        rows.build(),
+        next
+    );
+  }
+
+  /**
+   * Route the query for each location to the nodes hosting it, failing over to the next node of
+   * a location if a node fails.
+   *
+   * @return the results of each node that answered.
+   */
+  @VisibleForTesting
+  List<TableRowsEntity> route(
+      final List<KsqlPartitionLocation> locations,
+      final Optional<Page> page,
+      final long hedgeDelayMs,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+      final RouteQuery routeQuery
+  ) {
+    final List<TableRowsEntity> results = new ArrayList<>();
+    routePartitions(locations, 0, page, hedgeDelayMs, pullQueryMetrics, routeQuery, results);
+    return results;
+  }
+
+  private void routePartitions(
+      final List<KsqlPartitionLocation> locations,
+      final int attempt,
+      final Optional<Page> page,
+      final long hedgeDelayMs,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+      final RouteQuery routeQuery,
+      final List<TableRowsEntity> results
+  ) {
     // Nodes are ordered by preference: active is first if alive then standby nodes in
-    // increasing order of lag.
-    for (KsqlNode node : filteredAndOrderedNodes) {
+    // increasing order of lag. Partitions are grouped by their node for this attempt, so that
+    // each node is sent a single request covering all of its partitions.
+    final Map<KsqlNode, List<KsqlPartitionLocation>> byNode = groupByNode(locations, attempt);
+
+    for (final Entry<KsqlNode, List<KsqlPartitionLocation>> e : byNode.entrySet()) {
+      final KsqlNode node = e.getKey();
+      final List<KsqlPartitionLocation> nodeLocations = e.getValue();
+      final boolean canHedge = hedgeDelayMs > 0 && nodeLocations.stream()
+          .allMatch(location -> location.nodes().size() > attempt + 1);
+
+      results.addAll(canHedge
+          ? routeHedged(node, nodeLocations, attempt, page, hedgeDelayMs,
+              pullQueryMetrics, routeQuery)
+          : routeWithFailover(node, nodeLocations, attempt, page, hedgeDelayMs,
+              pullQueryMetrics, routeQuery));
+    }
+  }
+
+  private static Map<KsqlNode, List<KsqlPartitionLocation>> groupByNode(
+      final List<KsqlPartitionLocation> locations,
+      final int attempt
+  ) {
+    return locations.stream()
+        .collect(Collectors.groupingBy(
+            location -> location.nodes().get(attempt),
+            LinkedHashMap::new,
+            Collectors.toList()
+        ));
+  }
+
+  private List<TableRowsEntity> routeWithFailover(
+      final KsqlNode node,
+      final List<KsqlPartitionLocation> locations,
+      final int attempt,
+      final Optional<Page> page,
+      final long hedgeDelayMs,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+      final RouteQuery routeQuery
+  ) {
+    try {
+      return ImmutableList.of(routeTracked(node, locations, page, routeQuery));
+    } catch (final ScanLimitExceededException e) {
+      // Every node holds the same rows, so would exceed the limit too:
+      throw e;
+    } catch (final RuntimeException e) {
+      return failOver(node, locations, attempt, page, hedgeDelayMs, pullQueryMetrics,
+          routeQuery, e);
+    }
+  }
+
+  /**
+   * Route the query to the next node of each location, now that {@code node} has failed.
+   */
+  private List<TableRowsEntity> failOver(
+      final KsqlNode node,
+      final List<KsqlPartitionLocation> locations,
+      final int attempt,
+      final Optional<Page> page,
+      final long hedgeDelayMs,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+      final RouteQuery routeQuery,
+      final RuntimeException error
+  ) {
+    LOG.debug("Error routing pull query to host {} at timestamp {}",
+        node, System.currentTimeMillis(), error);
+
+    final List<KsqlPartitionLocation> retryable = locations.stream()
+        .filter(location -> location.nodes().size() > attempt + 1)
+        .collect(Collectors.toList());
+
+    if (retryable.size() != locations.size()) {
+      throw new MaterializationException(
+          "Unable to execute pull query: " + error.getMessage(), error);
+    }
+
+    final List<TableRowsEntity> results = new ArrayList<>();
+    routePartitions(retryable, attempt + 1, page, hedgeDelayMs,
+        pullQueryMetrics, routeQuery, results);
+    return results;
+  }
+
+  /**
+   * Route the query to {@code node}. If the node has not answered within the hedge delay, the
+   * query is also routed to the next node of each location, i.e. the next standby accepted by
+   * the routing filters. Whichever answers first is used and the other is cancelled. If both
+   * fail, the query fails: the hedge has already tried the next nodes.
+   */
+  private List<TableRowsEntity> routeHedged(
+      final KsqlNode node,
+      final List<KsqlPartitionLocation> locations,
+      final int attempt,
+      final Optional<Page> page,
+      final long hedgeDelayMs,
+      final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+      final RouteQuery routeQuery
+  ) {
+    final CompletableFuture<List<TableRowsEntity>> primary;
+    try {
+      primary = submitHedged(() -> ImmutableList.of(routeTracked(node, locations, page,
+          routeQuery)));
+    } catch (final RejectedExecutionException e) {
+      LOG.debug("All pull query hedge threads busy, routing to host {} without hedging", node);
+      return routeWithFailover(node, locations, attempt, page, hedgeDelayMs,
+          pullQueryMetrics, routeQuery);
+    }
+
+    CompletableFuture<List<TableRowsEntity>> hedge = null;
+    try {
       try {
-        return routeQuery(node, statement, executionContext, serviceContext, pullQueryContext);
-      } catch (Exception t) {
-        LOG.debug("Error routing query {} to host {} at timestamp {}",
-                 statement.getStatementText(), node, System.currentTimeMillis());
+        return primary.get(hedgeDelayMs, TimeUnit.MILLISECONDS);
+      } catch (final TimeoutException e) {
+        LOG.debug("Pull query not answered by host {} within {}ms, hedging to next host",
+            node, hedgeDelayMs);
+      } catch (final ExecutionException e) {
+        // Failed before the hedge fired, so fail over as though not hedged:
+        final RuntimeException error = asRuntimeException(e.getCause());
+        if (error instanceof ScanLimitExceededException) {
+          throw error;
+        }
+        return failOver(node, locations, attempt, page, hedgeDelayMs, pullQueryMetrics,
+            routeQuery, error);
+      }
+
+      try {
+        hedge = submitHedged(() -> routeToNodes(locations, attempt + 1, page, routeQuery));
+      } catch (final RejectedExecutionException e) {
+        LOG.debug("All pull query hedge threads busy, waiting for host {}", node);
+        return primary.get();
+      }
+
+      pullQueryMetrics.ifPresent(metrics -> metrics.recordHedgeFired(1));
+
+      final List<TableRowsEntity> winner = firstSuccessful(primary, hedge).get();
+      if (hedge.isDone() && !hedge.isCompletedExceptionally() && winner == hedge.join()) {
+        pullQueryMetrics.ifPresent(metrics -> metrics.recordHedgeWon(1));
+      }
+      return winner;
+    } catch (final ExecutionException e) {
+      final RuntimeException error = asRuntimeException(e.getCause());
+      if (error instanceof ScanLimitExceededException) {
+        throw error;
+      }
+      throw new MaterializationException(
+          "Unable to execute pull query: " + error.getMessage(), error);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MaterializationException("Interrupted while executing pull query", e);
+    } finally {
+      // Stop whichever is still running:
+      primary.cancel(true);
+      if (hedge != null) {
+        hedge.cancel(true);
       }
     }
-    throw new MaterializationException(String.format(
-        "Unable to execute pull query: %s", statement.getStatementText()));
   }
 
-  private static TableRowsEntity routeQuery(
+  /**
+   * Route the query to the node of each location for the given attempt, without failing over.
+   */
+  private List<TableRowsEntity> routeToNodes(
+      final List<KsqlPartitionLocation> locations,
+      final int attempt,
+      final Optional<Page> page,
+      final RouteQuery routeQuery
+  ) {
+    return groupByNode(locations, attempt).entrySet().stream()
+        .map(e -> routeTracked(e.getKey(), e.getValue(), page, routeQuery))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Runs the task on the hedge executor. Cancelling the returned future interrupts the task.
+   *
+   * @throws RejectedExecutionException if all hedge threads are busy.
+   */
+  private <T> CompletableFuture<T> submitHedged(final Supplier<T> task) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Future<?> running = hedgeExecutor.submit(() -> {
+      try {
+        result.complete(task.get());
+      } catch (final Exception e) {
+        result.completeExceptionally(e);
+      }
+    });
+    result.whenComplete((value, error) -> {
+      if (result.isCancelled()) {
+        running.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * @return a future that completes with the first of the futures to succeed, or fails once both
+   *         have failed, or as soon as either fails in a way the other would too.
+   */
+  private static <T> CompletableFuture<T> firstSuccessful(
+      final CompletableFuture<T> first,
+      final CompletableFuture<T> second
+  ) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final AtomicInteger failures = new AtomicInteger();
+
+    for (final CompletableFuture<T> future : ImmutableList.of(first, second)) {
+      future.whenComplete((value, error) -> {
+        if (error == null) {
+          result.complete(value);
+        } else if (failures.incrementAndGet() == 2
+            || asRuntimeException(error) instanceof ScanLimitExceededException) {
+          result.completeExceptionally(error);
+        }
+      });
+    }
+
+    return result;
+  }
+
+  private static RuntimeException asRuntimeException(final Throwable t) {
+    final Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+    return cause instanceof RuntimeException
+        ? (RuntimeException) cause
+        : new KsqlServerException(cause.getMessage(), cause);
+  }
+
+  private TableRowsEntity routeTracked(
+      final KsqlNode node,
+      final List<KsqlPartitionLocation> locations,
+      final Optional<Page> page,
+      final RouteQuery routeQuery
+  ) {
+    final KsqlHostInfo host = new KsqlHostInfo(
+        node.location().getHost(), node.location().getPort());
+    final long startTimeMs = System.currentTimeMillis();
+    try {
+      final TableRowsEntity result = routeQuery.routeQuery(node, locations, page);
+      latencyTracker.recordSuccess(host, System.currentTimeMillis() - startTimeMs);
+      return result;
+    } catch (final RuntimeException e) {
+      latencyTracker.recordError(host);
+      throw e;
+    }
+  }
+
+  /**
+   * Queries a node for the rows of the given locations.
+   */
+  @VisibleForTesting
+  interface RouteQuery {
+    TableRowsEntity routeQuery(
+        KsqlNode node,
+        List<KsqlPartitionLocation> locations,
+        Optional<Page> page
+    );
+  }
+
+  private static TableRowsEntity routeQueryTo(
       final KsqlNode node,
+      final List<KsqlPartitionLocation> locations,
       final ConfiguredStatement<Query> statement,
       final KsqlExecutionContext executionContext,
       final ServiceContext serviceContext,
@@ -286,34 +816,74 @@ public final class PullQueryExecutor {
       return queryRowsLocally(
           statement,
           executionContext,
-          pullQueryContext);
+          pullQueryContext,
+          locations);
     } else {
       LOG.debug("Query {} routed to host {} at timestamp {}.",
                 statement.getStatementText(), node.location(), System.currentTimeMillis());
       pullQueryContext.pullQueryMetrics
           .ifPresent(queryExecutorMetrics -> queryExecutorMetrics.recordRemoteRequests(1));
-      return forwardTo(node, statement, serviceContext);
+      return forwardTo(node, locations, statement, serviceContext, pullQueryContext.page);
     }
   }
 
   private static TableRowsEntity queryRowsLocally(
       final ConfiguredStatement<Query> statement,
       final KsqlExecutionContext executionContext,
-      final PullQueryContext pullQueryContext
+      final PullQueryContext pullQueryContext,
+      final List<KsqlPartitionLocation> locations
   ) {
     final Result result;
-    if (pullQueryContext.whereInfo.windowStartBounds.isPresent()) {
+    final List<PullQueryContinuationToken> next = new ArrayList<>(1);
+    if (pullQueryContext.page.isPresent()) {
+      final Range<Instant> windowStart = pullQueryContext.whereInfo.windowStartBounds.get();
+
+      final List<? extends TableRow> rows = scanPage(pullQueryContext.mat.windowed(),
+          pullQueryContext.page.get(), locations, windowStart, next::add);
+
+      result = new Result(pullQueryContext.mat.schema(), rows);
+    } else if (pullQueryContext.whereInfo.isWindowScan()) {
       final Range<Instant> windowStart = pullQueryContext.whereInfo.windowStartBounds.get();
 
-      final List<? extends TableRow> rows = pullQueryContext.mat.windowed()
-          .get(pullQueryContext.key, windowStart);
+      final List<? extends TableRow> rows = scanWindows(
+          pullQueryContext.mat.windowed(), locations, windowStart, pullQueryContext.maxScanRows);
+
+      result = new Result(pullQueryContext.mat.schema(), rows);
+    } else if (pullQueryContext.whereInfo.windowStartBounds.isPresent()) {
+      final Range<Instant> windowStart = pullQueryContext.whereInfo.windowStartBounds.get();
+
+      final List<? extends TableRow> rows = locations.stream()
+          .flatMap(location -> location.keys().stream())
+          .flatMap(key -> pullQueryContext.mat.windowed().get(key, windowStart).stream())
+          .collect(Collectors.toList());
+
+      result = new Result(pullQueryContext.mat.schema(), rows);
+    } else if (pullQueryContext.keyRange.isPresent()) {
+      final KeyRange<Struct> keyRange = pullQueryContext.keyRange.get();
+
+      final List<? extends TableRow> rows = locations.stream()
+          .flatMap(location -> pullQueryContext.mat.nonWindowed()
+              .get(location.partition(), keyRange.lower, keyRange.upper).stream())
+          .collect(Collectors.toList());
+
+      result = new Result(pullQueryContext.mat.schema(), rows);
+    } else if (pullQueryContext.whereInfo.indexBound.isPresent()) {
+      final IndexBound indexBound = pullQueryContext.whereInfo.indexBound.get();
+
+      final List<? extends TableRow> rows = locations.stream()
+          .flatMap(location -> pullQueryContext.mat.nonWindowed()
+              .getByIndex(location.partition(), indexBound.column, indexBound.value).stream())
+          .collect(Collectors.toList());
 
       result = new Result(pullQueryContext.mat.schema(), rows);
     } else {
-      final List<? extends TableRow> rows = pullQueryContext.mat.nonWindowed()
-          .get(pullQueryContext.key)
-          .map(ImmutableList::of)
-          .orElse(ImmutableList.of());
+      final List<Struct> keys = locations.stream()
+          .flatMap(location -> location.keys().stream())
+          .collect(Collectors.toList());
+
+      final List<? extends TableRow> rows = keys.isEmpty()
+          ? ImmutableList.of()
+          : pullQueryContext.mat.nonWindowed().get(keys);
 
       result = new Result(pullQueryContext.mat.schema(), rows);
     }
@@ -325,23 +895,15 @@ public final class PullQueryExecutor {
           result.schema, pullQueryContext.mat.windowType().isPresent());
       rows = TableRowsEntityFactory.createRows(result.rows);
     } else {
-      final List<SelectExpression> projection = pullQueryContext.analysis.getSelectItems().stream()
-          .map(SingleColumn.class::cast)
-          .map(si -> SelectExpression
-              .of(si.getAlias().orElseThrow(IllegalStateException::new), si.getExpression()))
-          .collect(Collectors.toList());
+      final Projection projection = pullQueryContext.plan.getProjection(
+          result, statement, executionContext, pullQueryContext.mat.windowType());
 
-      outputSchema = selectOutputSchema(
-          result, executionContext, projection, pullQueryContext.mat.windowType());
+      outputSchema = projection.outputSchema;
 
       rows = handleSelects(
           result,
-          statement,
           executionContext,
-          pullQueryContext.analysis,
-          outputSchema,
           projection,
-          pullQueryContext.mat.windowType(),
           pullQueryContext.queryId,
           pullQueryContext.contextStacker
       );
@@ -350,64 +912,133 @@ public final class PullQueryExecutor {
         statement.getStatementText(),
         pullQueryContext.queryId,
         outputSchema,
-        rows
+        rows,
+        next.stream().findFirst().map(PullQueryContinuationToken::serialize)
     );
   }
 
+  /**
+   * Scan the windows of each key in turn until the page is full, reading rows from the window
+   * stores lazily so that no more than a page of rows is ever held in memory.
+   *
+   * @param next called with the position of the first row that did not fit in the page, if any.
+   */
+  @VisibleForTesting
+  static List<WindowedRow> scanPage(
+      final MaterializedWindowedTable table,
+      final Page page,
+      final List<KsqlPartitionLocation> locations,
+      final Range<Instant> windowStart,
+      final Consumer<PullQueryContinuationToken> next
+  ) {
+    final List<WindowedRow> rows = new ArrayList<>();
+
+    for (final KsqlPartitionLocation location : page.order(locations)) {
+      final List<Struct> keys = location.keys();
+
+      for (int keyIndex = page.firstKeyIndex(location); keyIndex < keys.size(); keyIndex++) {
+        final int currentKeyIndex = keyIndex;
+        final AtomicBoolean full = new AtomicBoolean();
+
+        table.scan(
+            keys.get(keyIndex),
+            page.windowStartBounds(location, keyIndex, windowStart),
+            row -> {
+              if (rows.size() == page.limit) {
+                next.accept(PullQueryContinuationToken.at(
+                    location.partition(),
+                    currentKeyIndex,
+                    row.windowedKey().window().startTime()
+                ));
+                full.set(true);
+                return false;
+              }
+
+              rows.add(row);
+              return true;
+            }
+        );
+
+        if (full.get()) {
+          return rows;
+        }
+      }
+    }
+
+    return rows;
+  }
+
+  /**
+   * Scan the windows of every key in each partition, failing once more rows than the configured
+   * maximum are found, rather than reading the rest of the stores.
+   */
+  @VisibleForTesting
+  static List<WindowedRow> scanWindows(
+      final MaterializedWindowedTable table,
+      final List<KsqlPartitionLocation> locations,
+      final Range<Instant> windowStart,
+      final int maxScanRows
+  ) {
+    final List<WindowedRow> rows = new ArrayList<>();
+
+    for (final KsqlPartitionLocation location : locations) {
+      table.scanAll(location.partition(), windowStart, row -> {
+        rows.add(row);
+        checkScanRows(rows.size(), maxScanRows);
+        return true;
+      });
+    }
+
+    return rows;
+  }
+
+  private static void checkScanRows(final int rows, final int maxScanRows) {
+    if (rows > maxScanRows) {
+      throw new ScanLimitExceededException("Pull query without a key matched more than the "
+          + "maximum of " + maxScanRows + " rows. Narrow the window bounds or look up specific "
+          + "keys. The maximum is set by " + KsqlConfig.KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_CONFIG
+          + ".");
+    }
+  }
+
   private static TableRowsEntity forwardTo(
       final KsqlNode owner,
+      final List<KsqlPartitionLocation> locations,
       final ConfiguredStatement<Query> statement,
-      final ServiceContext serviceContext
+      final ServiceContext serviceContext,
+      final Optional<Page> page
   ) {
-    // Add skip forward flag to properties
-    final Map<String, Object> requestProperties = ImmutableMap.of(
-        KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING, true);
-    final RestResponse<List<StreamedRow>> response = serviceContext
+    // Add skip forward flag and the partitions the owner should serve to properties
+    final String partitions = locations.stream()
+        .map(location -> String.valueOf(location.partition()))
+        .collect(Collectors.joining(","));
+
+    final ImmutableMap.Builder<String, Object> requestProperties = ImmutableMap.builder();
+    requestProperties.put(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING, true);
+    requestProperties.put(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PARTITIONS, partitions);
+
+    // The owner is only asked for the rows remaining in the page:
+    page.ifPresent(p -> {
+      requestProperties.put(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PAGE_SIZE, p.limit);
+      p.from.ifPresent(from -> requestProperties.put(
+          KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN, from.serialize()));
+    });
+
+    // Rows are returned in a compact binary encoding, decoded straight into the result:
+    final RestResponse<TableRowsEntity> response = serviceContext
         .getKsqlClient()
-        .makeQueryRequest(
+        .makePullQueryRequest(
             owner.location(),
             statement.getStatementText(),
             statement.getConfigOverrides(),
-            requestProperties
+            requestProperties.build()
         );
 
     if (response.isErroneous()) {
       throw new KsqlServerException("Forwarding attempt failed: " + response.getErrorMessage());
     }
 
-    final List<StreamedRow> streamedRows = response.getResponse();
-    if (streamedRows.isEmpty()) {
-      throw new KsqlServerException("Invalid empty response from forwarding call");
-    }
-
-    // Temporary code to convert from QueryStream to TableRowsEntity
-    // Tracked by: https://github.com/confluentinc/ksql/issues/3865
-    final Header header = streamedRows.get(0).getHeader()
-        .orElseThrow(() -> new KsqlServerException("Expected header in first row"));
-
-    final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
-
-    for (final StreamedRow row : streamedRows.subList(1, streamedRows.size())) {
-      if (row.getErrorMessage().isPresent()) {
-        throw new KsqlStatementException(
-            row.getErrorMessage().get().getMessage(),
-            statement.getStatementText()
-        );
-      }
-
-      if (!row.getRow().isPresent()) {
-        throw new KsqlServerException("Unexpected forwarding response");
-      }
-
-      rows.add(row.getRow().get().values());
-    }
-
-    return new TableRowsEntity(
-        statement.getStatementText(),
-        header.getQueryId(),
-        header.getSchema(),
-        rows.build()
-    );
+    return response.getResponse();
   }
 
   private static QueryId uniqueQueryId() {
@@ -429,44 +1060,71 @@ public final class PullQueryExecutor {
 
   private static final class PullQueryContext {
 
-    private final Struct key;
+    private final List<Struct> keys;
+    private final Optional<KeyRange<Struct>> keyRange;
     private final Materialization mat;
-    private final ImmutableAnalysis analysis;
+    private final PullQueryPlan plan;
     private final WhereInfo whereInfo;
     private final QueryId queryId;
     private final QueryContext.Stacker contextStacker;
     private final Optional<PullQueryExecutorMetrics> pullQueryMetrics;
+    private final Optional<Page> page;
+    private final int maxScanRows;
 
     private PullQueryContext(
-        final Struct key,
+        final List<Struct> keys,
+        final Optional<KeyRange<Struct>> keyRange,
         final Materialization mat,
-        final ImmutableAnalysis analysis,
+        final PullQueryPlan plan,
         final WhereInfo whereInfo,
         final QueryId queryId,
         final QueryContext.Stacker contextStacker,
-        final Optional<PullQueryExecutorMetrics> pullQueryMetrics
-
+        final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
+        final Optional<Page> page,
+        final int maxScanRows
     ) {
-      this.key = Objects.requireNonNull(key, "key");
+      this.keys = Objects.requireNonNull(keys, "keys");
+      this.keyRange = Objects.requireNonNull(keyRange, "keyRange");
       this.mat = Objects.requireNonNull(mat, "materialization");
-      this.analysis = Objects.requireNonNull(analysis, "analysis");
+      this.plan = Objects.requireNonNull(plan, "plan");
       this.whereInfo = Objects.requireNonNull(whereInfo, "whereInfo");
       this.queryId = Objects.requireNonNull(queryId, "queryId");
       this.contextStacker = Objects.requireNonNull(contextStacker, "contextStacker");
       this.pullQueryMetrics = Objects.requireNonNull(
           pullQueryMetrics, "pullQueryExecutorMetrics");
+      this.page = Objects.requireNonNull(page, "page");
+      this.maxScanRows = maxScanRows;
     }
 
-    public Struct getKey() {
-      return key;
+    private PullQueryContext withPage(final Page page) {
+      return new PullQueryContext(
+          keys,
+          keyRange,
+          mat,
+          plan,
+          whereInfo,
+          queryId,
+          contextStacker,
+          pullQueryMetrics,
+          Optional.of(page),
+          maxScanRows
+      );
+    }
+
+    public List<Struct> getKeys() {
+      return keys;
+    }
+
+    public Optional<KeyRange<Struct>> getKeyRange() {
+      return keyRange;
     }
 
     public Materialization getMat() {
       return mat;
     }
 
-    public ImmutableAnalysis getAnalysis() {
-      return analysis;
+    public PullQueryPlan getPlan() {
+      return plan;
     }
 
     public WhereInfo getWhereInfo() {
@@ -482,17 +1140,195 @@ public final class PullQueryExecutor {
     }
   }
 
+  /**
+   * The parts of executing a pull query that do not depend on the literals in its WHERE clause,
+   * i.e. the analysis of the statement and the compiled projection.
+   */
+  private static final class PullQueryPlan {
+
+    private final ImmutableAnalysis analysis;
+    private final DataSource source;
+    private final PersistentQueryMetadata query;
+    private volatile Projection projection;
+
+    private PullQueryPlan(
+        final ImmutableAnalysis analysis,
+        final PersistentQueryMetadata query
+    ) {
+      this.analysis = Objects.requireNonNull(analysis, "analysis");
+      this.source = analysis.getFrom().getDataSource();
+      this.query = Objects.requireNonNull(query, "query");
+    }
+
+    /**
+     * @return {@code true} if the source and its materializing query have not changed since the
+     *         plan was built.
+     */
+    private boolean isCurrent(final KsqlExecutionContext executionContext) {
+      if (executionContext.getMetaStore().getSource(source.getName()) != source) {
+        return false;
+      }
+
+      return findMaterializingQuery(executionContext, analysis) == query;
+    }
+
+    private Projection getProjection(
+        final Result input,
+        final ConfiguredStatement<Query> statement,
+        final KsqlExecutionContext executionContext,
+        final Optional<WindowType> windowType
+    ) {
+      // The materialization's schema is fixed by the query, so can be compiled once.
+      // Racing threads may both compile it, which is harmless:
+      Projection compiled = projection;
+      if (compiled == null) {
+        compiled = compileProjection(input, statement, executionContext, analysis, windowType);
+        projection = compiled;
+      }
+      return compiled;
+    }
+  }
+
+  private static final class Projection {
+
+    private final LogicalSchema outputSchema;
+    private final boolean copyKeyAndSystemColumns;
+    private final SelectValueMapper<Object> select;
+
+    private Projection(
+        final LogicalSchema outputSchema,
+        final boolean copyKeyAndSystemColumns,
+        final SelectValueMapper<Object> select
+    ) {
+      this.outputSchema = Objects.requireNonNull(outputSchema, "outputSchema");
+      this.copyKeyAndSystemColumns = copyKeyAndSystemColumns;
+      this.select = Objects.requireNonNull(select, "select");
+    }
+  }
+
   private static final class WhereInfo {
 
-    private final Object keyBound;
+    private final List<Object> keysBound;
+    private final Optional<KeyRange<Object>> keyRangeBound;
     private final Optional<Range<Instant>> windowStartBounds;
+    private final Optional<IndexBound> indexBound;
 
     private WhereInfo(
-        final Object keyBound,
-        final Optional<Range<Instant>> windowStartBounds
+        final List<Object> keysBound,
+        final Optional<KeyRange<Object>> keyRangeBound,
+        final Optional<Range<Instant>> windowStartBounds,
+        final Optional<IndexBound> indexBound
     ) {
-      this.keyBound = keyBound;
+      this.keysBound = keysBound;
+      this.keyRangeBound = keyRangeBound;
       this.windowStartBounds = windowStartBounds;
+      this.indexBound = indexBound;
+    }
+
+    /**
+     * @return {@code true} if the query is bound only by window start, so every key is scanned.
+     */
+    private boolean isWindowScan() {
+      return windowStartBounds.isPresent() && keysBound.isEmpty();
+    }
+  }
+
+  private static final class IndexBound {
+
+    private final ColumnName column;
+    private final Object value;
+
+    private IndexBound(final ColumnName column, final Object value) {
+      this.column = Objects.requireNonNull(column, "column");
+      this.value = Objects.requireNonNull(value, "value");
+    }
+  }
+
+  /**
+   * The rows of a paged query on a windowed table that are to be returned.
+   */
+  static final class Page {
+
+    private final int limit;
+    private final Optional<PullQueryContinuationToken> from;
+
+    Page(final int limit, final Optional<PullQueryContinuationToken> from) {
+      this.limit = limit;
+      this.from = Objects.requireNonNull(from, "from");
+    }
+
+    /**
+     * @return the locations in the order their rows are returned, excluding any whose rows
+     *         were all returned in earlier pages.
+     */
+    private List<KsqlPartitionLocation> order(final List<KsqlPartitionLocation> locations) {
+      return locations.stream()
+          .filter(location -> !from.isPresent() || location.partition() >= from.get().partition())
+          .sorted(Comparator.comparingInt(KsqlPartitionLocation::partition))
+          .collect(Collectors.toList());
+    }
+
+    private int firstKeyIndex(final KsqlPartitionLocation location) {
+      return isResumed(location) ? from.get().keyIndex() : 0;
+    }
+
+    private Range<Instant> windowStartBounds(
+        final KsqlPartitionLocation location,
+        final int keyIndex,
+        final Range<Instant> windowStart
+    ) {
+      if (!isResumed(location)
+          || keyIndex != from.get().keyIndex()
+          || !from.get().windowStart().isPresent()) {
+        return windowStart;
+      }
+
+      final Instant resumeFrom = from.get().windowStart().get();
+      final Range<Instant> remaining = Range.atLeast(resumeFrom);
+      return windowStart.isConnected(remaining)
+          ? windowStart.intersection(remaining)
+          : Range.closedOpen(resumeFrom, resumeFrom);
+    }
+
+    /**
+     * @throws KsqlException if the page resumes from a partition the query does not read, or from
+     *                       a key beyond the keys of that partition.
+     */
+    void checkResumesWithin(final List<KsqlPartitionLocation> locations) {
+      if (!from.isPresent()) {
+        return;
+      }
+
+      final PullQueryContinuationToken token = from.get();
+      final Optional<KsqlPartitionLocation> resumed = locations.stream()
+          .filter(location -> location.partition() == token.partition())
+          .findFirst();
+
+      if (!resumed.isPresent()
+          || token.keyIndex() < 0
+          || token.keyIndex() >= resumed.get().keys().size()) {
+        throw new KsqlException("Invalid continuation token: " + token.serialize()
+            + ". The token does not match the keys of this query.");
+      }
+    }
+
+    private boolean isResumed(final KsqlPartitionLocation location) {
+      return from.isPresent() && from.get().partition() == location.partition();
+    }
+  }
+
+  private static final class KeyRange<T> {
+
+    private final T lower;
+    private final T upper;
+
+    private KeyRange(final T lower, final T upper) {
+      this.lower = Objects.requireNonNull(lower, "lower");
+      this.upper = Objects.requireNonNull(upper, "upper");
+    }
+
+    private <R> KeyRange<R> map(final Function<T, R> mapper) {
+      return new KeyRange<>(mapper.apply(lower), mapper.apply(upper));
     }
   }
 
@@ -511,61 +1347,178 @@ public final class PullQueryExecutor {
   }
 
   private static WhereInfo extractWhereInfo(
-      final ImmutableAnalysis analysis,
-      final PersistentQueryMetadata query
+      final Optional<Expression> whereExpression,
+      final PersistentQueryMetadata query,
+      final Set<ColumnName> indexedColumns
   ) {
     final boolean windowed = query.getResultTopic().getKeyFormat().isWindowed();
 
-    final Expression where = analysis.getWhereExpression()
+    final Expression where = whereExpression
         .orElseThrow(() -> invalidWhereClauseException("Missing WHERE clause", windowed));
 
-    final Map<ComparisonTarget, List<ComparisonExpression>> comparisons =
-        extractComparisons(where, query);
+    final Map<ComparisonTarget, List<Expression>> comparisons =
+        extractComparisons(where, query, indexedColumns);
+
+    final List<Expression> keyComparison = comparisons.get(ComparisonTarget.KEYCOL);
+    if (keyComparison == null && windowed && comparisons.size() == 1
+        && comparisons.containsKey(ComparisonTarget.WINDOWSTART)) {
+      // Session stores can only be queried by key:
+      if (query.getResultTopic().getKeyFormat().getWindowType()
+          .filter(type -> type == WindowType.SESSION)
+          .isPresent()) {
+        throw invalidWhereClauseException(
+            "WHERE clause missing key column, which is required on session windowed tables",
+            true
+        );
+      }
+
+      return new WhereInfo(
+          ImmutableList.of(),
+          Optional.empty(),
+          Optional.of(extractWhereClauseWindowBounds(
+              Optional.of(comparisons.get(ComparisonTarget.WINDOWSTART)))),
+          Optional.empty()
+      );
+    }
 
-    final List<ComparisonExpression> keyComparison = comparisons.get(ComparisonTarget.KEYCOL);
     if (keyComparison == null) {
-      throw invalidWhereClauseException("WHERE clause missing key column", windowed);
+      final List<Expression> indexComparison = comparisons.get(ComparisonTarget.INDEXCOL);
+      if (indexComparison == null) {
+        throw invalidWhereClauseException("WHERE clause missing key column", windowed);
+      }
+
+      if (comparisons.size() > 1 || indexComparison.size() != 1) {
+        throw invalidWhereClauseException("Unsupported WHERE clause", windowed);
+      }
+
+      return new WhereInfo(
+          ImmutableList.of(),
+          Optional.empty(),
+          Optional.empty(),
+          Optional.of(extractIndexBound(indexComparison.get(0), query.getLogicalSchema()))
+      );
     }
 
-    final Object key = extractKeyWhereClause(
-        keyComparison,
-        windowed,
-        query.getLogicalSchema()
-    );
+    if (keyComparison.size() != 1) {
+      throw invalidWhereClauseException("Multiple bounds on key column", windowed);
+    }
+
+    final Expression keyExpression = keyComparison.get(0);
+    final List<Object> keys;
+    final Optional<KeyRange<Object>> keyRange;
+    if (keyExpression instanceof BetweenPredicate) {
+      if (windowed) {
+        throw invalidWhereClauseException("BETWEEN on key column is not supported on windowed "
+            + "tables", true);
+      }
+
+      keys = ImmutableList.of();
+      keyRange = Optional.of(extractKeyRangeWhereClause(
+          (BetweenPredicate) keyExpression,
+          query.getLogicalSchema()
+      ));
+    } else {
+      keys = extractKeyWhereClause(
+          keyExpression,
+          windowed,
+          query.getLogicalSchema()
+      );
+      keyRange = Optional.empty();
+    }
 
     if (!windowed) {
       if (comparisons.size() > 1) {
         throw invalidWhereClauseException("Unsupported WHERE clause", false);
       }
 
-      return new WhereInfo(key, Optional.empty());
+      return new WhereInfo(keys, keyRange, Optional.empty(), Optional.empty());
     }
 
-    final Optional<List<ComparisonExpression>> windowBoundsComparison =
+    final Optional<List<Expression>> windowBoundsComparison =
         Optional.ofNullable(comparisons.get(ComparisonTarget.WINDOWSTART));
 
     final Range<Instant> windowStart = extractWhereClauseWindowBounds(windowBoundsComparison);
 
-    return new WhereInfo(key, Optional.of(windowStart));
+    return new WhereInfo(keys, keyRange, Optional.of(windowStart), Optional.empty());
+  }
+
+  private static IndexBound extractIndexBound(
+      final Expression expression,
+      final LogicalSchema schema
+  ) {
+    if (!(expression instanceof ComparisonExpression)
+        || ((ComparisonExpression) expression).getType() != Type.EQUAL) {
+      throw invalidWhereClauseException(
+          "Bound on indexed column must currently be '=': " + expression, false);
+    }
+
+    final ComparisonExpression comparison = (ComparisonExpression) expression;
+    final UnqualifiedColumnReferenceExp columnRef =
+        comparison.getLeft() instanceof UnqualifiedColumnReferenceExp
+            ? (UnqualifiedColumnReferenceExp) comparison.getLeft()
+            : (UnqualifiedColumnReferenceExp) comparison.getRight();
+
+    final Expression other = getNonColumnRefSide(comparison);
+    if (!(other instanceof Literal)) {
+      throw new KsqlException("Ony comparison to literals is currently supported: " + comparison);
+    }
+
+    if (other instanceof NullLiteral) {
+      throw new KsqlException("Indexed columns can not be compared to NULL: " + comparison);
+    }
+
+    final Column column = schema.findValueColumn(columnRef.getColumnName())
+        .orElseThrow(() -> new IllegalStateException("Unknown column: " + columnRef));
+
+    final Object right = ((Literal) other).getValue();
+    final Object value = DefaultSqlValueCoercer.INSTANCE.coerce(right, column.type())
+        .orElseThrow(() -> new KsqlException("'" + right + "' can not be converted "
+            + "to the type of the indexed column: " + column.toString(FormatOptions.noEscape())))
+        .orElseThrow(IllegalStateException::new);
+
+    return new IndexBound(column.name(), value);
   }
 
-  private static Object extractKeyWhereClause(
-      final List<ComparisonExpression> comparisons,
+  private static List<Object> extractKeyWhereClause(
+      final Expression expression,
       final boolean windowed,
       final LogicalSchema schema
   ) {
-    if (comparisons.size() != 1) {
-      throw invalidWhereClauseException("Multiple bounds on key column", windowed);
+    if (expression instanceof InPredicate) {
+      final InPredicate inPredicate = (InPredicate) expression;
+      return inPredicate.getValueList().getValues().stream()
+          .map(value -> extractKeyLiteral(value, inPredicate, windowed, schema))
+          .distinct()
+          .collect(Collectors.toList());
     }
 
-    final ComparisonExpression comparison = comparisons.get(0);
+    final ComparisonExpression comparison = (ComparisonExpression) expression;
     if (comparison.getType() != Type.EQUAL) {
       final ColumnName keyColumn = Iterables.getOnlyElement(schema.key()).name();
       throw invalidWhereClauseException("Bound on '" + keyColumn.text()
-          + "' must currently be '='", windowed);
+          + "' must currently be '=', IN or BETWEEN", windowed);
     }
 
     final Expression other = getNonColumnRefSide(comparison);
+    return ImmutableList.of(extractKeyLiteral(other, comparison, windowed, schema));
+  }
+
+  private static KeyRange<Object> extractKeyRangeWhereClause(
+      final BetweenPredicate between,
+      final LogicalSchema schema
+  ) {
+    return new KeyRange<>(
+        extractKeyLiteral(between.getMin(), between, false, schema),
+        extractKeyLiteral(between.getMax(), between, false, schema)
+    );
+  }
+
+  private static Object extractKeyLiteral(
+      final Expression other,
+      final Expression comparison,
+      final boolean windowed,
+      final LogicalSchema schema
+  ) {
     if (!(other instanceof Literal)) {
       throw new KsqlException("Ony comparison to literals is currently supported: " + comparison);
     }
@@ -596,13 +1549,23 @@ public final class PullQueryExecutor {
   }
 
   private static Range<Instant> extractWhereClauseWindowBounds(
-      final Optional<List<ComparisonExpression>> maybeComparisons
+      final Optional<List<Expression>> maybeComparisons
   ) {
     if (!maybeComparisons.isPresent()) {
       return Range.all();
     }
 
-    final List<ComparisonExpression> comparisons = maybeComparisons.get();
+    final List<ComparisonExpression> comparisons = maybeComparisons.get().stream()
+        .map(exp -> {
+          if (!(exp instanceof ComparisonExpression)) {
+            throw invalidWhereClauseException(
+                "Unsupported " + ComparisonTarget.WINDOWSTART + " bounds: " + exp,
+                true
+            );
+          }
+          return (ComparisonExpression) exp;
+        })
+        .collect(Collectors.toList());
 
     final Map<Type, List<ComparisonExpression>> byType = comparisons.stream()
         .collect(Collectors.groupingBy(PullQueryExecutor::getSimplifiedBoundType));
@@ -741,35 +1704,52 @@ public final class PullQueryExecutor {
 
   private enum ComparisonTarget {
     KEYCOL,
-    WINDOWSTART
+    WINDOWSTART,
+    INDEXCOL
   }
 
-  private static Map<ComparisonTarget, List<ComparisonExpression>> extractComparisons(
+  private static Map<ComparisonTarget, List<Expression>> extractComparisons(
       final Expression exp,
-      final PersistentQueryMetadata query
+      final PersistentQueryMetadata query,
+      final Set<ColumnName> indexedColumns
   ) {
     if (exp instanceof ComparisonExpression) {
       final ComparisonExpression comparison = (ComparisonExpression) exp;
-      final ComparisonTarget target = extractWhereClauseTarget(comparison, query);
+      final ComparisonTarget target = extractWhereClauseTarget(
+          comparison, comparison.getLeft(), comparison.getRight(), query, indexedColumns);
       return ImmutableMap.of(target, ImmutableList.of(comparison));
     }
 
+    if (exp instanceof InPredicate) {
+      final InPredicate inPredicate = (InPredicate) exp;
+      final ComparisonTarget target = extractWhereClauseTarget(
+          inPredicate, inPredicate.getValue(), inPredicate.getValue(), query, indexedColumns);
+      return ImmutableMap.of(target, ImmutableList.of(inPredicate));
+    }
+
+    if (exp instanceof BetweenPredicate) {
+      final BetweenPredicate between = (BetweenPredicate) exp;
+      final ComparisonTarget target = extractWhereClauseTarget(
+          between, between.getValue(), between.getValue(), query, indexedColumns);
+      return ImmutableMap.of(target, ImmutableList.of(between));
+    }
+
     if (exp instanceof LogicalBinaryExpression) {
       final LogicalBinaryExpression binary = (LogicalBinaryExpression) exp;
       if (binary.getType() != LogicalBinaryExpression.Type.AND) {
         throw invalidWhereClauseException("Only AND expressions are supported: " + exp, false);
       }
 
-      final Map<ComparisonTarget, List<ComparisonExpression>> left =
-          extractComparisons(binary.getLeft(), query);
+      final Map<ComparisonTarget, List<Expression>> left =
+          extractComparisons(binary.getLeft(), query, indexedColumns);
 
-      final Map<ComparisonTarget, List<ComparisonExpression>> right =
-          extractComparisons(binary.getRight(), query);
+      final Map<ComparisonTarget, List<Expression>> right =
+          extractComparisons(binary.getRight(), query, indexedColumns);
 
       return Stream
           .concat(left.entrySet().stream(), right.entrySet().stream())
           .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (l, r) ->
-              ImmutableList.<ComparisonExpression>builder().addAll(l).addAll(r).build()
+              ImmutableList.<Expression>builder().addAll(l).addAll(r).build()
           ));
     }
 
@@ -777,14 +1757,17 @@ public final class PullQueryExecutor {
   }
 
   private static ComparisonTarget extractWhereClauseTarget(
-      final ComparisonExpression comparison,
-      final PersistentQueryMetadata query
+      final Expression comparison,
+      final Expression left,
+      final Expression right,
+      final PersistentQueryMetadata query,
+      final Set<ColumnName> indexedColumns
   ) {
     final UnqualifiedColumnReferenceExp column;
-    if (comparison.getRight() instanceof UnqualifiedColumnReferenceExp) {
-      column = (UnqualifiedColumnReferenceExp) comparison.getRight();
-    } else if (comparison.getLeft() instanceof UnqualifiedColumnReferenceExp) {
-      column = (UnqualifiedColumnReferenceExp) comparison.getLeft();
+    if (right instanceof UnqualifiedColumnReferenceExp) {
+      column = (UnqualifiedColumnReferenceExp) right;
+    } else if (left instanceof UnqualifiedColumnReferenceExp) {
+      column = (UnqualifiedColumnReferenceExp) left;
     } else {
       throw invalidWhereClauseException("Invalid WHERE clause: " + comparison, false);
     }
@@ -799,6 +1782,10 @@ public final class PullQueryExecutor {
       return ComparisonTarget.KEYCOL;
     }
 
+    if (indexedColumns.contains(columnName)) {
+      return ComparisonTarget.INDEXCOL;
+    }
+
     throw invalidWhereClauseException(
         "WHERE clause on unsupported column: " + columnName.text(),
         false
@@ -817,35 +1804,59 @@ public final class PullQueryExecutor {
     return someStars;
   }
 
-  private static List<List<?>> handleSelects(
+  private static Projection compileProjection(
       final Result input,
       final ConfiguredStatement<Query> statement,
       final KsqlExecutionContext executionContext,
       final ImmutableAnalysis analysis,
-      final LogicalSchema outputSchema,
-      final List<SelectExpression> projection,
-      final Optional<WindowType> windowType,
-      final QueryId queryId,
-      final Stacker contextStacker
+      final Optional<WindowType> windowType
   ) {
+    final List<SelectExpression> selectExpressions = analysis.getSelectItems().stream()
+        .map(SingleColumn.class::cast)
+        .map(si -> SelectExpression
+            .of(si.getAlias().orElseThrow(IllegalStateException::new), si.getExpression()))
+        .collect(Collectors.toList());
+
+    final LogicalSchema outputSchema = selectOutputSchema(
+        input, executionContext, selectExpressions, windowType);
+
     final boolean noSystemColumns = analysis.getSelectColumnNames().stream()
         .noneMatch(SystemColumns::isSystemColumn);
 
     final boolean noKeyColumns = analysis.getSelectColumnNames().stream()
         .noneMatch(input.schema::isKeyColumn);
 
-    final LogicalSchema intermediateSchema;
+    final boolean copyKeyAndSystemColumns = !(noSystemColumns && noKeyColumns);
+
+    // SelectValueMapper requires the rowTime & key fields in the value schema :(
+    final LogicalSchema intermediateSchema = copyKeyAndSystemColumns
+        ? input.schema.withPseudoAndKeyColsInValue(windowType.isPresent())
+        : input.schema;
+
+    final KsqlConfig ksqlConfig = statement.getConfig()
+        .cloneWithPropertyOverwrite(statement.getConfigOverrides());
+
+    final SelectValueMapper<Object> select = SelectValueMapperFactory.create(
+        selectExpressions,
+        intermediateSchema,
+        ksqlConfig,
+        executionContext.getMetaStore()
+    );
+
+    return new Projection(outputSchema, copyKeyAndSystemColumns, select);
+  }
+
+  private static List<List<?>> handleSelects(
+      final Result input,
+      final KsqlExecutionContext executionContext,
+      final Projection projection,
+      final QueryId queryId,
+      final Stacker contextStacker
+  ) {
     final Function<TableRow, GenericRow> preSelectTransform;
-    if (noSystemColumns && noKeyColumns) {
-      intermediateSchema = input.schema;
+    if (!projection.copyKeyAndSystemColumns) {
       preSelectTransform = TableRow::value;
     } else {
-      // SelectValueMapper requires the rowTime & key fields in the value schema :(
-      final boolean windowed = windowType.isPresent();
-
-      intermediateSchema = input.schema
-          .withPseudoAndKeyColsInValue(windowed);
-
       preSelectTransform = row -> {
         final Struct key = row.key();
         final GenericRow value = row.value();
@@ -872,16 +1883,6 @@ public final class PullQueryExecutor {
       };
     }
 
-    final KsqlConfig ksqlConfig = statement.getConfig()
-        .cloneWithPropertyOverwrite(statement.getConfigOverrides());
-
-    final SelectValueMapper<Object> select = SelectValueMapperFactory.create(
-        projection,
-        intermediateSchema,
-        ksqlConfig,
-        executionContext.getMetaStore()
-    );
-
     final ProcessingLogger logger = executionContext
         .getProcessingLogContext()
         .getLoggerFactory()
@@ -890,7 +1891,7 @@ public final class PullQueryExecutor {
                 .queryLoggerName(queryId, contextStacker.push("PROJECT").getQueryContext())
         );
 
-    final KsqlTransformer<Object, GenericRow> transformer = select
+    final KsqlTransformer<Object, GenericRow> transformer = projection.select
         .getTransformer(logger);
 
     final ImmutableList.Builder<List<?>> output = ImmutableList.builder();
@@ -902,7 +1903,7 @@ public final class PullQueryExecutor {
           intermediate,
           new PullProcessingContext(r.rowTime())
       );
-      validateProjection(mapped, outputSchema);
+      validateProjection(mapped, projection.outputSchema);
       output.add(mapped.values());
     });
 
@@ -1008,6 +2009,9 @@ public final class PullQueryExecutor {
             + System.lineSeparator()
             + "    + a range, e.g. `WHERE a <= WINDOWSTART AND WINDOWSTART < b"
             + System.lineSeparator()
+            + "On tumbling and hopping windowed tables the key may be omitted, in which case "
+            + "all keys with windows within the time bounds are returned."
+            + System.lineSeparator()
             + "WINDOWSTART currently supports operators: " + VALID_WINDOW_BOUNDS_TYPES_STRING
             + System.lineSeparator()
             + "WINDOWSTART currently comparison with epoch milliseconds "
@@ -1019,7 +2023,13 @@ public final class PullQueryExecutor {
         + System.lineSeparator()
         + "Pull queries require a WHERE clause that:"
         + System.lineSeparator()
-        + " - limits the query to a single key, e.g. `SELECT * FROM X WHERE <key-column>>=Y;`."
+        + " - limits the query to a single key, e.g. `SELECT * FROM X WHERE <key-column>=Y;`,"
+        + System.lineSeparator()
+        + "   a list of keys, e.g. `WHERE <key-column> IN (Y, Z)`, or a bounded range of keys,"
+        + " e.g. `WHERE <key-column> BETWEEN Y AND Z`, or"
+        + System.lineSeparator()
+        + " - on a table with " + CreateAsConfigs.INDEXED_COLUMNS_PROPERTY + ", limits the query"
+        + " to a single value of an indexed column, e.g. `WHERE <indexed-column>=Y`."
         + additional
     );
   }
@@ -1084,9 +2094,55 @@ public final class PullQueryExecutor {
       return getLong(KsqlConfig.KSQL_QUERY_PULL_MAX_ALLOWED_OFFSET_LAG_CONFIG);
     }
 
+    long getHedgeDelayMs() {
+      return getLong(KsqlConfig.KSQL_QUERY_PULL_HEDGE_DELAY_MS_CONFIG);
+    }
+
     @Override
     public boolean skipForwardRequest() {
       return getForwardedFlag(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING);
     }
+
+    int getPageSize() {
+      final Object pageSize =
+          requestProperties.get(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PAGE_SIZE);
+      if (pageSize == null) {
+        return KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PAGE_SIZE_DEFAULT;
+      }
+
+      final int value = Integer.parseInt(pageSize.toString());
+      if (value < 0) {
+        throw new KsqlException(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PAGE_SIZE
+            + " must not be negative, got: " + value);
+      }
+      return value;
+    }
+
+    Optional<PullQueryContinuationToken> getContinuationToken() {
+      final Object token =
+          requestProperties.get(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_CONTINUATION_TOKEN);
+      if (token == null || token.toString().isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(PullQueryContinuationToken.parse(token.toString()));
+    }
+
+    @Override
+    public Set<Integer> getPartitions() {
+      final Object partitions =
+          requestProperties.get(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PARTITIONS);
+      if (partitions == null) {
+        return ImmutableSet.of();
+      }
+
+      final List<?> values = partitions instanceof List
+          ? (List<?>) partitions
+          : Splitter.on(',').trimResults().omitEmptyStrings().splitToList(partitions.toString());
+
+      return values.stream()
+          .map(Object::toString)
+          .map(Integer::valueOf)
+          .collect(ImmutableSet.toImmutableSet());
+    }
   }
 }
\ No newline at end of file
@@ -44,6 +44,8 @@ public class PullQueryExecutorMetrics implements Closeable {
   private final Sensor latencySensor;
   private final Sensor requestRateSensor;
   private final Sensor errorRateSensor;
+  private final Sensor hedgesFiredSensor;
+  private final Sensor hedgesWonSensor;
   private final Metrics metrics;
   private final Map<String, String> customMetricsTags;
   private final String ksqlServiceId;
@@ -63,6 +65,10 @@ public class PullQueryExecutorMetrics implements Closeable {
     this.latencySensor = configureRequestSensor();
     this.requestRateSensor = configureRateSensor();
     this.errorRateSensor = configureErrorRateSensor();
+    this.hedgesFiredSensor = configureHedgeSensor("fired",
+        "hedged pull query requests sent because a host was slow to answer");
+    this.hedgesWonSensor = configureHedgeSensor("won",
+        "hedged pull query requests that answered before the host they hedged");
   }
 
   @Override
@@ -90,6 +96,14 @@ public class PullQueryExecutorMetrics implements Closeable {
     this.errorRateSensor.record(value);
   }
 
+  public void recordHedgeFired(final double value) {
+    this.hedgesFiredSensor.record(value);
+  }
+
+  public void recordHedgeWon(final double value) {
+    this.hedgesWonSensor.record(value);
+  }
+
   List<Sensor> getSensors() {
     return sensors;
   }
@@ -148,6 +162,31 @@ public class PullQueryExecutorMetrics implements Closeable {
     return sensor;
   }
 
+  private Sensor configureHedgeSensor(final String type, final String description) {
+    final Sensor sensor = metrics.sensor(
+        PULL_QUERY_METRIC_GROUP + "-" + PULL_REQUESTS + "-hedges-" + type);
+    sensor.add(
+        metrics.metricName(
+            PULL_REQUESTS + "-hedges-" + type + "-count",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Count of " + description,
+            customMetricsTags
+        ),
+        new WindowedCount()
+    );
+    sensor.add(
+        metrics.metricName(
+            PULL_REQUESTS + "-hedges-" + type + "-rate",
+            ksqlServiceId + PULL_QUERY_METRIC_GROUP,
+            "Rate of " + description,
+            customMetricsTags
+        ),
+        new Rate()
+    );
+    sensors.add(sensor);
+    return sensor;
+  }
+
   private Sensor configureRateSensor() {
     final Sensor sensor = metrics.sensor(
         PULL_QUERY_METRIC_GROUP + "-" + PULL_REQUESTS + "-rate");
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.engine.rewrite.ExpressionTreeRewriter;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.execution.expression.tree.NullLiteral;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded cache of pull query plans.
+ *
+ * <p>Plans are keyed on the shape of the statement: its AST with any literals in the WHERE
+ * clause replaced by a placeholder, plus its config overrides. Statements that only differ in
+ * the keys or window bounds they look up therefore share a plan.
+ *
+ * <p>The cache does not know when a plan is stale: callers must validate any plan they get
+ * against the current state of the engine before using it.
+ *
+ * @param <T> the type of the cached plan.
+ */
+@ThreadSafe
+final class PullQueryPlanCache<T> {
+
+  private final Cache<CacheKey, T> cache;
+
+  PullQueryPlanCache(final int maxEntries) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .build();
+  }
+
+  Optional<T> get(final ConfiguredStatement<Query> statement) {
+    return Optional.ofNullable(cache.getIfPresent(CacheKey.of(statement)));
+  }
+
+  void put(final ConfiguredStatement<Query> statement, final T plan) {
+    cache.put(CacheKey.of(statement), plan);
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  private static final class CacheKey {
+
+    private final Query shape;
+    private final Map<String, Object> configOverrides;
+
+    static CacheKey of(final ConfiguredStatement<Query> statement) {
+      final Query query = statement.getStatement();
+
+      final Query shape = new Query(
+          Optional.empty(),
+          query.getSelect(),
+          query.getFrom(),
+          query.getWindow(),
+          query.getWhere().map(where -> ExpressionTreeRewriter.rewriteWith(
+              (expression, ctx) -> expression instanceof Literal
+                  ? Optional.of(new NullLiteral())
+                  : Optional.empty(),
+              where
+          )),
+          query.getGroupBy(),
+          query.getPartitionBy(),
+          query.getHaving(),
+          query.getResultMaterialization(),
+          query.isPullQuery(),
+          query.getLimit()
+      );
+
+      return new CacheKey(shape, statement.getConfigOverrides());
+    }
+
+    private CacheKey(final Query shape, final Map<String, Object> configOverrides) {
+      this.shape = Objects.requireNonNull(shape, "shape");
+      this.configOverrides = ImmutableMap.copyOf(configOverrides);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final CacheKey that = (CacheKey) o;
+      return shape.equals(that.shape)
+          && configOverrides.equals(that.configOverrides);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(shape, configOverrides);
+    }
+  }
+}
@@ -17,16 +17,17 @@ package io.confluent.ksql.rest.server.resources.streaming;
 
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.query.TransientQueryQueue;
 import io.confluent.ksql.rest.entity.StreamedRow;
 import io.confluent.ksql.rest.server.resources.streaming.Flow.Subscriber;
-import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.security.KsqlSecurityContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.TransientQueryMetadata;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -39,25 +40,25 @@ class PushQueryPublisher implements Flow.Publisher<Collection<StreamedRow>> {
   private static final Logger log = LoggerFactory.getLogger(PushQueryPublisher.class);
 
   private final KsqlEngine ksqlEngine;
-  private final ServiceContext serviceContext;
+  private final KsqlSecurityContext securityContext;
   private final ConfiguredStatement<Query> query;
   private final ListeningScheduledExecutorService exec;
 
   PushQueryPublisher(
       final KsqlEngine ksqlEngine,
-      final ServiceContext serviceContext,
+      final KsqlSecurityContext securityContext,
       final ListeningScheduledExecutorService exec,
       final ConfiguredStatement<Query> query
   ) {
     this.ksqlEngine = requireNonNull(ksqlEngine, "ksqlEngine");
-    this.serviceContext = requireNonNull(serviceContext, "serviceContext");
+    this.securityContext = requireNonNull(securityContext, "securityContext");
     this.exec = requireNonNull(exec, "exec");
     this.query = requireNonNull(query, "query");
   }
 
   @Override
   public synchronized void subscribe(final Flow.Subscriber<Collection<StreamedRow>> subscriber) {
-    final TransientQueryMetadata queryMetadata = ksqlEngine.executeQuery(serviceContext, query);
+    final TransientQueryMetadata queryMetadata = ksqlEngine.executeQuery(securityContext, query);
     final PushQuerySubscription subscription = new PushQuerySubscription(subscriber, queryMetadata);
 
     log.info("Running query {}", queryMetadata.getQueryApplicationId());
@@ -86,14 +87,14 @@ class PushQueryPublisher implements Flow.Publisher<Collection<StreamedRow>> {
 
     @Override
     public Collection<StreamedRow> poll() {
-      final List<GenericRow> rows = Lists.newLinkedList();
-      queryMetadata.getRowQueue().drainTo(rows);
+      final List<GenericRow> rows = new ArrayList<>(TransientQueryQueue.BLOCKING_QUEUE_CAPACITY);
+      queryMetadata.getRowQueue().drainTo(rows, TransientQueryQueue.BLOCKING_QUEUE_CAPACITY);
       if (rows.isEmpty()) {
         return null;
       } else {
         return rows.stream()
             .map(StreamedRow::row)
-            .collect(Collectors.toCollection(Lists::newLinkedList));
+            .collect(Collectors.toCollection(() -> new ArrayList<>(rows.size())));
       }
     }
 
@@ -20,6 +20,7 @@ import com.google.common.collect.Lists;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.server.StreamingOutput;
 import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.query.TransientQueryQueue;
 import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.entity.StreamedRow;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
@@ -41,6 +42,8 @@ class QueryStreamWriter implements StreamingOutput {
 
   private static final Logger log = LoggerFactory.getLogger(QueryStreamWriter.class);
   private static final QueryId NO_QUERY_ID = new QueryId("none");
+  private static final int MAX_BATCH_SIZE = TransientQueryQueue.BLOCKING_QUEUE_CAPACITY;
+  private static final byte[] ROW_SEPARATOR = ",\n".getBytes(StandardCharsets.UTF_8);
 
   private final TransientQueryMetadata queryMetadata;
   private final long disconnectCheckInterval;
@@ -76,7 +79,11 @@ class QueryStreamWriter implements StreamingOutput {
             TimeUnit.MILLISECONDS
         );
         if (value != null) {
-          write(out, StreamedRow.row(value));
+          // Write any rows queued behind the first in the same batch, flushing once:
+          final List<GenericRow> rows = Lists.newArrayListWithCapacity(MAX_BATCH_SIZE);
+          rows.add(value);
+          queryMetadata.getRowQueue().drainTo(rows, MAX_BATCH_SIZE - 1);
+          writeRows(out, rows);
         } else {
           // If no new rows have been written, the user may have terminated the connection without
           // us knowing. Check by trying to write a single newline.
@@ -109,11 +116,25 @@ class QueryStreamWriter implements StreamingOutput {
   }
 
   private void write(final OutputStream output, final StreamedRow row) throws IOException {
-    objectMapper.writeValue(output, row);
-    output.write(",\n".getBytes(StandardCharsets.UTF_8));
+    writeWithoutFlush(output, row);
     output.flush();
   }
 
+  private void writeRows(final OutputStream output, final List<GenericRow> rows)
+      throws IOException {
+    for (final GenericRow row : rows) {
+      writeWithoutFlush(output, StreamedRow.row(row));
+    }
+    output.flush();
+  }
+
+  private void writeWithoutFlush(final OutputStream output, final StreamedRow row)
+      throws IOException {
+    // Serialize to bytes first, as writing to the stream through the mapper flushes it:
+    output.write(objectMapper.writeValueAsBytes(row));
+    output.write(ROW_SEPARATOR);
+  }
+
   private StreamedRow buildHeader() {
     // Push queries only return value columns, but query metadata schema includes key and meta:
     final LogicalSchema storedSchema = queryMetadata.getLogicalSchema();
@@ -153,9 +174,7 @@ class QueryStreamWriter implements StreamingOutput {
     final List<GenericRow> rows = Lists.newArrayList();
     queryMetadata.getRowQueue().drainTo(rows);
 
-    for (final GenericRow row : rows) {
-      write(out, StreamedRow.row(row));
-    }
+    writeRows(out, rows);
   }
 
   private class StreamsExceptionHandler implements Thread.UncaughtExceptionHandler {
@@ -28,6 +28,7 @@ import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.rest.ApiJsonMapper;
 import io.confluent.ksql.rest.EndpointResponse;
 import io.confluent.ksql.rest.Errors;
+import io.confluent.ksql.rest.client.TableRowsCodec;
 import io.confluent.ksql.rest.entity.KsqlRequest;
 import io.confluent.ksql.rest.entity.StreamedRow;
 import io.confluent.ksql.rest.entity.TableRowsEntity;
@@ -44,6 +45,7 @@ import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.KsqlRequestConfig;
 import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.TransientQueryMetadata;
 import io.confluent.ksql.version.metrics.ActivenessRegistrar;
@@ -228,7 +230,7 @@ public class StreamedQueryResource implements KsqlConfigurable {
         }
 
         return handlePushQuery(
-            securityContext.getServiceContext(),
+            securityContext,
             queryStmt,
             request.getConfigOverrides(),
             connectionClosedFuture
@@ -267,7 +269,15 @@ public class StreamedQueryResource implements KsqlConfigurable {
     final TableRowsEntity entity = pullQueryExecutor
         .execute(configured, serviceContext, pullQueryMetrics);
 
-    final StreamedRow header = StreamedRow.header(entity.getQueryId(), entity.getSchema());
+    if (isBinaryResponseRequested(requestProperties)) {
+      return EndpointResponse.ok(TableRowsCodec.encode(entity));
+    }
+
+    final StreamedRow header = StreamedRow.header(
+        entity.getQueryId(),
+        entity.getSchema(),
+        entity.getContinuationToken()
+    );
 
     final List<StreamedRow> rows = entity.getRows().stream()
         .map(StreamedQueryResource::toGenericRow)
@@ -283,8 +293,14 @@ public class StreamedQueryResource implements KsqlConfigurable {
     return EndpointResponse.ok(data);
   }
 
+  private static boolean isBinaryResponseRequested(final Map<String, Object> requestProperties) {
+    final Object binary =
+        requestProperties.get(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE);
+    return binary != null && Boolean.parseBoolean(binary.toString());
+  }
+
   private EndpointResponse handlePushQuery(
-      final ServiceContext serviceContext,
+      final KsqlSecurityContext securityContext,
       final PreparedStatement<Query> statement,
       final Map<String, Object> streamsProperties,
       final CompletableFuture<Void> connectionClosedFuture
@@ -292,7 +308,7 @@ public class StreamedQueryResource implements KsqlConfigurable {
     final ConfiguredStatement<Query> configured =
         ConfiguredStatement.of(statement, streamsProperties, ksqlConfig);
 
-    final TransientQueryMetadata query = ksqlEngine.executeQuery(serviceContext, configured);
+    final TransientQueryMetadata query = ksqlEngine.executeQuery(securityContext, configured);
 
     final QueryStreamWriter queryStreamWriter = new QueryStreamWriter(
         query,
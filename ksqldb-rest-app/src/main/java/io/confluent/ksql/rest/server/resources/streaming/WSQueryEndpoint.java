@@ -268,7 +268,7 @@ public class WSQueryEndpoint {
     } else {
       pushQueryPublisher.start(
           ksqlEngine,
-          info.securityContext.getServiceContext(),
+          info.securityContext,
           exec,
           configured,
           streamSubscriber
@@ -309,12 +309,12 @@ public class WSQueryEndpoint {
 
   private static void startPushQueryPublisher(
       final KsqlEngine ksqlEngine,
-      final ServiceContext serviceContext,
+      final KsqlSecurityContext securityContext,
       final ListeningScheduledExecutorService exec,
       final ConfiguredStatement<Query> query,
       final WebSocketSubscriber<StreamedRow> streamSubscriber
   ) {
-    new PushQueryPublisher(ksqlEngine, serviceContext, exec, query)
+    new PushQueryPublisher(ksqlEngine, securityContext, exec, query)
         .subscribe(streamSubscriber);
   }
 
@@ -349,7 +349,7 @@ public class WSQueryEndpoint {
 
     void start(
         KsqlEngine ksqlEngine,
-        ServiceContext serviceContext,
+        KsqlSecurityContext securityContext,
         ListeningScheduledExecutorService exec,
         ConfiguredStatement<Query> query,
         WebSocketSubscriber<StreamedRow> subscriber);
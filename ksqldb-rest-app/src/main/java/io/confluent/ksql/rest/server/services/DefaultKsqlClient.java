@@ -24,18 +24,23 @@ import io.confluent.ksql.rest.client.KsqlClient;
 import io.confluent.ksql.rest.client.KsqlTarget;
 import io.confluent.ksql.rest.client.RestResponse;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
+import io.confluent.ksql.rest.entity.HeartbeatResponse;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.KsqlHostInfoEntity;
 import io.confluent.ksql.rest.entity.LagReportingMessage;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.services.SimpleKsqlClient;
 import io.confluent.ksql.util.KsqlHostInfo;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,26 +50,36 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
 
   private final Optional<String> authHeader;
   private final KsqlClient sharedClient;
+  private final Runnable onClose;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
 
   DefaultKsqlClient(final Optional<String> authHeader, final Map<String, Object> clientProps) {
-    this(
-        authHeader,
-        new KsqlClient(
-            toClientProps(clientProps),
-            Optional.empty(),
-            new LocalProperties(ImmutableMap.of()),
-            createClientOptions()
-        )
-    );
+    this(authHeader, SharedKsqlClient.acquire(toClientProps(clientProps)));
   }
 
   @VisibleForTesting
   DefaultKsqlClient(
       final Optional<String> authHeader,
       final KsqlClient sharedClient
+  ) {
+    this(authHeader, sharedClient, sharedClient::close);
+  }
+
+  private DefaultKsqlClient(
+      final Optional<String> authHeader,
+      final SharedKsqlClient sharedClient
+  ) {
+    this(authHeader, sharedClient.client, sharedClient::release);
+  }
+
+  private DefaultKsqlClient(
+      final Optional<String> authHeader,
+      final KsqlClient sharedClient,
+      final Runnable onClose
   ) {
     this.authHeader = requireNonNull(authHeader, "authHeader");
     this.sharedClient = requireNonNull(sharedClient, "sharedClient");
+    this.onClose = requireNonNull(onClose, "onClose");
   }
 
   @Override
@@ -101,14 +116,29 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
   }
 
   @Override
-  public void makeAsyncHeartbeatRequest(
+  public RestResponse<TableRowsEntity> makePullQueryRequest(
+      final URI serverEndPoint,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties
+  ) {
+    final KsqlTarget target = sharedClient
+        .target(serverEndPoint)
+        .properties(configOverrides);
+
+    return getTarget(target, authHeader)
+        .postPullQueryRequest(sql, requestProperties);
+  }
+
+  @Override
+  public CompletableFuture<RestResponse<HeartbeatResponse>> makeAsyncHeartbeatRequest(
       final URI serverEndPoint,
       final KsqlHostInfo host,
       final long timestamp) {
     final KsqlTarget target = sharedClient
         .target(serverEndPoint);
 
-    getTarget(target, authHeader)
+    return getTarget(target, authHeader)
         .postAsyncHeartbeatRequest(new KsqlHostInfoEntity(host.host(), host.port()), timestamp)
         .exceptionally(t -> {
           // We send heartbeat requests quite frequently and to nodes that might be down.  We don't
@@ -143,7 +173,9 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
 
   @Override
   public void close() {
-    sharedClient.close();
+    if (closed.compareAndSet(false, true)) {
+      onClose.run();
+    }
   }
 
   private KsqlTarget getTarget(final KsqlTarget target, final Optional<String> authHeader) {
@@ -153,7 +185,13 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
   }
 
   private static HttpClientOptions createClientOptions() {
-    return new HttpClientOptions().setMaxPoolSize(100);
+    // Requests to other servers, e.g. forwarded pull queries, are multiplexed over persistent
+    // HTTP/2 connections where the server supports it:
+    return new HttpClientOptions()
+        .setMaxPoolSize(100)
+        .setKeepAlive(true)
+        .setUseAlpn(true)
+        .setProtocolVersion(HttpVersion.HTTP_2);
   }
 
   private static Map<String, String> toClientProps(final Map<String, Object> config) {
@@ -164,5 +202,45 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
     return clientProps;
   }
 
+  /**
+   * A client shared by all instances created with the same properties.
+   *
+   * <p>Instances are created per request, so sharing the client, and hence its connection
+   * pool, avoids the cost of establishing new connections to other servers on each request.
+   */
+  private static final class SharedKsqlClient {
+
+    private static final Map<Map<String, String>, SharedKsqlClient> INSTANCES = new HashMap<>();
+
+    private final Map<String, String> clientProps;
+    private final KsqlClient client;
+    private int refCount;
+
+    static synchronized SharedKsqlClient acquire(final Map<String, String> clientProps) {
+      final SharedKsqlClient shared = INSTANCES
+          .computeIfAbsent(clientProps, SharedKsqlClient::new);
+      shared.refCount++;
+      return shared;
+    }
+
+    private SharedKsqlClient(final Map<String, String> clientProps) {
+      this.clientProps = ImmutableMap.copyOf(clientProps);
+      this.client = new KsqlClient(
+          clientProps,
+          Optional.empty(),
+          new LocalProperties(ImmutableMap.of()),
+          createClientOptions()
+      );
+    }
+
+    void release() {
+      synchronized (SharedKsqlClient.class) {
+        if (--refCount == 0) {
+          INSTANCES.remove(clientProps);
+          client.close();
+        }
+      }
+    }
+  }
 
 }
@@ -21,11 +21,13 @@ import static java.util.Objects.requireNonNull;
 import io.confluent.ksql.rest.EndpointResponse;
 import io.confluent.ksql.rest.client.RestResponse;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
+import io.confluent.ksql.rest.entity.HeartbeatResponse;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
 import io.confluent.ksql.rest.entity.KsqlErrorMessage;
 import io.confluent.ksql.rest.entity.KsqlRequest;
 import io.confluent.ksql.rest.entity.LagReportingMessage;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.server.resources.KsqlResource;
 import io.confluent.ksql.security.KsqlSecurityContext;
 import io.confluent.ksql.services.SimpleKsqlClient;
@@ -34,6 +36,7 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A KSQL client implementation that sends requests to KsqlResource directly, rather than going
@@ -85,7 +88,17 @@ public class ServerInternalKsqlClient implements SimpleKsqlClient {
   }
 
   @Override
-  public void makeAsyncHeartbeatRequest(
+  public RestResponse<TableRowsEntity> makePullQueryRequest(
+      final URI serverEndpoint,
+      final String sql,
+      final Map<String, ?> configOverrides,
+      final Map<String, ?> requestProperties
+  ) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<RestResponse<HeartbeatResponse>> makeAsyncHeartbeatRequest(
       final URI serverEndPoint,
       final KsqlHostInfo host,
       final long timestamp
@@ -30,6 +30,7 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
 import io.confluent.ksql.api.server.PushQueryId;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec;
 import io.confluent.ksql.api.utils.InsertsResponse;
 import io.confluent.ksql.api.utils.QueryResponse;
 import io.confluent.ksql.api.utils.ReceiveStream;
@@ -634,6 +635,38 @@ public class ApiTest extends BaseApiTest {
     }
   }
 
+  @Test
+  public void shouldUseBinaryFormatWhenBinaryAcceptHeaderQuery() throws Exception {
+    // When
+    JsonObject requestBody = new JsonObject().put("sql", DEFAULT_PULL_QUERY);
+    VertxCompletableFuture<HttpResponse<Buffer>> requestFuture = new VertxCompletableFuture<>();
+    client
+        .post("/query-stream")
+        .putHeader("accept", BinaryQueryStreamCodec.CONTENT_TYPE)
+        .sendBuffer(requestBody.toBuffer(), requestFuture);
+
+    // Then
+    HttpResponse<Buffer> response = requestFuture.get();
+    assertThat(response.statusCode(), is(200));
+    assertThat(response.getHeader("content-type"), is(BinaryQueryStreamCodec.CONTENT_TYPE));
+    Buffer body = response.body();
+    assertThat(body.getByte(0), is(BinaryQueryStreamCodec.METADATA_FRAME));
+    int pos = BinaryQueryStreamCodec.FRAME_HEADER_SIZE + body.getInt(1);
+    JsonObject metaData = body.getBuffer(BinaryQueryStreamCodec.FRAME_HEADER_SIZE, pos)
+        .toJsonObject();
+    assertThat(metaData.getJsonArray("columnNames"), is(DEFAULT_COLUMN_NAMES));
+    assertThat(metaData.getJsonArray("columnTypes"), is(DEFAULT_COLUMN_TYPES));
+    for (JsonArray expectedRow : DEFAULT_ROWS) {
+      assertThat(body.getByte(pos), is(BinaryQueryStreamCodec.ROW_FRAME));
+      int start = pos + BinaryQueryStreamCodec.FRAME_HEADER_SIZE;
+      pos = start + body.getInt(pos + 1);
+      assertThat(BinaryQueryStreamCodec.decodeRow(
+          BinaryQueryStreamCodec.columnEncodings(DEFAULT_COLUMN_TYPES.getList()),
+          body.getBuffer(start, pos)), is(expectedRow));
+    }
+    assertThat(pos, is(body.length()));
+  }
+
   @Test
   public void shouldUseDelimitedFormatWhenNoAcceptHeaderInserts() throws Exception {
     // When
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec;
+import io.confluent.ksql.api.server.protocol.BinaryQueryStreamCodec.ColumnEncoding;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class BinaryQueryStreamCodecTest {
+
+  private static final List<String> COLUMN_TYPES = ImmutableList.of(
+      "BOOLEAN",
+      "INTEGER",
+      "BIGINT",
+      "DOUBLE",
+      "STRING",
+      "ARRAY<STRING>",
+      "MAP<STRING, INTEGER>",
+      "DECIMAL(4, 2)"
+  );
+
+  private static final List<ColumnEncoding> ENCODINGS =
+      BinaryQueryStreamCodec.columnEncodings(COLUMN_TYPES);
+
+  @Test
+  public void shouldEncodeColumnsByType() {
+    assertThat(ENCODINGS, is(ImmutableList.of(
+        ColumnEncoding.BOOLEAN,
+        ColumnEncoding.INTEGER,
+        ColumnEncoding.BIGINT,
+        ColumnEncoding.DOUBLE,
+        ColumnEncoding.STRING,
+        ColumnEncoding.JSON,
+        ColumnEncoding.JSON,
+        ColumnEncoding.JSON
+    )));
+  }
+
+  @Test
+  public void shouldRoundTripRow() {
+    // Given:
+    final List<?> values = ImmutableList.of(
+        true,
+        10,
+        1234567890123L,
+        1.5d,
+        "héllo",
+        ImmutableList.of("a", "b"),
+        ImmutableMap.of("k", 1),
+        12.34d
+    );
+
+    // When:
+    final JsonArray result = BinaryQueryStreamCodec.decodeRow(
+        ENCODINGS, BinaryQueryStreamCodec.encodeRow(ENCODINGS, values));
+
+    // Then:
+    assertThat(result, is(new JsonArray()
+        .add(true)
+        .add(10)
+        .add(1234567890123L)
+        .add(1.5d)
+        .add("héllo")
+        .add(new JsonArray().add("a").add("b"))
+        .add(new JsonObject().put("k", 1))
+        .add(12.34d)
+    ));
+  }
+
+  @Test
+  public void shouldRoundTripNulls() {
+    // Given:
+    final List<?> values = Arrays.asList(null, 10, null, null, "x", null, null, null);
+
+    // When:
+    final JsonArray result = BinaryQueryStreamCodec.decodeRow(
+        ENCODINGS, BinaryQueryStreamCodec.encodeRow(ENCODINGS, values));
+
+    // Then:
+    assertThat(result, is(new JsonArray()
+        .addNull()
+        .add(10)
+        .addNull()
+        .addNull()
+        .add("x")
+        .addNull()
+        .addNull()
+        .addNull()
+    ));
+  }
+
+  @Test
+  public void shouldEncodeRowsMoreCompactlyThanJson() {
+    // Given:
+    final List<?> values = ImmutableList.of(
+        true, 10, 1234567890123L, 1.5d, "x", ImmutableList.of(), ImmutableMap.of(), 1.0d);
+
+    // When:
+    final Buffer encoded = BinaryQueryStreamCodec.encodeRow(ENCODINGS, values);
+
+    // Then:
+    assertThat(encoded.length() < new JsonArray(values).toBuffer().length(), is(true));
+  }
+
+  @Test
+  public void shouldFrameWithTypeAndLength() {
+    // When:
+    final Buffer frame = BinaryQueryStreamCodec.frame(
+        BinaryQueryStreamCodec.ROW_FRAME, Buffer.buffer("abc"));
+
+    // Then:
+    assertThat(frame.length(), is(BinaryQueryStreamCodec.FRAME_HEADER_SIZE + 3));
+    assertThat(frame.getByte(0), is(BinaryQueryStreamCodec.ROW_FRAME));
+    assertThat(frame.getInt(1), is(3));
+    assertThat(frame.getString(BinaryQueryStreamCodec.FRAME_HEADER_SIZE, frame.length()),
+        is("abc"));
+  }
+
+  @Test
+  public void shouldThrowIfRowDoesNotMatchColumns() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> BinaryQueryStreamCodec.encodeRow(ENCODINGS, ImmutableList.of(true))
+    );
+  }
+}
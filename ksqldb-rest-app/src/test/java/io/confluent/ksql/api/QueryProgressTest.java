@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api;
+
+import static io.confluent.ksql.test.util.AssertEventually.assertThatEventually;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import io.confluent.ksql.api.utils.ReceiveStream;
+import io.confluent.ksql.rest.server.KsqlRestConfig;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.codec.BodyCodec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class QueryProgressTest extends BaseApiTest {
+
+  private static final long PROGRESS_INTERVAL_MS = 10L;
+
+  @Test
+  public void shouldEmitProgressTokenOfRowsSent() {
+    // Given:
+    testEndpoints.setProgressTrackable(true);
+
+    // When:
+    final ReceiveStream writeStream = executePushQuery(
+        DEFAULT_PUSH_QUERY_REQUEST_BODY.copy().put("progressTokens", true));
+
+    // Then:
+    assertThatEventually(() -> getProgressTokens(writeStream), hasItem("0:10"));
+    assertThat(getPublisher().isProgressTracked(), is(true));
+  }
+
+  @Test
+  public void shouldOnlyEmitProgressTokenWhenChanged() throws Exception {
+    // Given:
+    testEndpoints.setProgressTrackable(true);
+    final ReceiveStream writeStream = executePushQuery(
+        DEFAULT_PUSH_QUERY_REQUEST_BODY.copy().put("progressTokens", true));
+    assertThatEventually(() -> getProgressTokens(writeStream), hasItem("0:10"));
+
+    // When:
+    Thread.sleep(PROGRESS_INTERVAL_MS * 10);
+
+    // Then:
+    final List<String> tokens = getProgressTokens(writeStream);
+    assertThat(tokens.indexOf("0:10"), is(tokens.size() - 1));
+    assertThat(tokens.stream().distinct().count(), is((long) tokens.size()));
+  }
+
+  @Test
+  public void shouldEmitProgressTokensAfterMetadata() {
+    // Given:
+    testEndpoints.setProgressTrackable(true);
+
+    // When:
+    final ReceiveStream writeStream = executePushQuery(
+        DEFAULT_PUSH_QUERY_REQUEST_BODY.copy().put("progressTokens", true));
+
+    // Then:
+    assertThatEventually(() -> getProgressTokens(writeStream), hasItem("0:10"));
+    final String firstLine = writeStream.getBody().toString().split("\n")[0];
+    assertThat(new JsonObject(firstLine).containsKey("queryId"), is(true));
+  }
+
+  @Test
+  public void shouldNotTrackProgressIfNotRequested() throws Exception {
+    // Given:
+    testEndpoints.setProgressTrackable(true);
+
+    // When:
+    final ReceiveStream writeStream = executePushQuery(DEFAULT_PUSH_QUERY_REQUEST_BODY);
+    assertThatEventually(() -> getRows(writeStream), hasSize(DEFAULT_ROWS.size()));
+    Thread.sleep(PROGRESS_INTERVAL_MS * 10);
+
+    // Then:
+    assertThat(getProgressTokens(writeStream), hasSize(0));
+    assertThat(getPublisher().isProgressTracked(), is(false));
+  }
+
+  @Test
+  public void shouldNotEmitProgressTokensIfQueryCannotTrackProgress() throws Exception {
+    // Given:
+    testEndpoints.setProgressTrackable(false);
+
+    // When:
+    final ReceiveStream writeStream = executePushQuery(
+        DEFAULT_PUSH_QUERY_REQUEST_BODY.copy().put("progressTokens", true));
+    assertThatEventually(() -> getRows(writeStream), hasSize(DEFAULT_ROWS.size()));
+    Thread.sleep(PROGRESS_INTERVAL_MS * 10);
+
+    // Then:
+    assertThat(getProgressTokens(writeStream), hasSize(0));
+    assertThat(getRows(writeStream), is(DEFAULT_ROWS));
+  }
+
+  @Override
+  protected KsqlRestConfig createServerConfig() {
+    KsqlRestConfig config = super.createServerConfig();
+    Map<String, Object> origs = config.originals();
+    origs.put(KsqlRestConfig.KSQL_QUERY_STREAM_PROGRESS_INTERVAL_MS_CONFIG, PROGRESS_INTERVAL_MS);
+    return new KsqlRestConfig(origs);
+  }
+
+  private ReceiveStream executePushQuery(final JsonObject requestBody) {
+    final ReceiveStream writeStream = new ReceiveStream(vertx);
+    sendRequest("/query-stream",
+        (request) -> request
+            .as(BodyCodec.pipe(writeStream))
+            .sendJsonObject(requestBody, ar -> {
+            }));
+    return writeStream;
+  }
+
+  private TestQueryPublisher getPublisher() {
+    assertThatEventually(() -> testEndpoints.getQueryPublishers(), hasSize(1));
+    return testEndpoints.getQueryPublishers().iterator().next();
+  }
+
+  private static List<JsonArray> getRows(final ReceiveStream writeStream) {
+    final List<JsonArray> rows = new ArrayList<>();
+    for (final String line : getLines(writeStream)) {
+      if (line.startsWith("[")) {
+        rows.add(new JsonArray(line));
+      }
+    }
+    return rows;
+  }
+
+  private static List<String> getProgressTokens(final ReceiveStream writeStream) {
+    final List<String> tokens = new ArrayList<>();
+    for (final String line : getLines(writeStream)) {
+      if (line.startsWith("{")) {
+        final JsonObject object = new JsonObject(line);
+        if (object.containsKey("progressToken")) {
+          tokens.add(object.getString("progressToken"));
+        }
+      }
+    }
+    return tokens;
+  }
+
+  private static List<String> getLines(final ReceiveStream writeStream) {
+    final List<String> lines = new ArrayList<>();
+    for (final String line : writeStream.getBody().toString().split("\n")) {
+      if (!line.isEmpty()) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+}
@@ -17,7 +17,10 @@ package io.confluent.ksql.api;
 
 import io.confluent.ksql.api.auth.ApiSecurityContext;
 import io.confluent.ksql.api.server.InsertResult;
+import io.confluent.ksql.api.server.ErrorCodes;
 import io.confluent.ksql.api.server.InsertsStreamSubscriber;
+import io.confluent.ksql.api.server.KsqlApiException;
+import io.confluent.ksql.api.server.protocol.PrepareQueryResponse;
 import io.confluent.ksql.api.spi.Endpoints;
 import io.confluent.ksql.api.spi.QueryPublisher;
 import io.confluent.ksql.api.utils.RowGenerator;
@@ -35,7 +38,10 @@ import io.vertx.core.WorkerExecutor;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.json.JsonObject;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
@@ -51,8 +57,11 @@ public class TestEndpoints implements Endpoints {
   private Set<TestQueryPublisher> queryPublishers = new HashSet<>();
   private int acksBeforePublisherError = -1;
   private int rowsBeforePublisherError = -1;
+  private boolean progressTrackable;
   private RuntimeException createQueryPublisherException;
   private ApiSecurityContext lastApiSecurityContext;
+  private final Map<String, String> preparedQueries = new HashMap<>();
+  private List<Object> lastParameters;
 
   @Override
   public synchronized CompletableFuture<QueryPublisher> createQueryPublisher(final String sql,
@@ -72,13 +81,43 @@ public class TestEndpoints implements Endpoints {
           rowGeneratorFactory.get(),
           rowsBeforePublisherError,
           push,
-          limit);
+          limit,
+          progressTrackable);
       queryPublishers.add(queryPublisher);
       completableFuture.complete(queryPublisher);
     }
     return completableFuture;
   }
 
+  @Override
+  public synchronized CompletableFuture<PrepareQueryResponse> prepareQuery(final String sql,
+      final JsonObject properties, final WorkerExecutor workerExecutor,
+      final ApiSecurityContext apiSecurityContext) {
+    this.lastSql = sql;
+    this.lastProperties = properties;
+    this.lastApiSecurityContext = apiSecurityContext;
+    final String preparedQueryId = "prepared-" + preparedQueries.size();
+    preparedQueries.put(preparedQueryId, sql);
+    return CompletableFuture.completedFuture(new PrepareQueryResponse(preparedQueryId, 1));
+  }
+
+  @Override
+  public synchronized CompletableFuture<QueryPublisher> createPreparedQueryPublisher(
+      final String preparedQueryId, final List<Object> parameters, final Context context,
+      final WorkerExecutor workerExecutor, final ApiSecurityContext apiSecurityContext) {
+    final String sql = preparedQueries.get(preparedQueryId);
+    if (sql == null) {
+      final CompletableFuture<QueryPublisher> completableFuture = new CompletableFuture<>();
+      completableFuture.completeExceptionally(new KsqlApiException(
+          "No prepared query with id " + preparedQueryId,
+          ErrorCodes.ERROR_CODE_UNKNOWN_PREPARED_QUERY_ID));
+      return completableFuture;
+    }
+    this.lastParameters = parameters;
+    return createQueryPublisher(sql, new JsonObject(), context, workerExecutor,
+        apiSecurityContext);
+  }
+
   @Override
   public synchronized CompletableFuture<InsertsStreamSubscriber> createInsertsSubscriber(
       final String target,
@@ -198,6 +237,10 @@ public class TestEndpoints implements Endpoints {
     return lastSql;
   }
 
+  public synchronized List<Object> getLastParameters() {
+    return lastParameters;
+  }
+
   public synchronized JsonObject getLastProperties() {
     return lastProperties;
   }
@@ -222,6 +265,10 @@ public class TestEndpoints implements Endpoints {
     this.rowsBeforePublisherError = rowsBeforePublisherError;
   }
 
+  public synchronized void setProgressTrackable(final boolean progressTrackable) {
+    this.progressTrackable = progressTrackable;
+  }
+
   public synchronized void setCreateQueryPublisherException(final RuntimeException exception) {
     this.createQueryPublisherException = exception;
   }
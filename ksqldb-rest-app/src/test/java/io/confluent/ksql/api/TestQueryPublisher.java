@@ -21,6 +21,7 @@ import io.confluent.ksql.api.utils.RowGenerator;
 import io.confluent.ksql.reactive.BasePublisher;
 import io.vertx.core.Context;
 import java.util.List;
+import java.util.Optional;
 
 public class TestQueryPublisher extends BasePublisher<GenericRow> implements QueryPublisher {
 
@@ -28,21 +29,29 @@ public class TestQueryPublisher extends BasePublisher<GenericRow> implements Que
   private final int rowsBeforePublisherError;
   private final boolean push;
   private final int limit;
-  private int rowsSent;
+  private final boolean progressTrackable;
+  private volatile int rowsSent;
+  private volatile boolean progressTracked;
 
   public TestQueryPublisher(final Context ctx, final RowGenerator rowGenerator,
-      final int rowsBeforePublisherError, final boolean push, final int limit) {
+      final int rowsBeforePublisherError, final boolean push, final int limit,
+      final boolean progressTrackable) {
     super(ctx);
     this.rowGenerator = rowGenerator;
     this.rowsBeforePublisherError = rowsBeforePublisherError;
     this.push = push;
     this.limit = limit;
+    this.progressTrackable = progressTrackable;
   }
 
   synchronized boolean hasSubscriber() {
     return getSubscriber() != null;
   }
 
+  boolean isProgressTracked() {
+    return progressTracked;
+  }
+
   @Override
   protected void maybeSend() {
     doSend(getDemand());
@@ -89,4 +98,15 @@ public class TestQueryPublisher extends BasePublisher<GenericRow> implements Que
     return !push;
   }
 
+  @Override
+  public boolean trackProgress() {
+    progressTracked = progressTrackable;
+    return progressTracked;
+  }
+
+  @Override
+  public Optional<String> getProgressToken() {
+    return progressTracked ? Optional.of("0:" + rowsSent) : Optional.empty();
+  }
+
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.endpoints;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
+import io.confluent.ksql.parser.tree.AllColumns;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.parser.tree.ResultMaterialization;
+import io.confluent.ksql.parser.tree.Select;
+import io.confluent.ksql.parser.tree.Table;
+import io.confluent.ksql.schema.ksql.SystemColumns;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import org.junit.Test;
+
+public class PreparedPullQueryTest {
+
+  private static final KsqlConfig KSQL_CONFIG = new KsqlConfig(ImmutableMap.of());
+  private static final UnqualifiedColumnReferenceExp ID =
+      new UnqualifiedColumnReferenceExp(ColumnName.of("ID"));
+  private static final UnqualifiedColumnReferenceExp WINDOWSTART =
+      new UnqualifiedColumnReferenceExp(SystemColumns.WINDOWSTART_NAME);
+
+  @Test
+  public void shouldCountLiteralsInWhereClauseAsParameters() {
+    // Given:
+    final PreparedPullQuery prepared = new PreparedPullQuery(pullQuery(
+        where(new StringLiteral("a"), new IntegerLiteral(10))));
+
+    // Then:
+    assertThat(prepared.getParameterCount(), is(2));
+  }
+
+  @Test
+  public void shouldBindParametersInOrder() {
+    // Given:
+    final PreparedPullQuery prepared = new PreparedPullQuery(pullQuery(
+        where(new StringLiteral("a"), new IntegerLiteral(10))));
+
+    // When:
+    final ConfiguredStatement<Query> bound = prepared.bind(ImmutableList.of("b", 20L));
+
+    // Then:
+    assertThat(bound.getStatement().getWhere(),
+        is(Optional.of(where(new StringLiteral("b"), new LongLiteral(20L)))));
+    assertThat(bound.getStatementText(), containsString("'b'"));
+    assertThat(bound.getStatementText(), containsString("20"));
+  }
+
+  @Test
+  public void shouldThrowIfWrongNumberOfParameters() {
+    // Given:
+    final PreparedPullQuery prepared = new PreparedPullQuery(pullQuery(
+        where(new StringLiteral("a"), new IntegerLiteral(10))));
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlStatementException.class,
+        () -> prepared.bind(ImmutableList.of("b"))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Prepared query expects 2 parameters, but 1 were supplied"));
+  }
+
+  private static Expression where(final Expression key, final Expression windowStart) {
+    return new LogicalBinaryExpression(
+        LogicalBinaryExpression.Type.AND,
+        new ComparisonExpression(ComparisonExpression.Type.EQUAL, ID, key),
+        new ComparisonExpression(ComparisonExpression.Type.GREATER_THAN, WINDOWSTART, windowStart)
+    );
+  }
+
+  private static ConfiguredStatement<Query> pullQuery(final Expression where) {
+    final Query query = new Query(
+        Optional.empty(),
+        new Select(ImmutableList.of(new AllColumns(Optional.empty()))),
+        new Table(SourceName.of("T")),
+        Optional.empty(),
+        Optional.of(where),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        ResultMaterialization.FINAL,
+        true,
+        OptionalInt.empty()
+    );
+
+    return ConfiguredStatement.of(
+        PreparedStatement.of("SELECT * FROM T WHERE " + where + ";", query),
+        ImmutableMap.of(),
+        KSQL_CONFIG
+    );
+  }
+}
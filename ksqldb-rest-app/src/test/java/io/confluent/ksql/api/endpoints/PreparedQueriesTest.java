@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.endpoints;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.security.Principal;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PreparedQueriesTest {
+
+  private static final Optional<Principal> ALICE = Optional.of(() -> "alice");
+  private static final Optional<Principal> BOB = Optional.of(() -> "bob");
+
+  @Mock
+  private PreparedPullQuery query;
+
+  private PreparedQueries preparedQueries;
+
+  @Before
+  public void setUp() {
+    preparedQueries = new PreparedQueries(10);
+  }
+
+  @Test
+  public void shouldGetQueryPreparedBySamePrincipal() {
+    // Given:
+    final String id = preparedQueries.put(ALICE, query);
+
+    // When:
+    final Optional<PreparedPullQuery> result = preparedQueries.get(id, Optional.of(() -> "alice"));
+
+    // Then:
+    assertThat(result, is(Optional.of(query)));
+  }
+
+  @Test
+  public void shouldNotGetQueryPreparedByDifferentPrincipal() {
+    // Given:
+    final String id = preparedQueries.put(ALICE, query);
+
+    // When:
+    final Optional<PreparedPullQuery> result = preparedQueries.get(id, BOB);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotGetQueryPreparedByPrincipalWithoutPrincipal() {
+    // Given:
+    final String id = preparedQueries.put(ALICE, query);
+
+    // When:
+    final Optional<PreparedPullQuery> result = preparedQueries.get(id, Optional.empty());
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldGetQueryPreparedWithoutPrincipalIfAuthenticationIsDisabled() {
+    // Given:
+    final String id = preparedQueries.put(Optional.empty(), query);
+
+    // When:
+    final Optional<PreparedPullQuery> result = preparedQueries.get(id, Optional.empty());
+
+    // Then:
+    assertThat(result, is(Optional.of(query)));
+  }
+
+  @Test
+  public void shouldNotGetUnknownQuery() {
+    // Given:
+    preparedQueries.put(ALICE, query);
+
+    // When:
+    final Optional<PreparedPullQuery> result = preparedQueries.get("unknown", ALICE);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldGiveEachQueryItsOwnId() {
+    assertThat(
+        preparedQueries.put(ALICE, query).equals(preparedQueries.put(ALICE, query)),
+        is(false));
+  }
+}
@@ -18,6 +18,7 @@ package io.confluent.ksql.api.perf;
 import io.confluent.ksql.api.auth.ApiSecurityContext;
 import io.confluent.ksql.api.server.InsertResult;
 import io.confluent.ksql.api.server.InsertsStreamSubscriber;
+import io.confluent.ksql.api.server.protocol.PrepareQueryResponse;
 import io.confluent.ksql.api.spi.Endpoints;
 import io.confluent.ksql.api.spi.QueryPublisher;
 import io.confluent.ksql.reactive.BaseSubscriber;
@@ -39,6 +40,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.parsetools.RecordParser;
 import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.codec.BodyCodec;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -164,6 +166,20 @@ public class InsertsStreamRunner extends BasePerfRunner {
       return null;
     }
 
+    @Override
+    public CompletableFuture<PrepareQueryResponse> prepareQuery(final String sql,
+        final JsonObject properties, final WorkerExecutor workerExecutor,
+        final ApiSecurityContext apiSecurityContext) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<QueryPublisher> createPreparedQueryPublisher(
+        final String preparedQueryId, final List<Object> parameters, final Context context,
+        final WorkerExecutor workerExecutor, final ApiSecurityContext apiSecurityContext) {
+      return null;
+    }
+
     @Override
     public CompletableFuture<InsertsStreamSubscriber> createInsertsSubscriber(final String target,
         final JsonObject properties,
@@ -23,6 +23,7 @@ import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.api.auth.ApiSecurityContext;
 import io.confluent.ksql.api.server.InsertResult;
 import io.confluent.ksql.api.server.InsertsStreamSubscriber;
+import io.confluent.ksql.api.server.protocol.PrepareQueryResponse;
 import io.confluent.ksql.api.spi.Endpoints;
 import io.confluent.ksql.api.spi.QueryPublisher;
 import io.confluent.ksql.reactive.BufferedPublisher;
@@ -121,6 +122,20 @@ public class PullQueryRunner extends BasePerfRunner {
       return CompletableFuture.completedFuture(publisher);
     }
 
+    @Override
+    public CompletableFuture<PrepareQueryResponse> prepareQuery(final String sql,
+        final JsonObject properties, final WorkerExecutor workerExecutor,
+        final ApiSecurityContext apiSecurityContext) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<QueryPublisher> createPreparedQueryPublisher(
+        final String preparedQueryId, final List<Object> parameters, final Context context,
+        final WorkerExecutor workerExecutor, final ApiSecurityContext apiSecurityContext) {
+      return null;
+    }
+
     @Override
     public CompletableFuture<InsertsStreamSubscriber> createInsertsSubscriber(final String target,
         final JsonObject properties,
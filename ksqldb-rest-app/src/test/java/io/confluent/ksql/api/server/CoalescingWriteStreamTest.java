@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CoalescingWriteStreamTest {
+
+  private static final int MAX_BATCH_BYTES = 4;
+
+  @Mock
+  private WriteStream<Buffer> delegate;
+  private Vertx vertx;
+  private Context context;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void shouldCoalesceWritesMadeTogether() throws Exception {
+    // Given:
+    final CoalescingWriteStream stream = createStream(0L);
+
+    // When:
+    execOnContextAndWait(() -> {
+      stream.write(Buffer.buffer("a"));
+      stream.write(Buffer.buffer("b"));
+      stream.write(Buffer.buffer("c"));
+      verify(delegate, never()).write(any());
+    });
+
+    // Then:
+    verify(delegate, timeout(5000)).write(Buffer.buffer("abc"));
+  }
+
+  @Test
+  public void shouldWriteOnceBatchIsFull() throws Exception {
+    // Given:
+    final CoalescingWriteStream stream = createStream(0L);
+
+    // When:
+    execOnContextAndWait(() -> {
+      stream.write(Buffer.buffer("ab"));
+      stream.write(Buffer.buffer("cd"));
+
+      // Then:
+      verify(delegate).write(Buffer.buffer("abcd"));
+    });
+  }
+
+  @Test
+  public void shouldWriteOnceLingerExpires() throws Exception {
+    // Given:
+    final CoalescingWriteStream stream = createStream(50L);
+
+    // When:
+    execOnContextAndWait(() -> stream.write(Buffer.buffer("a")));
+    execOnContextAndWait(() -> stream.write(Buffer.buffer("b")));
+
+    // Then:
+    verify(delegate, timeout(5000)).write(Buffer.buffer("ab"));
+  }
+
+  @Test
+  public void shouldWriteBufferedDataOnEnd() throws Exception {
+    // Given:
+    final CoalescingWriteStream stream = createStream(10_000L);
+
+    // When:
+    execOnContextAndWait(() -> {
+      stream.write(Buffer.buffer("a"));
+      stream.end();
+    });
+
+    // Then:
+    final InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).write(Buffer.buffer("a"));
+    inOrder.verify(delegate).end();
+  }
+
+  private CoalescingWriteStream createStream(final long lingerMs) {
+    return new CoalescingWriteStream(context, delegate, MAX_BATCH_BYTES, lingerMs);
+  }
+
+  private void execOnContextAndWait(final Runnable action) throws Exception {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    context.runOnContext(v -> {
+      try {
+        action.run();
+        future.complete(null);
+      } catch (final Throwable t) {
+        future.completeExceptionally(t);
+      }
+    });
+    future.get(10, TimeUnit.SECONDS);
+  }
+}
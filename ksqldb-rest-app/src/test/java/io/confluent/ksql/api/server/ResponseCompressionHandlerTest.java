@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.kafka.common.metrics.Metrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResponseCompressionHandlerTest {
+
+  private static final int MIN_SIZE = 100;
+
+  @Mock
+  private RoutingContext routingContext;
+  @Mock
+  private HttpServerRequest request;
+  @Mock
+  private HttpServerResponse response;
+  @Captor
+  private ArgumentCaptor<Handler<Void>> headersEndCaptor;
+  @Captor
+  private ArgumentCaptor<Handler<Void>> bodyEndCaptor;
+
+  private final MultiMap requestHeaders = MultiMap.caseInsensitiveMultiMap();
+  private final MultiMap responseHeaders = MultiMap.caseInsensitiveMultiMap();
+  private final Metrics metrics = new Metrics();
+  private ResponseCompressionHandler handler;
+
+  @Before
+  public void setUp() {
+    when(routingContext.request()).thenReturn(request);
+    when(request.headers()).thenReturn(requestHeaders);
+
+    handler = new ResponseCompressionHandler(MIN_SIZE, metrics, "_confluent-ksql-default_",
+        ImmutableMap.of());
+  }
+
+  @After
+  public void tearDown() {
+    handler.close();
+    metrics.close();
+  }
+
+  @Test
+  public void shouldNotCompressSmallResponses() {
+    // Given:
+    givenRequestAccepting("gzip, deflate");
+    responseHeaders.set(HttpHeaders.CONTENT_LENGTH, "99");
+
+    // When:
+    handler.handle(routingContext);
+    headersEndCaptor.getValue().handle(null);
+    bodyEndCaptor.getValue().handle(null);
+
+    // Then:
+    assertThat(responseHeaders.get(HttpHeaders.CONTENT_ENCODING), is("identity"));
+    assertThat(metric("uncompressed-responses-count"), is(1.0));
+    assertThat(metric("compressed-responses-count"), is(0.0));
+    verify(routingContext).next();
+  }
+
+  @Test
+  public void shouldCompressLargeResponses() {
+    // Given:
+    givenRequestAccepting("gzip");
+    responseHeaders.set(HttpHeaders.CONTENT_LENGTH, "100");
+    when(response.bytesWritten()).thenReturn(100L);
+
+    // When:
+    handler.handle(routingContext);
+    headersEndCaptor.getValue().handle(null);
+    bodyEndCaptor.getValue().handle(null);
+
+    // Then:
+    assertThat(responseHeaders.get(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+    assertThat(metric("compressed-responses-count"), is(1.0));
+    assertThat(metric("compressed-responses-bytes-total"), is(100.0));
+  }
+
+  @Test
+  public void shouldCompressStreamedResponses() {
+    // Given:
+    givenRequestAccepting("deflate");
+    when(response.bytesWritten()).thenReturn(5000L);
+
+    // When:
+    handler.handle(routingContext);
+    headersEndCaptor.getValue().handle(null);
+    bodyEndCaptor.getValue().handle(null);
+
+    // Then:
+    assertThat(responseHeaders.get(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+    assertThat(metric("compressed-responses-count"), is(1.0));
+    assertThat(metric("compressed-responses-bytes-total"), is(5000.0));
+  }
+
+  @Test
+  public void shouldNotTouchResponsesThatAreAlreadyEncoded() {
+    // Given:
+    givenRequestAccepting("gzip");
+    responseHeaders.set(HttpHeaders.CONTENT_ENCODING, "br");
+
+    // When:
+    handler.handle(routingContext);
+    headersEndCaptor.getValue().handle(null);
+    bodyEndCaptor.getValue().handle(null);
+
+    // Then:
+    assertThat(responseHeaders.get(HttpHeaders.CONTENT_ENCODING), is("br"));
+    assertThat(metric("compressed-responses-count"), is(0.0));
+    assertThat(metric("uncompressed-responses-count"), is(0.0));
+  }
+
+  @Test
+  public void shouldIgnoreRequestsNotAcceptingCompression() {
+    // When:
+    handler.handle(routingContext);
+
+    // Then:
+    verify(routingContext, never()).addHeadersEndHandler(any());
+    verify(routingContext).next();
+  }
+
+  private void givenRequestAccepting(final String encodings) {
+    requestHeaders.set(HttpHeaders.ACCEPT_ENCODING, encodings);
+    when(routingContext.response()).thenReturn(response);
+    when(response.headers()).thenReturn(responseHeaders);
+    when(routingContext.addHeadersEndHandler(headersEndCaptor.capture())).thenReturn(0);
+    when(routingContext.addBodyEndHandler(bodyEndCaptor.capture())).thenReturn(0);
+  }
+
+  private double metric(final String name) {
+    return (Double) metrics.metric(metrics.metricName(
+        name, "_confluent-ksql-default_response-compression", ImmutableMap.of()
+    )).metricValue();
+  }
+}
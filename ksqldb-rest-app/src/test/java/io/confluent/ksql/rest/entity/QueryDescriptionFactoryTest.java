@@ -133,6 +133,7 @@ public class QueryDescriptionFactoryTest {
         QUERY_ID,
         DataSourceType.KSTREAM,
         Optional.empty(),
+        Optional.empty(),
         APPLICATION_ID,
         sinkTopic,
         topology,
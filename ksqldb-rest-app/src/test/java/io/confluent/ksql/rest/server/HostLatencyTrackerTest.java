@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.rest.server.HostLatencyTracker.HostLatency;
+import io.confluent.ksql.util.KsqlHostInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HostLatencyTrackerTest {
+
+  private static final KsqlHostInfo HOST1 = new KsqlHostInfo("host1", 8088);
+  private static final KsqlHostInfo HOST2 = new KsqlHostInfo("host2", 8088);
+  private static final KsqlHostInfo HOST3 = new KsqlHostInfo("host3", 8088);
+
+  private HostLatencyTracker tracker;
+
+  @Before
+  public void setUp() {
+    tracker = new HostLatencyTracker();
+  }
+
+  @Test
+  public void shouldReturnEmptyForUnknownHost() {
+    assertThat(tracker.getLatency(HOST1), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldUseFirstObservationAsLatency() {
+    // When:
+    tracker.recordSuccess(HOST1, 100);
+
+    // Then:
+    final HostLatency latency = tracker.getLatency(HOST1).get();
+    assertThat(latency.getLatencyMs(), is(100.0));
+    assertThat(latency.getErrorRate(), is(0.0));
+  }
+
+  @Test
+  public void shouldAverageLatencies() {
+    // When:
+    tracker.recordSuccess(HOST1, 100);
+    tracker.recordSuccess(HOST1, 200);
+
+    // Then:
+    assertThat(tracker.getLatency(HOST1).get().getLatencyMs(), is(closeTo(120.0, 0.001)));
+  }
+
+  @Test
+  public void shouldTrackErrorRateWithoutChangingLatency() {
+    // Given:
+    tracker.recordSuccess(HOST1, 100);
+
+    // When:
+    tracker.recordError(HOST1);
+
+    // Then:
+    final HostLatency latency = tracker.getLatency(HOST1).get();
+    assertThat(latency.getLatencyMs(), is(100.0));
+    assertThat(latency.getErrorRate(), is(closeTo(0.2, 0.001)));
+  }
+
+  @Test
+  public void shouldOrderHostsFastestFirst() {
+    // Given:
+    tracker.recordSuccess(HOST1, 300);
+    tracker.recordSuccess(HOST2, 100);
+    tracker.recordSuccess(HOST3, 200);
+
+    // When:
+    final List<KsqlHostInfo> hosts = sorted(HOST1, HOST2, HOST3);
+
+    // Then:
+    assertThat(hosts, contains(HOST2, HOST3, HOST1));
+  }
+
+  @Test
+  public void shouldOrderUnobservedHostsFirst() {
+    // Given:
+    tracker.recordSuccess(HOST1, 1);
+
+    // When:
+    final List<KsqlHostInfo> hosts = sorted(HOST1, HOST2);
+
+    // Then:
+    assertThat(hosts, contains(HOST2, HOST1));
+  }
+
+  @Test
+  public void shouldPenalizeHostsWithErrors() {
+    // Given:
+    tracker.recordSuccess(HOST1, 100);
+    tracker.recordError(HOST1);
+    tracker.recordSuccess(HOST2, 200);
+
+    // When:
+    final List<KsqlHostInfo> hosts = sorted(HOST1, HOST2);
+
+    // Then:
+    assertThat(hosts, contains(HOST2, HOST1));
+  }
+
+  @Test
+  public void shouldOrderHostsWithOnlyErrorsLast() {
+    // Given:
+    tracker.recordError(HOST1);
+    tracker.recordSuccess(HOST2, 10_000);
+
+    // When:
+    final List<KsqlHostInfo> hosts = sorted(HOST1, HOST2);
+
+    // Then:
+    assertThat(hosts, contains(HOST2, HOST1));
+    assertThat(Double.isNaN(tracker.getLatency(HOST1).get().getLatencyMs()), is(true));
+  }
+
+  private List<KsqlHostInfo> sorted(final KsqlHostInfo... hosts) {
+    final List<KsqlHostInfo> result = new ArrayList<>(ImmutableList.copyOf(hosts));
+    result.sort(tracker.fastestFirst());
+    return result;
+  }
+}
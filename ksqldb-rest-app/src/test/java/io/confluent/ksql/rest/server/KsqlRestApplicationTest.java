@@ -188,6 +188,15 @@ public class KsqlRestApplicationTest {
     verify(serviceContext).close();
   }
 
+  @Test
+  public void shouldClosePullQueryExecutorOnClose() {
+    // When:
+    app.triggerShutdown();
+
+    // Then:
+    verify(pullQueryExecutor).close();
+  }
+
   @Test
   public void shouldCloseSecurityExtensionOnClose() {
     // When:
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import io.confluent.ksql.util.KsqlException;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.Test;
+
+public class PullQueryContinuationTokenTest {
+
+  @Test
+  public void shouldRoundTripTokenWithWindowStart() {
+    // Given:
+    final PullQueryContinuationToken token =
+        PullQueryContinuationToken.at(3, 2, Instant.ofEpochMilli(1234L));
+
+    // When:
+    final PullQueryContinuationToken result =
+        PullQueryContinuationToken.parse(token.serialize());
+
+    // Then:
+    assertThat(result, is(token));
+    assertThat(result.windowStart(), is(Optional.of(Instant.ofEpochMilli(1234L))));
+  }
+
+  @Test
+  public void shouldRoundTripTokenForStartOfPartition() {
+    // Given:
+    final PullQueryContinuationToken token = PullQueryContinuationToken.startOf(5);
+
+    // When:
+    final PullQueryContinuationToken result =
+        PullQueryContinuationToken.parse(token.serialize());
+
+    // Then:
+    assertThat(result.partition(), is(5));
+    assertThat(result.keyIndex(), is(0));
+    assertThat(result.windowStart(), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldThrowOnInvalidToken() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> PullQueryContinuationToken.parse("not a token")
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Invalid continuation token: not a token"));
+  }
+}
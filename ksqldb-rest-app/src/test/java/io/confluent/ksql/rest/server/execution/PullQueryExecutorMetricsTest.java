@@ -98,6 +98,34 @@ public class PullQueryExecutorMetricsTest {
     assertThat(rate, closeTo(0.03, 0.001));
   }
 
+  @Test
+  public void shouldRecordHedgesFired() {
+    // Given:
+    pullMetrics.recordHedgeFired(3);
+
+    // When:
+    final double value = getMetricValue("-hedges-fired-count");
+    final double rate = getMetricValue("-hedges-fired-rate");
+
+    // Then:
+    assertThat(value, equalTo(1.0));
+    assertThat(rate, closeTo(0.03, 0.001));
+  }
+
+  @Test
+  public void shouldRecordHedgesWon() {
+    // Given:
+    pullMetrics.recordHedgeWon(3);
+
+    // When:
+    final double value = getMetricValue("-hedges-won-count");
+    final double rate = getMetricValue("-hedges-won-rate");
+
+    // Then:
+    assertThat(value, equalTo(1.0));
+    assertThat(rate, closeTo(0.03, 0.001));
+  }
+
   @Test
   public void shouldRecordErrorRate() {
     // Given:
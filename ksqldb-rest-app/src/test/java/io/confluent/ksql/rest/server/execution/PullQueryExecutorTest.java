@@ -21,30 +21,73 @@ import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.
 import static io.confluent.ksql.rest.server.resources.KsqlRestExceptionMatchers.exceptionStatusCode;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Range;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.KsqlExecutionContext;
 import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
 import io.confluent.ksql.execution.streams.RoutingFilters;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlPartitionLocation;
+import io.confluent.ksql.execution.streams.materialization.MaterializationException;
+import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
+import io.confluent.ksql.execution.streams.materialization.ScanLimitExceededException;
+import io.confluent.ksql.execution.streams.materialization.WindowedRow;
+import io.confluent.ksql.execution.util.StructKeyUtil;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.rest.SessionProperties;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.rest.server.HostLatencyTracker;
 import io.confluent.ksql.rest.server.TemporaryEngine;
+import io.confluent.ksql.rest.server.execution.PullQueryExecutor.Page;
+import io.confluent.ksql.rest.server.execution.PullQueryExecutor.RouteQuery;
 import io.confluent.ksql.rest.server.resources.KsqlRestException;
 import io.confluent.ksql.rest.server.validation.CustomValidators;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.statement.ConfiguredStatement;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(Enclosed.class)
@@ -69,7 +112,8 @@ public class PullQueryExecutorTest {
           engine.getKsqlConfig()
       );
       PullQueryExecutor pullQueryExecutor = new PullQueryExecutor(
-          engine.getEngine(), ROUTING_FILTER_FACTORY, engine.getKsqlConfig());
+          engine.getEngine(), ROUTING_FILTER_FACTORY, engine.getKsqlConfig(),
+          new HostLatencyTracker());
 
       // When:
       final Exception e = assertThrows(
@@ -129,11 +173,655 @@ public class PullQueryExecutorTest {
     @Test
     public void shouldRateLimit() {
       PullQueryExecutor pullQueryExecutor = new PullQueryExecutor(
-          engine.getEngine(), ROUTING_FILTER_FACTORY, engine.getKsqlConfig());
+          engine.getEngine(), ROUTING_FILTER_FACTORY, engine.getKsqlConfig(),
+          new HostLatencyTracker());
 
       // When:
       pullQueryExecutor.checkRateLimit();
       assertThrows(KsqlException.class, pullQueryExecutor::checkRateLimit);
     }
   }
+
+  @RunWith(MockitoJUnitRunner.class)
+  public static class Routing {
+
+    private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+        .keyColumn(ColumnName.of("K0"), SqlTypes.STRING)
+        .valueColumn(ColumnName.of("V0"), SqlTypes.STRING)
+        .build();
+
+    private static final Struct A_KEY = StructKeyUtil
+        .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("x");
+
+    @Mock
+    private KsqlNode node1;
+    @Mock
+    private KsqlNode node2;
+    @Mock
+    private KsqlPartitionLocation location;
+    @Mock
+    private RouteQuery routeQuery;
+    @Mock
+    private KsqlNode node3;
+    @Mock
+    private MaterializedWindowedTable windowedTable;
+    @Mock
+    private TableRowsEntity primaryRows;
+    @Mock
+    private TableRowsEntity hedgeRows;
+    @Mock
+    private KsqlPartitionLocation location2;
+    @Mock
+    private KsqlPartitionLocation location3;
+    @Mock
+    private TableRowsEntity node2Rows;
+    @Mock
+    private TableRowsEntity node3Rows;
+
+    private final CountDownLatch primaryInterrupted = new CountDownLatch(1);
+    private PullQueryExecutor executor;
+
+    @Before
+    public void setUp() {
+      executor = new PullQueryExecutor(
+          mock(KsqlExecutionContext.class),
+          ROUTING_FILTER_FACTORY,
+          new KsqlConfig(ImmutableMap.of()),
+          new HostLatencyTracker()
+      );
+    }
+
+    @After
+    public void tearDown() {
+      executor.close();
+    }
+
+    @Test
+    public void shouldUseHedgeIfPrimaryIsSlow() {
+      // Given:
+      givenNodes(node1, node2);
+      final RouteQuery slowPrimary = (node, locations, page) -> node == node1
+          ? blockUntilInterrupted()
+          : hedgeRows;
+
+      // When:
+      final List<TableRowsEntity> results = executor.route(
+          ImmutableList.of(location), Optional.empty(), 10, Optional.empty(), slowPrimary);
+
+      // Then:
+      assertThat(results, contains(hedgeRows));
+    }
+
+    @Test
+    public void shouldUsePrimaryIfItAnswersWithinHedgeDelay() {
+      // Given:
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(node1, node2));
+      when(routeQuery.routeQuery(node1, ImmutableList.of(location), Optional.empty()))
+          .thenReturn(primaryRows);
+
+      // When:
+      final List<TableRowsEntity> results = executor.route(
+          ImmutableList.of(location), Optional.empty(), 60_000, Optional.empty(), routeQuery);
+
+      // Then:
+      assertThat(results, contains(primaryRows));
+      verify(routeQuery, never()).routeQuery(eq(node2), any(), any());
+    }
+
+    @Test
+    public void shouldCancelPrimaryOnceHedgeWins() throws Exception {
+      // Given:
+      givenNodes(node1, node2);
+      final RouteQuery slowPrimary = (node, locations, page) -> node == node1
+          ? blockUntilInterrupted()
+          : hedgeRows;
+
+      // When:
+      executor.route(
+          ImmutableList.of(location), Optional.empty(), 10, Optional.empty(), slowPrimary);
+
+      // Then:
+      assertThat(primaryInterrupted.await(30, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void shouldFailWithSingleErrorWithoutFailingOverIfPrimaryAndHedgeFail() {
+      // Given:
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(node2.location()).thenReturn(URI.create("http://node2:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(node1, node2, node3));
+      final CountDownLatch hedgeFailed = new CountDownLatch(1);
+      final List<KsqlNode> routedTo = new CopyOnWriteArrayList<>();
+      final RouteQuery bothFail = (node, locations, page) -> {
+        routedTo.add(node);
+        if (node == node2) {
+          hedgeFailed.countDown();
+          throw new MaterializationException("node2 failed");
+        }
+        try {
+          hedgeFailed.await(30, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw new MaterializationException("node1 failed");
+      };
+
+      // When:
+      final Exception e = assertThrows(
+          MaterializationException.class,
+          () -> executor.route(
+              ImmutableList.of(location), Optional.empty(), 10, Optional.empty(), bothFail)
+      );
+
+      // Then:
+      assertThat(e.getMessage(), startsWith("Unable to execute pull query: "));
+      assertThat(routedTo, containsInAnyOrder(node1, node2));
+    }
+
+    @Test
+    public void shouldNotFailOverWhenScanLimitExceeded() {
+      // Given:
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(node1, node2));
+      when(routeQuery.routeQuery(node1, ImmutableList.of(location), Optional.empty()))
+          .thenThrow(new ScanLimitExceededException("Too many rows"));
+
+      // When:
+      final Exception e = assertThrows(
+          ScanLimitExceededException.class,
+          () -> executor.route(
+              ImmutableList.of(location), Optional.empty(), 0, Optional.empty(), routeQuery)
+      );
+
+      // Then:
+      assertThat(e.getMessage(), is("Too many rows"));
+      verify(routeQuery, never()).routeQuery(eq(node2), any(), any());
+    }
+
+    @Test
+    public void shouldNotHedgeWhenScanLimitExceeded() {
+      // Given:
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(node1, node2));
+      when(routeQuery.routeQuery(node1, ImmutableList.of(location), Optional.empty()))
+          .thenThrow(new ScanLimitExceededException("Too many rows"));
+
+      // When:
+      final Exception e = assertThrows(
+          ScanLimitExceededException.class,
+          () -> executor.route(
+              ImmutableList.of(location), Optional.empty(), 60_000, Optional.empty(), routeQuery)
+      );
+
+      // Then:
+      assertThat(e.getMessage(), is("Too many rows"));
+      verify(routeQuery, never()).routeQuery(eq(node2), any(), any());
+    }
+
+    @Test
+    public void shouldFailWindowScanWithLimitMessageOnceLimitExceeded() {
+      // Given:
+      when(location.partition()).thenReturn(1);
+      doAnswer(inv -> {
+        final Predicate<WindowedRow> visitor = inv.getArgument(2);
+        for (int i = 0; i != 3; ++i) {
+          visitor.test(windowedRow(i));
+        }
+        return null;
+      }).when(windowedTable).scanAll(eq(1), any(), any());
+
+      // When:
+      final Exception e = assertThrows(
+          ScanLimitExceededException.class,
+          () -> PullQueryExecutor.scanWindows(
+              windowedTable, ImmutableList.of(location), Range.all(), 2)
+      );
+
+      // Then:
+      assertThat(e.getMessage(), containsString(
+          "Pull query without a key matched more than the maximum of 2 rows."));
+      assertThat(e.getMessage(), containsString(
+          KsqlConfig.KSQL_QUERY_PULL_TABLE_SCAN_MAX_ROWS_CONFIG));
+    }
+
+    @Test
+    public void shouldSendEachNodeOneRequestForAllPartitionsItHosts() {
+      // Given:
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(node2.location()).thenReturn(URI.create("http://node2:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(node1));
+      when(location2.nodes()).thenReturn(ImmutableList.of(node2));
+      when(location3.nodes()).thenReturn(ImmutableList.of(node1));
+      when(routeQuery.routeQuery(node1, ImmutableList.of(location, location3), Optional.empty()))
+          .thenReturn(primaryRows);
+      when(routeQuery.routeQuery(node2, ImmutableList.of(location2), Optional.empty()))
+          .thenReturn(node2Rows);
+
+      // When:
+      final List<TableRowsEntity> results = executor.route(
+          ImmutableList.of(location, location2, location3), Optional.empty(), 0,
+          Optional.empty(), routeQuery);
+
+      // Then:
+      assertThat(results, contains(primaryRows, node2Rows));
+      verify(routeQuery).routeQuery(eq(node1), any(), any());
+      verify(routeQuery).routeQuery(eq(node2), any(), any());
+    }
+
+    @Test
+    public void shouldFailOverEachPartitionOfFailedNodeToItsOwnNextNode() {
+      // Given:
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(node2.location()).thenReturn(URI.create("http://node2:8088"));
+      when(node3.location()).thenReturn(URI.create("http://node3:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(node1, node2));
+      when(location2.nodes()).thenReturn(ImmutableList.of(node1, node3));
+      when(routeQuery.routeQuery(node1, ImmutableList.of(location, location2), Optional.empty()))
+          .thenThrow(new MaterializationException("node1 failed"));
+      when(routeQuery.routeQuery(node2, ImmutableList.of(location), Optional.empty()))
+          .thenReturn(node2Rows);
+      when(routeQuery.routeQuery(node3, ImmutableList.of(location2), Optional.empty()))
+          .thenReturn(node3Rows);
+
+      // When:
+      final List<TableRowsEntity> results = executor.route(
+          ImmutableList.of(location, location2), Optional.empty(), 0, Optional.empty(),
+          routeQuery);
+
+      // Then:
+      assertThat(results, contains(node2Rows, node3Rows));
+    }
+
+    @Test
+    public void shouldNotFailOverOtherNodesIfPartitionOfFailedNodeHasNoNextNode() {
+      // Given:
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(node1, node2));
+      when(location2.nodes()).thenReturn(ImmutableList.of(node1));
+      when(location3.nodes()).thenReturn(ImmutableList.of(node2));
+      when(routeQuery.routeQuery(node1, ImmutableList.of(location, location2), Optional.empty()))
+          .thenThrow(new MaterializationException("node1 failed"));
+
+      // When:
+      final Exception e = assertThrows(
+          MaterializationException.class,
+          () -> executor.route(
+              ImmutableList.of(location, location2, location3), Optional.empty(), 0,
+              Optional.empty(), routeQuery)
+      );
+
+      // Then:
+      assertThat(e.getMessage(), is("Unable to execute pull query: node1 failed"));
+      verify(routeQuery, never()).routeQuery(eq(node2), any(), any());
+    }
+
+    @Test
+    public void shouldMergeRowsOfEachNodeInRoutingOrder() {
+      // Given:
+      final TableRowsEntity fromNode1 = new TableRowsEntity(
+          "sql", new QueryId("q1"), SCHEMA, ImmutableList.of(ImmutableList.of("c", "v")));
+      final TableRowsEntity fromNode2 = new TableRowsEntity(
+          "sql", new QueryId("q1"), SCHEMA,
+          ImmutableList.of(ImmutableList.of("a", "v"), ImmutableList.of("b", "v")));
+
+      // When:
+      final TableRowsEntity merged = PullQueryExecutor.mergeResults(
+          "sql", ImmutableList.of(fromNode1, fromNode2));
+
+      // Then:
+      assertThat(merged.getQueryId(), is(new QueryId("q1")));
+      assertThat(merged.getSchema(), is(SCHEMA));
+      assertThat(merged.getRows(), contains(
+          ImmutableList.of("c", "v"), ImmutableList.of("a", "v"), ImmutableList.of("b", "v")));
+    }
+
+    @Test
+    public void shouldReturnResultOfSingleNodeAsIs() {
+      assertThat(
+          PullQueryExecutor.mergeResults("sql", ImmutableList.of(primaryRows)),
+          is(primaryRows));
+    }
+
+    private void givenNodes(final KsqlNode primary, final KsqlNode hedge) {
+      when(primary.location()).thenReturn(URI.create("http://primary:8088"));
+      when(hedge.location()).thenReturn(URI.create("http://hedge:8088"));
+      when(location.nodes()).thenReturn(ImmutableList.of(primary, hedge));
+    }
+
+    private TableRowsEntity blockUntilInterrupted() {
+      try {
+        new CountDownLatch(1).await(30, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        primaryInterrupted.countDown();
+      }
+      throw new MaterializationException("primary cancelled");
+    }
+
+    private static WindowedRow windowedRow(final long windowStart) {
+      return WindowedRow.of(
+          SCHEMA,
+          new Windowed<>(A_KEY, new TimeWindow(windowStart, windowStart + 1)),
+          GenericRow.genericRow("v"),
+          windowStart
+      );
+    }
+  }
+
+  @RunWith(MockitoJUnitRunner.class)
+  public static class Paging {
+
+    private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+        .keyColumn(ColumnName.of("K0"), SqlTypes.STRING)
+        .valueColumn(ColumnName.of("V0"), SqlTypes.STRING)
+        .build();
+
+    private static final Struct KEY_A = StructKeyUtil
+        .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("a");
+    private static final Struct KEY_B = StructKeyUtil
+        .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("b");
+
+    @Mock
+    private KsqlNode node1;
+    @Mock
+    private KsqlPartitionLocation location1;
+    @Mock
+    private KsqlPartitionLocation location2;
+    @Mock
+    private RouteQuery routeQuery;
+    @Mock
+    private MaterializedWindowedTable windowedTable;
+
+    private final List<PullQueryContinuationToken> next = new ArrayList<>();
+    private PullQueryExecutor executor;
+
+    @Before
+    public void setUp() {
+      executor = new PullQueryExecutor(
+          mock(KsqlExecutionContext.class),
+          ROUTING_FILTER_FACTORY,
+          new KsqlConfig(ImmutableMap.of()),
+          new HostLatencyTracker()
+      );
+    }
+
+    @After
+    public void tearDown() {
+      executor.close();
+    }
+
+    @Test
+    public void shouldNotPageWithoutPageSizeOrContinuationToken() {
+      assertThat(PullQueryExecutor.getPage(0, Optional.empty(), true, false), is(Optional.empty()));
+    }
+
+    @Test
+    public void shouldPageWithContinuationTokenAlone() {
+      assertThat(
+          PullQueryExecutor.getPage(0, Optional.of(token(1, 0)), true, false).isPresent(),
+          is(true));
+    }
+
+    @Test
+    public void shouldNotPageQueriesOnNonWindowedTables() {
+      // When:
+      final Exception e = assertThrows(
+          KsqlException.class,
+          () -> PullQueryExecutor.getPage(10, Optional.empty(), false, false)
+      );
+
+      // Then:
+      assertThat(e.getMessage(), containsString(
+          "Paging is only supported for pull queries on windowed tables."));
+    }
+
+    @Test
+    public void shouldNotPageQueriesWithoutKey() {
+      // When:
+      final Exception e = assertThrows(
+          KsqlException.class,
+          () -> PullQueryExecutor.getPage(10, Optional.empty(), true, true)
+      );
+
+      // Then:
+      assertThat(e.getMessage(), containsString(
+          "Paging is not supported for pull queries without a key."));
+    }
+
+    @Test
+    public void shouldRejectContinuationTokenForPartitionNotQueried() {
+      // Given:
+      when(location1.partition()).thenReturn(1);
+      final Page page = new Page(10, Optional.of(token(5, 0)));
+
+      // When:
+      final Exception e = assertThrows(
+          KsqlException.class,
+          () -> page.checkResumesWithin(ImmutableList.of(location1))
+      );
+
+      // Then:
+      assertThat(e.getMessage(), containsString("Invalid continuation token"));
+    }
+
+    @Test
+    public void shouldRejectContinuationTokenForKeyBeyondKeysOfPartition() {
+      // Given:
+      givenKeys(location1, 1, KEY_A, KEY_B);
+      final Page page = new Page(10, Optional.of(token(1, 2)));
+
+      // When:
+      final Exception e = assertThrows(
+          KsqlException.class,
+          () -> page.checkResumesWithin(ImmutableList.of(location1))
+      );
+
+      // Then:
+      assertThat(e.getMessage(), containsString("Invalid continuation token"));
+    }
+
+    @Test
+    public void shouldAcceptContinuationTokenWithinKeysOfQuery() {
+      // Given:
+      givenKeys(location1, 1, KEY_A, KEY_B);
+      final Page page = new Page(10, Optional.of(token(1, 1)));
+
+      // When:
+      page.checkResumesWithin(ImmutableList.of(location1));
+
+      // Then: did not throw.
+    }
+
+    @Test
+    public void shouldScanUntilPageIsFullAndReturnPositionOfNextRow() {
+      // Given:
+      givenKeys(location1, 1, KEY_A, KEY_B);
+      givenWindows(KEY_A, 0, 1);
+      givenWindows(KEY_B, 2, 3);
+
+      // When:
+      final List<WindowedRow> rows = PullQueryExecutor.scanPage(windowedTable,
+          new Page(3, Optional.empty()), ImmutableList.of(location1), Range.all(), next::add);
+
+      // Then:
+      assertThat(windowStarts(rows), contains(0L, 1L, 2L));
+      assertThat(next, contains(PullQueryContinuationToken.at(1, 1, Instant.ofEpochMilli(3))));
+    }
+
+    @Test
+    public void shouldNotReturnContinuationTokenForLastPage() {
+      // Given:
+      givenKeys(location1, 1, KEY_A, KEY_B);
+      givenWindows(KEY_A, 0, 1);
+      givenWindows(KEY_B, 2, 3);
+
+      // When:
+      final List<WindowedRow> rows = PullQueryExecutor.scanPage(windowedTable,
+          new Page(4, Optional.empty()), ImmutableList.of(location1), Range.all(), next::add);
+
+      // Then:
+      assertThat(windowStarts(rows), contains(0L, 1L, 2L, 3L));
+      assertThat(next, is(empty()));
+    }
+
+    @Test
+    public void shouldResumeScanMidKeyFromWindowStartOfToken() {
+      // Given:
+      givenKeys(location1, 1, KEY_A, KEY_B);
+      givenWindows(KEY_B, 2, 3, 4);
+      final Page page = new Page(10,
+          Optional.of(PullQueryContinuationToken.at(1, 1, Instant.ofEpochMilli(3))));
+
+      // When:
+      final List<WindowedRow> rows = PullQueryExecutor.scanPage(
+          windowedTable, page, ImmutableList.of(location1), Range.all(), next::add);
+
+      // Then:
+      assertThat(windowStarts(rows), contains(3L, 4L));
+      verify(windowedTable).scan(eq(KEY_B), eq(Range.atLeast(Instant.ofEpochMilli(3))), any());
+      verify(windowedTable, never()).scan(eq(KEY_A), any(), any());
+      assertThat(next, is(empty()));
+    }
+
+    @Test
+    public void shouldResumeScanFromFirstKeyOfLaterPartition() {
+      // Given:
+      when(location1.partition()).thenReturn(1);
+      givenKeys(location2, 2, KEY_B);
+      givenWindows(KEY_B, 2, 3);
+      final Page page = new Page(10, Optional.of(token(2, 0)));
+
+      // When:
+      final List<WindowedRow> rows = PullQueryExecutor.scanPage(windowedTable, page,
+          ImmutableList.of(location1, location2), Range.all(), next::add);
+
+      // Then:
+      assertThat(windowStarts(rows), contains(2L, 3L));
+      verify(windowedTable).scan(eq(KEY_B), eq(Range.all()), any());
+    }
+
+    @Test
+    public void shouldStopRoutingPartitionsOncePageIsFull() {
+      // Given:
+      givenRoutable(location1, 1);
+      when(location2.partition()).thenReturn(2);
+      when(routeQuery.routeQuery(eq(node1), eq(ImmutableList.of(location1)), any()))
+          .thenReturn(entity(Optional.empty(), "a0", "a1"));
+
+      // When:
+      final TableRowsEntity result = executor.routePages(ImmutableList.of(location1, location2),
+          new Page(2, Optional.empty()), 0, Optional.empty(), "sql", routeQuery);
+
+      // Then:
+      assertThat(result.getRows(), contains(row("a0"), row("a1")));
+      assertThat(result.getContinuationToken(), is(Optional.of(token(2, 0).serialize())));
+      verify(routeQuery, never()).routeQuery(any(), eq(ImmutableList.of(location2)), any());
+    }
+
+    @Test
+    public void shouldReturnContinuationTokenOfPartitionThatFilledPage() {
+      // Given:
+      final String token = PullQueryContinuationToken.at(1, 0, Instant.ofEpochMilli(5))
+          .serialize();
+      givenRoutable(location1, 1);
+      when(location2.partition()).thenReturn(2);
+      when(routeQuery.routeQuery(eq(node1), eq(ImmutableList.of(location1)), any()))
+          .thenReturn(entity(Optional.of(token), "a0"));
+
+      // When:
+      final TableRowsEntity result = executor.routePages(ImmutableList.of(location1, location2),
+          new Page(1, Optional.empty()), 0, Optional.empty(), "sql", routeQuery);
+
+      // Then:
+      assertThat(result.getRows(), contains(row("a0")));
+      assertThat(result.getContinuationToken(), is(Optional.of(token)));
+      verify(routeQuery, never()).routeQuery(any(), eq(ImmutableList.of(location2)), any());
+    }
+
+    @Test
+    public void shouldRoutePartitionsInOrderWithoutTokenOnLastPage() {
+      // Given:
+      givenRoutable(location1, 1);
+      givenRoutable(location2, 2);
+      when(routeQuery.routeQuery(eq(node1), eq(ImmutableList.of(location1)), any()))
+          .thenReturn(entity(Optional.empty(), "a0"));
+      when(routeQuery.routeQuery(eq(node1), eq(ImmutableList.of(location2)), any()))
+          .thenReturn(entity(Optional.empty(), "b0"));
+
+      // When:
+      final TableRowsEntity result = executor.routePages(ImmutableList.of(location2, location1),
+          new Page(10, Optional.empty()), 0, Optional.empty(), "sql", routeQuery);
+
+      // Then:
+      assertThat(result.getRows(), contains(row("a0"), row("b0")));
+      assertThat(result.getContinuationToken(), is(Optional.empty()));
+    }
+
+    private static PullQueryContinuationToken token(final int partition, final int keyIndex) {
+      return keyIndex == 0
+          ? PullQueryContinuationToken.startOf(partition)
+          : PullQueryContinuationToken.at(partition, keyIndex, Instant.ofEpochMilli(0));
+    }
+
+    private static void givenKeys(
+        final KsqlPartitionLocation location,
+        final int partition,
+        final Struct... keys
+    ) {
+      when(location.partition()).thenReturn(partition);
+      when(location.keys()).thenReturn(ImmutableList.copyOf(keys));
+    }
+
+    private void givenRoutable(final KsqlPartitionLocation location, final int partition) {
+      when(node1.location()).thenReturn(URI.create("http://node1:8088"));
+      when(location.partition()).thenReturn(partition);
+      when(location.nodes()).thenReturn(ImmutableList.of(node1));
+    }
+
+    private void givenWindows(final Struct key, final long... windowStarts) {
+      doAnswer(inv -> {
+        final Range<Instant> windowStart = inv.getArgument(1);
+        final Predicate<WindowedRow> visitor = inv.getArgument(2);
+        for (final long start : windowStarts) {
+          if (windowStart.contains(Instant.ofEpochMilli(start))
+              && !visitor.test(windowedRow(key, start))) {
+            return null;
+          }
+        }
+        return null;
+      }).when(windowedTable).scan(eq(key), any(), any());
+    }
+
+    private static WindowedRow windowedRow(final Struct key, final long windowStart) {
+      return WindowedRow.of(
+          SCHEMA,
+          new Windowed<>(key, new TimeWindow(windowStart, windowStart + 1)),
+          GenericRow.genericRow("v"),
+          windowStart
+      );
+    }
+
+    private static List<Long> windowStarts(final List<WindowedRow> rows) {
+      return rows.stream()
+          .map(row -> row.windowedKey().window().start())
+          .collect(Collectors.toList());
+    }
+
+    private static TableRowsEntity entity(
+        final Optional<String> continuationToken,
+        final String... values
+    ) {
+      return new TableRowsEntity(
+          "sql",
+          new QueryId("q1"),
+          SCHEMA,
+          Arrays.stream(values).map(Paging::row).collect(Collectors.toList()),
+          continuationToken
+      );
+    }
+
+    private static List<?> row(final String key) {
+      return ImmutableList.of(key, "v");
+    }
+  }
 }
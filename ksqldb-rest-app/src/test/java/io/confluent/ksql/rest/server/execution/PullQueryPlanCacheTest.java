@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
+import io.confluent.ksql.parser.tree.AllColumns;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.parser.tree.ResultMaterialization;
+import io.confluent.ksql.parser.tree.Select;
+import io.confluent.ksql.parser.tree.Table;
+import io.confluent.ksql.statement.ConfiguredStatement;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PullQueryPlanCacheTest {
+
+  private static final KsqlConfig KSQL_CONFIG = new KsqlConfig(ImmutableMap.of());
+  private static final ColumnName ID = ColumnName.of("ID");
+
+  private PullQueryPlanCache<String> cache;
+
+  @Before
+  public void setUp() {
+    cache = new PullQueryPlanCache<>(10);
+  }
+
+  @Test
+  public void shouldSharePlanBetweenStatementsThatOnlyDifferInLiterals() {
+    // Given:
+    cache.put(pullQuery(whereIdEquals(1), ImmutableMap.of()), "plan");
+
+    // When:
+    final Optional<String> result = cache.get(pullQuery(whereIdEquals(2), ImmutableMap.of()));
+
+    // Then:
+    assertThat(result, is(Optional.of("plan")));
+  }
+
+  @Test
+  public void shouldNotSharePlanBetweenStatementsWithDifferentWhereClauses() {
+    // Given:
+    cache.put(pullQuery(whereIdEquals(1), ImmutableMap.of()), "plan");
+
+    // When:
+    final Optional<String> result = cache.get(pullQuery(
+        new ComparisonExpression(
+            ComparisonExpression.Type.GREATER_THAN,
+            new UnqualifiedColumnReferenceExp(ID),
+            new IntegerLiteral(1)
+        ),
+        ImmutableMap.of()
+    ));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotSharePlanBetweenStatementsWithDifferentOverrides() {
+    // Given:
+    cache.put(pullQuery(whereIdEquals(1), ImmutableMap.of()), "plan");
+
+    // When:
+    final Optional<String> result = cache.get(pullQuery(
+        whereIdEquals(1),
+        ImmutableMap.of(KsqlConfig.KSQL_QUERY_PULL_MAX_ALLOWED_OFFSET_LAG_CONFIG, 10L)
+    ));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotCacheIfMaxEntriesIsZero() {
+    // Given:
+    cache = new PullQueryPlanCache<>(0);
+
+    // When:
+    cache.put(pullQuery(whereIdEquals(1), ImmutableMap.of()), "plan");
+
+    // Then:
+    assertThat(cache.size(), is(0L));
+    assertThat(cache.get(pullQuery(whereIdEquals(1), ImmutableMap.of())), is(Optional.empty()));
+  }
+
+  private static Expression whereIdEquals(final int key) {
+    return new ComparisonExpression(
+        ComparisonExpression.Type.EQUAL,
+        new UnqualifiedColumnReferenceExp(ID),
+        new IntegerLiteral(key)
+    );
+  }
+
+  private static ConfiguredStatement<Query> pullQuery(
+      final Expression where,
+      final Map<String, Object> overrides
+  ) {
+    final Query query = new Query(
+        Optional.empty(),
+        new Select(ImmutableList.of(new AllColumns(Optional.empty()))),
+        new Table(SourceName.of("T")),
+        Optional.empty(),
+        Optional.of(where),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        ResultMaterialization.FINAL,
+        true,
+        OptionalInt.empty()
+    );
+
+    return ConfiguredStatement.of(
+        PreparedStatement.of("SELECT * FROM T WHERE " + where + ";", query),
+        overrides,
+        KSQL_CONFIG
+    );
+  }
+}
@@ -61,6 +61,7 @@ import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.entity.KsqlErrorMessage;
 import io.confluent.ksql.rest.entity.KsqlRequest;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.server.HostLatencyTracker;
 import io.confluent.ksql.rest.server.StatementParser;
 import io.confluent.ksql.rest.server.computation.CommandQueue;
 import io.confluent.ksql.rest.server.execution.PullQueryExecutor;
@@ -178,7 +179,7 @@ public class StreamedQueryResourceTest {
     securityContext = new KsqlSecurityContext(Optional.empty(), serviceContext);
 
     pullQueryExecutor = new PullQueryExecutor(
-        mockKsqlEngine, ROUTING_FILTER_FACTORY, VALID_CONFIG);
+        mockKsqlEngine, ROUTING_FILTER_FACTORY, VALID_CONFIG, new HostLatencyTracker());
     testResource = new StreamedQueryResource(
         mockKsqlEngine,
         mockStatementParser,
@@ -399,7 +400,7 @@ public class StreamedQueryResourceTest {
             queryCloseCallback,
             closeTimeout);
 
-    when(mockKsqlEngine.executeQuery(serviceContext,
+    when(mockKsqlEngine.executeQuery(securityContext,
         ConfiguredStatement.of(query, requestStreamsProperties, VALID_CONFIG)))
         .thenReturn(transientQueryMetadata);
 
@@ -675,6 +676,11 @@ public class StreamedQueryResourceTest {
       rowQueue.drainTo(collection);
     }
 
+    @Override
+    public int drainTo(final Collection<? super GenericRow> collection, final int maxRows) {
+      return rowQueue.drainTo(collection, maxRows);
+    }
+
     @Override
     public int size() {
       return rowQueue.size();
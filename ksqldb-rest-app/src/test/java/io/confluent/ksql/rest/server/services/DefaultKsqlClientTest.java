@@ -29,6 +29,7 @@ import io.confluent.ksql.rest.client.KsqlClient;
 import io.confluent.ksql.rest.client.KsqlTarget;
 import io.confluent.ksql.rest.client.RestResponse;
 import io.confluent.ksql.rest.entity.KsqlEntityList;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
 import java.net.URI;
 import java.util.Optional;
 import org.junit.Before;
@@ -101,4 +102,31 @@ public class DefaultKsqlClientTest {
     verify(target).postKsqlRequest("Sql", ImmutableMap.of(), Optional.empty());
     assertThat(result, is(response));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldPostPullQueryRequest() {
+    // Given:
+    final RestResponse<TableRowsEntity> pullResponse = RestResponse.successful(200, null);
+    when(target.properties(any())).thenReturn(target);
+    when(target.postPullQueryRequest(any(), any())).thenReturn(pullResponse);
+
+    // When:
+    final RestResponse<TableRowsEntity> result = client.makePullQueryRequest(
+        SERVER_ENDPOINT, "Sql", ImmutableMap.of("a", 1), ImmutableMap.of("b", 2));
+
+    // Then:
+    verify(target).properties(ImmutableMap.of("a", 1));
+    verify(target).postPullQueryRequest("Sql", ImmutableMap.of("b", 2));
+    assertThat(result, is(pullResponse));
+  }
+
+  @Test
+  public void shouldCloseSharedClientOnClose() {
+    // When:
+    client.close();
+    client.close();
+
+    // Then:
+    verify(sharedClient).close();
+  }
+}
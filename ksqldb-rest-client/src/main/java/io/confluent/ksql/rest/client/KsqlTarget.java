@@ -19,6 +19,7 @@ import static io.confluent.ksql.rest.client.KsqlClientUtil.deserialize;
 import static io.confluent.ksql.rest.client.KsqlClientUtil.serialize;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.properties.LocalProperties;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
 import io.confluent.ksql.rest.entity.CommandStatus;
@@ -35,16 +36,22 @@ import io.confluent.ksql.rest.entity.ServerClusterId;
 import io.confluent.ksql.rest.entity.ServerInfo;
 import io.confluent.ksql.rest.entity.ServerMetadata;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.StreamedRow.Header;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.util.KsqlRequestConfig;
+import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.VertxCompletableFuture;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -69,6 +76,11 @@ public final class KsqlTarget {
   private static final String SERVER_METADATA_PATH = "/v1/metadata";
   private static final String SERVER_METADATA_ID_PATH = "/v1/metadata/id";
 
+  private static final String JSON_CONTENT_TYPE = "application/json";
+  // Servers of earlier versions only return JSON:
+  private static final String PULL_QUERY_ACCEPT =
+      TableRowsCodec.CONTENT_TYPE + ", " + JSON_CONTENT_TYPE + ";q=0.9";
+
   private final HttpClient httpClient;
   private final SocketAddress socketAddress;
   private final LocalProperties localProperties;
@@ -172,6 +184,27 @@ public final class KsqlTarget {
     );
   }
 
+  /**
+   * Issue a pull query, requesting the rows in the compact binary encoding of {@link
+   * TableRowsCodec} rather than JSON. Rows are read as JSON if the server returns them as JSON,
+   * as servers of earlier versions do.
+   */
+  public RestResponse<TableRowsEntity> postPullQueryRequest(
+      final String ksql,
+      final Map<String, ?> requestProperties
+  ) {
+    final Map<String, Object> properties = new HashMap<>(requestProperties);
+    properties.put(KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_BINARY_RESPONSE, true);
+
+    return executeRequestSync(
+        HttpMethod.POST,
+        QUERY_PATH,
+        createKsqlRequest(ksql, properties, Optional.empty()),
+        PULL_QUERY_ACCEPT,
+        r -> toTableRows(r, ksql)
+    );
+  }
+
   public RestResponse<StreamPublisher<StreamedRow>> postQueryRequestStreamed(
       final String sql,
       final Optional<Long> previousCommandSeqNum
@@ -229,7 +262,17 @@ public final class KsqlTarget {
       final Object requestBody,
       final Function<ResponseWithBody, T> mapper
   ) {
-    return executeSync(httpMethod, path, requestBody, mapper, (resp, vcf) -> {
+    return executeRequestSync(httpMethod, path, requestBody, JSON_CONTENT_TYPE, mapper);
+  }
+
+  private <T> RestResponse<T> executeRequestSync(
+      final HttpMethod httpMethod,
+      final String path,
+      final Object requestBody,
+      final String accept,
+      final Function<ResponseWithBody, T> mapper
+  ) {
+    return executeSync(httpMethod, path, requestBody, accept, mapper, (resp, vcf) -> {
       resp.bodyHandler(buff -> vcf.complete(new ResponseWithBody(resp, buff)));
     });
   }
@@ -242,7 +285,8 @@ public final class KsqlTarget {
     final KsqlRequest ksqlRequest = createKsqlRequest(
         ksql, Collections.emptyMap(), previousCommandSeqNum);
     final AtomicReference<StreamPublisher<T>> pubRef = new AtomicReference<>();
-    return executeSync(HttpMethod.POST, QUERY_PATH, ksqlRequest, resp -> pubRef.get(),
+    return executeSync(HttpMethod.POST, QUERY_PATH, ksqlRequest, JSON_CONTENT_TYPE,
+        resp -> pubRef.get(),
         (resp, vcf) -> {
           if (resp.statusCode() == 200) {
             pubRef.set(new StreamPublisher<>(Vertx.currentContext(),
@@ -258,11 +302,12 @@ public final class KsqlTarget {
       final HttpMethod httpMethod,
       final String path,
       final Object requestBody,
+      final String accept,
       final Function<ResponseWithBody, T> mapper,
       final BiConsumer<HttpClientResponse, CompletableFuture<ResponseWithBody>> responseHandler
   ) {
     final CompletableFuture<ResponseWithBody> vcf =
-        execute(httpMethod, path, requestBody, responseHandler);
+        execute(httpMethod, path, requestBody, accept, responseHandler);
 
     final ResponseWithBody response;
     try {
@@ -282,7 +327,7 @@ public final class KsqlTarget {
       final BiConsumer<HttpClientResponse, CompletableFuture<ResponseWithBody>> responseHandler
   ) {
     final CompletableFuture<ResponseWithBody> vcf =
-        execute(httpMethod, path, requestBody, responseHandler);
+        execute(httpMethod, path, requestBody, JSON_CONTENT_TYPE, responseHandler);
     return vcf.thenApply(response -> KsqlClientUtil.toRestResponse(response, path, mapper));
   }
 
@@ -290,6 +335,7 @@ public final class KsqlTarget {
       final HttpMethod httpMethod,
       final String path,
       final Object requestBody,
+      final String accept,
       final BiConsumer<HttpClientResponse, CompletableFuture<ResponseWithBody>> responseHandler
   ) {
     final VertxCompletableFuture<ResponseWithBody> vcf = new VertxCompletableFuture<>();
@@ -300,7 +346,7 @@ public final class KsqlTarget {
         resp -> responseHandler.accept(resp, vcf))
         .exceptionHandler(vcf::completeExceptionally);
 
-    httpClientRequest.putHeader("Accept", "application/json");
+    httpClientRequest.putHeader("Accept", accept);
     authHeader.ifPresent(v -> httpClientRequest.putHeader("Authorization", v));
 
     if (requestBody != null) {
@@ -312,6 +358,43 @@ public final class KsqlTarget {
     return vcf;
   }
 
+  private static TableRowsEntity toTableRows(final ResponseWithBody resp, final String ksql) {
+    final String contentType = resp.getResponse().getHeader(HttpHeaders.CONTENT_TYPE.toString());
+    if (contentType != null && contentType.startsWith(TableRowsCodec.CONTENT_TYPE)) {
+      return TableRowsCodec.decode(resp.getBody().getBytes(), ksql);
+    }
+
+    final List<StreamedRow> streamedRows = toRows(resp);
+    if (streamedRows.isEmpty()) {
+      throw new KsqlRestClientException("Invalid empty response from pull query");
+    }
+
+    final Header header = streamedRows.get(0).getHeader()
+        .orElseThrow(() -> new KsqlRestClientException("Expected header in first row"));
+
+    final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
+
+    for (final StreamedRow row : streamedRows.subList(1, streamedRows.size())) {
+      if (row.getErrorMessage().isPresent()) {
+        throw new KsqlStatementException(row.getErrorMessage().get().getMessage(), ksql);
+      }
+
+      if (!row.getRow().isPresent()) {
+        throw new KsqlRestClientException("Unexpected pull query response");
+      }
+
+      rows.add(row.getRow().get().values());
+    }
+
+    return new TableRowsEntity(
+        ksql,
+        header.getQueryId(),
+        header.getSchema(),
+        rows.build(),
+        header.getContinuationToken()
+    );
+  }
+
   private static List<StreamedRow> toRows(final ResponseWithBody resp) {
 
     final List<StreamedRow> rows = new ArrayList<>();
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.rest.ApiJsonMapper;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.StreamedRow.Header;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.schema.ksql.Column;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.vertx.core.buffer.Buffer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of the rows of a pull query, used when forwarding pull queries between
+ * nodes.
+ *
+ * <p>The encoding starts with a version byte and the JSON encoded header row, which carries the
+ * query id, the schema of the result and, for paged queries, the continuation token. Each row that
+ * follows is encoded column by column using the type of the column in that schema: a presence
+ * byte, followed by the value for non-null values. Primitive values use their fixed width binary
+ * form, strings and decimals are length prefixed, and nested types are JSON encoded.
+ */
+public final class TableRowsCodec {
+
+  /**
+   * The content type of responses containing encoded rows.
+   */
+  public static final String CONTENT_TYPE = "application/octet-stream";
+
+  private static final byte VERSION = 1;
+  private static final byte NULL = 0;
+  private static final byte NOT_NULL = 1;
+
+  private TableRowsCodec() {
+  }
+
+  public static byte[] encode(final TableRowsEntity entity) {
+    final List<Column> columns = columns(entity.getSchema());
+
+    try {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      final DataOutputStream out = new DataOutputStream(bytes);
+
+      out.writeByte(VERSION);
+      writeBytes(out, KsqlClientUtil.serialize(
+          StreamedRow.header(
+              entity.getQueryId(),
+              entity.getSchema(),
+              entity.getContinuationToken()
+          )).getBytes());
+
+      out.writeInt(entity.getRows().size());
+      for (final List<?> row : entity.getRows()) {
+        for (int i = 0; i < columns.size(); i++) {
+          writeValue(out, columns.get(i).type(), row.get(i));
+        }
+      }
+
+      out.flush();
+      return bytes.toByteArray();
+    } catch (final IOException e) {
+      throw new KsqlRestClientException("Failed to encode rows", e);
+    }
+  }
+
+  public static TableRowsEntity decode(final byte[] encoded, final String statementText) {
+    try {
+      final DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+
+      final byte version = in.readByte();
+      if (version != VERSION) {
+        throw new KsqlRestClientException("Unsupported row encoding version: " + version);
+      }
+
+      final Header header = KsqlClientUtil
+          .deserialize(Buffer.buffer(readBytes(in)), StreamedRow.class)
+          .getHeader()
+          .orElseThrow(() -> new KsqlRestClientException("Expected header in encoded rows"));
+
+      final List<Column> columns = columns(header.getSchema());
+
+      final int rowCount = in.readInt();
+      final ImmutableList.Builder<List<?>> rows = ImmutableList.builder();
+      for (int r = 0; r < rowCount; r++) {
+        final List<Object> row = new ArrayList<>(columns.size());
+        for (final Column column : columns) {
+          row.add(readValue(in, column.type()));
+        }
+        rows.add(row);
+      }
+
+      return new TableRowsEntity(
+          statementText,
+          header.getQueryId(),
+          header.getSchema(),
+          rows.build(),
+          header.getContinuationToken()
+      );
+    } catch (final IOException e) {
+      throw new KsqlRestClientException("Failed to decode rows", e);
+    }
+  }
+
+  private static List<Column> columns(final LogicalSchema schema) {
+    return ImmutableList.<Column>builder()
+        .addAll(schema.key())
+        .addAll(schema.value())
+        .build();
+  }
+
+  private static void writeValue(
+      final DataOutputStream out,
+      final SqlType type,
+      final Object value
+  ) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+      return;
+    }
+
+    out.writeByte(NOT_NULL);
+
+    switch (type.baseType()) {
+      case BOOLEAN:
+        out.writeBoolean((Boolean) value);
+        break;
+      case INTEGER:
+        out.writeInt(((Number) value).intValue());
+        break;
+      case BIGINT:
+        out.writeLong(((Number) value).longValue());
+        break;
+      case DOUBLE:
+        out.writeDouble(((Number) value).doubleValue());
+        break;
+      case STRING:
+        writeBytes(out, value.toString().getBytes(StandardCharsets.UTF_8));
+        break;
+      case DECIMAL:
+        final BigDecimal decimal = (BigDecimal) value;
+        out.writeInt(decimal.scale());
+        writeBytes(out, decimal.unscaledValue().toByteArray());
+        break;
+      default:
+        writeBytes(out, mapper().writeValueAsBytes(value));
+        break;
+    }
+  }
+
+  private static Object readValue(
+      final DataInputStream in,
+      final SqlType type
+  ) throws IOException {
+    if (in.readByte() == NULL) {
+      return null;
+    }
+
+    switch (type.baseType()) {
+      case BOOLEAN:
+        return in.readBoolean();
+      case INTEGER:
+        return in.readInt();
+      case BIGINT:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case STRING:
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+      case DECIMAL:
+        final int scale = in.readInt();
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+      default:
+        return mapper().readValue(readBytes(in), Object.class);
+    }
+  }
+
+  private static void writeBytes(final DataOutputStream out, final byte[] bytes)
+      throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(final DataInputStream in) throws IOException {
+    final byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static ObjectMapper mapper() {
+    return ApiJsonMapper.INSTANCE.get();
+  }
+}
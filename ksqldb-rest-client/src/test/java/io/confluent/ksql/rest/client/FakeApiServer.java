@@ -46,6 +46,7 @@ public class FakeApiServer extends AbstractVerticle {
 
   private Object responseObject;
   private Buffer responseBuffer;
+  private String responseContentType;
   private volatile CompletableFuture<Buffer> bodyFuture;
   private boolean connectionClosed;
   private int errorCode = -1;
@@ -103,6 +104,9 @@ public class FakeApiServer extends AbstractVerticle {
     if (errorCode != -1) {
       request.response().setStatusCode(errorCode);
     }
+    if (responseContentType != null) {
+      request.response().putHeader("Content-Type", responseContentType);
+    }
     if (responseBuffer != null) {
       request.response().end(responseBuffer);
     } else if (responseObject != null) {
@@ -141,6 +145,10 @@ public class FakeApiServer extends AbstractVerticle {
     this.responseBuffer = responseBuffer;
   }
 
+  public synchronized void setResponseContentType(final String responseContentType) {
+    this.responseContentType = responseContentType;
+  }
+
   public int getPort() {
     return port;
   }
@@ -24,7 +24,9 @@ import static org.junit.Assert.assertThrows;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.properties.LocalProperties;
+import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.reactive.BaseSubscriber;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
 import io.confluent.ksql.rest.entity.CommandStatus;
@@ -41,7 +43,10 @@ import io.confluent.ksql.rest.entity.KsqlHostInfoEntity;
 import io.confluent.ksql.rest.entity.KsqlRequest;
 import io.confluent.ksql.rest.entity.ServerInfo;
 import io.confluent.ksql.rest.entity.StreamedRow;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
 import io.confluent.ksql.rest.entity.TopicDescription;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.test.util.secure.ClientTrustStore;
 import io.confluent.ksql.test.util.secure.ServerKeyStore;
 import io.confluent.ksql.util.VertxCompletableFuture;
@@ -71,6 +76,16 @@ import org.reactivestreams.Subscription;
 
 public class KsqlClientTest {
 
+  private static final TableRowsEntity PULL_QUERY_ROWS = new TableRowsEntity(
+      "some sql",
+      new QueryId("q1"),
+      LogicalSchema.builder()
+          .keyColumn(ColumnName.of("K"), SqlTypes.STRING)
+          .valueColumn(ColumnName.of("V"), SqlTypes.INTEGER)
+          .build(),
+      ImmutableList.<List<?>>of(ImmutableList.of("a", 1), ImmutableList.of("b", 2))
+  );
+
   private Vertx vertx;
   private FakeApiServer server;
   private KsqlClient ksqlClient;
@@ -311,6 +326,46 @@ public class KsqlClientTest {
     assertThat(response.get(), is(expectedResponse));
   }
 
+  @Test
+  public void shouldPostPullQueryRequestAcceptingBinaryRowsOverJson() {
+    // Given:
+    server.setResponseContentType(TableRowsCodec.CONTENT_TYPE);
+    server.setResponseBuffer(Buffer.buffer(TableRowsCodec.encode(PULL_QUERY_ROWS)));
+
+    // When:
+    final KsqlTarget target = ksqlClient.target(serverUri);
+    final RestResponse<TableRowsEntity> response = target.postPullQueryRequest(
+        "some sql", Collections.emptyMap());
+
+    // Then:
+    assertThat(server.getPath(), is("/query"));
+    assertThat(server.getHeaders().get("Accept"),
+        is("application/octet-stream, application/json;q=0.9"));
+    assertThat(response.get().getQueryId(), is(PULL_QUERY_ROWS.getQueryId()));
+    assertThat(response.get().getRows(), is(PULL_QUERY_ROWS.getRows()));
+  }
+
+  @Test
+  public void shouldReadJsonPullQueryRowsFromServerOfEarlierVersion() {
+    // Given:
+    server.setResponseContentType("application/json");
+    server.setResponseBuffer(createResponseBuffer(ImmutableList.of(
+        StreamedRow.header(PULL_QUERY_ROWS.getQueryId(), PULL_QUERY_ROWS.getSchema()),
+        StreamedRow.row(GenericRow.genericRow("a", 1)),
+        StreamedRow.row(GenericRow.genericRow("b", 2))
+    )));
+
+    // When:
+    final KsqlTarget target = ksqlClient.target(serverUri);
+    final RestResponse<TableRowsEntity> response = target.postPullQueryRequest(
+        "some sql", Collections.emptyMap());
+
+    // Then:
+    assertThat(response.get().getQueryId(), is(PULL_QUERY_ROWS.getQueryId()));
+    assertThat(response.get().getSchema(), is(PULL_QUERY_ROWS.getSchema()));
+    assertThat(response.get().getRows(), is(PULL_QUERY_ROWS.getRows()));
+  }
+
   @Test
   public void shouldNotTrimTrailingZerosOnDecimalDeserialization() {
     // Given:
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.parser.json.KsqlTypesDeserializationModule;
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.rest.ApiJsonMapper;
+import io.confluent.ksql.rest.entity.TableRowsEntity;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class TableRowsCodecTest {
+
+  static {
+    ApiJsonMapper.INSTANCE.get().registerModule(new KsqlTypesDeserializationModule(false));
+  }
+
+  private static final String SQL = "SELECT * FROM T WHERE ID=10;";
+  private static final QueryId QUERY_ID = new QueryId("query_1");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("ID"), SqlTypes.BIGINT)
+      .valueColumn(ColumnName.of("B"), SqlTypes.BOOLEAN)
+      .valueColumn(ColumnName.of("I"), SqlTypes.INTEGER)
+      .valueColumn(ColumnName.of("D"), SqlTypes.DOUBLE)
+      .valueColumn(ColumnName.of("S"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("DEC"), SqlTypes.decimal(4, 2))
+      .valueColumn(ColumnName.of("A"), SqlTypes.array(SqlTypes.STRING))
+      .valueColumn(ColumnName.of("M"), SqlTypes.map(SqlTypes.INTEGER))
+      .build();
+
+  @Test
+  public void shouldRoundTripRows() {
+    // Given:
+    final TableRowsEntity entity = new TableRowsEntity(SQL, QUERY_ID, SCHEMA, ImmutableList.of(
+        ImmutableList.of(10L, true, 1, 1.5, "héllo", new BigDecimal("12.34"),
+            ImmutableList.of("a", "b"), ImmutableMap.of("k", 2)),
+        ImmutableList.of(11L, false, -1, -0.25, "", new BigDecimal("-0.01"),
+            ImmutableList.of(), ImmutableMap.of())
+    ));
+
+    // When:
+    final TableRowsEntity result = TableRowsCodec.decode(TableRowsCodec.encode(entity), SQL);
+
+    // Then:
+    assertThat(result, is(entity));
+    assertThat(result.getQueryId(), is(QUERY_ID));
+    assertThat(result.getStatementText(), is(SQL));
+  }
+
+  @Test
+  public void shouldRoundTripNulls() {
+    // Given:
+    final List<?> row = Arrays.asList(10L, null, null, null, null, null, null, null);
+    final TableRowsEntity entity = new TableRowsEntity(SQL, QUERY_ID, SCHEMA,
+        ImmutableList.of(row));
+
+    // When:
+    final TableRowsEntity result = TableRowsCodec.decode(TableRowsCodec.encode(entity), SQL);
+
+    // Then:
+    assertThat(result.getRows(), is(ImmutableList.of(row)));
+  }
+
+  @Test
+  public void shouldRoundTripEmptyResult() {
+    // Given:
+    final TableRowsEntity entity = new TableRowsEntity(SQL, QUERY_ID, SCHEMA, ImmutableList.of());
+
+    // When:
+    final TableRowsEntity result = TableRowsCodec.decode(TableRowsCodec.encode(entity), SQL);
+
+    // Then:
+    assertThat(result, is(entity));
+  }
+
+  @Test
+  public void shouldRoundTripContinuationToken() {
+    // Given:
+    final TableRowsEntity entity = new TableRowsEntity(
+        SQL, QUERY_ID, SCHEMA, ImmutableList.of(), Optional.of("token"));
+
+    // When:
+    final TableRowsEntity result = TableRowsCodec.decode(TableRowsCodec.encode(entity), SQL);
+
+    // Then:
+    assertThat(result.getContinuationToken(), is(Optional.of("token")));
+  }
+
+  @Test
+  public void shouldThrowOnUnknownVersion() {
+    // Given:
+    final byte[] encoded = TableRowsCodec.encode(
+        new TableRowsEntity(SQL, QUERY_ID, SCHEMA, ImmutableList.of()));
+    encoded[0] = 99;
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlRestClientException.class,
+        () -> TableRowsCodec.decode(encoded, SQL)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Unsupported row encoding version: 99"));
+  }
+}
@@ -48,8 +48,16 @@ public final class StreamedRow {
   private final Optional<String> finalMessage;
 
   public static StreamedRow header(final QueryId queryId, final LogicalSchema schema) {
+    return header(queryId, schema, Optional.empty());
+  }
+
+  public static StreamedRow header(
+      final QueryId queryId,
+      final LogicalSchema schema,
+      final Optional<String> continuationToken
+  ) {
     return new StreamedRow(
-        Optional.of(Header.of(queryId, schema)),
+        Optional.of(Header.of(queryId, schema, continuationToken)),
         Optional.empty(),
         Optional.empty(),
         Optional.empty()
@@ -160,17 +168,28 @@ public final class StreamedRow {
 
   @Immutable
   @JsonIgnoreProperties(ignoreUnknown = true)
+  @JsonInclude(Include.NON_ABSENT)
   public static final class Header {
 
     private final QueryId queryId;
     private final LogicalSchema schema;
+    private final Optional<String> continuationToken;
+
+    public static Header of(final QueryId queryId, final LogicalSchema schema) {
+      return new Header(queryId, schema, Optional.empty());
+    }
 
     @JsonCreator
     public static Header of(
         @JsonProperty(value = "queryId", required = true) final QueryId queryId,
-        @JsonProperty(value = "schema", required = true) final LogicalSchema schema
+        @JsonProperty(value = "schema", required = true) final LogicalSchema schema,
+        @JsonProperty(value = "continuationToken") final Optional<String> continuationToken
     ) {
-      return new Header(queryId, schema);
+      return new Header(
+          queryId,
+          schema,
+          continuationToken == null ? Optional.empty() : continuationToken
+      );
     }
 
     public QueryId getQueryId() {
@@ -181,9 +200,22 @@ public final class StreamedRow {
       return schema;
     }
 
-    private Header(final QueryId queryId, final LogicalSchema schema) {
+    /**
+     * @return the token from which to request the next page of a paged pull query, if there
+     *     are more rows.
+     */
+    public Optional<String> getContinuationToken() {
+      return continuationToken;
+    }
+
+    private Header(
+        final QueryId queryId,
+        final LogicalSchema schema,
+        final Optional<String> continuationToken
+    ) {
       this.queryId = requireNonNull(queryId, "queryId");
       this.schema = requireNonNull(schema, "schema");
+      this.continuationToken = requireNonNull(continuationToken, "continuationToken");
     }
 
     @Override
@@ -196,12 +228,13 @@ public final class StreamedRow {
       }
       final Header header = (Header) o;
       return Objects.equals(queryId, header.queryId)
-          && Objects.equals(schema, header.schema);
+          && Objects.equals(schema, header.schema)
+          && Objects.equals(continuationToken, header.continuationToken);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(queryId, schema);
+      return Objects.hash(queryId, schema, continuationToken);
     }
 
     @Override
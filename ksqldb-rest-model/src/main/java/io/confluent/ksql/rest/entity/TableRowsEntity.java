@@ -17,7 +17,10 @@ package io.confluent.ksql.rest.entity;
 
 import static java.util.Objects.requireNonNull;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -27,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TableRowsEntity extends KsqlEntity {
@@ -34,17 +38,30 @@ public class TableRowsEntity extends KsqlEntity {
   private final LogicalSchema schema;
   private final QueryId queryId;
   private final ImmutableList<List<?>> rows;
+  private final Optional<String> continuationToken;
 
+  public TableRowsEntity(
+      final String statementText,
+      final QueryId queryId,
+      final LogicalSchema schema,
+      final List<List<?>> rows
+  ) {
+    this(statementText, queryId, schema, rows, Optional.empty());
+  }
+
+  @JsonCreator
   public TableRowsEntity(
       @JsonProperty("statementText") final String statementText,
       @JsonProperty("queryId") final QueryId queryId,
       @JsonProperty("schema") final LogicalSchema schema,
-      @JsonProperty("rows") final List<List<?>> rows
+      @JsonProperty("rows") final List<List<?>> rows,
+      @JsonProperty("continuationToken") final Optional<String> continuationToken
   ) {
     super(statementText);
     this.schema = requireNonNull(schema, "schema");
     this.queryId = requireNonNull(queryId, "queryId");
     this.rows = deepCopy(requireNonNull(rows, "rows"));
+    this.continuationToken = continuationToken == null ? Optional.empty() : continuationToken;
 
     rows.forEach(this::validate);
   }
@@ -61,6 +78,14 @@ public class TableRowsEntity extends KsqlEntity {
     return rows;
   }
 
+  /**
+   * @return the token from which to request the next page of rows, if there are more rows.
+   */
+  @JsonInclude(Include.NON_ABSENT)
+  public Optional<String> getContinuationToken() {
+    return continuationToken;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -71,12 +96,13 @@ public class TableRowsEntity extends KsqlEntity {
     }
     final TableRowsEntity that = (TableRowsEntity) o;
     return Objects.equals(schema, that.schema)
-        && Objects.equals(rows, that.rows);
+        && Objects.equals(rows, that.rows)
+        && Objects.equals(continuationToken, that.continuationToken);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(schema, rows);
+    return Objects.hash(schema, rows, continuationToken);
   }
 
   private void validate(final List<?> row) {
@@ -19,6 +19,7 @@ import static io.confluent.ksql.logging.processing.ProcessingLoggerUtil.join;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.SchemaNotSupportedException;
@@ -33,7 +34,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
@@ -62,7 +66,7 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
    * </ol>
    *
    */
-  private static final int ADDITIONAL_CAPACITY = 4;
+  public static final int ADDITIONAL_CAPACITY = 4;
 
   private final SerdeFactories serdeFactories;
 
@@ -91,7 +95,33 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
         schemaRegistryClientFactory,
         loggerNamePrefix,
         processingLogContext,
-        getTargetType(schema)
+        getTargetType(schema),
+        Optional.empty(),
+        ImmutableSet.of()
+    );
+  }
+
+  @Override
+  public Serde<GenericRow> create(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final Set<String> readFields,
+      final Set<String> lazyFields,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final String loggerNamePrefix,
+      final ProcessingLogContext processingLogContext
+  ) {
+    return from(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext,
+        getTargetType(schema),
+        Optional.of(readFields),
+        lazyFields
     );
   }
 
@@ -120,7 +150,9 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
       final String loggerNamePrefix,
       final ProcessingLogContext processingLogContext,
-      final Class<T> targetType
+      final Class<T> targetType,
+      final Optional<Set<String>> readFields,
+      final Set<String> lazyFields
   ) {
     try {
       serdeFactories.validate(format, schema);
@@ -144,7 +176,21 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
 
     final Serde<GenericRow> genericRowSerde = schema.isUnwrapped()
           ? unwrapped(serde)
-          : wrapped(serde, schema, targetType);
+          : wrapped(
+              serde,
+              schema,
+              targetType,
+              serdeFactories
+                  .createRowSerializer(format, schema, ksqlConfig, schemaRegistryClientFactory),
+              serdeFactories.createRowDeserializer(
+                  format,
+                  schema,
+                  readFields.orElseGet(() -> fieldNames(schema)),
+                  lazyFields,
+                  ksqlConfig,
+                  schemaRegistryClientFactory
+              )
+          );
 
     final Serde<GenericRow> result = Serdes.serdeFrom(
         genericRowSerde.serializer(),
@@ -162,6 +208,12 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
     );
   }
 
+  private static Set<String> fieldNames(final PersistenceSchema schema) {
+    return schema.serializedSchema().fields().stream()
+        .map(Field::name)
+        .collect(Collectors.toSet());
+  }
+
   private static <K> Serde<GenericRow> unwrapped(final Serde<K> innerSerde) {
     final Serializer<GenericRow> serializer =
         new UnwrappedGenericRowSerializer<>(innerSerde.serializer());
@@ -175,7 +227,9 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
   private static <T> Serde<GenericRow> wrapped(
       final Serde<T> innerSerde,
       final PersistenceSchema schema,
-      final Class<T> type
+      final Class<T> type,
+      final Optional<Serializer<GenericRow>> rowSerializer,
+      final Optional<Deserializer<GenericRow>> rowDeserializer
   ) {
     if (type != Struct.class) {
       throw new IllegalArgumentException("Unwrapped must be of type Struct");
@@ -183,11 +237,11 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
 
     @SuppressWarnings("unchecked") final Serde<Struct> structSerde = (Serde<Struct>) innerSerde;
 
-    final Serializer<GenericRow> serializer =
-        new GenericRowSerializer(structSerde.serializer(), schema);
+    final Serializer<GenericRow> serializer = rowSerializer
+        .orElseGet(() -> new GenericRowSerializer(structSerde.serializer(), schema));
 
-    final Deserializer<GenericRow> deserializer =
-        new GenericRowDeserializer(structSerde.deserializer());
+    final Deserializer<GenericRow> deserializer = rowDeserializer
+        .orElseGet(() -> new GenericRowDeserializer(structSerde.deserializer()));
 
     return Serdes.serdeFrom(serializer, deserializer);
   }
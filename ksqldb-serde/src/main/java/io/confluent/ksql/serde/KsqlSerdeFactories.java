@@ -17,12 +17,17 @@ package io.confluent.ksql.serde;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 
 final class KsqlSerdeFactories implements SerdeFactories {
 
@@ -57,6 +62,48 @@ final class KsqlSerdeFactories implements SerdeFactories {
     return ksqlSerdeFactory.createSerde(schema, ksqlConfig, schemaRegistryClientFactory, type);
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final Set<String> readFields,
+      final Set<String> lazyFields,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    if (!directRowSerdeEnabled(ksqlConfig)) {
+      return Optional.empty();
+    }
+
+    return factoryMethod.apply(format)
+        .createRowDeserializer(
+            schema,
+            readFields,
+            lazyFields,
+            ksqlConfig,
+            schemaRegistryClientFactory
+        );
+  }
+
+  @Override
+  public Optional<Serializer<GenericRow>> createRowSerializer(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    if (!directRowSerdeEnabled(ksqlConfig)) {
+      return Optional.empty();
+    }
+
+    return factoryMethod.apply(format)
+        .createRowSerializer(schema, ksqlConfig, schemaRegistryClientFactory);
+  }
+
+  private static boolean directRowSerdeEnabled(final KsqlConfig ksqlConfig) {
+    return ksqlConfig.getBoolean(KsqlConfig.KSQL_SERDE_DIRECT_ROW_ENABLED_CONFIG);
+  }
+
   @VisibleForTesting
   static KsqlSerdeFactory create(final FormatInfo format) {
     return FormatFactory.of(format).getSerdeFactory(format);
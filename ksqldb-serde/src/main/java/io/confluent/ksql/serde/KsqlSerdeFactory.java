@@ -17,11 +17,16 @@ package io.confluent.ksql.serde;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.schema.ksql.SchemaConverters;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 
 @Immutable
 public interface KsqlSerdeFactory {
@@ -67,4 +72,55 @@ public interface KsqlSerdeFactory {
 
     return (Serde) createSerde(schema, ksqlConfig, schemaRegistryClientFactory);
   }
+
+  /**
+   * Create a deserializer that reads a STRUCT value straight into the columns of a row, rather
+   * than first into a {@code Struct}.
+   *
+   * <p>The deserializer need only read the fields in {@code readFields}: it may leave the
+   * columns of other fields null, and need not fail on values that are only invalid in other
+   * fields. Otherwise, the deserializer must produce the same rows, and fail on the same values,
+   * as the {@link #createSerde serde's}.
+   *
+   * <p>The deserializer may also decode the fields in {@code lazyFields} lazily, appending them
+   * to the row as {@link GenericRow.LazyValue lazy values} that are only decoded when first read.
+   * A lazy value that can not be decoded throws on being read, rather than failing the
+   * deserialization of the row.
+   *
+   * @param schema the persistence schema, i.e. the physical schema of the data on-disk.
+   * @param readFields the names of the fields of the value that must be read.
+   * @param lazyFields the names of the fields to be read that may be decoded lazily.
+   * @param ksqlConfig the config to use.
+   * @param schemaRegistryClientFactory the schema registry client to use.
+   * @return the deserializer, or empty if rows should be deserialized via the serde.
+   */
+  default Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final Set<String> readFields,
+      final Set<String> lazyFields,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    return Optional.empty();
+  }
+
+  /**
+   * Create a serializer that writes the columns of a row straight to a STRUCT value, rather than
+   * first copying them into a {@code Struct}.
+   *
+   * <p>The serializer must produce the same bytes, and fail on the same rows, as the
+   * {@link #createSerde serde's}.
+   *
+   * @param schema the persistence schema, i.e. the physical schema of the data on-disk.
+   * @param ksqlConfig the config to use.
+   * @param schemaRegistryClientFactory the schema registry client to use.
+   * @return the serializer, or empty if rows should be serialized via the serde.
+   */
+  default Optional<Serializer<GenericRow>> createRowSerializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    return Optional.empty();
+  }
 }
@@ -16,10 +16,15 @@
 package io.confluent.ksql.serde;
 
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 
 interface SerdeFactories {
 
@@ -51,4 +56,40 @@ interface SerdeFactories {
       Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
       Class<T> type
   );
+
+  /**
+   * Create a {@link Deserializer} that reads values straight into rows, if the format has one.
+   *
+   * @param format required format.
+   * @param schema persistence schema.
+   * @param readFields the names of the fields that must be read.
+   * @param lazyFields the names of the fields to be read that may be decoded lazily.
+   * @param ksqlConfig system config.
+   * @param schemaRegistryClientFactory the sr client factory.
+   * @see KsqlSerdeFactory#createRowDeserializer
+   */
+  Optional<Deserializer<GenericRow>> createRowDeserializer(
+      FormatInfo format,
+      PersistenceSchema schema,
+      Set<String> readFields,
+      Set<String> lazyFields,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  );
+
+  /**
+   * Create a {@link Serializer} that writes rows straight to values, if the format has one.
+   *
+   * @param format required format.
+   * @param schema persistence schema.
+   * @param ksqlConfig system config.
+   * @param schemaRegistryClientFactory the sr client factory.
+   * @see KsqlSerdeFactory#createRowSerializer
+   */
+  Optional<Serializer<GenericRow>> createRowSerializer(
+      FormatInfo format,
+      PersistenceSchema schema,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  );
 }
@@ -20,6 +20,7 @@ import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Serde;
 
@@ -47,4 +48,43 @@ public interface ValueSerdeFactory {
       String loggerNamePrefix,
       ProcessingLogContext processingLogContext
   );
+
+  /**
+   * Create a value serde whose deserializer need only read some of the fields of the value.
+   *
+   * <p>The deserializer may leave the columns of the other fields null, so the serde must only
+   * be used to read rows of which no other columns are accessed. It may also decode the fields
+   * in {@code lazyFields} only when they are first read from the row, so such rows must be
+   * {@link GenericRow#decodeAll decoded} before they are passed to code that does not expect a
+   * column to fail to decode.
+   *
+   * @param format the format required.
+   * @param schema the schema of the serialized form.
+   * @param readFields the names of the fields of the value that must be read.
+   * @param lazyFields the names of the fields to be read that may be decoded lazily.
+   * @param ksqlConfig the system config.
+   * @param schemaRegistryClientFactory supplier of SR client.
+   * @param loggerNamePrefix processing logger name prefix
+   * @param processingLogContext processing logger context.
+   * @return the value serde.
+   */
+  default Serde<GenericRow> create(
+      FormatInfo format,
+      PersistenceSchema schema,
+      Set<String> readFields,
+      Set<String> lazyFields,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      String loggerNamePrefix,
+      ProcessingLogContext processingLogContext
+  ) {
+    return create(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext
+    );
+  }
 }
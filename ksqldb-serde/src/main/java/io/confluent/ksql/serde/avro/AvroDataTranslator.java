@@ -99,7 +99,7 @@ public class AvroDataTranslator implements DataTranslator {
   }
 
   @SuppressWarnings("unchecked")
-  private static Object replaceSchema(final Schema schema, final Object object) {
+  static Object replaceSchema(final Schema schema, final Object object) {
     if (object == null) {
       return null;
     }
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.ksql.serde.avro;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.connect.avro.AvroConverter;
+import io.confluent.connect.avro.AvroData;
+import io.confluent.connect.avro.AvroDataConfig;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.GenericRowSerDe;
+import io.confluent.ksql.serde.connect.ConnectDataTranslator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.avro.JsonProperties;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Schema.Type;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Deserializes binary Avro values straight into the columns of a {@link GenericRow}.
+ *
+ * <p>Where the struct based deserializer reads each value into an Avro record, which
+ * {@link AvroConverter} converts to a {@link Struct}, which {@link AvroDataTranslator} then copies
+ * twice more to match the KSQL schema, this compiles a reader for each writer schema, looked up
+ * by the schema id in the value, the first time it sees the id. The reader resolves each field of
+ * the writer schema against the columns once, and then:
+ * <ul>
+ *   <li>skips fields that match no column that is to be read, without decoding them,</li>
+ *   <li>decodes fields of primitive types straight into their column,</li>
+ *   <li>decodes fields of other types, e.g. records, arrays and maps, via {@link AvroData}, as
+ *   the struct based deserializer would.</li>
+ * </ul>
+ *
+ * <p>The resulting rows are those of the struct based deserializer. Values whose writer schema
+ * the reader can not handle identically, e.g. as a field has a type that can not be coerced to
+ * its column's type, are passed to the struct based deserializer.
+ *
+ * <p>Instances are not thread-safe, as they share the decoder, and the cache of readers,
+ * between calls.
+ */
+final class KsqlAvroRowDeserializer implements Deserializer<GenericRow> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final int SIZE_OF_PREFIX = 1 + Integer.BYTES;
+
+  private final List<Field> fields;
+  private final Set<String> readFields;
+  private final List<Field> avroCompatibleFields;
+  private final SchemaRegistryClient schemaRegistryClient;
+  private final AvroData avroData;
+  private final Deserializer<Object> structDeserializer;
+  private final Map<Integer, Optional<RowReader>> rowReaders = new HashMap<>();
+  private BinaryDecoder decoder;
+
+  /**
+   * @param physicalSchema the schema of the data.
+   * @return whether the data can be deserialized straight into a row, which requires the value
+   *     to be a STRUCT.
+   */
+  static boolean supports(final PersistenceSchema physicalSchema) {
+    return !physicalSchema.isUnwrapped()
+        && physicalSchema.serializedSchema().type() == Type.STRUCT;
+  }
+
+  KsqlAvroRowDeserializer(
+      final PersistenceSchema physicalSchema,
+      final Set<String> readFields,
+      final String fullSchemaName,
+      final SchemaRegistryClient schemaRegistryClient,
+      final Map<String, ?> avroConfig,
+      final Deserializer<Object> structDeserializer
+  ) {
+    if (!supports(physicalSchema)) {
+      throw new IllegalArgumentException("Unsupported schema: " + physicalSchema);
+    }
+
+    final Schema schema = physicalSchema.serializedSchema();
+    this.fields = ImmutableList.copyOf(schema.fields());
+    this.readFields = ImmutableSet.copyOf(requireNonNull(readFields, "readFields"));
+    this.avroCompatibleFields = ImmutableList.copyOf(
+        new AvroDataTranslator(schema, fullSchemaName).getAvroCompatibleSchema().fields());
+    this.schemaRegistryClient = requireNonNull(schemaRegistryClient, "schemaRegistryClient");
+    this.avroData = new AvroData(new AvroDataConfig(avroConfig));
+    this.structDeserializer = requireNonNull(structDeserializer, "structDeserializer");
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+    structDeserializer.configure(map, isKey);
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    if (bytes.length >= SIZE_OF_PREFIX && bytes[0] == MAGIC_BYTE) {
+      try {
+        final Optional<RowReader> rowReader = getRowReader(ByteBuffer.wrap(bytes, 1, 4).getInt());
+        if (rowReader.isPresent()) {
+          decoder = DecoderFactory.get()
+              .binaryDecoder(bytes, SIZE_OF_PREFIX, bytes.length - SIZE_OF_PREFIX, decoder);
+
+          return rowReader.get().read(decoder);
+        }
+      } catch (final Exception e) {
+        throw new SerializationException(
+            "Error deserializing message from topic: " + topic, e);
+      }
+    }
+
+    return deserializeStruct(topic, bytes);
+  }
+
+  @Override
+  public void close() {
+    structDeserializer.close();
+  }
+
+  private GenericRow deserializeStruct(final String topic, final byte[] bytes) {
+    final Struct struct = (Struct) structDeserializer.deserialize(topic, bytes);
+    if (struct == null) {
+      return null;
+    }
+
+    final GenericRow row = new GenericRow(fields.size() + GenericRowSerDe.ADDITIONAL_CAPACITY);
+    for (final Field field : fields) {
+      row.append(struct.get(field));
+    }
+    return row;
+  }
+
+  private Optional<RowReader> getRowReader(final int schemaId) throws Exception {
+    final Optional<RowReader> cached = rowReaders.get(schemaId);
+    if (cached != null) {
+      return cached;
+    }
+
+    final ParsedSchema writerSchema = schemaRegistryClient.getSchemaById(schemaId);
+    final Optional<RowReader> rowReader = writerSchema instanceof AvroSchema
+        ? compile(((AvroSchema) writerSchema).rawSchema())
+        : Optional.empty();
+
+    rowReaders.put(schemaId, rowReader);
+    return rowReader;
+  }
+
+  /**
+   * Builds the reader for values written with the supplied schema.
+   *
+   * @return the reader, or empty if the values should be passed to the struct deserializer.
+   */
+  private Optional<RowReader> compile(final org.apache.avro.Schema writerSchema) {
+    if (writerSchema.getType() != org.apache.avro.Schema.Type.RECORD) {
+      return Optional.empty();
+    }
+
+    // As ConnectDataTranslator, match columns to fields case-insensitively, last field winning:
+    final Map<String, org.apache.avro.Schema.Field> writerFields = new HashMap<>();
+    writerSchema.getFields().forEach(f -> writerFields.put(f.name().toUpperCase(), f));
+
+    final Map<Integer, List<ColumnTranslator>> columnsByField = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      if (!readFields.contains(fields.get(i).name())) {
+        continue;
+      }
+
+      final Field column = avroCompatibleFields.get(i);
+      final org.apache.avro.Schema.Field writerField =
+          writerFields.get(column.name().toUpperCase());
+
+      if (writerField == null) {
+        continue;
+      }
+
+      if (hasNonNullDefault(writerField)) {
+        // Connect substitutes the default for null values:
+        return Optional.empty();
+      }
+
+      final Schema connectSchema = avroData.toConnectSchema(writerField.schema());
+      try {
+        ConnectDataTranslator.validateSchema("->" + column.name(), column.schema(), connectSchema);
+      } catch (final DataException e) {
+        return Optional.empty();
+      }
+
+      columnsByField.computeIfAbsent(writerField.pos(), pos -> new ArrayList<>())
+          .add(new ColumnTranslator(i, column.schema(), fields.get(i).schema(), connectSchema));
+    }
+
+    final ImmutableList.Builder<FieldReader> fieldReaders = ImmutableList.builder();
+    for (final org.apache.avro.Schema.Field writerField : writerSchema.getFields()) {
+      final List<ColumnTranslator> columns = columnsByField.get(writerField.pos());
+      if (columns == null) {
+        fieldReaders.add(new FieldReader(skipper(writerField.schema()), ImmutableList.of()));
+      } else {
+        final ValueReader valueReader =
+            valueReader(writerField.schema(), columns.get(0).connectSchema);
+        fieldReaders.add(new FieldReader(valueReader, columns));
+      }
+    }
+
+    return Optional.of(new RowReader(fields.size(), fieldReaders.build()));
+  }
+
+  private ValueReader valueReader(
+      final org.apache.avro.Schema schema,
+      final Schema connectSchema
+  ) {
+    final ValueReader primitiveReader = schema.getType() == org.apache.avro.Schema.Type.UNION
+        ? optionalPrimitiveReader(schema, connectSchema)
+        : primitiveReader(schema, connectSchema);
+
+    if (primitiveReader != null) {
+      return primitiveReader;
+    }
+
+    final GenericDatumReader<Object> reader = new GenericDatumReader<>(schema);
+    return in -> {
+      final Object value = reader.read(null, in);
+      return value == null ? null : avroData.toConnectData(schema, value).value();
+    };
+  }
+
+  private static ValueReader optionalPrimitiveReader(
+      final org.apache.avro.Schema schema,
+      final Schema connectSchema
+  ) {
+    final List<org.apache.avro.Schema> branches = schema.getTypes();
+    if (branches.size() != 2) {
+      return null;
+    }
+
+    final int nullIndex = branches.get(0).getType() == org.apache.avro.Schema.Type.NULL ? 0 : 1;
+    if (branches.get(nullIndex).getType() != org.apache.avro.Schema.Type.NULL) {
+      return null;
+    }
+
+    final ValueReader reader = primitiveReader(branches.get(1 - nullIndex), connectSchema);
+    if (reader == null) {
+      return null;
+    }
+
+    return in -> {
+      if (in.readIndex() == nullIndex) {
+        in.readNull();
+        return null;
+      }
+      return reader.read(in);
+    };
+  }
+
+  /**
+   * @return the reader that decodes the supplied primitive type to the value {@link AvroData}
+   *     would produce, or null if the type is not primitive or has a logical type.
+   */
+  private static ValueReader primitiveReader(
+      final org.apache.avro.Schema schema,
+      final Schema connectSchema
+  ) {
+    if (Decimal.LOGICAL_NAME.equals(connectSchema.name())
+        && schema.getType() == org.apache.avro.Schema.Type.BYTES) {
+      return in -> {
+        final ByteBuffer buffer = in.readBytes(null);
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return Decimal.toLogical(connectSchema, bytes);
+      };
+    }
+
+    if (connectSchema.name() != null) {
+      return null;
+    }
+
+    switch (schema.getType()) {
+      case BOOLEAN:
+        return connectSchema.type() == Type.BOOLEAN ? Decoder::readBoolean : null;
+      case INT:
+        return connectSchema.type() == Type.INT32 ? Decoder::readInt : null;
+      case LONG:
+        return connectSchema.type() == Type.INT64 ? Decoder::readLong : null;
+      case FLOAT:
+        return connectSchema.type() == Type.FLOAT32 ? Decoder::readFloat : null;
+      case DOUBLE:
+        return connectSchema.type() == Type.FLOAT64 ? Decoder::readDouble : null;
+      case STRING:
+        return connectSchema.type() == Type.STRING ? Decoder::readString : null;
+      default:
+        return null;
+    }
+  }
+
+  private static ValueReader skipper(final org.apache.avro.Schema schema) {
+    return in -> {
+      GenericDatumReader.skip(schema, in);
+      return null;
+    };
+  }
+
+  private static boolean hasNonNullDefault(final org.apache.avro.Schema.Field field) {
+    return field.hasDefaultValue() && field.defaultVal() != JsonProperties.NULL_VALUE;
+  }
+
+  @FunctionalInterface
+  private interface ValueReader {
+
+    /**
+     * @return the connect value read, or null if the value is null or was skipped.
+     */
+    Object read(Decoder in) throws IOException;
+  }
+
+  private static final class ColumnTranslator {
+
+    private final int index;
+    private final Schema ksqlSchema;
+    private final Schema connectSchema;
+    private final ConnectDataTranslator translator;
+
+    ColumnTranslator(
+        final int index,
+        final Schema avroCompatibleSchema,
+        final Schema ksqlSchema,
+        final Schema connectSchema
+    ) {
+      this.index = index;
+      this.ksqlSchema = requireNonNull(ksqlSchema, "ksqlSchema");
+      this.connectSchema = requireNonNull(connectSchema, "connectSchema");
+      this.translator = new ConnectDataTranslator(avroCompatibleSchema);
+    }
+
+    Object translate(final Object connectValue) {
+      return AvroDataTranslator.replaceSchema(
+          ksqlSchema,
+          translator.toKsqlRow(connectSchema, connectValue)
+      );
+    }
+  }
+
+  private static final class FieldReader {
+
+    private final ValueReader valueReader;
+    private final List<ColumnTranslator> columns;
+
+    FieldReader(final ValueReader valueReader, final List<ColumnTranslator> columns) {
+      this.valueReader = requireNonNull(valueReader, "valueReader");
+      this.columns = ImmutableList.copyOf(columns);
+    }
+  }
+
+  private static final class RowReader {
+
+    private final int columnCount;
+    private final List<FieldReader> fieldReaders;
+
+    RowReader(final int columnCount, final List<FieldReader> fieldReaders) {
+      this.columnCount = columnCount;
+      this.fieldReaders = requireNonNull(fieldReaders, "fieldReaders");
+    }
+
+    GenericRow read(final Decoder in) throws IOException {
+      final Object[] values = new Object[columnCount];
+      for (final FieldReader fieldReader : fieldReaders) {
+        final Object value = fieldReader.valueReader.read(in);
+        if (value != null) {
+          for (final ColumnTranslator column : fieldReader.columns) {
+            values[column.index] = column.translate(value);
+          }
+        }
+      }
+
+      final GenericRow row = new GenericRow(columnCount + GenericRowSerDe.ADDITIONAL_CAPACITY);
+      for (final Object value : values) {
+        row.append(value);
+      }
+      return row;
+    }
+  }
+}
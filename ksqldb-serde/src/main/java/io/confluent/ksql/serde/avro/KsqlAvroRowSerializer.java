@@ -0,0 +1,265 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.ksql.serde.avro;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.connect.avro.AvroConverter;
+import io.confluent.connect.avro.AvroData;
+import io.confluent.connect.avro.AvroDataConfig;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaAvroSerializer;
+import io.confluent.kafka.serializers.KafkaAvroSerializerConfig;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.avro.generic.GenericData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Schema.Type;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Serializes the columns of a {@link GenericRow} straight to an Avro record.
+ *
+ * <p>Where the struct based serializer copies the row into a {@link Struct}, which
+ * {@link AvroDataTranslator} then copies again to give it the Avro compatible schema, before
+ * {@link AvroConverter} converts the result to an Avro record, this converts each column straight
+ * into an Avro record. The Avro schema, and the converters for each column, are built once, up
+ * front, rather than looked up for each row. The record is written by the same schema registry
+ * aware serializer the converter uses, so the bytes are the same.
+ */
+final class KsqlAvroRowSerializer implements Serializer<GenericRow> {
+
+  private final ConnectSchema schema;
+  private final org.apache.avro.Schema avroSchema;
+  private final AvroSchema registrySchema;
+  private final List<Function<Object, Object>> columnConverters;
+  private final RegistrySerializer serializer;
+
+  /**
+   * @param physicalSchema the schema of the data.
+   * @return whether rows can be serialized straight to Avro, which requires the value to be a
+   *     STRUCT.
+   */
+  static boolean supports(final PersistenceSchema physicalSchema) {
+    return !physicalSchema.isUnwrapped()
+        && physicalSchema.serializedSchema().type() == Type.STRUCT;
+  }
+
+  KsqlAvroRowSerializer(
+      final PersistenceSchema physicalSchema,
+      final String fullSchemaName,
+      final SchemaRegistryClient schemaRegistryClient,
+      final Map<String, ?> avroConfig
+  ) {
+    if (!supports(physicalSchema)) {
+      throw new IllegalArgumentException("Unsupported schema: " + physicalSchema);
+    }
+
+    this.schema = physicalSchema.serializedSchema();
+
+    final Schema avroCompatibleSchema =
+        new AvroDataTranslator(schema, fullSchemaName).getAvroCompatibleSchema();
+
+    this.avroSchema = new AvroData(new AvroDataConfig(avroConfig))
+        .fromConnectSchema(avroCompatibleSchema);
+    this.registrySchema = new AvroSchema(avroSchema);
+
+    this.columnConverters = fieldConverters(avroCompatibleSchema, avroSchema);
+
+    this.serializer = new RegistrySerializer(
+        requireNonNull(schemaRegistryClient, "schemaRegistryClient"),
+        avroConfig
+    );
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final GenericRow data) {
+    if (data == null) {
+      return null;
+    }
+
+    final List<Field> fields = schema.fields();
+    if (data.size() != fields.size()) {
+      throw new SerializationException("Field count mismatch."
+          + " topic: " + topic
+          + ", expected: " + fields.size()
+          + ", got: " + data.size()
+      );
+    }
+
+    // Fail on invalid column values exactly as putting them in a Struct would:
+    for (int i = 0; i < fields.size(); i++) {
+      final Field field = fields.get(i);
+      ConnectSchema.validateValue(field.name(), field.schema(), data.get(i));
+    }
+
+    try {
+      final GenericData.Record record = new GenericData.Record(avroSchema);
+      for (int i = 0; i < columnConverters.size(); i++) {
+        record.put(i, columnConverters.get(i).apply(data.get(i)));
+      }
+      return serializer.serialize(topic, record, registrySchema);
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error serializing message to topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Builds the function that converts values of the supplied Avro compatible schema to the
+   * value {@link AvroData} would produce for the supplied Avro schema.
+   */
+  private static Function<Object, Object> converter(
+      final Schema schema,
+      final org.apache.avro.Schema avroSchema
+  ) {
+    final org.apache.avro.Schema nonNullSchema = nonNullBranch(avroSchema);
+
+    final Function<Object, Object> nonNullConverter;
+    switch (schema.type()) {
+      case BYTES:
+        // Only DECIMAL is supported:
+        nonNullConverter = value ->
+            ByteBuffer.wrap(Decimal.fromLogical(schema, (BigDecimal) value));
+        break;
+
+      case ARRAY:
+        nonNullConverter = arrayConverter(
+            converter(schema.valueSchema(), nonNullSchema.getElementType()));
+        break;
+
+      case MAP:
+        nonNullConverter = mapConverter(
+            converter(schema.valueSchema(), nonNullSchema.getValueType()));
+        break;
+
+      case STRUCT:
+        nonNullConverter = structConverter(fieldConverters(schema, nonNullSchema), nonNullSchema);
+        break;
+
+      default:
+        return Function.identity();
+    }
+
+    return value -> value == null ? null : nonNullConverter.apply(value);
+  }
+
+  private static List<Function<Object, Object>> fieldConverters(
+      final Schema schema,
+      final org.apache.avro.Schema avroSchema
+  ) {
+    final ImmutableList.Builder<Function<Object, Object>> converters = ImmutableList.builder();
+    final List<Field> fields = schema.fields();
+    for (int i = 0; i < fields.size(); i++) {
+      converters.add(converter(fields.get(i).schema(), avroSchema.getFields().get(i).schema()));
+    }
+    return converters.build();
+  }
+
+  private static Function<Object, Object> arrayConverter(
+      final Function<Object, Object> elementConverter
+  ) {
+    return value -> {
+      final List<?> list = (List<?>) value;
+      final List<Object> converted = new ArrayList<>(list.size());
+      for (final Object element : list) {
+        converted.add(elementConverter.apply(element));
+      }
+      return converted;
+    };
+  }
+
+  private static Function<Object, Object> mapConverter(
+      final Function<Object, Object> valueConverter
+  ) {
+    return value -> {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      final Map<Object, Object> converted = new HashMap<>();
+      map.forEach((k, v) -> converted.put(k, valueConverter.apply(v)));
+      return converted;
+    };
+  }
+
+  private static Function<Object, Object> structConverter(
+      final List<Function<Object, Object>> fieldConverters,
+      final org.apache.avro.Schema avroSchema
+  ) {
+    return value -> {
+      // Fields are matched by position, as the names in the Avro schema may differ:
+      final Struct struct = (Struct) value;
+      final List<Field> structFields = struct.schema().fields();
+
+      final GenericData.Record record = new GenericData.Record(avroSchema);
+      for (int i = 0; i < fieldConverters.size(); i++) {
+        record.put(i, fieldConverters.get(i).apply(struct.get(structFields.get(i))));
+      }
+      return record;
+    };
+  }
+
+  private static org.apache.avro.Schema nonNullBranch(final org.apache.avro.Schema avroSchema) {
+    if (avroSchema.getType() != org.apache.avro.Schema.Type.UNION) {
+      return avroSchema;
+    }
+
+    return avroSchema.getTypes().stream()
+        .filter(type -> type.getType() != org.apache.avro.Schema.Type.NULL)
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unexpected schema: " + avroSchema));
+  }
+
+  /**
+   * The serializer {@link AvroConverter} uses to register the schema and write the record.
+   */
+  private static final class RegistrySerializer extends AbstractKafkaAvroSerializer {
+
+    RegistrySerializer(final SchemaRegistryClient client, final Map<String, ?> configs) {
+      schemaRegistry = client;
+      configure(new KafkaAvroSerializerConfig(configs));
+    }
+
+    byte[] serialize(
+        final String topic,
+        final GenericData.Record record,
+        final AvroSchema schema
+    ) {
+      return serializeImpl(getSubjectName(topic, false, record, schema), record, schema);
+    }
+  }
+}
@@ -20,6 +20,7 @@ import io.confluent.connect.avro.AvroConverter;
 import io.confluent.connect.avro.AvroDataConfig;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.KsqlSerdeFactory;
 import io.confluent.ksql.serde.connect.KsqlConnectDeserializer;
@@ -29,6 +30,8 @@ import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
@@ -79,6 +82,57 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
     );
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final Set<String> readFields,
+      final Set<String> lazyFields,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    if (!KsqlAvroRowDeserializer.supports(schema)) {
+      return Optional.empty();
+    }
+
+    final Supplier<Deserializer<GenericRow>> deserializerSupplier =
+        () -> new KsqlAvroRowDeserializer(
+            schema,
+            readFields,
+            fullSchemaName,
+            schemaRegistryClientFactory.get(),
+            getAvroConfig(ksqlConfig),
+            createConnectDeserializer(schema, ksqlConfig, schemaRegistryClientFactory)
+        );
+
+    // Sanity check:
+    deserializerSupplier.get();
+
+    return Optional.of(new ThreadLocalDeserializer<>(deserializerSupplier));
+  }
+
+  @Override
+  public Optional<Serializer<GenericRow>> createRowSerializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    if (!KsqlAvroRowSerializer.supports(schema)) {
+      return Optional.empty();
+    }
+
+    final Supplier<Serializer<GenericRow>> serializerSupplier = () -> new KsqlAvroRowSerializer(
+        schema,
+        fullSchemaName,
+        schemaRegistryClientFactory.get(),
+        getAvroConfig(ksqlConfig)
+    );
+
+    // Sanity check:
+    serializerSupplier.get();
+
+    return Optional.of(new ThreadLocalSerializer<>(serializerSupplier));
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -135,7 +189,11 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
       final KsqlConfig ksqlConfig
   ) {
     final AvroConverter avroConverter = new AvroConverter(schemaRegistryClient);
+    avroConverter.configure(getAvroConfig(ksqlConfig), false);
+    return avroConverter;
+  }
 
+  private static Map<String, Object> getAvroConfig(final KsqlConfig ksqlConfig) {
     final Map<String, Object> avroConfig = ksqlConfig
         .originalsWithPrefix(KsqlConfig.KSQL_SCHEMA_REGISTRY_PREFIX);
 
@@ -144,7 +202,6 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
 
     avroConfig.put(AvroDataConfig.CONNECT_META_DATA_CONFIG, false);
 
-    avroConverter.configure(avroConfig, false);
-    return avroConverter;
+    return avroConfig;
   }
 }
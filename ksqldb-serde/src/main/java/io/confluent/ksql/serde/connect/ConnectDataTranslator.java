@@ -143,7 +143,15 @@ public class ConnectDataTranslator implements DataTranslator {
       Schema.Type.STRING
   };
 
-  private static void validateSchema(
+  /**
+   * Validates that values of the supplied connect schema can be translated to the KSQL schema.
+   *
+   * @param pathStr the path of the value, used in the error message.
+   * @param schema the KSQL schema.
+   * @param connectSchema the connect schema.
+   * @throws DataException if they can not.
+   */
+  public static void validateSchema(
       final String pathStr,
       final Schema schema,
       final Schema connectSchema
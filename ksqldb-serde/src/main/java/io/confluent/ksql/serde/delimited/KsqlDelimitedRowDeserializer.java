@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.delimited;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.GenericRowSerDe;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Deserializes a delimited value straight into the columns of a {@link GenericRow}.
+ *
+ * <p>Each value is split into its fields as {@link KsqlDelimitedDeserializer} would, but the
+ * fields are then parsed straight into their columns, rather than into a {@link Struct}. Only the
+ * fields that are to be read are parsed: the columns of all others are left null.
+ */
+final class KsqlDelimitedRowDeserializer implements Deserializer<GenericRow> {
+
+  private final List<Field> fields;
+  private final boolean[] read;
+  private final CSVFormat csvFormat;
+
+  KsqlDelimitedRowDeserializer(
+      final PersistenceSchema schema,
+      final Set<String> readFields,
+      final CSVFormat csvFormat
+  ) {
+    final ConnectSchema connectSchema = Objects.requireNonNull(schema, "schema")
+        .serializedSchema();
+    KsqlDelimitedDeserializer.throwOnUnsupported(connectSchema);
+
+    this.fields = ImmutableList.copyOf(connectSchema.fields());
+    this.read = new boolean[fields.size()];
+    for (int i = 0; i < fields.size(); i++) {
+      read[i] = readFields.contains(fields.get(i).name());
+    }
+    this.csvFormat = Objects.requireNonNull(csvFormat, "csvFormat");
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    try {
+      final CSVRecord csvRecord =
+          KsqlDelimitedDeserializer.parseRecord(bytes, csvFormat, fields.size());
+
+      final GenericRow row = new GenericRow(fields.size() + GenericRowSerDe.ADDITIONAL_CAPACITY);
+      for (int i = 0; i < fields.size(); i++) {
+        final String value = csvRecord.get(i);
+        row.append(read[i] && value != null
+            ? KsqlDelimitedDeserializer.enforceFieldType(fields.get(i).schema(), value)
+            : null
+        );
+      }
+      return row;
+    } catch (final Exception e) {
+      throw new SerializationException("Error deserializing delimited row", e);
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+}
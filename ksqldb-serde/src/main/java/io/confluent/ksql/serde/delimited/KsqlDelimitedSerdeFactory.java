@@ -17,6 +17,7 @@ package io.confluent.ksql.serde.delimited;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.connect.SchemaWalker;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.Delimiter;
@@ -27,8 +28,10 @@ import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.commons.csv.CSVFormat;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.connect.data.ConnectSchema;
@@ -73,6 +76,19 @@ public class KsqlDelimitedSerdeFactory implements KsqlSerdeFactory {
     );
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final Set<String> readFields,
+      final Set<String> lazyFields,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    validate(schema);
+
+    return Optional.of(new KsqlDelimitedRowDeserializer(schema, readFields, csvFormat));
+  }
+
   private static class SchemaValidator implements SchemaWalker.Visitor<Void, Void> {
 
     public Void visitPrimitive(final Schema schema) {
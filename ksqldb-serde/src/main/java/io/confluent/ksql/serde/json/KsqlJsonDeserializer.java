@@ -57,7 +57,7 @@ public class KsqlJsonDeserializer implements Deserializer<Object> {
 
   private static final Logger LOG = LoggerFactory.getLogger(KsqlJsonDeserializer.class);
   private static final SqlSchemaFormatter FORMATTER = new SqlSchemaFormatter(word -> false);
-  private static final ObjectMapper MAPPER = new ObjectMapper()
+  static final ObjectMapper MAPPER = new ObjectMapper()
       .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
       .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
 
@@ -130,7 +130,7 @@ public class KsqlJsonDeserializer implements Deserializer<Object> {
     return MAPPER.reader();
   }
 
-  private static Object enforceFieldType(
+  static Object enforceFieldType(
       final String pathPart,
       final JsonValueContext context
   ) {
@@ -282,7 +282,7 @@ public class KsqlJsonDeserializer implements Deserializer<Object> {
     );
   }
 
-  private static final class JsonValueContext {
+  static final class JsonValueContext {
 
     private final Schema schema;
     private final JsonNode val;
@@ -296,7 +296,7 @@ public class KsqlJsonDeserializer implements Deserializer<Object> {
     }
   }
 
-  private static final class CoercionException extends RuntimeException {
+  static final class CoercionException extends RuntimeException {
 
     private final String path;
     private final String message;
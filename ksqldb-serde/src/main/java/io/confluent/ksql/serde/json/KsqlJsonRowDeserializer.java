@@ -0,0 +1,407 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import static io.confluent.ksql.serde.json.KsqlJsonDeserializer.MAPPER;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.GenericRow.LazyValue;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.GenericRowSerDe;
+import io.confluent.ksql.serde.json.KsqlJsonDeserializer.CoercionException;
+import io.confluent.ksql.serde.json.KsqlJsonDeserializer.JsonValueContext;
+import io.confluent.ksql.util.DecimalUtil;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Schema.Type;
+import org.apache.kafka.connect.data.Struct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deserializes a JSON object straight into the columns of a {@link GenericRow}.
+ *
+ * <p>Where {@link KsqlJsonDeserializer} reads the whole value into a tree of {@link JsonNode}s,
+ * then copies it into a {@link Struct}, this reads the value with a streaming parser, resolving
+ * each field name against the schema as it is read. Scalar values of the column's type are read
+ * straight into the row. Other values, e.g. those of ARRAY, MAP and STRUCT columns, are read into
+ * a tree and converted exactly as {@link KsqlJsonDeserializer} would, as are values that are not
+ * JSON objects.
+ *
+ * <p>Only the fields that are to be read are resolved against the schema: all others are skipped
+ * by the parser without being converted, leaving their columns null.
+ *
+ * <p>JSON objects and arrays in fields that may be decoded lazily are also skipped by the parser,
+ * with only the offset of the value in the data recorded. The value is then read from the data,
+ * and converted, when its column is first read from the row. Scalar values are always read
+ * straight away, as it costs little more than skipping them.
+ */
+final class KsqlJsonRowDeserializer implements Deserializer<GenericRow> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KsqlJsonRowDeserializer.class);
+
+  // Bounds the memory used if the data has an unbounded set of field names:
+  private static final int MAX_CACHED_FIELD_NAMES = 1000;
+
+  // Whether the byte offsets of the locations reported by a parser of part of a byte array are
+  // from the start of the array, rather than from the start of the part:
+  private static final boolean ABSOLUTE_BYTE_OFFSETS = hasAbsoluteByteOffsets();
+
+  private final List<Field> fields;
+  private final boolean[] lazy;
+  private final Map<String, Integer> fieldIndexes;
+  private final Map<String, FieldMatch> fieldMatches = new ConcurrentHashMap<>();
+  private final boolean isJsonSchema;
+  private final KsqlJsonDeserializer structDeserializer;
+  private String target = "?";
+
+  /**
+   * @param physicalSchema the schema of the data.
+   * @return whether the data can be deserialized straight into a row, which requires the value
+   *     to be a STRUCT whose fields are all optional.
+   */
+  static boolean supports(final PersistenceSchema physicalSchema) {
+    final Schema schema = physicalSchema.serializedSchema();
+    return !physicalSchema.isUnwrapped()
+        && schema.type() == Type.STRUCT
+        && schema.fields().stream().allMatch(field -> field.schema().isOptional());
+  }
+
+  KsqlJsonRowDeserializer(
+      final PersistenceSchema physicalSchema,
+      final Set<String> readFields,
+      final Set<String> lazyFields,
+      final boolean isJsonSchema
+  ) {
+    if (!supports(physicalSchema)) {
+      throw new IllegalArgumentException("Unsupported schema: " + physicalSchema);
+    }
+
+    this.structDeserializer = new KsqlJsonDeserializer(physicalSchema, isJsonSchema);
+    this.isJsonSchema = isJsonSchema;
+    this.fields = ImmutableList.copyOf(physicalSchema.serializedSchema().fields());
+    this.lazy = new boolean[fields.size()];
+
+    final ImmutableMap.Builder<String, Integer> indexes = ImmutableMap.builder();
+    for (int i = 0; i < fields.size(); i++) {
+      if (readFields.contains(fields.get(i).name())) {
+        indexes.put(fields.get(i).name(), i);
+        lazy[i] = lazyFields.contains(fields.get(i).name());
+      }
+    }
+    this.fieldIndexes = indexes.build();
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+    this.target = isKey ? "key" : "value";
+    structDeserializer.configure(map, isKey);
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    if (!isJsonSchema || JsonSerdeUtils.hasMagicByte(bytes)) {
+      final int offset = isJsonSchema ? JsonSerdeUtils.SIZE_OF_SR_PREFIX : 0;
+      try (JsonParser parser = MAPPER.getFactory()
+          .createParser(bytes, offset, bytes.length - offset)) {
+
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+          final GenericRow row = readRow(topic, bytes, offset, parser);
+
+          if (LOG.isTraceEnabled()) {
+            LOG.trace("Deserialized {}. topic:{}, row:{}", target, topic, row);
+          }
+
+          return row;
+        }
+      } catch (final Exception e) {
+        throw new SerializationException(
+            "Failed to deserialize " + target + " from topic: " + topic, e);
+      }
+    }
+
+    return deserializeStruct(topic, bytes);
+  }
+
+  @Override
+  public void close() {
+    structDeserializer.close();
+  }
+
+  private GenericRow deserializeStruct(final String topic, final byte[] bytes) {
+    final Struct struct = (Struct) structDeserializer.deserialize(topic, bytes);
+    if (struct == null) {
+      return null;
+    }
+
+    final GenericRow row = new GenericRow(fields.size() + GenericRowSerDe.ADDITIONAL_CAPACITY);
+    for (final Field field : fields) {
+      row.append(struct.get(field));
+    }
+    return row;
+  }
+
+  private GenericRow readRow(
+      final String topic,
+      final byte[] bytes,
+      final int offset,
+      final JsonParser parser
+  ) throws IOException {
+    final RowBuilder row = new RowBuilder(fields.size());
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final FieldMatch match = matchField(parser.getCurrentName());
+      parser.nextToken();
+
+      final boolean toExact = match.exactIndex >= 0;
+      final boolean toUpper = match.upperIndex >= 0 && !row.matchedExactly[match.upperIndex];
+
+      if (toExact && toUpper) {
+        final JsonNode value = MAPPER.readTree(parser);
+        row.set(match.exactIndex, true, field -> coerce(value, field));
+        row.set(match.upperIndex, false, field -> coerce(value, field));
+      } else if (toExact || toUpper) {
+        final int index = toExact ? match.exactIndex : match.upperIndex;
+        if (lazy[index] && parser.currentToken().isStructStart()) {
+          final int start = valueStart(offset, parser);
+          parser.skipChildren();
+          row.setLazy(index, toExact, () -> decode(topic, bytes, start, fields.get(index)));
+        } else {
+          row.set(index, toExact, field -> readValue(parser, field));
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    return row.build();
+  }
+
+  private FieldMatch matchField(final String name) {
+    final FieldMatch cached = fieldMatches.get(name);
+    if (cached != null) {
+      return cached;
+    }
+
+    // As in KsqlJsonDeserializer, a field matches the column of the same name, else the column of
+    // its upper-cased name, as the names of columns that were not quoted are upper-cased:
+    final Integer exactIndex = fieldIndexes.get(name);
+    final Integer upperIndex = fieldIndexes.get(name.toUpperCase());
+    final FieldMatch match = new FieldMatch(
+        exactIndex == null ? -1 : exactIndex,
+        upperIndex == null || upperIndex.equals(exactIndex) ? -1 : upperIndex
+    );
+
+    if (fieldMatches.size() < MAX_CACHED_FIELD_NAMES) {
+      fieldMatches.put(name, match);
+    }
+    return match;
+  }
+
+  private static int valueStart(final int offset, final JsonParser parser) {
+    final int start = (int) parser.getTokenLocation().getByteOffset();
+    return ABSOLUTE_BYTE_OFFSETS ? start : offset + start;
+  }
+
+  private Object decode(
+      final String topic,
+      final byte[] bytes,
+      final int start,
+      final Field field
+  ) {
+    try (JsonParser parser = MAPPER.getFactory()
+        .createParser(bytes, start, bytes.length - start)) {
+      parser.nextToken();
+      return readValue(parser, field);
+    } catch (final CoercionException e) {
+      throw decodeError(topic, field,
+          new CoercionException(e.getRawMessage(), "$" + e.getPath(), e));
+    } catch (final Exception e) {
+      throw decodeError(topic, field, e);
+    }
+  }
+
+  private SerializationException decodeError(
+      final String topic,
+      final Field field,
+      final Exception cause
+  ) {
+    return new SerializationException("Failed to deserialize " + target + " field "
+        + field.name() + " from topic: " + topic, cause);
+  }
+
+  private static boolean hasAbsoluteByteOffsets() {
+    final byte[] bytes = {' ', '{', '}'};
+    try (JsonParser parser = MAPPER.getFactory().createParser(bytes, 1, 2)) {
+      parser.nextToken();
+      return parser.getTokenLocation().getByteOffset() == 1;
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Object readValue(final JsonParser parser, final Field field) throws IOException {
+    final JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    switch (field.schema().type()) {
+      case BOOLEAN:
+        if (token.isBoolean()) {
+          return parser.getBooleanValue();
+        }
+        break;
+      case INT32:
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == NumberType.INT) {
+          return parser.getIntValue();
+        }
+        break;
+      case INT64:
+        if (token == JsonToken.VALUE_NUMBER_INT
+            && parser.getNumberType() != NumberType.BIG_INTEGER) {
+          return parser.getLongValue();
+        }
+        break;
+      case FLOAT64:
+        if (token.isNumeric()) {
+          return parser.getDoubleValue();
+        }
+        break;
+      case STRING:
+        if (token == JsonToken.VALUE_STRING) {
+          return parser.getText();
+        }
+        break;
+      case BYTES:
+        if (token.isNumeric() && DecimalUtil.isDecimal(field.schema())) {
+          return readDecimal(parser, field);
+        }
+        break;
+      default:
+        break;
+    }
+
+    return coerce(MAPPER.readTree(parser), field);
+  }
+
+  private static BigDecimal readDecimal(
+      final JsonParser parser,
+      final Field field
+  ) throws IOException {
+    final BigDecimal decimal = parser.getDecimalValue();
+    try {
+      DecimalUtil.ensureFit(decimal, field.schema());
+    } catch (final Exception e) {
+      throw new CoercionException(e.getMessage(), "." + field.name(), e);
+    }
+    return decimal;
+  }
+
+  private static Object coerce(final JsonNode value, final Field field) {
+    return KsqlJsonDeserializer.enforceFieldType(
+        "." + field.name(),
+        new JsonValueContext(value, field.schema())
+    );
+  }
+
+  @FunctionalInterface
+  private interface ValueReader {
+
+    Object read(Field field) throws IOException;
+  }
+
+  private final class RowBuilder {
+
+    private final Object[] values;
+    private final LazyValue[] lazyValues;
+    private final CoercionException[] errors;
+    private final boolean[] matchedExactly;
+
+    RowBuilder(final int size) {
+      this.values = new Object[size];
+      this.lazyValues = new LazyValue[size];
+      this.errors = new CoercionException[size];
+      this.matchedExactly = new boolean[size];
+    }
+
+    void set(final int index, final boolean exact, final ValueReader reader) throws IOException {
+      matchedExactly[index] |= exact;
+      lazyValues[index] = null;
+      try {
+        values[index] = reader.read(fields.get(index));
+        errors[index] = null;
+      } catch (final CoercionException e) {
+        // Not thrown until the whole object is read, as a later field may replace the value:
+        values[index] = null;
+        errors[index] = new CoercionException(e.getRawMessage(), "$" + e.getPath(), e);
+      }
+    }
+
+    void setLazy(final int index, final boolean exact, final LazyValue value) {
+      matchedExactly[index] |= exact;
+      values[index] = null;
+      lazyValues[index] = value;
+      errors[index] = null;
+    }
+
+    GenericRow build() {
+      final GenericRow row = new GenericRow(values.length + GenericRowSerDe.ADDITIONAL_CAPACITY);
+      for (int i = 0; i < values.length; i++) {
+        if (errors[i] != null) {
+          throw errors[i];
+        }
+        if (lazyValues[i] != null) {
+          row.appendLazy(lazyValues[i]);
+        } else {
+          row.append(values[i]);
+        }
+      }
+      return row;
+    }
+  }
+
+  private static final class FieldMatch {
+
+    // The column whose name is the field's, if any:
+    private final int exactIndex;
+    // The other column whose name is the field's upper-cased, if any:
+    private final int upperIndex;
+
+    FieldMatch(final int exactIndex, final int upperIndex) {
+      this.exactIndex = exactIndex;
+      this.upperIndex = upperIndex;
+    }
+  }
+}
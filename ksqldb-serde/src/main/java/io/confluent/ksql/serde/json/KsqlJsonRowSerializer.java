@@ -0,0 +1,324 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.ksql.serde.json;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.connect.SchemaWalker;
+import io.confluent.ksql.schema.connect.SchemaWalker.Visitor;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Schema.Type;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.json.JsonConverter;
+
+/**
+ * Serializes the columns of a {@link GenericRow} straight to a JSON object.
+ *
+ * <p>Where the struct based serializer copies the row into a {@link Struct}, which
+ * {@link JsonConverter} then converts to a tree of JSON nodes before writing it out, this writes
+ * each column with a streaming generator, into an output buffer that is reused between rows. The
+ * bytes written are the same as {@link JsonConverter}'s, with schemas disabled and decimals
+ * written as numbers.
+ *
+ * <p>Instances are not thread-safe, as they share the output buffer between calls.
+ */
+final class KsqlJsonRowSerializer implements Serializer<GenericRow> {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
+  private final ConnectSchema schema;
+  private final List<FieldWriter> fieldWriters;
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+
+  /**
+   * @param physicalSchema the schema of the data.
+   * @return whether rows can be serialized straight to JSON, which requires the value to be a
+   *     STRUCT of KSQL types, without default values.
+   */
+  static boolean supports(final PersistenceSchema physicalSchema) {
+    final Schema schema = physicalSchema.serializedSchema();
+    return !physicalSchema.isUnwrapped()
+        && schema.type() == Type.STRUCT
+        && SchemaWalker.visit(schema, new SupportedSchemaVisitor());
+  }
+
+  KsqlJsonRowSerializer(final PersistenceSchema physicalSchema) {
+    if (!supports(physicalSchema)) {
+      throw new IllegalArgumentException("Unsupported schema: " + physicalSchema);
+    }
+
+    this.schema = physicalSchema.serializedSchema();
+
+    final WriterBuilder builder = new WriterBuilder();
+    this.fieldWriters = schema.fields().stream()
+        .map(field -> builder.visitField(field, SchemaWalker.visit(field.schema(), builder)))
+        .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final GenericRow data) {
+    if (data == null) {
+      return null;
+    }
+
+    final List<Field> fields = schema.fields();
+    if (data.size() != fields.size()) {
+      throw new SerializationException("Field count mismatch."
+          + " topic: " + topic
+          + ", expected: " + fields.size()
+          + ", got: " + data.size()
+      );
+    }
+
+    // Fail on invalid column values exactly as putting them in a Struct would:
+    for (int i = 0; i < fields.size(); i++) {
+      final Field field = fields.get(i);
+      ConnectSchema.validateValue(field.name(), field.schema(), data.get(i));
+    }
+
+    try {
+      buffer.reset();
+      try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+        generator.writeStartObject();
+        for (int i = 0; i < fieldWriters.size(); i++) {
+          fieldWriters.get(i).write(generator, data.get(i));
+        }
+        generator.writeEndObject();
+      }
+      return buffer.toByteArray();
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error serializing message to topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  @FunctionalInterface
+  private interface ValueWriter {
+
+    void write(JsonGenerator generator, Object value) throws IOException;
+  }
+
+  private static final class FieldWriter {
+
+    private final String name;
+    private final ValueWriter valueWriter;
+
+    FieldWriter(final String name, final ValueWriter valueWriter) {
+      this.name = requireNonNull(name, "name");
+      this.valueWriter = requireNonNull(valueWriter, "valueWriter");
+    }
+
+    void write(final JsonGenerator generator, final Object value) throws IOException {
+      generator.writeFieldName(name);
+      valueWriter.write(generator, value);
+    }
+  }
+
+  private static final class StructWriter implements ValueWriter {
+
+    private final List<FieldWriter> fields;
+
+    StructWriter(final List<FieldWriter> fields) {
+      this.fields = ImmutableList.copyOf(fields);
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final Object value) throws IOException {
+      final Struct struct = (Struct) value;
+      final List<Field> structFields = struct.schema().fields();
+
+      generator.writeStartObject();
+      for (int i = 0; i < fields.size(); i++) {
+        fields.get(i).write(generator, struct.get(structFields.get(i)));
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  private static final class SupportedSchemaVisitor implements Visitor<Boolean, Boolean> {
+
+    @Override
+    public Boolean visitSchema(final Schema schema) {
+      return false;
+    }
+
+    @Override
+    public Boolean visitBoolean(final Schema schema) {
+      return supported(schema);
+    }
+
+    @Override
+    public Boolean visitInt32(final Schema schema) {
+      return supported(schema);
+    }
+
+    @Override
+    public Boolean visitInt64(final Schema schema) {
+      return supported(schema);
+    }
+
+    @Override
+    public Boolean visitFloat64(final Schema schema) {
+      return supported(schema);
+    }
+
+    @Override
+    public Boolean visitString(final Schema schema) {
+      return supported(schema);
+    }
+
+    @Override
+    public Boolean visitBytes(final Schema schema) {
+      return DecimalUtil.isDecimal(schema) && supported(schema);
+    }
+
+    @Override
+    public Boolean visitArray(final Schema schema, final Boolean element) {
+      return element && supported(schema);
+    }
+
+    @Override
+    public Boolean visitMap(final Schema schema, final Boolean key, final Boolean value) {
+      return schema.keySchema().type() == Type.STRING && key && value && supported(schema);
+    }
+
+    @Override
+    public Boolean visitStruct(final Schema schema, final List<? extends Boolean> fields) {
+      return !fields.contains(false) && supported(schema);
+    }
+
+    @Override
+    public Boolean visitField(final Field field, final Boolean type) {
+      return type;
+    }
+
+    private static boolean supported(final Schema schema) {
+      return schema.defaultValue() == null;
+    }
+  }
+
+  private static final class WriterBuilder implements Visitor<ValueWriter, FieldWriter> {
+
+    @Override
+    public ValueWriter visitBoolean(final Schema schema) {
+      return nullable(schema, (generator, value) -> generator.writeBoolean((Boolean) value));
+    }
+
+    @Override
+    public ValueWriter visitInt32(final Schema schema) {
+      return nullable(schema, (generator, value) -> generator.writeNumber((Integer) value));
+    }
+
+    @Override
+    public ValueWriter visitInt64(final Schema schema) {
+      return nullable(schema, (generator, value) -> generator.writeNumber((Long) value));
+    }
+
+    @Override
+    public ValueWriter visitFloat64(final Schema schema) {
+      return nullable(schema, (generator, value) -> generator.writeNumber((Double) value));
+    }
+
+    @Override
+    public ValueWriter visitString(final Schema schema) {
+      return nullable(schema, (generator, value) ->
+          generator.writeString(((CharSequence) value).toString()));
+    }
+
+    @Override
+    public ValueWriter visitBytes(final Schema schema) {
+      return nullable(schema, (generator, value) -> generator.writeNumber((BigDecimal) value));
+    }
+
+    @Override
+    public ValueWriter visitArray(final Schema schema, final ValueWriter element) {
+      return nullable(schema, (generator, value) -> {
+        generator.writeStartArray();
+        for (final Object e : (List<?>) value) {
+          element.write(generator, e);
+        }
+        generator.writeEndArray();
+      });
+    }
+
+    @Override
+    public ValueWriter visitMap(
+        final Schema schema,
+        final ValueWriter key,
+        final ValueWriter value
+    ) {
+      return nullable(schema, (generator, map) -> {
+        generator.writeStartObject();
+        for (final Map.Entry<?, ?> e : ((Map<?, ?>) map).entrySet()) {
+          generator.writeFieldName((String) e.getKey());
+          value.write(generator, e.getValue());
+        }
+        generator.writeEndObject();
+      });
+    }
+
+    @Override
+    public ValueWriter visitStruct(final Schema schema, final List<? extends FieldWriter> fields) {
+      return nullable(schema, new StructWriter(ImmutableList.copyOf(fields)));
+    }
+
+    @Override
+    public FieldWriter visitField(final Field field, final ValueWriter type) {
+      return new FieldWriter(field.name(), type);
+    }
+
+    private static ValueWriter nullable(final Schema schema, final ValueWriter writer) {
+      final boolean optional = schema.isOptional();
+      return (generator, value) -> {
+        if (value != null) {
+          writer.write(generator, value);
+        } else if (optional) {
+          generator.writeNull();
+        } else {
+          throw new DataException("Conversion error: null value for field that is required and "
+              + "has no default value");
+        }
+      };
+    }
+  }
+}
@@ -20,6 +20,7 @@ import com.google.errorprone.annotations.Immutable;
 import io.confluent.connect.json.JsonSchemaConverter;
 import io.confluent.connect.json.JsonSchemaConverterConfig;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.KsqlSerdeFactory;
 import io.confluent.ksql.serde.connect.ConnectDataTranslator;
@@ -27,7 +28,10 @@ import io.confluent.ksql.serde.connect.KsqlConnectSerializer;
 import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.serialization.Serializer;
@@ -75,6 +79,40 @@ public class KsqlJsonSerdeFactory implements KsqlSerdeFactory {
     );
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final Set<String> readFields,
+      final Set<String> lazyFields,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    if (!KsqlJsonRowDeserializer.supports(schema)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new KsqlJsonRowDeserializer(
+        schema,
+        readFields,
+        lazyFields,
+        useSchemaRegistryFormat
+    ));
+  }
+
+  @Override
+  public Optional<Serializer<GenericRow>> createRowSerializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    // JSON_SR values are written via the schema registry converter:
+    if (useSchemaRegistryFormat || !KsqlJsonRowSerializer.supports(schema)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new ThreadLocalSerializer<>(() -> new KsqlJsonRowSerializer(schema)));
+  }
+
   private KsqlConnectSerializer createSerializer(
       final PersistenceSchema schema,
       final KsqlConfig ksqlConfig,
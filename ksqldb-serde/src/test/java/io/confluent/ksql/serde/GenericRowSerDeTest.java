@@ -23,10 +23,12 @@ import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.SchemaNotSupportedException;
@@ -37,6 +39,7 @@ import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -102,6 +105,10 @@ public class GenericRowSerDeTest {
   private Deserializer<Object> delegateDeserializer;
   @Mock
   private SerdeFactories serdesFactories;
+  @Mock
+  private Serializer<GenericRow> rowSerializer;
+  @Mock
+  private Deserializer<GenericRow> rowDeserializer;
 
   private ValueSerdeFactory valueSerde;
 
@@ -494,6 +501,86 @@ public class GenericRowSerDeTest {
     assertThat(row, is(GenericRow.genericRow("str")));
   }
 
+  @Test
+  public void shouldDeserializeWithRowDeserializerIfFormatHasOne() {
+    // Given:
+    when(serdesFactories.createRowDeserializer(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(rowDeserializer));
+    when(rowDeserializer.deserialize(any(), any())).thenReturn(GenericRow.genericRow("str", 10));
+
+    final Deserializer<GenericRow> deserializer = givenSerdeForSchema(MUTLI_FIELD_SCHEMA)
+        .deserializer();
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, SOME_BYTES);
+
+    // Then:
+    verify(serdesFactories).createRowDeserializer(
+        FORMAT,
+        MUTLI_FIELD_SCHEMA,
+        ImmutableSet.of("f0", "f1"),
+        ImmutableSet.of(),
+        ksqlConfig,
+        srClientFactory
+    );
+    verify(rowDeserializer).deserialize(SOME_TOPIC, SOME_BYTES);
+    assertThat(row, is(GenericRow.genericRow("str", 10)));
+  }
+
+  @Test
+  public void shouldCreateRowDeserializerThatOnlyReadsSomeFields() {
+    // Given:
+    when(serdesFactories.createRowDeserializer(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(rowDeserializer));
+
+    // When:
+    valueSerde.create(
+        FORMAT,
+        MUTLI_FIELD_SCHEMA,
+        ImmutableSet.of("f1"),
+        ImmutableSet.of("f1"),
+        ksqlConfig,
+        srClientFactory,
+        LOGGER_PREFIX,
+        processingContext
+    );
+
+    // Then:
+    verify(serdesFactories).createRowDeserializer(
+        FORMAT,
+        MUTLI_FIELD_SCHEMA,
+        ImmutableSet.of("f1"),
+        ImmutableSet.of("f1"),
+        ksqlConfig,
+        srClientFactory
+    );
+  }
+
+  @Test
+  public void shouldSerializeWithRowSerializerIfFormatHasOne() {
+    // Given:
+    when(serdesFactories.createRowSerializer(any(), any(), any(), any()))
+        .thenReturn(Optional.of(rowSerializer));
+    when(rowSerializer.serialize(any(), any())).thenReturn(SOME_BYTES);
+
+    final Serializer<GenericRow> serializer = givenSerdeForSchema(MUTLI_FIELD_SCHEMA)
+        .serializer();
+
+    // When:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, GenericRow.genericRow("str", 10));
+
+    // Then:
+    verify(serdesFactories).createRowSerializer(
+        FORMAT,
+        MUTLI_FIELD_SCHEMA,
+        ksqlConfig,
+        srClientFactory
+    );
+    verify(rowSerializer).serialize(SOME_TOPIC, GenericRow.genericRow("str", 10));
+    verify(delegateSerializer, never()).serialize(any(), any());
+    assertThat(bytes, is(SOME_BYTES));
+  }
+
   @Test
   public void shouldDeserializeUnwrappedSingleFieldGenericRow() {
     // Given:
@@ -26,19 +26,25 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableSet;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.avro.KsqlAvroSerdeFactory;
 import io.confluent.ksql.serde.delimited.KsqlDelimitedSerdeFactory;
 import io.confluent.ksql.serde.json.KsqlJsonSerdeFactory;
 import io.confluent.ksql.serde.kafka.KafkaSerdeFactory;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -64,6 +70,8 @@ public class KsqlSerdeFactoriesTest {
   private KsqlSerdeFactory ksqlSerdeFactory;
   @Mock
   private Serde<SomeType> serde;
+  @Mock
+  private Serializer<GenericRow> rowSerializer;
   private KsqlSerdeFactories factory;
 
   @Before
@@ -154,6 +162,54 @@ public class KsqlSerdeFactoriesTest {
     assertThat(result, is(serde));
   }
 
+  @Test
+  public void shouldCreateRowSerializer() {
+    // Given:
+    when(config.getBoolean(KsqlConfig.KSQL_SERDE_DIRECT_ROW_ENABLED_CONFIG)).thenReturn(true);
+    when(ksqlSerdeFactory.createRowSerializer(any(), any(), any()))
+        .thenReturn(Optional.of(rowSerializer));
+
+    // When:
+    final Optional<Serializer<GenericRow>> result = factory.createRowSerializer(
+        formatInfo,
+        schema,
+        config,
+        srClientFactory
+    );
+
+    // Then:
+    verify(ksqlSerdeFactory).createRowSerializer(schema, config, srClientFactory);
+    assertThat(result, is(Optional.of(rowSerializer)));
+  }
+
+  @Test
+  public void shouldNotCreateRowSerdesIfDisabled() {
+    // Given:
+    when(config.getBoolean(KsqlConfig.KSQL_SERDE_DIRECT_ROW_ENABLED_CONFIG)).thenReturn(false);
+
+    // When:
+    final Optional<Serializer<GenericRow>> serializer = factory.createRowSerializer(
+        formatInfo,
+        schema,
+        config,
+        srClientFactory
+    );
+    final Optional<Deserializer<GenericRow>> deserializer = factory.createRowDeserializer(
+        formatInfo,
+        schema,
+        ImmutableSet.of(),
+        ImmutableSet.of(),
+        config,
+        srClientFactory
+    );
+
+    // Then:
+    assertThat(serializer, is(Optional.empty()));
+    assertThat(deserializer, is(Optional.empty()));
+    verify(ksqlSerdeFactory, never()).createRowSerializer(any(), any(), any());
+    verify(ksqlSerdeFactory, never()).createRowDeserializer(any(), any(), any(), any(), any());
+  }
+
   @Test
   public void shouldHandleAvro() {
     // When:
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.ksql.serde.avro;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlConstants;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.avro.generic.GenericData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KsqlAvroRowDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("COUNT", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("PRICE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("A.B", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("FLAG", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("AMOUNT", DecimalUtil.builder(4, 2).build())
+      .field("TAGS", SchemaBuilder.array(Schema.OPTIONAL_STRING_SCHEMA).optional().build())
+      .field("ADDRESS", SchemaBuilder.struct()
+          .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+          .optional()
+          .build())
+      .build();
+
+  private static final Set<String> ALL_FIELDS = SCHEMA.fields().stream()
+      .map(Field::name)
+      .collect(Collectors.toSet());
+
+  private static final org.apache.avro.Schema EXACT_SCHEMA = record(
+      "{\"name\":\"ID\",\"type\":[\"null\",\"long\"],\"default\":null},"
+          + "{\"name\":\"COUNT\",\"type\":[\"null\",\"int\"],\"default\":null},"
+          + "{\"name\":\"PRICE\",\"type\":[\"null\",\"double\"],\"default\":null},"
+          + "{\"name\":\"A_B\",\"type\":[\"null\",\"string\"],\"default\":null},"
+          + "{\"name\":\"FLAG\",\"type\":[\"null\",\"boolean\"],\"default\":null},"
+          + "{\"name\":\"AMOUNT\",\"type\":[\"null\",{\"type\":\"bytes\","
+          + "\"logicalType\":\"decimal\",\"precision\":4,\"scale\":2}],\"default\":null},"
+          + "{\"name\":\"TAGS\",\"type\":[\"null\",{\"type\":\"array\","
+          + "\"items\":[\"null\",\"string\"]}],\"default\":null},"
+          + "{\"name\":\"ADDRESS\",\"type\":[\"null\",{\"type\":\"record\",\"name\":\"Address\","
+          + "\"fields\":[{\"name\":\"street\",\"type\":[\"null\",\"string\"],\"default\":null}]}],"
+          + "\"default\":null}");
+
+  private static final org.apache.avro.Schema COERCED_SCHEMA = record(
+      "{\"name\":\"extra\",\"type\":{\"type\":\"record\",\"name\":\"Extra\","
+          + "\"fields\":[{\"name\":\"x\",\"type\":{\"type\":\"array\",\"items\":\"int\"}}]}},"
+          + "{\"name\":\"flag\",\"type\":\"boolean\"},"
+          + "{\"name\":\"id\",\"type\":\"int\"},"
+          + "{\"name\":\"ID\",\"type\":\"int\"},"
+          + "{\"name\":\"price\",\"type\":\"float\"},"
+          + "{\"name\":\"a_b\",\"type\":\"long\"},"
+          + "{\"name\":\"skipped\",\"type\":{\"type\":\"map\",\"values\":\"string\"}},"
+          + "{\"name\":\"amount\",\"type\":{\"type\":\"bytes\","
+          + "\"logicalType\":\"decimal\",\"precision\":6,\"scale\":3}},"
+          + "{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"string\"}}");
+
+  private static final org.apache.avro.Schema LOGICAL_SCHEMA = record(
+      "{\"name\":\"COUNT\",\"type\":{\"type\":\"int\",\"logicalType\":\"date\"}},"
+          + "{\"name\":\"ID\",\"type\":{\"type\":\"long\",\"logicalType\":\"timestamp-millis\"}},"
+          + "{\"name\":\"A_B\",\"type\":{\"type\":\"enum\",\"name\":\"E\","
+          + "\"symbols\":[\"X\",\"Y\"]}}");
+
+  private static final org.apache.avro.Schema MISMATCHED_SCHEMA = record(
+      "{\"name\":\"ID\",\"type\":\"long\"},"
+          + "{\"name\":\"COUNT\",\"type\":[\"null\",\"string\"],\"default\":null}");
+
+  private static final org.apache.avro.Schema DEFAULTED_SCHEMA = record(
+      "{\"name\":\"ID\",\"type\":\"long\"},"
+          + "{\"name\":\"A_B\",\"type\":[\"string\",\"null\"],\"default\":\"dflt\"}");
+
+  private static final org.apache.avro.Schema ADDRESS_SCHEMA = EXACT_SCHEMA.getField("ADDRESS")
+      .schema().getTypes().get(1);
+
+  private static final org.apache.avro.Schema EXTRA_SCHEMA = COERCED_SCHEMA.getField("extra")
+      .schema();
+
+  private final SchemaRegistryClient schemaRegistryClient = spy(new MockSchemaRegistryClient());
+  private final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of());
+
+  private KafkaAvroSerializer avroSerializer;
+  private KsqlAvroSerdeFactory factory;
+  private Deserializer<Object> structDeserializer;
+  private Deserializer<GenericRow> deserializer;
+
+  @Before
+  public void setUp() {
+    avroSerializer = new KafkaAvroSerializer(schemaRegistryClient, ImmutableMap.of(
+        AbstractKafkaSchemaSerDeConfig.AUTO_REGISTER_SCHEMAS, true,
+        AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, ""
+    ));
+
+    final PersistenceSchema schema = PersistenceSchema.from(SCHEMA, false);
+    factory = new KsqlAvroSerdeFactory(KsqlConstants.DEFAULT_AVRO_SCHEMA_FULL_NAME);
+
+    structDeserializer = factory
+        .createSerde(schema, ksqlConfig, () -> schemaRegistryClient)
+        .deserializer();
+
+    deserializer = createRowDeserializer(ALL_FIELDS);
+  }
+
+  @Test
+  public void shouldDeserializeAsStructDeserializerDoes() {
+    final List<byte[]> values = ImmutableList.of(
+        serialize(record(EXACT_SCHEMA,
+            "ID", 1L, "COUNT", 2, "PRICE", 1.5, "A_B", "a", "FLAG", true,
+            "AMOUNT", decimal(1234), "TAGS", Arrays.asList("x", null),
+            "ADDRESS", record(ADDRESS_SCHEMA, "street", "main"))),
+        serialize(record(EXACT_SCHEMA)),
+        serialize(record(COERCED_SCHEMA,
+            "extra", record(EXTRA_SCHEMA, "x", ImmutableList.of(1, 2)),
+            "flag", false, "id", 1, "ID", 2, "price", 1.25f, "a_b", 10L,
+            "skipped", ImmutableMap.of("k", "v"), "amount", decimal(1234),
+            "tags", ImmutableList.of())),
+        serialize(record(LOGICAL_SCHEMA,
+            "COUNT", 18000, "ID", 1586000000000L,
+            "A_B", new GenericData.EnumSymbol(LOGICAL_SCHEMA.getField("A_B").schema(), "Y"))),
+        serialize(record(MISMATCHED_SCHEMA, "ID", 1L, "COUNT", "2")),
+        serialize(record(MISMATCHED_SCHEMA, "ID", 1L)),
+        serialize(record(DEFAULTED_SCHEMA, "ID", 1L)),
+        serialize("not a record"),
+        "not avro".getBytes(StandardCharsets.UTF_8)
+    );
+
+    values.forEach(bytes -> {
+      // Given:
+      Object expected;
+      try {
+        expected = toRow((Struct) structDeserializer.deserialize(SOME_TOPIC, bytes));
+      } catch (final SerializationException e) {
+        expected = "failed";
+      }
+
+      // When:
+      Object result;
+      try {
+        result = deserializer.deserialize(SOME_TOPIC, bytes);
+      } catch (final SerializationException e) {
+        result = "failed";
+      }
+
+      // Then:
+      assertThat(result, is(expected));
+    });
+  }
+
+  @Test
+  public void shouldOnlyReadFieldsToBeRead() {
+    // Given:
+    deserializer = createRowDeserializer(ImmutableSet.of("ID", "PRICE"));
+
+    final byte[] bytes = serialize(record(MISMATCHED_SCHEMA, "ID", 1L, "COUNT", "not an int"));
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(1L, null, null, null, null, null, null, null)));
+  }
+
+  @Test
+  public void shouldDeserializeNull() {
+    assertThat(deserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldLookUpWriterSchemaOnce() throws Exception {
+    // Given:
+    final byte[] bytes = serialize(record(EXACT_SCHEMA, "ID", 1L));
+    final int schemaId = ByteBuffer.wrap(bytes, 1, 4).getInt();
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, bytes);
+    deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    verify(schemaRegistryClient, times(1)).getSchemaById(schemaId);
+  }
+
+  private Deserializer<GenericRow> createRowDeserializer(final Set<String> readFields) {
+    return factory
+        .createRowDeserializer(
+            PersistenceSchema.from(SCHEMA, false),
+            readFields,
+            ImmutableSet.of(),
+            ksqlConfig,
+            () -> schemaRegistryClient
+        )
+        .orElseThrow(AssertionError::new);
+  }
+
+  private byte[] serialize(final Object value) {
+    return avroSerializer.serialize(SOME_TOPIC, value);
+  }
+
+  private static org.apache.avro.Schema record(final String fields) {
+    return new org.apache.avro.Schema.Parser().parse(
+        "{\"type\":\"record\",\"name\":\"Writer\",\"fields\":[" + fields + "]}");
+  }
+
+  private static GenericData.Record record(
+      final org.apache.avro.Schema schema,
+      final Object... namesAndValues
+  ) {
+    final GenericData.Record record = new GenericData.Record(schema);
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      record.put((String) namesAndValues[i], namesAndValues[i + 1]);
+    }
+    return record;
+  }
+
+  private static ByteBuffer decimal(final int unscaled) {
+    return ByteBuffer.wrap(BigInteger.valueOf(unscaled).toByteArray());
+  }
+
+  private static GenericRow toRow(final Struct struct) {
+    if (struct == null) {
+      return null;
+    }
+
+    return GenericRow.fromList(SCHEMA.fields().stream()
+        .map(struct::get)
+        .collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.ksql.serde.avro;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlConstants;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KsqlAvroRowSerializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("S.STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("NUMBERS", SchemaBuilder.array(Schema.OPTIONAL_INT32_SCHEMA).optional().build())
+      .optional()
+      .build();
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("COUNT", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("PRICE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("T.NAME", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("FLAG", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("AMOUNT", DecimalUtil.builder(4, 2).build())
+      .field("TAGS", SchemaBuilder.array(Schema.OPTIONAL_STRING_SCHEMA).optional().build())
+      .field("ATTRS", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, ADDRESS_SCHEMA)
+          .optional()
+          .build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .build();
+
+  private static final List<GenericRow> ROWS = ImmutableList.of(
+      genericRow(1L, 2, 1.5, "a", true, new BigDecimal("12.34"),
+          ImmutableList.of("x"), ImmutableMap.of("k", address("side", 3)),
+          address("main", 1, 2)),
+      genericRow(null, null, null, null, null, null, null, null, null),
+      genericRow(-1L, 0, -0.0, "é", false, new BigDecimal("0.10"),
+          Arrays.asList("y", null), Collections.singletonMap("k", null),
+          new Struct(ADDRESS_SCHEMA)),
+      genericRow(Long.MAX_VALUE, Integer.MIN_VALUE, 1.0E-20, "", null, new BigDecimal("-99.99"),
+          ImmutableList.of(), ImmutableMap.of(), null)
+  );
+
+  private final SchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
+  private final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of());
+
+  private Serializer<Object> structSerializer;
+  private Serializer<GenericRow> serializer;
+
+  @Before
+  public void setUp() {
+    final PersistenceSchema schema = PersistenceSchema.from(SCHEMA, false);
+    final KsqlAvroSerdeFactory factory =
+        new KsqlAvroSerdeFactory(KsqlConstants.DEFAULT_AVRO_SCHEMA_FULL_NAME);
+
+    structSerializer = factory
+        .createSerde(schema, ksqlConfig, () -> schemaRegistryClient)
+        .serializer();
+
+    serializer = factory
+        .createRowSerializer(schema, ksqlConfig, () -> schemaRegistryClient)
+        .orElseThrow(AssertionError::new);
+  }
+
+  @Test
+  public void shouldSerializeAsStructSerializerDoes() {
+    ROWS.forEach(row -> {
+      // Given:
+      final byte[] expected = structSerializer.serialize(SOME_TOPIC, toStruct(row));
+
+      // When:
+      final byte[] result = serializer.serialize(SOME_TOPIC, row);
+
+      // Then:
+      assertThat(row.toString(), result, is(expected));
+    });
+  }
+
+  @Test
+  public void shouldSerializeNull() {
+    assertThat(serializer.serialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowOnFieldCountMismatch() {
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> serializer.serialize(SOME_TOPIC, genericRow(1L))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Field count mismatch"));
+  }
+
+  @Test
+  public void shouldThrowOnColumnOfWrongType() {
+    // Given:
+    final GenericRow row = genericRow("1", null, null, null, null, null, null, null, null);
+
+    // When:
+    assertThrows(
+        DataException.class,
+        () -> serializer.serialize(SOME_TOPIC, row)
+    );
+  }
+
+  @Test
+  public void shouldThrowOnDecimalOfWrongScale() {
+    // Given:
+    final GenericRow row = genericRow(
+        null, null, null, null, null, new BigDecimal("1.5"), null, null, null);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> serializer.serialize(SOME_TOPIC, row)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Error serializing message to topic: bob"));
+  }
+
+  @Test
+  public void shouldNotSupportUnwrappedSchema() {
+    // Given:
+    final ConnectSchema schema = (ConnectSchema) SchemaBuilder.struct()
+        .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+        .build();
+
+    // Then:
+    assertThat(KsqlAvroRowSerializer.supports(PersistenceSchema.from(schema, true)), is(false));
+  }
+
+  private static Struct address(final String street, final Integer... numbers) {
+    return new Struct(ADDRESS_SCHEMA)
+        .put("S.STREET", street)
+        .put("NUMBERS", Arrays.asList(numbers));
+  }
+
+  private static Struct toStruct(final GenericRow row) {
+    final Struct struct = new Struct(SCHEMA);
+    for (int i = 0; i < row.size(); i++) {
+      struct.put(SCHEMA.fields().get(i), row.get(i));
+    }
+    return struct;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.delimited;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.junit.Test;
+
+public class KsqlDelimitedRowDeserializerTest {
+
+  private static final PersistenceSchema ORDER_SCHEMA = PersistenceSchema.from(
+      (ConnectSchema) SchemaBuilder.struct()
+          .field("ORDERTIME", Schema.OPTIONAL_INT64_SCHEMA)
+          .field("ORDERID", Schema.OPTIONAL_INT64_SCHEMA)
+          .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+          .field("ORDERUNITS", Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .field("COST", DecimalUtil.builder(4, 2).build())
+          .build(),
+      false
+  );
+
+  private static final Set<String> ALL_FIELDS =
+      ImmutableSet.of("ORDERTIME", "ORDERID", "ITEMID", "ORDERUNITS", "COST");
+
+  @Test
+  public void shouldDeserializeAsStructDeserializerDoes() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,item_1,,10.10\r\n".getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final GenericRow row = createDeserializer(ALL_FIELDS).deserialize("", bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(
+        1511897796092L, 1L, "item_1", null, new BigDecimal("10.10"))));
+  }
+
+  @Test
+  public void shouldOnlyParseFieldsToBeRead() {
+    // Given:
+    final byte[] bytes = "not a number,1,item_1,10.0,10.10\r\n".getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final GenericRow row = createDeserializer(ImmutableSet.of("ORDERID", "COST"))
+        .deserialize("", bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(null, 1L, null, null, new BigDecimal("10.10"))));
+  }
+
+  @Test
+  public void shouldThrowIfRowHasWrongFieldCountEvenIfFieldsAreNotRead() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,item_1,\r\n".getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> createDeserializer(ImmutableSet.of("ORDERID")).deserialize("", bytes)
+    );
+
+    // Then:
+    assertThat(e.getCause(), hasMessage(is("Unexpected field count, csvFields:4 schemaFields:5")));
+  }
+
+  @Test
+  public void shouldDeserializeNull() {
+    assertThat(createDeserializer(ALL_FIELDS).deserialize("", null), is(nullValue()));
+  }
+
+  private static KsqlDelimitedRowDeserializer createDeserializer(final Set<String> readFields) {
+    return new KsqlDelimitedRowDeserializer(ORDER_SCHEMA, readFields, CSVFormat.DEFAULT);
+  }
+}
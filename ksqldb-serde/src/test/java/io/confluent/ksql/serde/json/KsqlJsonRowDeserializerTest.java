@@ -0,0 +1,290 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class KsqlJsonRowDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("COUNT", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("PRICE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("NAME", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("FLAG", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("AMOUNT", DecimalUtil.builder(4, 2).build())
+      .field("TAGS", SchemaBuilder.array(Schema.OPTIONAL_STRING_SCHEMA).optional().build())
+      .field("ATTRS", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("caseField", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("CASEFIELD", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+
+  private static final Set<String> ALL_FIELDS = SCHEMA.fields().stream()
+      .map(Field::name)
+      .collect(Collectors.toSet());
+
+  private static final List<String> VALUES = ImmutableList.of(
+      "{\"id\":1,\"count\":2,\"price\":1.5,\"name\":\"a\",\"flag\":true,\"amount\":1.25,"
+          + "\"tags\":[\"x\",null],\"attrs\":{\"k\":1.0},\"caseField\":3,\"CASEFIELD\":4}",
+      "{}",
+      "{\"ID\":1,\"id\":2}",
+      "{\"id\":1,\"Id\":2}",
+      "{\"id\":\"10\",\"count\":\"5\",\"price\":\"1.5\",\"name\":12.50,\"amount\":\"1.5\"}",
+      "{\"count\":2147483648,\"id\":12345678901234567890,\"price\":12345678901234567890}",
+      "{\"count\":1.9,\"id\":-2.5,\"price\":3,\"name\":true,\"flag\":null}",
+      "{\"name\":{\"a\":[1,2.50]},\"tags\":[{\"a\":1},[1]]}",
+      "{\"unknown\":{\"nested\":[1,{\"a\":2}]},\"id\":1,\"other\":[]}",
+      "{\"caseField\":1}",
+      "{\"casefield\":1,\"caseField\":2}",
+      "{\"id\":true}",
+      "{\"id\":true,\"ID\":5}",
+      "{\"ID\":5,\"id\":true}",
+      "{\"tags\":\"x\",\"id\":true}",
+      "{\"amount\":123.456}",
+      "{\"attrs\":{\"k\":\"x\"}}",
+      "null",
+      "[1]",
+      "\"str\""
+  );
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][]{{"Plain JSON", false}, {"Magic byte prefixed", true}});
+  }
+
+  @Parameter
+  public String suiteName;
+
+  @Parameter(1)
+  public boolean useSchemas;
+
+  private KsqlJsonDeserializer structDeserializer;
+  private KsqlJsonRowDeserializer deserializer;
+
+  @Before
+  public void setUp() {
+    final PersistenceSchema schema = PersistenceSchema.from(SCHEMA, false);
+    structDeserializer = new KsqlJsonDeserializer(schema, useSchemas);
+    deserializer = new KsqlJsonRowDeserializer(schema, ALL_FIELDS, ImmutableSet.of(), useSchemas);
+  }
+
+  @Test
+  public void shouldDeserializeAsStructDeserializerDoes() {
+    VALUES.forEach(value -> {
+      // Given:
+      final byte[] bytes = addMagic(value);
+
+      Object expected;
+      try {
+        expected = toRow((Struct) structDeserializer.deserialize(SOME_TOPIC, bytes));
+      } catch (final SerializationException e) {
+        expected = e.getCause().getMessage();
+      }
+
+      // When:
+      Object result;
+      try {
+        result = deserializer.deserialize(SOME_TOPIC, bytes);
+      } catch (final SerializationException e) {
+        result = e.getCause().getMessage();
+      }
+
+      // Then:
+      assertThat(value, result, is(expected));
+    });
+  }
+
+  @Test
+  public void shouldDecodeLazyFieldsAsStructDeserializerDoes() {
+    // Given:
+    deserializer = new KsqlJsonRowDeserializer(
+        PersistenceSchema.from(SCHEMA, false),
+        ALL_FIELDS,
+        ALL_FIELDS,
+        useSchemas
+    );
+
+    VALUES.forEach(value -> {
+      final byte[] bytes = addMagic(value);
+
+      Object expected;
+      try {
+        expected = toRow((Struct) structDeserializer.deserialize(SOME_TOPIC, bytes));
+      } catch (final SerializationException e) {
+        expected = e.getCause().getMessage();
+      }
+
+      // When:
+      Object result;
+      try {
+        final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+        if (row != null) {
+          row.decodeAll();
+        }
+        result = row;
+      } catch (final SerializationException e) {
+        result = e.getCause().getMessage();
+      }
+
+      // Then:
+      assertThat(value, result, is(expected));
+    });
+  }
+
+  @Test
+  public void shouldNotDecodeLazyFieldsUntilRead() {
+    // Given:
+    deserializer = new KsqlJsonRowDeserializer(
+        PersistenceSchema.from(SCHEMA, false),
+        ALL_FIELDS,
+        ImmutableSet.of("TAGS", "ATTRS"),
+        useSchemas
+    );
+
+    final byte[] bytes = addMagic("{\"ID\":1,\"TAGS\":{\"not\":\"an array\"},"
+        + "\"ATTRS\":{\"k\":2.5}}");
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row.get(0), is(1L));
+    assertThat(row.get(7), is(ImmutableMap.of("k", 2.5)));
+    assertThrows(
+        SerializationException.class,
+        () -> row.get(6)
+    );
+  }
+
+  @Test
+  public void shouldReadScalarsStraightIntoRow() {
+    // Given:
+    final byte[] bytes = addMagic("{\"ID\":1,\"COUNT\":2,\"PRICE\":1.5,\"NAME\":\"a\","
+        + "\"FLAG\":false,\"AMOUNT\":12.34}");
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(
+        1L, 2, 1.5, "a", false, new BigDecimal("12.34"), null, null, null, null)));
+  }
+
+  @Test
+  public void shouldOnlyReadFieldsToBeRead() {
+    // Given:
+    deserializer = new KsqlJsonRowDeserializer(
+        PersistenceSchema.from(SCHEMA, false),
+        ImmutableSet.of("ID", "NAME"),
+        ImmutableSet.of(),
+        useSchemas
+    );
+
+    final byte[] bytes = addMagic("{\"ID\":1,\"COUNT\":\"not a number\",\"NAME\":\"a\","
+        + "\"TAGS\":{\"not\":\"an array\"}}");
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(GenericRow.genericRow(
+        1L, null, null, "a", null, null, null, null, null, null)));
+  }
+
+  @Test
+  public void shouldDeserializeNull() {
+    assertThat(deserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowOnInvalidJson() {
+    // Given:
+    final byte[] bytes = addMagic("{\"ID\":1,");
+
+    // When:
+    assertThrows(
+        SerializationException.class,
+        () -> deserializer.deserialize(SOME_TOPIC, bytes)
+    );
+  }
+
+  @Test
+  public void shouldNotSupportSchemaWithRequiredFields() {
+    // Given:
+    final ConnectSchema schema = (ConnectSchema) SchemaBuilder.struct()
+        .field("ID", Schema.INT64_SCHEMA)
+        .build();
+
+    // Then:
+    assertThat(KsqlJsonRowDeserializer.supports(PersistenceSchema.from(schema, false)), is(false));
+  }
+
+  private static GenericRow toRow(final Struct struct) {
+    if (struct == null) {
+      return null;
+    }
+
+    return GenericRow.fromList(SCHEMA.fields().stream()
+        .map(struct::get)
+        .collect(Collectors.toList()));
+  }
+
+  private byte[] addMagic(final String json) {
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    if (useSchemas) {
+      return ArrayUtils.addAll(
+          new byte[]{/*magic*/ 0x00, /*schema*/ 0x00, 0x00, 0x00, 0x01}, bytes);
+    } else {
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.ksql.serde.json;
+
+import static io.confluent.ksql.GenericRow.genericRow;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KsqlJsonRowSerializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("NUMBERS", SchemaBuilder.array(Schema.OPTIONAL_INT32_SCHEMA).optional().build())
+      .optional()
+      .build();
+
+  private static final ConnectSchema SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("COUNT", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("PRICE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("NAME", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("FLAG", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("AMOUNT", DecimalUtil.builder(4, 2).build())
+      .field("TAGS", SchemaBuilder.array(Schema.OPTIONAL_STRING_SCHEMA).optional().build())
+      .field("ATTRS", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .build();
+
+  private static final List<GenericRow> ROWS = ImmutableList.of(
+      genericRow(1L, 2, 1.5, "a", true, new BigDecimal("12.34"),
+          ImmutableList.of("x"), ImmutableMap.of("k", 1.0),
+          new Struct(ADDRESS_SCHEMA).put("STREET", "main").put("NUMBERS", ImmutableList.of(1, 2))),
+      genericRow(null, null, null, null, null, null, null, null, null),
+      genericRow(-1L, 0, -0.0, "\"quoted\"\né", false, new BigDecimal("0.10"),
+          Arrays.asList("y", null), Collections.singletonMap("k", null),
+          new Struct(ADDRESS_SCHEMA)),
+      genericRow(Long.MAX_VALUE, Integer.MIN_VALUE, 1.0E-20, "", null, new BigDecimal("-99.99"),
+          ImmutableList.of(), ImmutableMap.of(), null)
+  );
+
+  private Serializer<Object> structSerializer;
+  private KsqlJsonRowSerializer serializer;
+
+  @Before
+  public void setUp() {
+    final PersistenceSchema schema = PersistenceSchema.from(SCHEMA, false);
+    structSerializer = new KsqlJsonSerdeFactory(false)
+        .createSerde(schema, new KsqlConfig(ImmutableMap.of()), () -> null)
+        .serializer();
+    serializer = new KsqlJsonRowSerializer(schema);
+  }
+
+  @Test
+  public void shouldSerializeAsStructSerializerDoes() {
+    ROWS.forEach(row -> {
+      // Given:
+      final byte[] expected = structSerializer.serialize(SOME_TOPIC, toStruct(row));
+
+      // When:
+      final byte[] result = serializer.serialize(SOME_TOPIC, row);
+
+      // Then:
+      assertThat(row.toString(), asString(result), is(asString(expected)));
+    });
+  }
+
+  @Test
+  public void shouldNotShareOutputBetweenRows() {
+    // Given:
+    final byte[] first = serializer.serialize(SOME_TOPIC, ROWS.get(0));
+    final String expected = asString(first);
+
+    // When:
+    serializer.serialize(SOME_TOPIC, ROWS.get(1));
+
+    // Then:
+    assertThat(asString(first), is(expected));
+  }
+
+  @Test
+  public void shouldSerializeNull() {
+    assertThat(serializer.serialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowOnFieldCountMismatch() {
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> serializer.serialize(SOME_TOPIC, genericRow(1L))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Field count mismatch"));
+  }
+
+  @Test
+  public void shouldThrowOnColumnOfWrongType() {
+    // Given:
+    final GenericRow row = genericRow("1", null, null, null, null, null, null, null, null);
+
+    // When:
+    assertThrows(
+        DataException.class,
+        () -> serializer.serialize(SOME_TOPIC, row)
+    );
+  }
+
+  @Test
+  public void shouldNotSupportUnwrappedSchema() {
+    // Given:
+    final ConnectSchema schema = (ConnectSchema) SchemaBuilder.struct()
+        .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+        .build();
+
+    // Then:
+    assertThat(KsqlJsonRowSerializer.supports(PersistenceSchema.from(schema, true)), is(false));
+  }
+
+  @Test
+  public void shouldNotSupportSchemaWithDefaultValues() {
+    // Given:
+    final ConnectSchema schema = (ConnectSchema) SchemaBuilder.struct()
+        .field("ID", SchemaBuilder.int64().defaultValue(0L).build())
+        .build();
+
+    // Then:
+    assertThat(KsqlJsonRowSerializer.supports(PersistenceSchema.from(schema, false)), is(false));
+  }
+
+  private static Struct toStruct(final GenericRow row) {
+    final Struct struct = new Struct(SCHEMA);
+    for (int i = 0; i < row.size(); i++) {
+      struct.put(SCHEMA.fields().get(i), row.get(i));
+    }
+    return struct;
+  }
+
+  private static String asString(final byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -265,7 +265,8 @@ public final class ExecutionStepFactory {
       final ExecutionStep<KTableHolder<K>> source,
       final Formats formats,
       final String topicName,
-      final Optional<TimestampColumn> timestampColumn
+      final Optional<TimestampColumn> timestampColumn,
+      final List<ColumnName> indexedColumns
   ) {
     final QueryContext queryContext = stacker.getQueryContext();
     return new TableSink<>(
@@ -273,7 +274,8 @@ public final class ExecutionStepFactory {
         source,
         formats,
         topicName,
-        timestampColumn
+        timestampColumn,
+        Optional.of(indexedColumns)
     );
   }
 
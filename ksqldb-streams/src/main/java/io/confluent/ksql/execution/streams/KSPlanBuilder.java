@@ -16,11 +16,13 @@
 package io.confluent.ksql.execution.streams;
 
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.plan.ExecutionStep;
 import io.confluent.ksql.execution.plan.KGroupedStreamHolder;
 import io.confluent.ksql.execution.plan.KGroupedTableHolder;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.SourceStep;
 import io.confluent.ksql.execution.plan.StreamAggregate;
 import io.confluent.ksql.execution.plan.StreamFilter;
 import io.confluent.ksql.execution.plan.StreamFlatMap;
@@ -43,8 +45,12 @@ import io.confluent.ksql.execution.plan.TableSource;
 import io.confluent.ksql.execution.plan.TableTableJoin;
 import io.confluent.ksql.execution.plan.WindowedStreamSource;
 import io.confluent.ksql.execution.plan.WindowedTableSource;
+import io.confluent.ksql.execution.streams.materialization.ResultCaches;
 import io.confluent.ksql.execution.transform.sqlpredicate.SqlPredicate;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Windowed;
 
@@ -57,13 +63,23 @@ public final class KSPlanBuilder implements PlanBuilder {
   private final SqlPredicateFactory sqlPredicateFactory;
   private final AggregateParamsFactory aggregateParamFactory;
   private final StreamsFactories streamsFactories;
+  private final MaterializedFactory cachedMaterializedFactory;
+  // The aggregate whose store backs the materialized table sink, and so serves pull queries:
+  private Optional<ExecutionStep<?>> pullQueryAggregate = Optional.empty();
+  // The value columns read from stream sources, where not all are:
+  private final Map<SourceStep<?>, SourceColumns> sourceColumns = new IdentityHashMap<>();
 
   public KSPlanBuilder(final KsqlQueryBuilder queryBuilder) {
+    this(queryBuilder, ResultCaches.disabled());
+  }
+
+  public KSPlanBuilder(final KsqlQueryBuilder queryBuilder, final ResultCaches resultCaches) {
     this(
         queryBuilder,
         SqlPredicate::new,
         new AggregateParamsFactory(),
-        StreamsFactories.create(queryBuilder.getKsqlConfig())
+        StreamsFactories.create(queryBuilder.getKsqlConfig()),
+        resultCaches
     );
   }
 
@@ -72,11 +88,30 @@ public final class KSPlanBuilder implements PlanBuilder {
       final SqlPredicateFactory sqlPredicateFactory,
       final AggregateParamsFactory aggregateParamFactory,
       final StreamsFactories streamsFactories) {
+    this(
+        queryBuilder,
+        sqlPredicateFactory,
+        aggregateParamFactory,
+        streamsFactories,
+        ResultCaches.disabled()
+    );
+  }
+
+  public KSPlanBuilder(
+      final KsqlQueryBuilder queryBuilder,
+      final SqlPredicateFactory sqlPredicateFactory,
+      final AggregateParamsFactory aggregateParamFactory,
+      final StreamsFactories streamsFactories,
+      final ResultCaches resultCaches) {
     this.queryBuilder = Objects.requireNonNull(queryBuilder, "queryBuilder");
     this.sqlPredicateFactory = Objects.requireNonNull(sqlPredicateFactory, "sqlPredicateFactory");
     this.aggregateParamFactory =
         Objects.requireNonNull(aggregateParamFactory, "aggregateParamsFactory");
     this.streamsFactories = Objects.requireNonNull(streamsFactories, "streamsFactories");
+    this.cachedMaterializedFactory = Objects.requireNonNull(resultCaches, "resultCaches")
+        .isEnabled()
+        ? MaterializedFactory.createCached(resultCaches)
+        : streamsFactories.getMaterializedFactory();
   }
 
   public <K> KStreamHolder<K> visitStreamFilter(final StreamFilter<K> streamFilter) {
@@ -118,7 +153,7 @@ public final class KSPlanBuilder implements PlanBuilder {
         source,
         streamAggregate,
         queryBuilder,
-        streamsFactories.getMaterializedFactory(),
+        materializedFactory(streamAggregate),
         aggregateParamFactory
     );
   }
@@ -126,6 +161,9 @@ public final class KSPlanBuilder implements PlanBuilder {
   @Override
   public <K> KStreamHolder<K> visitStreamSelect(
       final StreamSelect<K> streamSelect) {
+    SourceColumns.readBy(streamSelect)
+        .ifPresent(read -> sourceColumns.put(read.getSource(), read));
+
     final KStreamHolder<K> source = streamSelect.getSource().build(this);
     return StreamSelectBuilder.build(source, streamSelect, queryBuilder);
   }
@@ -164,7 +202,8 @@ public final class KSPlanBuilder implements PlanBuilder {
     return SourceBuilder.buildStream(
         queryBuilder,
         streamSource,
-        streamsFactories.getConsumedFactory()
+        streamsFactories.getConsumedFactory(),
+        readColumns(streamSource)
     );
   }
 
@@ -174,7 +213,8 @@ public final class KSPlanBuilder implements PlanBuilder {
     return SourceBuilder.buildWindowedStream(
         queryBuilder,
         windowedStreamSource,
-        streamsFactories.getConsumedFactory()
+        streamsFactories.getConsumedFactory(),
+        readColumns(windowedStreamSource)
     );
   }
 
@@ -246,7 +286,7 @@ public final class KSPlanBuilder implements PlanBuilder {
         source,
         aggregate,
         queryBuilder,
-        streamsFactories.getMaterializedFactory(),
+        materializedFactory(aggregate),
         aggregateParamFactory
     );
   }
@@ -279,9 +319,10 @@ public final class KSPlanBuilder implements PlanBuilder {
 
   @Override
   public <K> KTableHolder<K> visitTableSink(final TableSink<K> tableSink) {
+    pullQueryAggregate = materializingAggregate(tableSink.getSource());
+
     final KTableHolder<K> source = tableSink.getSource().build(this);
-    TableSinkBuilder.build(source, tableSink, queryBuilder);
-    return source;
+    return TableSinkBuilder.build(source, tableSink, queryBuilder);
   }
 
   @Override
@@ -291,4 +332,28 @@ public final class KSPlanBuilder implements PlanBuilder {
     final KTableHolder<K> right = tableTableJoin.getRightSource().build(this);
     return TableTableJoinBuilder.build(left, right, tableTableJoin);
   }
+
+  private MaterializedFactory materializedFactory(final ExecutionStep<?> aggregate) {
+    return pullQueryAggregate.filter(step -> step == aggregate).isPresent()
+        ? cachedMaterializedFactory
+        : streamsFactories.getMaterializedFactory();
+  }
+
+  private static Optional<ExecutionStep<?>> materializingAggregate(final ExecutionStep<?> step) {
+    if (step instanceof TableSelect) {
+      return materializingAggregate(((TableSelect<?>) step).getSource());
+    }
+    if (step instanceof TableFilter) {
+      return materializingAggregate(((TableFilter<?>) step).getSource());
+    }
+    if (step instanceof StreamAggregate || step instanceof TableAggregate) {
+      return Optional.of(step);
+    }
+    return Optional.empty();
+  }
+
+  private SourceColumns readColumns(final SourceStep<?> source) {
+    final SourceColumns columns = sourceColumns.remove(source);
+    return columns == null ? SourceColumns.all(source) : columns;
+  }
 }
@@ -16,11 +16,18 @@
 package io.confluent.ksql.execution.streams;
 
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
+import io.confluent.ksql.execution.streams.materialization.ResultCaches;
 import java.time.Duration;
 import java.util.Optional;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Materialized;
 import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
 
 public interface MaterializedFactory {
   <K, S extends StateStore> Materialized<K, GenericRow, S> create(
@@ -55,6 +62,56 @@ public interface MaterializedFactory {
     );
   }
 
+  /**
+   * Create a factory that caches the results of key lookups against the non-windowed table it
+   * materializes.
+   *
+   * <p>Only use it for the store that pull queries look up, i.e. the one backing a materialized
+   * table sink: the key-value stores it materializes invalidate the cache of the store as they
+   * write to it, and Kafka Streams record caching is disabled for them, as it defers writes
+   * to the store. Windowed stores are materialized without a cache.
+   *
+   * @param resultCaches the caches to register the cache of the store with.
+   * @return the factory.
+   */
+  static MaterializedFactory createCached(final ResultCaches resultCaches) {
+    final MaterializedFactory uncached = create();
+    if (!resultCaches.isEnabled()) {
+      return uncached;
+    }
+
+    return new MaterializedFactory() {
+      @Override
+      public <K, S extends StateStore> Materialized<K, GenericRow, S> create(
+          final Serde<K> keySerde,
+          final Serde<GenericRow> valSerde,
+          final String name,
+          final Optional<Duration> retention) {
+        return uncached.create(keySerde, valSerde, name, retention);
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public <K, S extends StateStore> Materialized<K, GenericRow, S> create(
+          final Serde<K> keySerde,
+          final Serde<GenericRow> valSerde,
+          final String name) {
+        // Only used for non-windowed aggregates, which are keyed by Struct:
+        final ResultCache cache = resultCaches
+            .create(name, (Serializer<Struct>) keySerde.serializer());
+
+        final Materialized<K, GenericRow, KeyValueStore<Bytes, byte[]>> materialized =
+            Materialized.<K, GenericRow>as(
+                cache.wrap(Stores.persistentTimestampedKeyValueStore(name)))
+                .withKeySerde(keySerde)
+                .withValueSerde(valSerde)
+                .withCachingDisabled();
+
+        return (Materialized<K, GenericRow, S>) (Materialized) materialized;
+      }
+    };
+  }
+
   static MaterializedFactory create(final Materializer materializer) {
     return new MaterializedFactory() {
       @Override
@@ -33,6 +33,16 @@ public interface RoutingFilter {
    */
   boolean filter(KsqlHostInfo hostInfo);
 
+  /**
+   * Orders the hosts that passed the filter by routing preference.
+   * @param hosts The hosts that passed the filter, with the active host first if present, then
+   *              the standbys.
+   * @return The hosts, in the order they should be tried. By default the order is unchanged.
+   */
+  default List<KsqlHostInfo> order(final List<KsqlHostInfo> hosts) {
+    return hosts;
+  }
+
   /**
    * A factory for RoutingFilters.
    */
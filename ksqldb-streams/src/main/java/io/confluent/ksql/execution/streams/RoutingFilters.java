@@ -17,18 +17,48 @@ package io.confluent.ksql.execution.streams;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.util.KsqlHostInfo;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 public final class RoutingFilters implements RoutingFilter {
 
   private final ImmutableList<RoutingFilter> routingFilters;
+  private final Optional<Comparator<KsqlHostInfo>> preference;
 
   public RoutingFilters(final ImmutableList<RoutingFilter> routingFilters) {
+    this(routingFilters, Optional.empty());
+  }
+
+  /**
+   * @param routingFilters the filters a host must pass.
+   * @param preference if present, the order in which hosts that pass the filters are preferred.
+   *                   Hosts the comparator considers equal keep their default order.
+   */
+  public RoutingFilters(
+      final ImmutableList<RoutingFilter> routingFilters,
+      final Optional<Comparator<KsqlHostInfo>> preference
+  ) {
     this.routingFilters = Objects.requireNonNull(routingFilters, "routingFilters");
+    this.preference = Objects.requireNonNull(preference, "preference");
   }
 
   public  boolean filter(final KsqlHostInfo host) {
     return routingFilters.stream()
         .allMatch(f -> f.filter(host));
   }
+
+  @Override
+  public List<KsqlHostInfo> order(final List<KsqlHostInfo> hosts) {
+    if (!preference.isPresent()) {
+      return hosts;
+    }
+
+    // List.sort is stable, so equally preferred hosts keep their default order:
+    final List<KsqlHostInfo> ordered = new ArrayList<>(hosts);
+    ordered.sort(preference.get());
+    return ordered;
+  }
 }
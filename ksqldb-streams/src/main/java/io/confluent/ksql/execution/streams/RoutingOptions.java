@@ -15,6 +15,8 @@
 
 package io.confluent.ksql.execution.streams;
 
+import java.util.Set;
+
 /**
  * These are options used for locating the host to retrieve data from.
  */
@@ -23,4 +25,7 @@ public interface RoutingOptions {
   long getOffsetLagAllowed();
 
   boolean skipForwardRequest();
+
+  // The partitions a forwarded request should be served from. Empty means all partitions.
+  Set<Integer> getPartitions();
 }
@@ -71,14 +71,20 @@ public final class SourceBuilder {
   private SourceBuilder() {
   }
 
+  /**
+   * Builds the stream of a source, whose rows need only have the supplied value columns read.
+   * The other value columns may be null, and the lazy columns may be left to be decoded when
+   * first read.
+   */
   public static KStreamHolder<Struct> buildStream(
       final KsqlQueryBuilder queryBuilder,
       final StreamSource source,
-      final ConsumedFactory consumedFactory
+      final ConsumedFactory consumedFactory,
+      final SourceColumns readColumns
   ) {
     final PhysicalSchema physicalSchema = getPhysicalSchema(source);
 
-    final Serde<GenericRow> valueSerde = getValueSerde(queryBuilder, source, physicalSchema);
+    final Serde<GenericRow> valueSerde = buildValueSerde(queryBuilder, readColumns);
 
     final Serde<Struct> keySerde = queryBuilder.buildKeySerde(
         source.getFormats().getKeyFormat(),
@@ -112,11 +118,12 @@ public final class SourceBuilder {
   static KStreamHolder<Windowed<Struct>> buildWindowedStream(
       final KsqlQueryBuilder queryBuilder,
       final WindowedStreamSource source,
-      final ConsumedFactory consumedFactory
+      final ConsumedFactory consumedFactory,
+      final SourceColumns readColumns
   ) {
     final PhysicalSchema physicalSchema = getPhysicalSchema(source);
 
-    final Serde<GenericRow> valueSerde = getValueSerde(queryBuilder, source, physicalSchema);
+    final Serde<GenericRow> valueSerde = buildValueSerde(queryBuilder, readColumns);
 
     final WindowInfo windowInfo = source.getWindowInfo();
     final Serde<Windowed<Struct>> keySerde = queryBuilder.buildKeySerde(
@@ -254,6 +261,30 @@ public final class SourceBuilder {
         .withPseudoAndKeyColsInValue(windowed);
   }
 
+  /**
+   * @return the serde of the values of the source, whose deserializer need only read the
+   *     supplied value columns, and may decode the lazy columns when first read.
+   */
+  public static Serde<GenericRow> buildValueSerde(
+      final KsqlQueryBuilder queryBuilder,
+      final SourceColumns readColumns
+  ) {
+    final SourceStep<?> source = readColumns.getSource();
+    final PhysicalSchema physicalSchema = getPhysicalSchema(source);
+
+    if (readColumns.isAll()) {
+      return getValueSerde(queryBuilder, source, physicalSchema);
+    }
+
+    return queryBuilder.buildValueSerde(
+        source.getFormats().getValueFormat(),
+        physicalSchema,
+        source.getProperties().getQueryContext(),
+        readColumns.getColumns(),
+        readColumns.getLazyColumns()
+    );
+  }
+
   private static Serde<GenericRow> getValueSerde(
       final KsqlQueryBuilder queryBuilder,
       final SourceStep<?> streamSource,
@@ -299,6 +330,22 @@ public final class SourceBuilder {
         .transformValues(new AddKeyAndTimestampColumns<>(keyGenerator));
   }
 
+  /**
+   * @return the extractor of the timestamps of the records of the source.
+   */
+  public static TimestampExtractor timestampExtractor(
+      final KsqlQueryBuilder queryBuilder,
+      final SourceStep<?> streamSource
+  ) {
+    return timestampExtractor(
+        queryBuilder.getKsqlConfig(),
+        streamSource.getSourceSchema(),
+        streamSource.getTimestampColumn(),
+        streamSource,
+        queryBuilder
+    );
+  }
+
   private static TimestampExtractor timestampExtractor(
       final KsqlConfig ksqlConfig,
       final LogicalSchema sourceSchema,
@@ -379,7 +426,10 @@ public final class SourceBuilder {
     };
   }
 
-  private static Function<Struct, Collection<?>> nonWindowedKeyGenerator(
+  /**
+   * @return a function returning the values of the key columns that the source adds to each row.
+   */
+  public static Function<Struct, Collection<?>> nonWindowedKeyGenerator(
       final LogicalSchema schema
   ) {
     final org.apache.kafka.connect.data.Field keyField = getKeySchemaSingleField(schema);
@@ -433,10 +483,22 @@ public final class SourceBuilder {
     }
   }
 
-  private static Topology.AutoOffsetReset getAutoOffsetReset(
+  /**
+   * @return the offset reset policy of the query, or the supplied default if none is set.
+   */
+  public static Topology.AutoOffsetReset getAutoOffsetReset(
       final Topology.AutoOffsetReset defaultValue,
       final KsqlQueryBuilder queryBuilder) {
-    final Object offestReset = queryBuilder.getKsqlConfig()
+    return getAutoOffsetReset(defaultValue, queryBuilder.getKsqlConfig());
+  }
+
+  /**
+   * @return the offset reset policy set in the config, or the supplied default if none is set.
+   */
+  public static Topology.AutoOffsetReset getAutoOffsetReset(
+      final Topology.AutoOffsetReset defaultValue,
+      final KsqlConfig ksqlConfig) {
+    final Object offestReset = ksqlConfig
         .getKsqlStreamConfigProps()
         .get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG);
     if (offestReset == null) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.QualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.plan.SourceStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.plan.WindowedStreamSource;
+import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.Column;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The value columns of a stream source that are read by a projection of it, i.e. those read by
+ * the projection itself, by any filters between the two, or to extract the timestamps of the
+ * source's records.
+ *
+ * <p>The source need only deserialize these columns: the projection outputs new rows, so no later
+ * step can read any of the others. The columns of tables are always all deserialized, as the
+ * rows of a table are also materialized.
+ *
+ * <p>Where a filter reads the source directly, the columns it does not read are lazy columns: the
+ * source may leave them to be decoded when first read, so that they are never decoded for the
+ * records the filter drops. The filter decodes them for the records it passes on.
+ */
+public final class SourceColumns {
+
+  private final SourceStep<?> source;
+  private final ImmutableSet<ColumnName> columns;
+  private final ImmutableSet<ColumnName> lazyColumns;
+
+  /**
+   * @param select the projection.
+   * @return the source the projection reads from, through any filters, with the value columns of
+   *     the source that are read, or empty if the projection does not read from a stream source.
+   */
+  public static Optional<SourceColumns> readBy(final StreamSelect<?> select) {
+    final ColumnCollector collector = new ColumnCollector();
+    select.getSelectExpressions().stream()
+        .map(SelectExpression::getExpression)
+        .forEach(collector::collect);
+
+    ExecutionStep<?> step = select.getSource();
+    Optional<StreamFilter<?>> sourceFilter = Optional.empty();
+    while (step instanceof StreamFilter) {
+      final StreamFilter<?> filter = (StreamFilter<?>) step;
+      collector.collect(filter.getFilterExpression());
+      sourceFilter = Optional.of(filter);
+      step = filter.getSource();
+    }
+
+    if (!(step instanceof StreamSource || step instanceof WindowedStreamSource)
+        || collector.qualified) {
+      return Optional.empty();
+    }
+
+    final SourceStep<?> source = (SourceStep<?>) step;
+    final Optional<ColumnName> timestampColumn = source.getTimestampColumn()
+        .map(TimestampColumn::getColumn);
+    timestampColumn.ifPresent(collector.columns::add);
+
+    final ImmutableSet<ColumnName> columns = valueColumns(source).stream()
+        .filter(collector.columns::contains)
+        .collect(ImmutableSet.toImmutableSet());
+
+    final ImmutableSet<ColumnName> lazyColumns;
+    if (sourceFilter.isPresent()) {
+      // The timestamp is extracted before the filter, so its column is not lazy:
+      final ColumnCollector filterCollector = new ColumnCollector();
+      filterCollector.collect(sourceFilter.get().getFilterExpression());
+      timestampColumn.ifPresent(filterCollector.columns::add);
+
+      lazyColumns = columns.stream()
+          .filter(column -> !filterCollector.columns.contains(column))
+          .collect(ImmutableSet.toImmutableSet());
+    } else {
+      lazyColumns = ImmutableSet.of();
+    }
+
+    return Optional.of(new SourceColumns(source, columns, lazyColumns));
+  }
+
+  /**
+   * @param source the source.
+   * @return the source with all its value columns, none of which are lazy.
+   */
+  public static SourceColumns all(final SourceStep<?> source) {
+    return new SourceColumns(source, valueColumns(source), ImmutableSet.of());
+  }
+
+  /**
+   * @param source the source.
+   * @return all the value columns of the source.
+   */
+  public static ImmutableSet<ColumnName> valueColumns(final SourceStep<?> source) {
+    return source.getSourceSchema().value().stream()
+        .map(Column::name)
+        .collect(ImmutableSet.toImmutableSet());
+  }
+
+  private SourceColumns(
+      final SourceStep<?> source,
+      final ImmutableSet<ColumnName> columns,
+      final ImmutableSet<ColumnName> lazyColumns
+  ) {
+    this.source = requireNonNull(source, "source");
+    this.columns = requireNonNull(columns, "columns");
+    this.lazyColumns = requireNonNull(lazyColumns, "lazyColumns");
+  }
+
+  public SourceStep<?> getSource() {
+    return source;
+  }
+
+  public Set<ColumnName> getColumns() {
+    return columns;
+  }
+
+  /**
+   * @return the columns that are read, but not by a filter that reads the source directly.
+   */
+  public Set<ColumnName> getLazyColumns() {
+    return lazyColumns;
+  }
+
+  /**
+   * @return whether all the value columns of the source are read, and none are lazy.
+   */
+  public boolean isAll() {
+    return lazyColumns.isEmpty() && columns.containsAll(valueColumns(source));
+  }
+
+  private static final class ColumnCollector extends TraversalExpressionVisitor<Void> {
+
+    private final Set<ColumnName> columns = new HashSet<>();
+    private boolean qualified;
+
+    void collect(final Expression expression) {
+      process(expression, null);
+    }
+
+    @Override
+    public Void visitUnqualifiedColumnReference(
+        final UnqualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      columns.add(node.getColumnName());
+      return null;
+    }
+
+    @Override
+    public Void visitQualifiedColumnReference(
+        final QualifiedColumnReferenceExp node,
+        final Void context
+    ) {
+      // Not expected in a physical plan, so the columns read can not be known:
+      qualified = true;
+      return null;
+    }
+  }
+}
@@ -15,27 +15,215 @@
 
 package io.confluent.ksql.execution.streams;
 
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.context.QueryContext.Stacker;
+import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.TableSink;
+import io.confluent.ksql.execution.streams.materialization.SecondaryIndex;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.Column;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Named;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKeySupplier;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
 
 public final class TableSinkBuilder {
+  private static final String INDEX_OP = "Index";
+  private static final String INDEX_TRANSFORM_NAME = "ApplyIndexTransform-";
+
   private TableSinkBuilder() {
   }
 
-  public static <K> void build(
+  public static <K> KTableHolder<K> build(
       final KTableHolder<K> table,
       final TableSink<K> tableSink,
       final KsqlQueryBuilder queryBuilder) {
+    final QueryContext queryContext = tableSink.getProperties().getQueryContext();
+
+    final Map<ColumnName, String> indexStoreNames = tableSink.getIndexedColumns().isEmpty()
+        ? ImmutableMap.of()
+        : addIndexStores(table.getSchema(), tableSink, queryBuilder);
+
+    final KStream<K, GenericRow> stream = indexStoreNames.isEmpty()
+        ? table.getTable().toStream()
+        : table.getTable().toStream().transformValues(
+            new MaintainIndexes<>(
+                keySerializer(table, tableSink.getFormats(), queryContext),
+                tableSink.getTopicName(),
+                indexColumnsByStore(table.getSchema(), indexStoreNames)
+            ),
+            Named.as(INDEX_TRANSFORM_NAME + StreamsUtil.buildOpName(queryContext)),
+            indexStoreNames.values().toArray(new String[0])
+        );
+
     SinkBuilder.build(
         table.getSchema(),
         tableSink.getFormats(),
         tableSink.getTimestampColumn(),
         tableSink.getTopicName(),
-        table.getTable().toStream(),
+        stream,
         table.getKeySerdeFactory(),
-        tableSink.getProperties().getQueryContext(),
+        queryContext,
         queryBuilder
     );
+
+    return table.withMaterialization(table.getMaterializationBuilder().map(builder -> {
+      indexStoreNames.forEach(builder::index);
+      return builder;
+    }));
+  }
+
+  private static <K> Map<ColumnName, String> addIndexStores(
+      final LogicalSchema schema,
+      final TableSink<K> tableSink,
+      final KsqlQueryBuilder queryBuilder
+  ) {
+    final Stacker stacker = Stacker.of(tableSink.getProperties().getQueryContext());
+
+    final Map<ColumnName, String> storeNames = new LinkedHashMap<>();
+    for (final ColumnName columnName : tableSink.getIndexedColumns()) {
+      // Column names may contain characters that are invalid in changelog topic names:
+      final Column column = findColumn(schema, columnName);
+      final String storeName = StreamsUtil.buildOpName(
+          stacker.push(INDEX_OP, String.valueOf(column.index())).getQueryContext());
+
+      queryBuilder.getStreamsBuilder().addStateStore(Stores.keyValueStoreBuilder(
+          Stores.persistentKeyValueStore(storeName),
+          Serdes.Bytes(),
+          Serdes.ByteArray()
+      ));
+
+      storeNames.put(columnName, storeName);
+    }
+    return storeNames;
+  }
+
+  private static Map<String, Integer> indexColumnsByStore(
+      final LogicalSchema schema,
+      final Map<ColumnName, String> indexStoreNames
+  ) {
+    final ImmutableMap.Builder<String, Integer> columns = ImmutableMap.builder();
+    indexStoreNames.forEach((column, storeName) ->
+        columns.put(storeName, findColumn(schema, column).index()));
+    return columns.build();
+  }
+
+  private static Column findColumn(final LogicalSchema schema, final ColumnName column) {
+    return schema.findValueColumn(column)
+        .orElseThrow(() -> new IllegalStateException("Unknown indexed column: " + column));
+  }
+
+  private static <K> Serializer<K> keySerializer(
+      final KTableHolder<K> table,
+      final Formats formats,
+      final QueryContext queryContext
+  ) {
+    final PhysicalSchema physicalSchema = PhysicalSchema.from(
+        table.getSchema(),
+        formats.getOptions()
+    );
+
+    return table.getKeySerdeFactory()
+        .buildKeySerde(formats.getKeyFormat(), physicalSchema, queryContext)
+        .serializer();
+  }
+
+  /**
+   * Keeps the index stores up to date with the rows of the table, passing the rows on unchanged.
+   */
+  static final class MaintainIndexes<K>
+      implements ValueTransformerWithKeySupplier<K, GenericRow, GenericRow> {
+
+    private final Serializer<K> keySerializer;
+    private final String topicName;
+    private final Map<String, Integer> columnIndexByStore;
+
+    MaintainIndexes(
+        final Serializer<K> keySerializer,
+        final String topicName,
+        final Map<String, Integer> columnIndexByStore
+    ) {
+      this.keySerializer = requireNonNull(keySerializer, "keySerializer");
+      this.topicName = requireNonNull(topicName, "topicName");
+      this.columnIndexByStore = ImmutableMap
+          .copyOf(requireNonNull(columnIndexByStore, "columnIndexByStore"));
+    }
+
+    @Override
+    public ValueTransformerWithKey<K, GenericRow, GenericRow> get() {
+      return new ValueTransformerWithKey<K, GenericRow, GenericRow>() {
+        private final Map<KeyValueStore<Bytes, byte[]>, Integer> stores = new LinkedHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void init(final ProcessorContext processorContext) {
+          columnIndexByStore.forEach((storeName, columnIndex) -> stores.put(
+              (KeyValueStore<Bytes, byte[]>) processorContext.getStateStore(storeName),
+              columnIndex
+          ));
+        }
+
+        @Override
+        public GenericRow transform(final K key, final GenericRow row) {
+          if (key == null) {
+            return row;
+          }
+
+          final byte[] primaryKey = keySerializer.serialize(topicName, key);
+          stores.forEach((store, columnIndex) -> update(
+              store,
+              primaryKey,
+              row == null ? null : row.get(columnIndex)
+          ));
+          return row;
+        }
+
+        @Override
+        public void close() {
+        }
+      };
+    }
+
+    static void update(
+        final KeyValueStore<Bytes, byte[]> store,
+        final byte[] primaryKey,
+        final Object value
+    ) {
+      final Bytes reverseKey = SecondaryIndex.reverseKey(primaryKey);
+      final byte[] previous = store.get(reverseKey);
+      final byte[] encoded = value == null ? null : SecondaryIndex.encodeValue(value);
+      if (Arrays.equals(previous, encoded)) {
+        return;
+      }
+
+      if (previous != null) {
+        store.delete(SecondaryIndex.indexKey(previous, primaryKey));
+      }
+
+      if (encoded == null) {
+        store.delete(reverseKey);
+        return;
+      }
+
+      store.put(SecondaryIndex.indexKey(encoded, primaryKey), SecondaryIndex.indexValue());
+      store.put(reverseKey, encoded);
+    }
   }
-}
\ No newline at end of file
+}
@@ -23,11 +23,15 @@ import com.google.common.collect.Range;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.model.WindowType;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -94,6 +98,11 @@ class KsqlMaterialization implements Materialization {
     return inner.windowType();
   }
 
+  @Override
+  public Set<ColumnName> indexedColumns() {
+    return inner.indexedColumns();
+  }
+
   @Override
   public MaterializedTable nonWindowed() {
     return new KsqlMaterializedTable(inner.nonWindowed());
@@ -136,9 +145,47 @@ class KsqlMaterialization implements Materialization {
     @Override
     public Optional<Row> get(final Struct key) {
       return table.get(key)
-          .flatMap(row -> filterAndTransform(key, row.value(), row.rowTime())
-              .map(v -> row.withValue(v, schema()))
-          );
+          .flatMap(row -> filterAndTransform(row));
+    }
+
+    @Override
+    public List<Row> get(final List<Struct> keys) {
+      return filterAndTransform(table.get(keys));
+    }
+
+    @Override
+    public List<Row> get(final int partition, final Struct lower, final Struct upper) {
+      return filterAndTransform(table.get(partition, lower, upper));
+    }
+
+    @Override
+    public List<Row> getByIndex(final int partition, final ColumnName column, final Object value) {
+      final Column indexed = schema.findValueColumn(column)
+          .orElseThrow(() -> new IllegalArgumentException("Unknown column: " + column));
+
+      // The index is maintained from the table's output, which can lag behind the store:
+      final Builder<Row> builder = ImmutableList.builder();
+      for (final Row row : filterAndTransform(table.getByIndex(partition, column, value))) {
+        if (value.equals(row.value().get(indexed.index()))) {
+          builder.add(row);
+        }
+      }
+      return builder.build();
+    }
+
+    private List<Row> filterAndTransform(final List<Row> rows) {
+      final Builder<Row> builder = ImmutableList.builder();
+
+      for (final Row row : rows) {
+        filterAndTransform(row).ifPresent(builder::add);
+      }
+
+      return builder.build();
+    }
+
+    private Optional<Row> filterAndTransform(final Row row) {
+      return KsqlMaterialization.this.filterAndTransform(row.key(), row.value(), row.rowTime())
+          .map(v -> row.withValue(v, schema()));
     }
   }
 
@@ -163,6 +210,35 @@ class KsqlMaterialization implements Materialization {
 
       return builder.build();
     }
+
+    @Override
+    public void scan(
+        final Struct key,
+        final Range<Instant> windowStart,
+        final Predicate<WindowedRow> visitor
+    ) {
+      // Rows removed by the transforms do not count towards the visitor's rows:
+      table.scan(key, windowStart, row -> {
+        final Optional<GenericRow> value =
+            filterAndTransform(row.windowedKey(), row.value(), row.rowTime());
+
+        return !value.isPresent() || visitor.test(row.withValue(value.get(), schema()));
+      });
+    }
+
+    @Override
+    public void scanAll(
+        final int partition,
+        final Range<Instant> windowStart,
+        final Predicate<WindowedRow> visitor
+    ) {
+      table.scanAll(partition, windowStart, row -> {
+        final Optional<GenericRow> value =
+            filterAndTransform(row.windowedKey(), row.value(), row.rowTime());
+
+        return !value.isPresent() || visitor.test(row.withValue(value.get(), schema()));
+      });
+    }
   }
 }
 
@@ -45,6 +45,51 @@ public interface Locator {
       RoutingFilterFactory routingFilterFactory
   );
 
+  /**
+   * Locate which KSQL nodes store the supplied {@code keys}, grouped by partition.
+   *
+   * <p>Keys that map to the same partition are returned in a single location, allowing callers
+   * to issue one request per partition, rather than one per key.
+   *
+   * @param keys the required keys.
+   * @return the list of partition locations, in the order each partition is first encountered.
+   */
+  List<KsqlPartitionLocation> locate(
+      List<Struct> keys,
+      RoutingOptions routingOptions,
+      RoutingFilterFactory routingFilterFactory
+  );
+
+  /**
+   * Locate which KSQL nodes store the partitions that may hold keys within the supplied
+   * inclusive bounds.
+   *
+   * <p>As keys are hash partitioned, every partition of the store may hold keys within the
+   * range. The returned locations will not have any keys.
+   *
+   * @param lower the inclusive lower bound of the range.
+   * @param upper the inclusive upper bound of the range.
+   * @return the list of partition locations, ordered by partition.
+   */
+  List<KsqlPartitionLocation> locateRange(
+      Struct lower,
+      Struct upper,
+      RoutingOptions routingOptions,
+      RoutingFilterFactory routingFilterFactory
+  );
+
+  /**
+   * Locate which KSQL nodes store each partition of the store.
+   *
+   * <p>The returned locations will not have any keys.
+   *
+   * @return the list of partition locations, ordered by partition.
+   */
+  List<KsqlPartitionLocation> locateAll(
+      RoutingOptions routingOptions,
+      RoutingFilterFactory routingFilterFactory
+  );
+
   interface KsqlNode {
 
     /**
@@ -57,4 +102,22 @@ public interface Locator {
      */
     URI location();
   }
+
+  interface KsqlPartitionLocation {
+
+    /**
+     * @return the partition of the state store.
+     */
+    int partition();
+
+    /**
+     * @return the keys, if any, that map to the partition.
+     */
+    List<Struct> keys();
+
+    /**
+     * @return the list of nodes, ordered by routing preference, that can serve the partition.
+     */
+    List<KsqlNode> nodes();
+  }
 }
@@ -16,8 +16,10 @@
 package io.confluent.ksql.execution.streams.materialization;
 
 import io.confluent.ksql.model.WindowType;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import java.util.Optional;
+import java.util.Set;
 
 public interface Materialization {
 
@@ -36,6 +38,11 @@ public interface Materialization {
    */
   Optional<WindowType> windowType();
 
+  /**
+   * @return the value columns the materialization is indexed on.
+   */
+  Set<ColumnName> indexedColumns();
+
   /**
    * @return access to the materialized non-windowed table.
    */
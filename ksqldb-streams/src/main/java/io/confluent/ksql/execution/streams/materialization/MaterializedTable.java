@@ -15,6 +15,8 @@
 
 package io.confluent.ksql.execution.streams.materialization;
 
+import io.confluent.ksql.name.ColumnName;
+import java.util.List;
 import java.util.Optional;
 import org.apache.kafka.connect.data.Struct;
 
@@ -30,4 +32,36 @@ public interface MaterializedTable {
    * @return the value, if one is exists.
    */
   Optional<Row> get(Struct key);
+
+  /**
+   * Get the values, if any exist, of the supplied {@code keys}.
+   *
+   * <p>Keys with no value are omitted from the result.
+   *
+   * @param keys the keys to look up.
+   * @return the values that exist, in the order of the supplied keys.
+   */
+  List<Row> get(List<Struct> keys);
+
+  /**
+   * Get the values in the supplied {@code partition} whose key is within the supplied inclusive
+   * {@code lower} and {@code upper} bounds.
+   *
+   * @param partition the partition to scan.
+   * @param lower the inclusive lower bound of the key range.
+   * @param upper the inclusive upper bound of the key range.
+   * @return the rows within the range, ordered by key.
+   */
+  List<Row> get(int partition, Struct lower, Struct upper);
+
+  /**
+   * Get the values in the supplied {@code partition} whose indexed {@code column} has the
+   * supplied {@code value}.
+   *
+   * @param partition the partition to look up.
+   * @param column the indexed column, one of {@link Materialization#indexedColumns()}.
+   * @param value the non-null value of the column.
+   * @return the rows with the value, in no particular order.
+   */
+  List<Row> getByIndex(int partition, ColumnName column, Object value);
 }
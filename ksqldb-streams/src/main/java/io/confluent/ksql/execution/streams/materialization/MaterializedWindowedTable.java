@@ -18,6 +18,7 @@ package io.confluent.ksql.execution.streams.materialization;
 import com.google.common.collect.Range;
 import java.time.Instant;
 import java.util.List;
+import java.util.function.Predicate;
 import org.apache.kafka.connect.data.Struct;
 
 /**
@@ -34,4 +35,30 @@ public interface MaterializedWindowedTable {
    * @return the rows for the key that exist within the range.
    */
   List<WindowedRow> get(Struct key, Range<Instant> windowStart);
+
+  /**
+   * Scan the values in table of the supplied {@code key}, where the window start time is within
+   * the supplied bounds, in order of window start time.
+   *
+   * <p>Rows are read from the store lazily and passed to the {@code visitor} one at a time, until
+   * the visitor returns {@code false} or there are no more rows.
+   *
+   * @param key the key to look up.
+   * @param windowStart the bounds on the window's start time.
+   * @param visitor called with each row, returning {@code true} to continue the scan.
+   */
+  void scan(Struct key, Range<Instant> windowStart, Predicate<WindowedRow> visitor);
+
+  /**
+   * Scan the values of every key in the supplied {@code partition}, where the window start time
+   * is within the supplied bounds.
+   *
+   * <p>Rows are read from the store lazily and passed to the {@code visitor} one at a time, until
+   * the visitor returns {@code false} or there are no more rows.
+   *
+   * @param partition the partition to scan.
+   * @param windowStart the bounds on the window's start time.
+   * @param visitor called with each row, returning {@code true} to continue the scan.
+   */
+  void scanAll(int partition, Range<Instant> windowStart, Predicate<WindowedRow> visitor);
 }
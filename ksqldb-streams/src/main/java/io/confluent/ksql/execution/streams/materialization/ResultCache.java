@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.confluent.ksql.GenericRow;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+
+/**
+ * An in-heap cache of the rows a materialized table returns for key lookups.
+ *
+ * <p>The cache is bounded by the approximate heap size of its entries, evicting the least
+ * recently used entries first. Entries are keyed by the serialized key of the row, matching the
+ * keys of the table's state store, which invalidates entries as it writes them: see
+ * {@link #wrap(KeyValueBytesStoreSupplier)}.
+ *
+ * <p>A lookup that races with a write to the same key is not cached, so the cache never
+ * returns a row older than the state store.
+ */
+@ThreadSafe
+public final class ResultCache {
+
+  // Write generations are tracked per stripe of keys, rather than per key:
+  private static final int GENERATION_STRIPES = 1024;
+
+  // Approximate heap used by an entry, excluding its key and values:
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+  private static final int VALUE_OVERHEAD_BYTES = 16;
+
+  private final String storeName;
+  private final Serializer<Struct> keySerializer;
+  private final Cache<Bytes, Optional<Row>> cache;
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+  private final AtomicLong epoch = new AtomicLong();
+
+  public ResultCache(
+      final String storeName,
+      final long maxBytes,
+      final Serializer<Struct> keySerializer
+  ) {
+    this.storeName = requireNonNull(storeName, "storeName");
+    this.keySerializer = requireNonNull(keySerializer, "keySerializer");
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maxBytes)
+        .<Bytes, Optional<Row>>weigher((key, row) -> weigh(key, row))
+        .recordStats()
+        .build();
+  }
+
+  public String getStoreName() {
+    return storeName;
+  }
+
+  /**
+   * Get the row for a key, loading it from the state store if it is not cached.
+   *
+   * @param key the key to look up.
+   * @param loader loads the row for the key from the state store.
+   * @return the row, or empty if the table has no row for the key.
+   */
+  public Optional<Row> get(final Struct key, final Supplier<Optional<Row>> loader) {
+    final Bytes serialized = Bytes.wrap(keySerializer.serialize(storeName, key));
+
+    final Optional<Row> cached = cache.getIfPresent(serialized);
+    if (cached != null) {
+      return cached;
+    }
+
+    final int stripe = stripe(serialized);
+    final long epochBefore = epoch.get();
+    final long generationBefore = generations.get(stripe);
+
+    final Optional<Row> loaded = loader.get();
+    cache.put(serialized, loaded);
+
+    // A write may have raced with the load, in which case the loaded row may be stale:
+    if (epoch.get() != epochBefore || generations.get(stripe) != generationBefore) {
+      cache.invalidate(serialized);
+    }
+
+    return loaded;
+  }
+
+  /**
+   * Invalidate any entry for a key. Called once the key has been written to the state store.
+   *
+   * @param key the serialized key.
+   */
+  public void invalidate(final Bytes key) {
+    generations.incrementAndGet(stripe(key));
+    cache.invalidate(key);
+  }
+
+  /**
+   * Invalidate all entries. Called when the state store is written to other than through its
+   * processor, e.g. while it is restored from its changelog.
+   */
+  public void invalidateAll() {
+    epoch.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  /**
+   * Wrap the supplier of the table's state store, so that the store invalidates entries in this
+   * cache as it writes them.
+   *
+   * @param supplier the supplier of the timestamped key-value store to wrap.
+   * @return the wrapping supplier.
+   */
+  public KeyValueBytesStoreSupplier wrap(final KeyValueBytesStoreSupplier supplier) {
+    return new ResultCacheInvalidatingStoreSupplier(supplier, this);
+  }
+
+  private static int stripe(final Bytes key) {
+    return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+  }
+
+  private static int weigh(final Bytes key, final Optional<Row> row) {
+    final long size = ENTRY_OVERHEAD_BYTES
+        + key.get().length
+        + row.map(Row::value).map(ResultCache::estimateSize).orElse(0L);
+
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  private static long estimateSize(final GenericRow row) {
+    return estimateSize(row.values());
+  }
+
+  private static long estimateSize(final Object value) {
+    if (value instanceof String) {
+      return VALUE_OVERHEAD_BYTES + 2L * ((String) value).length();
+    }
+
+    if (value instanceof BigDecimal) {
+      return VALUE_OVERHEAD_BYTES + ((BigDecimal) value).unscaledValue().bitLength() / 8 + 32;
+    }
+
+    if (value instanceof List) {
+      long size = VALUE_OVERHEAD_BYTES;
+      for (final Object element : (List<?>) value) {
+        size += estimateSize(element);
+      }
+      return size;
+    }
+
+    if (value instanceof Map) {
+      long size = VALUE_OVERHEAD_BYTES;
+      for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+        size += VALUE_OVERHEAD_BYTES + estimateSize(e.getKey()) + estimateSize(e.getValue());
+      }
+      return size;
+    }
+
+    if (value instanceof Struct) {
+      final Struct struct = (Struct) value;
+      long size = VALUE_OVERHEAD_BYTES;
+      for (final Field field : struct.schema().fields()) {
+        size += estimateSize(struct.get(field));
+      }
+      return size;
+    }
+
+    return VALUE_OVERHEAD_BYTES;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.TimestampedBytesStore;
+
+/**
+ * Supplies key-value stores that invalidate the entries of a {@link ResultCache} as they write
+ * them.
+ */
+final class ResultCacheInvalidatingStoreSupplier implements KeyValueBytesStoreSupplier {
+
+  private final KeyValueBytesStoreSupplier inner;
+  private final ResultCache cache;
+
+  ResultCacheInvalidatingStoreSupplier(
+      final KeyValueBytesStoreSupplier inner,
+      final ResultCache cache
+  ) {
+    this.inner = requireNonNull(inner, "inner");
+    this.cache = requireNonNull(cache, "cache");
+  }
+
+  @Override
+  public String name() {
+    return inner.name();
+  }
+
+  @Override
+  public KeyValueStore<Bytes, byte[]> get() {
+    return new InvalidatingStore(inner.get(), cache);
+  }
+
+  @Override
+  public String metricsScope() {
+    return inner.metricsScope();
+  }
+
+  /**
+   * Only wraps timestamped stores, the type Kafka Streams uses to materialize tables, as it
+   * declares itself as one so that Kafka Streams does not adapt the values it stores.
+   */
+  static final class InvalidatingStore implements KeyValueStore<Bytes, byte[]>,
+      TimestampedBytesStore {
+
+    private final KeyValueStore<Bytes, byte[]> inner;
+    private final ResultCache cache;
+
+    InvalidatingStore(final KeyValueStore<Bytes, byte[]> inner, final ResultCache cache) {
+      this.inner = requireNonNull(inner, "inner");
+      this.cache = requireNonNull(cache, "cache");
+
+      if (!(inner instanceof TimestampedBytesStore)) {
+        throw new IllegalArgumentException("Store is not timestamped: " + inner.name());
+      }
+    }
+
+    @Override
+    public void put(final Bytes key, final byte[] value) {
+      inner.put(key, value);
+      cache.invalidate(key);
+    }
+
+    @Override
+    public byte[] putIfAbsent(final Bytes key, final byte[] value) {
+      final byte[] previous = inner.putIfAbsent(key, value);
+      cache.invalidate(key);
+      return previous;
+    }
+
+    @Override
+    public void putAll(final List<KeyValue<Bytes, byte[]>> entries) {
+      inner.putAll(entries);
+      entries.forEach(entry -> cache.invalidate(entry.key));
+    }
+
+    @Override
+    public byte[] delete(final Bytes key) {
+      final byte[] previous = inner.delete(key);
+      cache.invalidate(key);
+      return previous;
+    }
+
+    @Override
+    public byte[] get(final Bytes key) {
+      return inner.get(key);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> range(final Bytes from, final Bytes to) {
+      return inner.range(from, to);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> all() {
+      return inner.all();
+    }
+
+    @Override
+    public long approximateNumEntries() {
+      return inner.approximateNumEntries();
+    }
+
+    @Override
+    public String name() {
+      return inner.name();
+    }
+
+    @Override
+    public void init(final ProcessorContext context, final StateStore root) {
+      // Restoring the store writes to it directly, bypassing this wrapper:
+      cache.invalidateAll();
+      inner.init(context, root);
+    }
+
+    @Override
+    public void flush() {
+      inner.flush();
+    }
+
+    @Override
+    public void close() {
+      inner.close();
+      cache.invalidateAll();
+    }
+
+    @Override
+    public boolean persistent() {
+      return inner.persistent();
+    }
+
+    @Override
+    public boolean isOpen() {
+      return inner.isOpen();
+    }
+  }
+}
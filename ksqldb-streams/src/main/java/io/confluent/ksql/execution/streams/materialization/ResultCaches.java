@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.processor.StateRestoreListener;
+
+/**
+ * The {@link ResultCache}s of the tables materialized by a query, by state store name.
+ */
+public final class ResultCaches {
+
+  private final long maxBytesPerStore;
+  private final Map<String, ResultCache> caches = new ConcurrentHashMap<>();
+
+  public static ResultCaches disabled() {
+    return new ResultCaches(0);
+  }
+
+  /**
+   * @param maxBytesPerStore the maximum size of each cache, or zero to disable caching.
+   */
+  public ResultCaches(final long maxBytesPerStore) {
+    if (maxBytesPerStore < 0) {
+      throw new IllegalArgumentException("maxBytesPerStore must not be negative");
+    }
+    this.maxBytesPerStore = maxBytesPerStore;
+  }
+
+  public boolean isEnabled() {
+    return maxBytesPerStore > 0;
+  }
+
+  /**
+   * Create the cache for a state store.
+   *
+   * @param storeName the name of the state store.
+   * @param keySerializer the serializer the state store uses for its keys.
+   * @return the new cache.
+   */
+  public ResultCache create(final String storeName, final Serializer<Struct> keySerializer) {
+    if (!isEnabled()) {
+      throw new IllegalStateException("Result caching is disabled");
+    }
+
+    final ResultCache cache = new ResultCache(storeName, maxBytesPerStore, keySerializer);
+    if (caches.putIfAbsent(storeName, cache) != null) {
+      throw new IllegalStateException("Result cache already exists for store: " + storeName);
+    }
+    return cache;
+  }
+
+  public Optional<ResultCache> get(final String storeName) {
+    return Optional.ofNullable(caches.get(storeName));
+  }
+
+  /**
+   * @return a listener that invalidates the cache of a store whenever it is restored, as
+   *     restoration bypasses the invalidation on write.
+   */
+  public StateRestoreListener restoreListener() {
+    return new StateRestoreListener() {
+      @Override
+      public void onRestoreStart(
+          final TopicPartition topicPartition,
+          final String storeName,
+          final long startingOffset,
+          final long endingOffset
+      ) {
+        get(storeName).ifPresent(ResultCache::invalidateAll);
+      }
+
+      @Override
+      public void onBatchRestored(
+          final TopicPartition topicPartition,
+          final String storeName,
+          final long batchEndOffset,
+          final long numRestored
+      ) {
+        get(storeName).ifPresent(ResultCache::invalidateAll);
+      }
+
+      @Override
+      public void onRestoreEnd(
+          final TopicPartition topicPartition,
+          final String storeName,
+          final long totalRestored
+      ) {
+        get(storeName).ifPresent(ResultCache::invalidateAll);
+      }
+    };
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.ksql.execution.streams.materialization;
+
+/**
+ * Thrown when a scan of a materialized table finds more rows than the caller allows.
+ *
+ * <p>The limit applies equally to every replica of the table, so the scan should not be
+ * retried against another replica.
+ */
+public class ScanLimitExceededException extends MaterializationException {
+
+  public ScanLimitExceededException(final String message) {
+    super(message);
+  }
+}
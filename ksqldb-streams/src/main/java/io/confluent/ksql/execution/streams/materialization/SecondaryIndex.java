@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.schema.ksql.types.SqlBaseType;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * The layout of the key-value store that indexes a table on one of its value columns.
+ *
+ * <p>The store holds two kinds of entry:
+ * <ul>
+ *   <li>an index entry per row, keyed by the encoded column value followed by the serialized
+ *   primary key of the row, with an empty value. As the store is ordered, all rows with the same
+ *   column value are found by scanning the keys that start with the encoded value.</li>
+ *   <li>a reverse entry per row, keyed by the serialized primary key of the row, whose value is
+ *   the encoded column value. This is used to remove the index entry when the row changes.</li>
+ * </ul>
+ */
+public final class SecondaryIndex {
+
+  private static final Set<SqlBaseType> SUPPORTED_TYPES = ImmutableSet.of(
+      SqlBaseType.BOOLEAN,
+      SqlBaseType.INTEGER,
+      SqlBaseType.BIGINT,
+      SqlBaseType.DOUBLE,
+      SqlBaseType.STRING
+  );
+
+  private static final byte INDEX_ENTRY = 1;
+  private static final byte REVERSE_ENTRY = 2;
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private SecondaryIndex() {
+  }
+
+  /**
+   * @param type the type of the column.
+   * @return {@code true} if columns of the supplied {@code type} can be indexed.
+   */
+  public static boolean supports(final SqlType type) {
+    return SUPPORTED_TYPES.contains(type.baseType());
+  }
+
+  /**
+   * @param value the non-null column value.
+   * @return the encoded column value.
+   */
+  public static byte[] encodeValue(final Object value) {
+    return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param encodedValue the encoded column value.
+   * @param primaryKey the serialized primary key of the row.
+   * @return the key of the index entry for the row.
+   */
+  public static Bytes indexKey(final byte[] encodedValue, final byte[] primaryKey) {
+    return Bytes.wrap(ByteBuffer.allocate(prefixLength(encodedValue) + primaryKey.length)
+        .put(prefix(encodedValue))
+        .put(primaryKey)
+        .array());
+  }
+
+  /**
+   * @return the value of every index entry.
+   */
+  public static byte[] indexValue() {
+    return EMPTY;
+  }
+
+  /**
+   * @param primaryKey the serialized primary key of the row.
+   * @return the key of the reverse entry for the row.
+   */
+  public static Bytes reverseKey(final byte[] primaryKey) {
+    return Bytes.wrap(ByteBuffer.allocate(1 + primaryKey.length)
+        .put(REVERSE_ENTRY)
+        .put(primaryKey)
+        .array());
+  }
+
+  /**
+   * @param encodedValue the encoded column value.
+   * @return the inclusive lower bound of the keys of the index entries with the value.
+   */
+  public static Bytes lowerBound(final byte[] encodedValue) {
+    return Bytes.wrap(prefix(encodedValue));
+  }
+
+  /**
+   * @param encodedValue the encoded column value.
+   * @return the exclusive upper bound of the keys of the index entries with the value.
+   */
+  public static Bytes upperBound(final byte[] encodedValue) {
+    final byte[] bound = prefix(encodedValue);
+
+    // The prefix always starts with INDEX_ENTRY, so at least one byte can be incremented:
+    int idx = bound.length - 1;
+    while (bound[idx] == (byte) 0xFF) {
+      idx--;
+    }
+    bound[idx]++;
+    return Bytes.wrap(Arrays.copyOf(bound, idx + 1));
+  }
+
+  /**
+   * @param indexKey the key of an entry in the store.
+   * @param encodedValue the encoded column value.
+   * @return the serialized primary key of the row, if the entry is an index entry for the value.
+   */
+  public static Optional<byte[]> primaryKey(final Bytes indexKey, final byte[] encodedValue) {
+    final byte[] key = indexKey.get();
+    final byte[] prefix = prefix(encodedValue);
+    if (key.length < prefix.length
+        || !Arrays.equals(Arrays.copyOf(key, prefix.length), prefix)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(Arrays.copyOfRange(key, prefix.length, key.length));
+  }
+
+  private static int prefixLength(final byte[] encodedValue) {
+    return 1 + Integer.BYTES + encodedValue.length;
+  }
+
+  private static byte[] prefix(final byte[] encodedValue) {
+    // The length of the value is included so that no value's prefix is a prefix of another's:
+    return ByteBuffer.allocate(prefixLength(encodedValue))
+        .put(INDEX_ENTRY)
+        .putInt(encodedValue.length)
+        .put(encodedValue)
+        .array();
+  }
+}
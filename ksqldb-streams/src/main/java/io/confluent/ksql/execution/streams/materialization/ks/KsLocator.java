@@ -28,15 +28,21 @@ import io.confluent.ksql.execution.streams.materialization.MaterializationExcept
 import io.confluent.ksql.util.KsqlHostInfo;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.processor.StreamPartitioner;
 import org.apache.kafka.streams.state.HostInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,17 +79,108 @@ final class KsLocator implements Locator {
       final RoutingOptions routingOptions,
       final RoutingFilterFactory routingFilterFactory
   ) {
+    final KeyQueryMetadata metadata = getKeyQueryMetadata(key);
+    return getFilteredHosts(metadata, routingOptions, routingFilterFactory);
+  }
+
+  @Override
+  public List<KsqlPartitionLocation> locate(
+      final List<Struct> keys,
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
+    final Map<Integer, KeyQueryMetadata> metadataByPartition = new LinkedHashMap<>();
+    final Map<Integer, List<Struct>> keysByPartition = new HashMap<>();
+
+    for (final Struct key : keys) {
+      final KeyQueryMetadata metadata = getKeyQueryMetadata(key);
+      metadataByPartition.putIfAbsent(metadata.getPartition(), metadata);
+      keysByPartition
+          .computeIfAbsent(metadata.getPartition(), partition -> new ArrayList<>())
+          .add(key);
+    }
+
+    return metadataByPartition.entrySet().stream()
+        .map(e -> new PartitionLocation(
+            e.getKey(),
+            keysByPartition.get(e.getKey()),
+            getFilteredHosts(e.getValue(), routingOptions, routingFilterFactory)
+        ))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<KsqlPartitionLocation> locateRange(
+      final Struct lower,
+      final Struct upper,
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
+    return locateAll(routingOptions, routingFilterFactory);
+  }
+
+  @Override
+  public List<KsqlPartitionLocation> locateAll(
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
+    // Streams only exposes metadata by key. A partitioner that ignores the key is used to
+    // first discover the number of partitions, and then the metadata of each partition:
+    final AtomicInteger numPartitions = new AtomicInteger();
+    getKeyQueryMetadata(stateStoreName, (topic, key, value, partitions) -> {
+      numPartitions.set(partitions);
+      return 0;
+    });
+
+    final ImmutableList.Builder<KsqlPartitionLocation> locations = ImmutableList.builder();
+    for (int partition = 0; partition < numPartitions.get(); partition++) {
+      final int thePartition = partition;
+      final KeyQueryMetadata metadata = getKeyQueryMetadata(
+          stateStoreName, (topic, key, value, partitions) -> thePartition);
+
+      locations.add(new PartitionLocation(
+          thePartition,
+          ImmutableList.of(),
+          getFilteredHosts(metadata, routingOptions, routingFilterFactory)
+      ));
+    }
+    return locations.build();
+  }
+
+  private KeyQueryMetadata getKeyQueryMetadata(final Struct key) {
     final KeyQueryMetadata metadata = kafkaStreams
         .queryMetadataForKey(stateStoreName, key, keySerializer);
 
+    throwIfNotAvailable(metadata, key);
+    return metadata;
+  }
+
+  private <K> KeyQueryMetadata getKeyQueryMetadata(
+      final K key,
+      final StreamPartitioner<? super K, ?> partitioner
+  ) {
+    final KeyQueryMetadata metadata = kafkaStreams
+        .queryMetadataForKey(stateStoreName, key, partitioner);
+
+    throwIfNotAvailable(metadata, key);
+    return metadata;
+  }
+
+  private void throwIfNotAvailable(final KeyQueryMetadata metadata, final Object key) {
     // Fail fast if Streams not ready. Let client handle it
-    if (metadata == KeyQueryMetadata.NOT_AVAILABLE) {
+    if (metadata == null || metadata == KeyQueryMetadata.NOT_AVAILABLE) {
       LOG.debug("KeyQueryMetadata not available for state store {} and key {}",
                 stateStoreName, key);
       throw new MaterializationException(String.format(
           "KeyQueryMetadata not available for state store %s and key %s", stateStoreName, key));
     }
+  }
 
+  private List<KsqlNode> getFilteredHosts(
+      final KeyQueryMetadata metadata,
+      final RoutingOptions routingOptions,
+      final RoutingFilterFactory routingFilterFactory
+  ) {
     final HostInfo activeHost = metadata.getActiveHost();
     final Set<HostInfo> standByHosts = metadata.getStandbyHosts();
 
@@ -106,8 +203,12 @@ final class KsLocator implements Locator {
     // If heartbeat is not enabled, all hosts are considered alive.
     // If the request is forwarded internally from another ksql server, only the max lag filter
     // is applied.
-    final List<KsqlNode> filteredHosts = allHosts.stream()
+    // The filter may then reorder the remaining hosts, e.g. to prefer the fastest.
+    final List<KsqlHostInfo> passedHosts = allHosts.stream()
         .filter(routingFilter::filter)
+        .collect(Collectors.toList());
+
+    final List<KsqlNode> filteredHosts = routingFilter.order(passedHosts).stream()
         .map(this::asNode)
         .collect(Collectors.toList());
 
@@ -151,6 +252,47 @@ final class KsLocator implements Locator {
     }
   }
 
+  private static final class PartitionLocation implements KsqlPartitionLocation {
+
+    private final int partition;
+    private final ImmutableList<Struct> keys;
+    private final ImmutableList<KsqlNode> nodes;
+
+    private PartitionLocation(
+        final int partition,
+        final List<Struct> keys,
+        final List<KsqlNode> nodes
+    ) {
+      this.partition = partition;
+      this.keys = ImmutableList.copyOf(requireNonNull(keys, "keys"));
+      this.nodes = ImmutableList.copyOf(requireNonNull(nodes, "nodes"));
+    }
+
+    @Override
+    public int partition() {
+      return partition;
+    }
+
+    @Override
+    public List<Struct> keys() {
+      return keys;
+    }
+
+    @Override
+    public List<KsqlNode> nodes() {
+      return nodes;
+    }
+
+    @Override
+    public String toString() {
+      return "PartitionLocation{"
+          + "partition = " + partition
+          + ", keys = " + keys
+          + ", nodes = " + nodes
+          + "}";
+    }
+  }
+
   @Immutable
   private static final class Node implements KsqlNode {
 
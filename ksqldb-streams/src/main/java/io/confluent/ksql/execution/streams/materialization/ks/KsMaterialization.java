@@ -17,14 +17,19 @@ package io.confluent.ksql.execution.streams.materialization.ks;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.execution.streams.materialization.Locator;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
 import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
 import io.confluent.ksql.model.WindowType;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.serde.WindowInfo;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kafka Streams impl of {@link Materialization}.
@@ -34,15 +39,21 @@ public final class KsMaterialization implements Materialization {
   private final Optional<WindowInfo> windowInfo;
   private final KsStateStore stateStore;
   private final Locator locator;
+  private final Optional<ResultCache> resultCache;
+  private final ImmutableMap<ColumnName, KsSecondaryIndex> indexes;
 
   KsMaterialization(
       final Optional<WindowInfo> windowInfo,
       final Locator locator,
-      final KsStateStore stateStore
+      final KsStateStore stateStore,
+      final Optional<ResultCache> resultCache,
+      final Map<ColumnName, KsSecondaryIndex> indexes
   ) {
     this.windowInfo = requireNonNull(windowInfo, "windowInfo");
     this.stateStore = requireNonNull(stateStore, "stateStore");
     this.locator = requireNonNull(locator, "locator");
+    this.resultCache = requireNonNull(resultCache, "resultCache");
+    this.indexes = ImmutableMap.copyOf(requireNonNull(indexes, "indexes"));
   }
 
   @Override
@@ -60,12 +71,17 @@ public final class KsMaterialization implements Materialization {
     return windowInfo.map(WindowInfo::getType);
   }
 
+  @Override
+  public Set<ColumnName> indexedColumns() {
+    return indexes.keySet();
+  }
+
   @Override
   public MaterializedTable nonWindowed() {
     if (windowInfo.isPresent()) {
       throw new UnsupportedOperationException("Table has windowed key");
     }
-    return new KsMaterializedTable(stateStore);
+    return new KsMaterializedTable(stateStore, resultCache, indexes);
   }
 
   @SuppressWarnings("OptionalGetWithoutIsPresent") // Enforced by type
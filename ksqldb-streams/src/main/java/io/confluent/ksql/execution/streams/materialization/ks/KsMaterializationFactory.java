@@ -18,7 +18,10 @@ package io.confluent.ksql.execution.streams.materialization.ks;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.execution.streams.materialization.Locator;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.serde.WindowInfo;
 import io.confluent.ksql.util.KsqlConfig;
@@ -26,6 +29,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Map;
 import java.util.Optional;
+import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
@@ -64,20 +68,24 @@ public final class KsMaterializationFactory {
    *
    * @param stateStoreName the name of the state store in the Kafka Streams instance.
    * @param kafkaStreams the Kafka Streams instance.
-   * @param keySerializer the key serializer - used purely for location lookups.
+   * @param keySerde the key serde - used for location and index lookups.
    * @param windowInfo the window type of the key.
    * @param streamsProperties the Kafka Streams properties.
+   * @param resultCache the cache of key lookups against the state store, if any.
+   * @param indexStoreNames the names of the state stores indexing the table, by column.
    * @return the new instance if the streams props support IQ.
    */
   public Optional<KsMaterialization> create(
       final String stateStoreName,
       final KafkaStreams kafkaStreams,
       final LogicalSchema schema,
-      final Serializer<Struct> keySerializer,
+      final Serde<Struct> keySerde,
       final Optional<WindowInfo> windowInfo,
       final Map<String, ?> streamsProperties,
       final KsqlConfig ksqlConfig,
-      final String applicationId
+      final String applicationId,
+      final Optional<ResultCache> resultCache,
+      final Map<ColumnName, String> indexStoreNames
   ) {
     final Object appServer = streamsProperties.get(StreamsConfig.APPLICATION_SERVER_CONFIG);
     if (appServer == null) {
@@ -89,7 +97,7 @@ public final class KsMaterializationFactory {
     final KsLocator locator = locatorFactory.create(
         stateStoreName,
         kafkaStreams,
-        keySerializer,
+        keySerde.serializer(),
         localHost,
         applicationId
     );
@@ -101,10 +109,26 @@ public final class KsMaterializationFactory {
         ksqlConfig
     );
 
+    final ImmutableMap.Builder<ColumnName, KsSecondaryIndex> indexes = ImmutableMap.builder();
+    indexStoreNames.forEach((column, indexStoreName) -> indexes.put(
+        column,
+        new KsSecondaryIndex(
+            storeFactory.create(indexStoreName, kafkaStreams, schema, ksqlConfig),
+            keySerde.deserializer()
+        )
+    ));
+
+    // Standby stores are updated by restoring from the changelog, which bypasses the cache's
+    // invalidation on write, so the cache is only used when reading from active stores:
+    final boolean standbyReads =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_ENABLE_STANDBY_READS);
+
     final KsMaterialization materialization = materializationFactory.create(
         windowInfo,
         locator,
-        stateStore
+        stateStore,
+        standbyReads ? Optional.empty() : resultCache,
+        indexes.build()
     );
 
     return Optional.of(materialization);
@@ -149,7 +173,9 @@ public final class KsMaterializationFactory {
     KsMaterialization create(
         Optional<WindowInfo> windowInfo,
         Locator locator,
-        KsStateStore stateStore
+        KsStateStore stateStore,
+        Optional<ResultCache> resultCache,
+        Map<ColumnName, KsSecondaryIndex> indexes
     );
   }
 }
@@ -25,6 +25,7 @@ import io.confluent.ksql.execution.streams.materialization.WindowedRow;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.kstream.Windowed;
@@ -47,26 +48,52 @@ class KsMaterializedSessionTable implements MaterializedWindowedTable {
   public List<WindowedRow> get(
       final Struct key,
       final Range<Instant> windowStart
+  ) {
+    final Builder<WindowedRow> builder = ImmutableList.builder();
+
+    scan(key, windowStart, row -> {
+      builder.add(row);
+      return true;
+    });
+
+    return builder.build();
+  }
+
+  @Override
+  public void scan(
+      final Struct key,
+      final Range<Instant> windowStart,
+      final Predicate<WindowedRow> visitor
   ) {
     try {
       final ReadOnlySessionStore<Struct, GenericRow> store = stateStore
           .store(QueryableStoreTypes.sessionStore());
 
-      return findSession(store, key, windowStart);
+      findSessions(store, key, windowStart, visitor);
     } catch (final Exception e) {
       throw new MaterializationException("Failed to get value from materialized table", e);
     }
   }
 
-  private List<WindowedRow> findSession(
+  @Override
+  public void scanAll(
+      final int partition,
+      final Range<Instant> windowStart,
+      final Predicate<WindowedRow> visitor
+  ) {
+    // Session stores can only be queried by key:
+    throw new UnsupportedOperationException("Session tables can not be scanned without a key");
+  }
+
+  private void findSessions(
       final ReadOnlySessionStore<Struct, GenericRow> store,
       final Struct key,
-      final Range<Instant> windowStart
+      final Range<Instant> windowStart,
+      final Predicate<WindowedRow> visitor
   ) {
+    // Sessions of a key never overlap, so are returned in order of both start and end time:
     try (KeyValueIterator<Windowed<Struct>, GenericRow> it = store.fetch(key)) {
 
-      final Builder<WindowedRow> builder = ImmutableList.builder();
-
       while (it.hasNext()) {
         final KeyValue<Windowed<Struct>, GenericRow> next = it.next();
 
@@ -81,11 +108,11 @@ class KsMaterializedSessionTable implements MaterializedWindowedTable {
               rowTime
           );
 
-          builder.add(row);
+          if (!visitor.test(row)) {
+            return;
+          }
         }
       }
-
-      return builder.build();
     }
   }
 }
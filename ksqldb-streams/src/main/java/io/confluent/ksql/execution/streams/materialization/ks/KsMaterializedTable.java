@@ -15,13 +15,25 @@
 
 package io.confluent.ksql.execution.streams.materialization.ks;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
 import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.name.ColumnName;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -31,10 +43,21 @@ import org.apache.kafka.streams.state.ValueAndTimestamp;
  */
 class KsMaterializedTable implements MaterializedTable {
 
+  private static final Comparator<Row> KEY_ORDER =
+      (left, right) -> compareKeys(left.key(), right.key());
+
   private final KsStateStore stateStore;
+  private final Optional<ResultCache> resultCache;
+  private final ImmutableMap<ColumnName, KsSecondaryIndex> indexes;
 
-  KsMaterializedTable(final KsStateStore store) {
+  KsMaterializedTable(
+      final KsStateStore store,
+      final Optional<ResultCache> resultCache,
+      final Map<ColumnName, KsSecondaryIndex> indexes
+  ) {
     this.stateStore = Objects.requireNonNull(store, "store");
+    this.resultCache = Objects.requireNonNull(resultCache, "resultCache");
+    this.indexes = ImmutableMap.copyOf(Objects.requireNonNull(indexes, "indexes"));
   }
 
   @Override
@@ -45,10 +68,137 @@ class KsMaterializedTable implements MaterializedTable {
       final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
           .store(QueryableStoreTypes.timestampedKeyValueStore());
 
-      return Optional.ofNullable(store.get(key))
-          .map(v -> Row.of(stateStore.schema(), key, v.value(), v.timestamp()));
+      return get(store, key);
     } catch (final Exception e) {
       throw new MaterializationException("Failed to get value from materialized table", e);
     }
   }
+
+  @Override
+  public List<Row> get(
+      final List<Struct> keys
+  ) {
+    try {
+      final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
+          .store(QueryableStoreTypes.timestampedKeyValueStore());
+
+      final ImmutableList.Builder<Row> rows = ImmutableList.builder();
+      for (final Struct key : keys) {
+        get(store, key).ifPresent(rows::add);
+      }
+      return rows.build();
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to get values from materialized table", e);
+    }
+  }
+
+  private Optional<Row> get(
+      final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store,
+      final Struct key
+  ) {
+    final Supplier<Optional<Row>> loader = () -> Optional.ofNullable(store.get(key))
+        .map(v -> Row.of(stateStore.schema(), key, v.value(), v.timestamp()));
+
+    return resultCache
+        .map(cache -> cache.get(key, loader))
+        .orElseGet(loader);
+  }
+
+  @Override
+  public List<Row> get(
+      final int partition,
+      final Struct lower,
+      final Struct upper
+  ) {
+    try {
+      final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
+          .store(QueryableStoreTypes.timestampedKeyValueStore(), partition);
+
+      final List<Row> rows = new ArrayList<>();
+      try (KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> it = scan(store, lower, upper)) {
+        while (it.hasNext()) {
+          final KeyValue<Struct, ValueAndTimestamp<GenericRow>> next = it.next();
+          if (compareKeys(lower, next.key) <= 0 && compareKeys(next.key, upper) <= 0) {
+            rows.add(Row.of(
+                stateStore.schema(), next.key, next.value.value(), next.value.timestamp()));
+          }
+        }
+      }
+
+      rows.sort(KEY_ORDER);
+      return ImmutableList.copyOf(rows);
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to scan materialized table", e);
+    }
+  }
+
+  /**
+   * The rows returned are those the index held the value for at the time of the lookup. As the
+   * store holds the rows before any HAVING or SELECT is applied, it is left to the caller to
+   * check the value of the column.
+   */
+  @Override
+  public List<Row> getByIndex(final int partition, final ColumnName column, final Object value) {
+    final KsSecondaryIndex index = indexes.get(column);
+    if (index == null) {
+      throw new IllegalArgumentException("Column is not indexed: " + column);
+    }
+
+    try {
+      final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
+          .store(QueryableStoreTypes.timestampedKeyValueStore(), partition);
+
+      final ImmutableList.Builder<Row> rows = ImmutableList.builder();
+      for (final Struct key : index.keys(partition, value)) {
+        final ValueAndTimestamp<GenericRow> row = store.get(key);
+        if (row != null) {
+          rows.add(Row.of(stateStore.schema(), key, row.value(), row.timestamp()));
+        }
+      }
+      return rows.build();
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to look up index of materialized table", e);
+    }
+  }
+
+  /**
+   * The store orders keys by their serialized bytes, which only matches the logical order of the
+   * key for some types and values. Where it does not, the whole partition must be scanned.
+   */
+  private static KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> scan(
+      final ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> store,
+      final Struct lower,
+      final Struct upper
+  ) {
+    return serializedOrderMatchesLogical(keyValue(lower))
+        ? store.range(lower, upper)
+        : store.all();
+  }
+
+  private static boolean serializedOrderMatchesLogical(final Object lower) {
+    if (lower instanceof String) {
+      return true;
+    }
+
+    // Big-endian two's complement and IEEE 754 bytes only sort correctly when non-negative:
+    if (lower instanceof Integer || lower instanceof Long) {
+      return ((Number) lower).longValue() >= 0;
+    }
+
+    if (lower instanceof Double) {
+      return Double.compare((Double) lower, 0.0) >= 0;
+    }
+
+    return false;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int compareKeys(final Struct left, final Struct right) {
+    final Comparable<Object> l = (Comparable<Object>) keyValue(left);
+    return l.compareTo(keyValue(right));
+  }
+
+  private static Object keyValue(final Struct key) {
+    return key.get(Iterables.getOnlyElement(key.schema().fields()));
+  }
 }
@@ -21,15 +21,18 @@ import com.google.common.collect.Range;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
+import io.confluent.ksql.execution.streams.materialization.ScanLimitExceededException;
 import io.confluent.ksql.execution.streams.materialization.WindowedRow;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyWindowStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -52,23 +55,32 @@ class KsMaterializedWindowTable implements MaterializedWindowedTable {
   public List<WindowedRow> get(
       final Struct key,
       final Range<Instant> windowStartBounds
+  ) {
+    final Builder<WindowedRow> builder = ImmutableList.builder();
+
+    scan(key, windowStartBounds, row -> {
+      builder.add(row);
+      return true;
+    });
+
+    return builder.build();
+  }
+
+  @Override
+  public void scan(
+      final Struct key,
+      final Range<Instant> windowStartBounds,
+      final Predicate<WindowedRow> visitor
   ) {
     try {
       final ReadOnlyWindowStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
           .store(QueryableStoreTypes.timestampedWindowStore());
 
-      final Instant lower = windowStartBounds.hasLowerBound()
-          ? windowStartBounds.lowerEndpoint()
-          : Instant.ofEpochMilli(0);
-
-      final Instant upper = windowStartBounds.hasUpperBound()
-          ? windowStartBounds.upperEndpoint()
-          : Instant.ofEpochMilli(Long.MAX_VALUE);
+      final Instant lower = lower(windowStartBounds);
+      final Instant upper = upper(windowStartBounds);
 
       try (WindowStoreIterator<ValueAndTimestamp<GenericRow>> it = store.fetch(key, lower, upper)) {
 
-        final Builder<WindowedRow> builder = ImmutableList.builder();
-
         while (it.hasNext()) {
           final KeyValue<Long, ValueAndTimestamp<GenericRow>> next = it.next();
           final Instant windowStart = Instant.ofEpochMilli(next.key);
@@ -87,14 +99,72 @@ class KsMaterializedWindowTable implements MaterializedWindowedTable {
                 next.value.timestamp()
             );
 
-            builder.add(row);
+            if (!visitor.test(row)) {
+              return;
+            }
           }
         }
-
-        return builder.build();
       }
+    } catch (final ScanLimitExceededException e) {
+      throw e;
     } catch (final Exception e) {
       throw new MaterializationException("Failed to get value from materialized table", e);
     }
   }
+
+  @Override
+  public void scanAll(
+      final int partition,
+      final Range<Instant> windowStartBounds,
+      final Predicate<WindowedRow> visitor
+  ) {
+    try {
+      final ReadOnlyWindowStore<Struct, ValueAndTimestamp<GenericRow>> store = stateStore
+          .store(QueryableStoreTypes.timestampedWindowStore(), partition);
+
+      try (KeyValueIterator<Windowed<Struct>, ValueAndTimestamp<GenericRow>> it = store
+          .fetchAll(lower(windowStartBounds), upper(windowStartBounds))) {
+
+        while (it.hasNext()) {
+          final KeyValue<Windowed<Struct>, ValueAndTimestamp<GenericRow>> next = it.next();
+          final Instant windowStart = next.key.window().startTime();
+
+          if (windowStartBounds.contains(windowStart)) {
+
+            final Instant windowEnd = windowStart.plus(windowSize);
+
+            final TimeWindow window =
+                new TimeWindow(windowStart.toEpochMilli(), windowEnd.toEpochMilli());
+
+            final WindowedRow row = WindowedRow.of(
+                stateStore.schema(),
+                new Windowed<>(next.key.key(), window),
+                next.value.value(),
+                next.value.timestamp()
+            );
+
+            if (!visitor.test(row)) {
+              return;
+            }
+          }
+        }
+      }
+    } catch (final ScanLimitExceededException e) {
+      throw e;
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to scan materialized table", e);
+    }
+  }
+
+  private static Instant lower(final Range<Instant> windowStartBounds) {
+    return windowStartBounds.hasLowerBound()
+        ? windowStartBounds.lowerEndpoint()
+        : Instant.ofEpochMilli(0);
+  }
+
+  private static Instant upper(final Range<Instant> windowStartBounds) {
+    return windowStartBounds.hasUpperBound()
+        ? windowStartBounds.upperEndpoint()
+        : Instant.ofEpochMilli(Long.MAX_VALUE);
+  }
 }
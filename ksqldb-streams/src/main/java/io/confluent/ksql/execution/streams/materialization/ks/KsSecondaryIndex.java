@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.execution.streams.materialization.SecondaryIndex;
+import java.util.List;
+import java.util.Optional;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+
+/**
+ * Kafka Streams state store indexing a table on one of its value columns.
+ *
+ * @see SecondaryIndex
+ */
+class KsSecondaryIndex {
+
+  private final KsStateStore stateStore;
+  private final Deserializer<Struct> keyDeserializer;
+
+  KsSecondaryIndex(
+      final KsStateStore stateStore,
+      final Deserializer<Struct> keyDeserializer
+  ) {
+    this.stateStore = requireNonNull(stateStore, "stateStore");
+    this.keyDeserializer = requireNonNull(keyDeserializer, "keyDeserializer");
+  }
+
+  /**
+   * @param partition the partition to look up.
+   * @param value the non-null value of the indexed column.
+   * @return the keys of the rows indexed under the value.
+   */
+  List<Struct> keys(final int partition, final Object value) {
+    final ReadOnlyKeyValueStore<Bytes, byte[]> store = stateStore
+        .store(QueryableStoreTypes.keyValueStore(), partition);
+
+    final byte[] encoded = SecondaryIndex.encodeValue(value);
+
+    final ImmutableList.Builder<Struct> keys = ImmutableList.builder();
+    try (KeyValueIterator<Bytes, byte[]> it = store.range(
+        SecondaryIndex.lowerBound(encoded),
+        SecondaryIndex.upperBound(encoded)
+    )) {
+      while (it.hasNext()) {
+        final KeyValue<Bytes, byte[]> next = it.next();
+
+        // Range bounds are inclusive, so the upper bound itself may be returned:
+        final Optional<byte[]> primaryKey = SecondaryIndex.primaryKey(next.key, encoded);
+        if (primaryKey.isPresent()) {
+          keys.add(keyDeserializer.deserialize(stateStore.name(), primaryKey.get()));
+        }
+      }
+    }
+    return keys.build();
+  }
+}
@@ -50,21 +50,31 @@ class KsStateStore {
     this.ksqlConfig = requireNonNull(ksqlConfig, "ksqlConfig");
   }
 
+  String name() {
+    return stateStoreName;
+  }
+
   LogicalSchema schema() {
     return schema;
   }
 
   <T> T store(final QueryableStoreType<T> queryableStoreType) {
+    return store(StoreQueryParameters.fromNameAndType(stateStoreName, queryableStoreType));
+  }
+
+  <T> T store(final QueryableStoreType<T> queryableStoreType, final int partition) {
+    return store(StoreQueryParameters.fromNameAndType(stateStoreName, queryableStoreType)
+        .withPartition(partition));
+  }
+
+  private <T> T store(final StoreQueryParameters<T> parameters) {
     try {
       if (ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_ENABLE_STANDBY_READS)) {
         // True flag allows queries on standby and replica state stores
-        return kafkaStreams.store(
-            StoreQueryParameters.fromNameAndType(stateStoreName, queryableStoreType)
-                .enableStaleStores());
+        return kafkaStreams.store(parameters.enableStaleStores());
       } else {
         // False flag allows queries only on active state store
-        return kafkaStreams.store(
-            StoreQueryParameters.fromNameAndType(stateStoreName, queryableStoreType));
+        return kafkaStreams.store(parameters);
       }
     } catch (final Exception e) {
       final State state = kafkaStreams.state();
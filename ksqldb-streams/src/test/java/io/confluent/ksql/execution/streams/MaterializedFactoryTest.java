@@ -22,10 +22,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.ResultCaches;
 import java.time.Duration;
 import java.util.Optional;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.internals.MaterializedInternal;
 import org.apache.kafka.streams.processor.StateStore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -40,6 +44,10 @@ public class MaterializedFactoryTest {
   @Mock
   private Serde<String> keySerde;
   @Mock
+  private Serde<Struct> structKeySerde;
+  @Mock
+  private Serializer<Struct> structKeySerializer;
+  @Mock
   private Serde<GenericRow> rowSerde;
   @Mock
   private MaterializedFactory.Materializer materializer;
@@ -81,4 +89,44 @@ public class MaterializedFactoryTest {
     // Then:
     verify(retention).get();
   }
+
+  @Test
+  public void shouldKeepRecordCachingByDefault() {
+    // When:
+    final Materialized<String, GenericRow, StateStore> materialized =
+        MaterializedFactory.create().create(keySerde, rowSerde, OP_NAME);
+
+    // Then:
+    assertThat(new MaterializedInternal<>(materialized).cachingEnabled(), is(true));
+  }
+
+  @Test
+  public void shouldDisableRecordCachingForResultCachedStore() {
+    // Given:
+    final ResultCaches resultCaches = new ResultCaches(1024);
+    when(structKeySerde.serializer()).thenReturn(structKeySerializer);
+
+    // When:
+    final Materialized<Struct, GenericRow, StateStore> materialized =
+        MaterializedFactory.createCached(resultCaches).create(structKeySerde, rowSerde, OP_NAME);
+
+    // Then:
+    assertThat(new MaterializedInternal<>(materialized).cachingEnabled(), is(false));
+    assertThat(resultCaches.get(OP_NAME).isPresent(), is(true));
+  }
+
+  @Test
+  public void shouldNotResultCacheWindowedStores() {
+    // Given:
+    final ResultCaches resultCaches = new ResultCaches(1024);
+
+    // When:
+    final Materialized<String, GenericRow, StateStore> materialized = MaterializedFactory
+        .createCached(resultCaches)
+        .create(keySerde, rowSerde, OP_NAME, Optional.of(Duration.ofSeconds(10)));
+
+    // Then:
+    assertThat(new MaterializedInternal<>(materialized).cachingEnabled(), is(true));
+    assertThat(resultCaches.get(OP_NAME).isPresent(), is(false));
+  }
 }
@@ -30,17 +30,26 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryContext.Stacker;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
 import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.plan.SourceStep;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
 import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.plan.TableSource;
 import io.confluent.ksql.execution.plan.WindowedStreamSource;
@@ -383,6 +392,41 @@ public class SourceBuilderTest {
     verify(queryBuilder).buildValueSerde(valueFormatInfo, PHYSICAL_SCHEMA, ctx);
   }
 
+  @Test
+  public void shouldBuildSourceValueSerdeThatOnlyReadsSomeColumns() {
+    // Given:
+    givenUnwindowedSourceStream();
+    final ColumnName field1 = ColumnName.of("field1");
+    final ColumnName field2 = ColumnName.of("field2");
+    final StreamSelect<Struct> select = new StreamSelect<>(
+        new ExecutionStepPropertiesV1(ctx),
+        new StreamFilter<>(
+            new ExecutionStepPropertiesV1(ctx),
+            streamSource,
+            new ComparisonExpression(
+                Type.GREATER_THAN,
+                new UnqualifiedColumnReferenceExp(field2),
+                new LongLiteral(10)
+            )
+        ),
+        ImmutableList.of(
+            SelectExpression.of(field1, new UnqualifiedColumnReferenceExp(field1))
+        )
+    );
+
+    // When:
+    SourceBuilder.buildValueSerde(queryBuilder, SourceColumns.readBy(select).get());
+
+    // Then:
+    verify(queryBuilder).buildValueSerde(
+        valueFormatInfo,
+        PHYSICAL_SCHEMA,
+        ctx,
+        ImmutableSet.of(field1, field2),
+        ImmutableSet.of(field1)
+    );
+  }
+
   @Test
   public void shouldBuildSourceKeySerdeCorrectly() {
     // Given:
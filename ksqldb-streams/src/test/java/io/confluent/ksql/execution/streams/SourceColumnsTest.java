@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression.Type;
+import io.confluent.ksql.execution.expression.tree.DereferenceExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.QualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepPropertiesV1;
+import io.confluent.ksql.execution.plan.Formats;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamSelect;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.timestamp.TimestampColumn;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.SerdeOption;
+import java.util.Optional;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+public class SourceColumnsTest {
+
+  private static final ColumnName K = ColumnName.of("K");
+  private static final ColumnName A = ColumnName.of("A");
+  private static final ColumnName B = ColumnName.of("B");
+  private static final ColumnName C = ColumnName.of("C");
+  private static final ColumnName D = ColumnName.of("D");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(K, SqlTypes.STRING)
+      .valueColumn(A, SqlTypes.BIGINT)
+      .valueColumn(B, SqlTypes.struct().field("F", SqlTypes.STRING).build())
+      .valueColumn(C, SqlTypes.BIGINT)
+      .valueColumn(D, SqlTypes.STRING)
+      .build();
+
+  private static final ExecutionStepPropertiesV1 PROPERTIES =
+      new ExecutionStepPropertiesV1(new QueryContext.Stacker().getQueryContext());
+
+  private static final StreamSource SOURCE = source(Optional.empty());
+
+  @Test
+  public void shouldReturnColumnsReadByProjection() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        SOURCE,
+        ref(K),
+        new DereferenceExpression(Optional.empty(), ref(B), "F")
+    );
+
+    // When:
+    final Optional<SourceColumns> result = SourceColumns.readBy(select);
+
+    // Then:
+    assertThat(result.isPresent(), is(true));
+    assertThat(result.get().getSource(), is(sameInstance(SOURCE)));
+    assertThat(result.get().getColumns(), is(ImmutableSet.of(B)));
+  }
+
+  @Test
+  public void shouldIncludeColumnsReadByFilters() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        filter(filter(SOURCE, ref(A)), ref(C)),
+        ref(D)
+    );
+
+    // When:
+    final Optional<SourceColumns> result = SourceColumns.readBy(select);
+
+    // Then:
+    assertThat(result.map(SourceColumns::getColumns), is(Optional.of(ImmutableSet.of(A, C, D))));
+  }
+
+  @Test
+  public void shouldIncludeTimestampColumn() {
+    // Given:
+    final StreamSource source = source(Optional.of(new TimestampColumn(C, Optional.empty())));
+
+    // When:
+    final Optional<SourceColumns> result = SourceColumns.readBy(select(source, ref(A)));
+
+    // Then:
+    assertThat(result.map(SourceColumns::getColumns), is(Optional.of(ImmutableSet.of(A, C))));
+  }
+
+  @Test
+  public void shouldReturnEmptyIfProjectionDoesNotReadFromSource() {
+    // Given:
+    final StreamSelect<Struct> select = select(select(SOURCE, ref(A)), ref(A));
+
+    // When:
+    final Optional<SourceColumns> result = SourceColumns.readBy(select);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldReturnEmptyIfColumnReferenceIsQualified() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        SOURCE,
+        new QualifiedColumnReferenceExp(SourceName.of("S"), A)
+    );
+
+    // When:
+    final Optional<SourceColumns> result = SourceColumns.readBy(select);
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldHaveNoLazyColumnsIfNoFilter() {
+    // When:
+    final Optional<SourceColumns> result = SourceColumns.readBy(select(SOURCE, ref(A), ref(D)));
+
+    // Then:
+    assertThat(result.map(SourceColumns::getLazyColumns), is(Optional.of(ImmutableSet.of())));
+  }
+
+  @Test
+  public void shouldReturnColumnsNotReadByFilterOfSourceAsLazy() {
+    // Given:
+    final StreamSelect<Struct> select = select(
+        filter(filter(SOURCE, ref(A)), ref(C)),
+        ref(A),
+        ref(D)
+    );
+
+    // When:
+    final Optional<SourceColumns> result = SourceColumns.readBy(select);
+
+    // Then:
+    assertThat(result.map(SourceColumns::getLazyColumns), is(Optional.of(ImmutableSet.of(C, D))));
+  }
+
+  @Test
+  public void shouldNotReturnTimestampColumnAsLazy() {
+    // Given:
+    final StreamSource source = source(Optional.of(new TimestampColumn(C, Optional.empty())));
+
+    // When:
+    final Optional<SourceColumns> result = SourceColumns
+        .readBy(select(filter(source, ref(A)), ref(C), ref(D)));
+
+    // Then:
+    assertThat(result.map(SourceColumns::getLazyColumns), is(Optional.of(ImmutableSet.of(D))));
+  }
+
+  @Test
+  public void shouldReturnAllColumnsOfSource() {
+    // When:
+    final SourceColumns result = SourceColumns.all(SOURCE);
+
+    // Then:
+    assertThat(result.getColumns(), is(ImmutableSet.of(A, B, C, D)));
+    assertThat(result.getLazyColumns(), is(ImmutableSet.of()));
+    assertThat(result.isAll(), is(true));
+  }
+
+  @Test
+  public void shouldNotBeAllIfAnyColumnIsLazy() {
+    // When:
+    final Optional<SourceColumns> result = SourceColumns
+        .readBy(select(filter(SOURCE, ref(A)), ref(B), ref(C), ref(D)));
+
+    // Then:
+    assertThat(result.map(SourceColumns::isAll), is(Optional.of(false)));
+  }
+
+  @Test
+  public void shouldReturnAllValueColumns() {
+    assertThat(SourceColumns.valueColumns(SOURCE), is(ImmutableSet.of(A, B, C, D)));
+  }
+
+  private static StreamSource source(final Optional<TimestampColumn> timestampColumn) {
+    return new StreamSource(
+        PROPERTIES,
+        "topic",
+        Formats.of(FormatInfo.of("KAFKA"), FormatInfo.of("JSON"), SerdeOption.none()),
+        timestampColumn,
+        SCHEMA
+    );
+  }
+
+  private static StreamFilter<Struct> filter(
+      final ExecutionStep<KStreamHolder<Struct>> source,
+      final Expression column
+  ) {
+    return new StreamFilter<>(
+        PROPERTIES,
+        source,
+        new ComparisonExpression(Type.GREATER_THAN, column, new LongLiteral(10))
+    );
+  }
+
+  private static StreamSelect<Struct> select(
+      final ExecutionStep<KStreamHolder<Struct>> source,
+      final Expression... expressions
+  ) {
+    final ImmutableList.Builder<SelectExpression> selectExpressions = ImmutableList.builder();
+    for (int i = 0; i < expressions.length; i++) {
+      selectExpressions.add(SelectExpression.of(ColumnName.of("COL" + i), expressions[i]));
+    }
+    return new StreamSelect<>(PROPERTIES, source, selectExpressions.build());
+  }
+
+  private static UnqualifiedColumnReferenceExp ref(final ColumnName name) {
+    return new UnqualifiedColumnReferenceExp(name);
+  }
+}
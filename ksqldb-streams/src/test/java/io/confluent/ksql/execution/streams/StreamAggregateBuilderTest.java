@@ -47,6 +47,7 @@ import io.confluent.ksql.execution.plan.KeySerdeFactory;
 import io.confluent.ksql.execution.plan.PlanBuilder;
 import io.confluent.ksql.execution.plan.StreamAggregate;
 import io.confluent.ksql.execution.plan.StreamWindowedAggregate;
+import io.confluent.ksql.execution.streams.materialization.ResultCaches;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.execution.windows.HoppingWindowExpression;
@@ -334,6 +335,32 @@ public class StreamAggregateBuilderTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldKeepRecordCachingForAggregateNotBackingTableSink() {
+    // Given:
+    givenUnwindowedAggregate();
+    planBuilder = new KSPlanBuilder(
+        queryBuilder,
+        mock(SqlPredicateFactory.class),
+        aggregateParamsFactory,
+        new StreamsFactories(
+            mock(GroupedFactory.class),
+            mock(JoinedFactory.class),
+            materializedFactory,
+            mock(StreamJoinedFactory.class),
+            mock(ConsumedFactory.class)
+        ),
+        new ResultCaches(1024)
+    );
+
+    // When:
+    aggregate.build(planBuilder);
+
+    // Then:
+    verify(materializedFactory).create(same(keySerde), same(valueSerde), any());
+    verify(groupedStream).aggregate(initializer, aggregator, materialized);
+  }
+
   @Test
   public void shouldBuildUnwindowedAggregateWithCorrectSchema() {
     // Given:
@@ -23,6 +23,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -42,8 +43,10 @@ import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.kstream.internals.SessionWindow;
@@ -424,6 +427,79 @@ public class KsqlMaterializationTest {
     assertThat(result.get(2).windowedKey().window(), is(window3));
   }
 
+  @Test
+  public void shouldReturnOnlyIndexedRowsWithValueAfterTransforms() {
+    // Given:
+    final MaterializedTable table = materialization.nonWindowed();
+    final Struct otherKey = StructKeyUtil
+        .keyBuilder(ColumnName.of("k0"), SqlTypes.STRING).build("other");
+    when(innerNonWindowed.getByIndex(1, ColumnName.of("v0"), "x")).thenReturn(ImmutableList.of(
+        ROW,
+        Row.of(SCHEMA, otherKey, GenericRow.genericRow("x", "b"), A_ROWTIME)
+    ));
+    givenNoopFilter();
+    when(project.apply(any(), any(), any()))
+        .thenReturn(Optional.of(TRANSFORMED))
+        .thenReturn(Optional.of(A_VALUE));
+
+    // When:
+    final List<Row> result = table.getByIndex(1, ColumnName.of("v0"), "x");
+
+    // Then:
+    assertThat(result, hasSize(1));
+    assertThat(result.get(0).key(), is(A_KEY));
+    assertThat(result.get(0).value(), is(TRANSFORMED));
+  }
+
+  @Test
+  public void shouldNotVisitFilteredRowsOnScan() {
+    // Given:
+    final MaterializedWindowedTable table = materialization.windowed();
+    givenNoopProject();
+    when(filter.apply(any(), any(), any()))
+        .thenReturn(Optional.empty())
+        .thenAnswer(inv -> Optional.of(inv.getArgument(1)));
+    givenInnerScanOf(WINDOWED_ROW, WINDOWED_ROW);
+    final List<WindowedRow> visited = new ArrayList<>();
+
+    // When:
+    table.scan(A_KEY, WINDOW_START_BOUNDS, visited::add);
+
+    // Then:
+    assertThat(visited, hasSize(1));
+  }
+
+  @Test
+  public void shouldStopScanWhenVisitorReturnsFalse() {
+    // Given:
+    final MaterializedWindowedTable table = materialization.windowed();
+    givenNoopTransforms();
+    givenInnerScanOf(WINDOWED_ROW, WINDOWED_ROW);
+    final List<WindowedRow> visited = new ArrayList<>();
+
+    // When:
+    table.scan(A_KEY, WINDOW_START_BOUNDS, row -> {
+      visited.add(row);
+      return false;
+    });
+
+    // Then:
+    assertThat(visited, hasSize(1));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenInnerScanOf(final WindowedRow... rows) {
+    doAnswer(inv -> {
+      final Predicate<WindowedRow> visitor = inv.getArgument(2);
+      for (final WindowedRow row : rows) {
+        if (!visitor.test(row)) {
+          break;
+        }
+      }
+      return null;
+    }).when(innerWindowed).scan(any(), any(), any());
+  }
+
   private void givenNoopFilter() {
     when(filter.apply(any(), any(), any()))
         .thenAnswer(inv -> Optional.of(inv.getArgument(1)));
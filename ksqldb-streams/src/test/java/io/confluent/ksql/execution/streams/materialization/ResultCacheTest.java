@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.util.StructKeyUtil;
+import io.confluent.ksql.execution.util.StructKeyUtil.KeyBuilder;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.TimestampedBytesStore;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResultCacheTest {
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("K0"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
+      .build();
+
+  private static final KeyBuilder KEY_BUILDER = StructKeyUtil
+      .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING);
+
+  private static final Struct A_KEY = KEY_BUILDER.build("a");
+  private static final Bytes A_KEY_BYTES = Bytes.wrap(serialize(A_KEY));
+  private static final Struct B_KEY = KEY_BUILDER.build("b");
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private ResultCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new ResultCache("store", 1024 * 1024, (topic, key) -> serialize(key));
+  }
+
+  @Test
+  public void shouldLoadOnceUntilInvalidated() {
+    // When:
+    cache.get(A_KEY, () -> load(A_KEY, "v1"));
+    final Optional<Row> result = cache.get(A_KEY, () -> load(A_KEY, "v2"));
+
+    // Then:
+    assertThat(loads.get(), is(1));
+    assertThat(result, is(load(A_KEY, "v1")));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(1L));
+  }
+
+  @Test
+  public void shouldReloadInvalidatedKey() {
+    // Given:
+    cache.get(A_KEY, () -> load(A_KEY, "v1"));
+
+    // When:
+    cache.invalidate(A_KEY_BYTES);
+    final Optional<Row> result = cache.get(A_KEY, () -> load(A_KEY, "v2"));
+
+    // Then:
+    assertThat(result, is(load(A_KEY, "v2")));
+  }
+
+  @Test
+  public void shouldNotInvalidateOtherKeys() {
+    // Given:
+    cache.get(B_KEY, () -> load(B_KEY, "v1"));
+
+    // When:
+    cache.invalidate(A_KEY_BYTES);
+    cache.get(B_KEY, () -> load(B_KEY, "v2"));
+
+    // Then:
+    assertThat(cache.getHitCount(), is(1L));
+  }
+
+  @Test
+  public void shouldReloadAllKeysOnceAllInvalidated() {
+    // Given:
+    cache.get(A_KEY, () -> load(A_KEY, "v1"));
+
+    // When:
+    cache.invalidateAll();
+    final Optional<Row> result = cache.get(A_KEY, () -> load(A_KEY, "v2"));
+
+    // Then:
+    assertThat(result, is(load(A_KEY, "v2")));
+  }
+
+  @Test
+  public void shouldNotCacheLoadThatRacedWithWrite() {
+    // Given:
+    cache.get(A_KEY, () -> {
+      // Key written while the load is in progress:
+      cache.invalidate(A_KEY_BYTES);
+      return load(A_KEY, "v1");
+    });
+
+    // When:
+    final Optional<Row> result = cache.get(A_KEY, () -> load(A_KEY, "v2"));
+
+    // Then:
+    assertThat(result, is(load(A_KEY, "v2")));
+    assertThat(cache.getHitCount(), is(0L));
+  }
+
+  @Test
+  public void shouldCacheAbsentKeys() {
+    // Given:
+    cache.get(A_KEY, Optional::empty);
+
+    // When:
+    final Optional<Row> result = cache.get(A_KEY, () -> load(A_KEY, "v1"));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldEvictToBoundSize() {
+    // Given:
+    cache = new ResultCache("store", 1024, (topic, key) -> serialize(key));
+
+    // When:
+    for (int i = 0; i != 100; ++i) {
+      final Struct key = KEY_BUILDER.build("key" + i);
+      cache.get(key, () -> load(key, "some value"));
+    }
+
+    // Then:
+    assertThat(cache.getEvictionCount(), is(greaterThan(0L)));
+  }
+
+  @Test
+  public void shouldInvalidateOnStoreWrites() {
+    // Given:
+    final KeyValueStore<Bytes, byte[]> inner = timestampedStore();
+    final KeyValueStore<Bytes, byte[]> store = cache.wrap(supplier(inner)).get();
+
+    // When:
+    cache.get(A_KEY, () -> load(A_KEY, "v1"));
+    store.put(A_KEY_BYTES, new byte[]{1});
+    final Optional<Row> afterPut = cache.get(A_KEY, () -> load(A_KEY, "v2"));
+    store.delete(A_KEY_BYTES);
+    final Optional<Row> afterDelete = cache.get(A_KEY, Optional::empty);
+    store.putAll(ImmutableList.of(KeyValue.pair(A_KEY_BYTES, new byte[]{2})));
+    final Optional<Row> afterPutAll = cache.get(A_KEY, () -> load(A_KEY, "v3"));
+
+    // Then:
+    verify(inner).put(A_KEY_BYTES, new byte[]{1});
+    assertThat(afterPut, is(load(A_KEY, "v2")));
+    assertThat(afterDelete, is(Optional.empty()));
+    assertThat(afterPutAll, is(load(A_KEY, "v3")));
+  }
+
+  @Test
+  public void shouldInvalidateAllWhenStoreInitialized() {
+    // Given:
+    final KeyValueStore<Bytes, byte[]> store = cache.wrap(supplier(timestampedStore())).get();
+    cache.get(A_KEY, () -> load(A_KEY, "v1"));
+
+    // When:
+    store.init(null, store);
+
+    // Then:
+    assertThat(cache.get(A_KEY, () -> load(A_KEY, "v2")), is(load(A_KEY, "v2")));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldThrowIfWrappedStoreIsNotTimestamped() {
+    // Given:
+    final KeyValueBytesStoreSupplier supplier = supplier(mock(KeyValueStore.class));
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> cache.wrap(supplier).get()
+    );
+
+    // Then:
+    assertThat(e.getMessage().startsWith("Store is not timestamped"), is(true));
+  }
+
+  private Optional<Row> load(final Struct key, final String value) {
+    loads.incrementAndGet();
+    return Optional.of(Row.of(SCHEMA, key, GenericRow.genericRow(value), 1L));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KeyValueStore<Bytes, byte[]> timestampedStore() {
+    return mock(KeyValueStore.class, withSettings().extraInterfaces(TimestampedBytesStore.class));
+  }
+
+  private static KeyValueBytesStoreSupplier supplier(final KeyValueStore<Bytes, byte[]> store) {
+    final KeyValueBytesStoreSupplier supplier = mock(KeyValueBytesStoreSupplier.class);
+    when(supplier.get()).thenReturn(store);
+    return supplier;
+  }
+
+  private static byte[] serialize(final Struct key) {
+    return key.getString("K0").getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Optional;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.Test;
+
+public class SecondaryIndexTest {
+
+  private static final byte[] PRIMARY_KEY = {7, 8, 9};
+
+  @Test
+  public void shouldSupportPrimitiveTypes() {
+    assertThat(SecondaryIndex.supports(SqlTypes.STRING), is(true));
+    assertThat(SecondaryIndex.supports(SqlTypes.BIGINT), is(true));
+    assertThat(SecondaryIndex.supports(SqlTypes.decimal(4, 2)), is(false));
+    assertThat(SecondaryIndex.supports(SqlTypes.array(SqlTypes.STRING)), is(false));
+  }
+
+  @Test
+  public void shouldExtractPrimaryKeyOfIndexEntry() {
+    // Given:
+    final byte[] value = SecondaryIndex.encodeValue("a");
+    final Bytes key = SecondaryIndex.indexKey(value, PRIMARY_KEY);
+
+    // When:
+    final Optional<byte[]> result = SecondaryIndex.primaryKey(key, value);
+
+    // Then:
+    assertThat(result.map(Bytes::wrap), is(Optional.of(Bytes.wrap(PRIMARY_KEY))));
+  }
+
+  @Test
+  public void shouldNotExtractPrimaryKeyOfEntryForOtherValue() {
+    // Given:
+    final Bytes key = SecondaryIndex.indexKey(SecondaryIndex.encodeValue("ab"), PRIMARY_KEY);
+
+    // When:
+    final Optional<byte[]> result = SecondaryIndex.primaryKey(key, SecondaryIndex.encodeValue("a"));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldBoundIndexEntriesOfValue() {
+    // Given:
+    final byte[] value = SecondaryIndex.encodeValue(10L);
+    final Bytes key = SecondaryIndex.indexKey(value, PRIMARY_KEY);
+
+    // Then:
+    assertThat(SecondaryIndex.lowerBound(value).compareTo(key), is(lessThan(0)));
+    assertThat(SecondaryIndex.upperBound(value).compareTo(key), is(greaterThan(0)));
+  }
+
+  @Test
+  public void shouldNotBoundIndexEntriesOfOtherValues() {
+    // Given:
+    final byte[] value = SecondaryIndex.encodeValue("a");
+    final Bytes longer = SecondaryIndex.indexKey(SecondaryIndex.encodeValue("ab"), PRIMARY_KEY);
+    final Bytes reverse = SecondaryIndex.reverseKey(PRIMARY_KEY);
+
+    // Then:
+    assertThat(SecondaryIndex.upperBound(value).compareTo(longer), is(lessThan(0)));
+    assertThat(SecondaryIndex.upperBound(value).compareTo(reverse), is(lessThan(0)));
+  }
+}
@@ -16,12 +16,15 @@
 package io.confluent.ksql.execution.streams.materialization.ks;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
@@ -33,6 +36,7 @@ import io.confluent.ksql.execution.streams.RoutingFilter.RoutingFilterFactory;
 import io.confluent.ksql.execution.streams.RoutingFilters;
 import io.confluent.ksql.execution.streams.RoutingOptions;
 import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlPartitionLocation;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.util.HostStatus;
 import io.confluent.ksql.util.KsqlHostInfo;
@@ -40,13 +44,17 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.processor.StreamPartitioner;
 import org.apache.kafka.streams.state.HostInfo;
 import org.junit.Before;
 import org.junit.Test;
@@ -334,6 +342,102 @@ public class KsLocatorTest {
     assertThat(result.stream().findFirst().get(), is(standByNode2));
   }
 
+  @Test
+  public void shouldOrderHostsByPreference() {
+    // Given:
+    getActiveAndStandbyMetadata();
+    final List<KsqlHostInfo> preferred = ImmutableList.of(standByHost2, activeHost, standByHost1);
+    final RoutingFilters orderedFilters = new RoutingFilters(
+        ImmutableList.of(livenessFilter),
+        Optional.of(Comparator.comparingInt(preferred::indexOf)));
+
+    // When:
+    final List<KsqlNode> result = locator.locate(SOME_KEY, routingOptions,
+        (routingOptions, hosts, active, applicationQueryId, storeName, partition)
+            -> orderedFilters);
+
+    // Then:
+    assertThat(result, contains(standByNode2, activeNode, standByNode1));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldGroupKeysByPartition() {
+    // Given:
+    final Struct key0 = new Struct(SchemaBuilder.struct().field("k", Schema.INT32_SCHEMA).build())
+        .put("k", 0);
+    final Struct key1 = new Struct(key0.schema()).put("k", 1);
+    final Struct key2 = new Struct(key0.schema()).put("k", 2);
+    final KeyQueryMetadata otherMetadata = mock(KeyQueryMetadata.class);
+    getActiveAndStandbyMetadata();
+    when(keyQueryMetadata.getPartition()).thenReturn(0);
+    when(otherMetadata.getPartition()).thenReturn(1);
+    when(otherMetadata.getActiveHost()).thenReturn(activeHostInfo);
+    when(otherMetadata.getStandbyHosts()).thenReturn(Collections.emptySet());
+    when(kafkaStreams.queryMetadataForKey(any(), eq(key1), any(Serializer.class)))
+        .thenReturn(otherMetadata);
+
+    // When:
+    final List<KsqlPartitionLocation> result = locator.locate(
+        ImmutableList.of(key0, key1, key2), routingOptions, routingFilterFactoryActive);
+
+    // Then:
+    assertThat(result.size(), is(2));
+    assertThat(result.get(0).partition(), is(0));
+    assertThat(result.get(0).keys(), contains(key0, key2));
+    assertThat(result.get(0).nodes(), contains(activeNode));
+    assertThat(result.get(1).partition(), is(1));
+    assertThat(result.get(1).keys(), contains(key1));
+    assertThat(result.get(1).nodes(), contains(activeNode));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldLocateEveryPartitionForRange() {
+    // Given:
+    when(keyQueryMetadata.getActiveHost()).thenReturn(activeHostInfo);
+    when(keyQueryMetadata.getStandbyHosts()).thenReturn(Collections.emptySet());
+    when(kafkaStreams.queryMetadataForKey(any(), any(), any(StreamPartitioner.class)))
+        .thenAnswer(inv -> {
+          final StreamPartitioner<Struct, Object> partitioner = inv.getArgument(2);
+          partitioner.partition("topic", SOME_KEY, null, 3);
+          return keyQueryMetadata;
+        });
+
+    // When:
+    final List<KsqlPartitionLocation> result = locator.locateRange(
+        SOME_KEY, SOME_KEY, routingOptions, routingFilterFactoryActive);
+
+    // Then:
+    assertThat(result.stream().map(KsqlPartitionLocation::partition).collect(Collectors.toList()),
+        contains(0, 1, 2));
+    assertThat(result.get(2).keys(), is(empty()));
+    assertThat(result.get(2).nodes(), contains(activeNode));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldLocateEveryPartition() {
+    // Given:
+    when(keyQueryMetadata.getActiveHost()).thenReturn(activeHostInfo);
+    when(keyQueryMetadata.getStandbyHosts()).thenReturn(Collections.emptySet());
+    when(kafkaStreams.queryMetadataForKey(any(), any(), any(StreamPartitioner.class)))
+        .thenAnswer(inv -> {
+          final StreamPartitioner<Object, Object> partitioner = inv.getArgument(2);
+          partitioner.partition("topic", inv.getArgument(1), null, 2);
+          return keyQueryMetadata;
+        });
+
+    // When:
+    final List<KsqlPartitionLocation> result = locator.locateAll(
+        routingOptions, routingFilterFactoryActive);
+
+    // Then:
+    assertThat(result.stream().map(KsqlPartitionLocation::partition).collect(Collectors.toList()),
+        contains(0, 1));
+    assertThat(result.get(1).nodes(), contains(activeNode));
+  }
+
   @SuppressWarnings("unchecked")
   private void getEmtpyMetadata() {
     when(kafkaStreams.queryMetadataForKey(any(), any(), any(Serializer.class)))
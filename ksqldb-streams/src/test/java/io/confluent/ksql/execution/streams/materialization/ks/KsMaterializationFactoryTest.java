@@ -18,11 +18,17 @@ package io.confluent.ksql.execution.streams.materialization.ks;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterializationFactory.LocatorFactory;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterializationFactory.MaterializationFactory;
 import io.confluent.ksql.execution.streams.materialization.ks.KsMaterializationFactory.StateStoreFactory;
@@ -37,6 +43,8 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KafkaStreams;
@@ -62,7 +70,11 @@ public class KsMaterializationFactoryTest {
   @Mock
   private KafkaStreams kafkaStreams;
   @Mock
+  private Serde<Struct> keySerde;
+  @Mock
   private Serializer<Struct> keySerializer;
+  @Mock
+  private Deserializer<Struct> keyDeserializer;
 
   @Mock
   private LocatorFactory locatorFactory;
@@ -91,7 +103,9 @@ public class KsMaterializationFactoryTest {
 
     when(locatorFactory.create(any(), any(), any(), any(), any())).thenReturn(locator);
     when(storeFactory.create(any(), any(), any(), any())).thenReturn(stateStore);
-    when(materializationFactory.create(any(), any(), any())).thenReturn(materialization);
+    when(materializationFactory.create(any(), any(), any(), any(), any()))
+        .thenReturn(materialization);
+    when(keySerde.serializer()).thenReturn(keySerializer);
 
     streamsProperties.clear();
     streamsProperties.put(StreamsConfig.APPLICATION_SERVER_CONFIG, DEFAULT_APP_SERVER.toString());
@@ -113,8 +127,8 @@ public class KsMaterializationFactoryTest {
 
     // When:
     final Optional<KsMaterialization> result = factory
-        .create(STORE_NAME, kafkaStreams, SCHEMA, keySerializer, Optional.empty(), streamsProperties,
-            ksqlConfig, APPLICATION_ID);
+        .create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, Optional.empty(), streamsProperties,
+            ksqlConfig, APPLICATION_ID, Optional.empty(), ImmutableMap.of());
 
     // Then:
     assertThat(result, is(Optional.empty()));
@@ -123,8 +137,8 @@ public class KsMaterializationFactoryTest {
   @Test
   public void shouldBuildLocatorWithCorrectParams() {
     // When:
-    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerializer, Optional.empty(), streamsProperties,
-        ksqlConfig, APPLICATION_ID);
+    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, Optional.empty(), streamsProperties,
+        ksqlConfig, APPLICATION_ID, Optional.empty(), ImmutableMap.of());
 
     // Then:
     verify(locatorFactory).create(
@@ -139,8 +153,8 @@ public class KsMaterializationFactoryTest {
   @Test
   public void shouldBuildStateStoreWithCorrectParams() {
     // When:
-    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerializer, Optional.empty(), streamsProperties,
-        ksqlConfig, APPLICATION_ID);
+    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, Optional.empty(), streamsProperties,
+        ksqlConfig, APPLICATION_ID, Optional.empty(), ImmutableMap.of());
 
     // Then:
     verify(storeFactory).create(
@@ -158,14 +172,80 @@ public class KsMaterializationFactoryTest {
         Optional.of(WindowInfo.of(WindowType.SESSION, Optional.empty()));
 
     // When:
-    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerializer, windowInfo, streamsProperties,
-        ksqlConfig, APPLICATION_ID);
+    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, windowInfo, streamsProperties,
+        ksqlConfig, APPLICATION_ID, Optional.empty(), ImmutableMap.of());
 
     // Then:
     verify(materializationFactory).create(
         windowInfo,
         locator,
-        stateStore
+        stateStore,
+        Optional.empty(),
+        ImmutableMap.of()
+    );
+  }
+
+  @Test
+  public void shouldBuildMaterializationWithResultCache() {
+    // Given:
+    final ResultCache resultCache = new ResultCache(STORE_NAME, 1024, keySerializer);
+
+    // When:
+    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, Optional.empty(),
+        streamsProperties, ksqlConfig, APPLICATION_ID, Optional.of(resultCache),
+        ImmutableMap.of());
+
+    // Then:
+    verify(materializationFactory).create(
+        Optional.empty(),
+        locator,
+        stateStore,
+        Optional.of(resultCache),
+        ImmutableMap.of()
+    );
+  }
+
+  @Test
+  public void shouldNotUseResultCacheIfStandbyReadsEnabled() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_ENABLE_STANDBY_READS)).thenReturn(true);
+    final ResultCache resultCache = new ResultCache(STORE_NAME, 1024, keySerializer);
+
+    // When:
+    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, Optional.empty(),
+        streamsProperties, ksqlConfig, APPLICATION_ID, Optional.of(resultCache),
+        ImmutableMap.of());
+
+    // Then:
+    verify(materializationFactory).create(
+        Optional.empty(),
+        locator,
+        stateStore,
+        Optional.empty(),
+        ImmutableMap.of()
+    );
+  }
+
+  @Test
+  public void shouldBuildMaterializationWithIndexes() {
+    // Given:
+    final KsStateStore indexStore = mock(KsStateStore.class);
+    when(storeFactory.create(eq("indexStore"), any(), any(), any())).thenReturn(indexStore);
+    when(keySerde.deserializer()).thenReturn(keyDeserializer);
+
+    // When:
+    factory.create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, Optional.empty(),
+        streamsProperties, ksqlConfig, APPLICATION_ID, Optional.empty(),
+        ImmutableMap.of(ColumnName.of("v0"), "indexStore"));
+
+    // Then:
+    verify(storeFactory).create("indexStore", kafkaStreams, SCHEMA, ksqlConfig);
+    verify(materializationFactory).create(
+        eq(Optional.empty()),
+        eq(locator),
+        eq(stateStore),
+        eq(Optional.empty()),
+        argThat(indexes -> indexes.keySet().equals(ImmutableSet.of(ColumnName.of("v0"))))
     );
   }
 
@@ -173,8 +253,8 @@ public class KsMaterializationFactoryTest {
   public void shouldReturnMaterialization() {
     // When:
     final Optional<KsMaterialization> result = factory
-        .create(STORE_NAME, kafkaStreams, SCHEMA, keySerializer, Optional.empty(), streamsProperties,
-            ksqlConfig, APPLICATION_ID);
+        .create(STORE_NAME, kafkaStreams, SCHEMA, keySerde, Optional.empty(), streamsProperties,
+            ksqlConfig, APPLICATION_ID, Optional.empty(), ImmutableMap.of());
 
     // Then:
     assertThat(result,  is(Optional.of(materialization)));
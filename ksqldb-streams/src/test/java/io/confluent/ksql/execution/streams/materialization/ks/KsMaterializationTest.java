@@ -16,16 +16,19 @@
 package io.confluent.ksql.execution.streams.materialization.ks;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
 import io.confluent.ksql.execution.streams.materialization.Locator;
 import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
 import io.confluent.ksql.execution.streams.materialization.MaterializedWindowedTable;
 import io.confluent.ksql.model.WindowType;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.serde.WindowInfo;
 import java.time.Duration;
 import java.util.Optional;
@@ -42,6 +45,8 @@ public class KsMaterializationTest {
   private Locator locator;
   @Mock
   private KsStateStore stateStore;
+  @Mock
+  private KsSecondaryIndex index;
   private KsMaterialization materialization;
 
   @Before
@@ -62,6 +67,11 @@ public class KsMaterializationTest {
     assertThat(materialization.locator(), is(sameInstance(locator)));
   }
 
+  @Test
+  public void shouldReturnIndexedColumns() {
+    assertThat(materialization.indexedColumns(), contains(ColumnName.of("v0")));
+  }
+
   @Test
   public void shouldReturnWindowType() {
     // Given:
@@ -144,6 +154,12 @@ public class KsMaterializationTest {
             : Optional.empty())
         );
 
-    materialization = new KsMaterialization(windowInfo, locator, stateStore);
+    materialization = new KsMaterialization(
+        windowInfo,
+        locator,
+        stateStore,
+        Optional.empty(),
+        ImmutableMap.of(ColumnName.of("v0"), index)
+    );
   }
 }
\ No newline at end of file
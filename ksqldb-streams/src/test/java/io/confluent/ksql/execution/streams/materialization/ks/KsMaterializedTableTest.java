@@ -16,26 +16,41 @@
 package io.confluent.ksql.execution.streams.materialization.ks;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializationTimeOutException;
+import io.confluent.ksql.execution.streams.materialization.ResultCache;
 import io.confluent.ksql.execution.streams.materialization.Row;
 import io.confluent.ksql.execution.util.StructKeyUtil;
+import io.confluent.ksql.execution.util.StructKeyUtil.KeyBuilder;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
+import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreType;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -55,13 +70,21 @@ public class KsMaterializedTableTest {
       .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
       .build();
 
-  private static final Struct A_KEY = StructKeyUtil
-      .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("x");
+  private static final KeyBuilder KEY_BUILDER = StructKeyUtil
+      .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING);
+
+  private static final Struct A_KEY = KEY_BUILDER.build("x");
+  private static final Struct B_KEY = KEY_BUILDER.build("y");
+  private static final Struct C_KEY = KEY_BUILDER.build("z");
 
   @Mock
   private KsStateStore stateStore;
   @Mock
   private ReadOnlyKeyValueStore<Struct, ValueAndTimestamp<GenericRow>> tableStore;
+  @Mock
+  private KeyValueIterator<Struct, ValueAndTimestamp<GenericRow>> tableIterator;
+  @Mock
+  private KsSecondaryIndex index;
   @Captor
   private ArgumentCaptor<QueryableStoreType<?>> storeTypeCaptor;
 
@@ -69,7 +92,11 @@ public class KsMaterializedTableTest {
 
   @Before
   public void setUp() {
-    table = new KsMaterializedTable(stateStore);
+    table = new KsMaterializedTable(
+        stateStore,
+        Optional.empty(),
+        ImmutableMap.of(ColumnName.of("v0"), index)
+    );
 
     when(stateStore.store(any())).thenReturn(tableStore);
     when(stateStore.schema()).thenReturn(SCHEMA);
@@ -158,4 +185,160 @@ public class KsMaterializedTableTest {
     // Then:
     assertThat(result, is(Optional.of(Row.of(SCHEMA, A_KEY, value, rowTime))));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldReturnValuesForPresentKeysOnly() {
+    // Given:
+    final GenericRow value0 = GenericRow.genericRow("col0");
+    final GenericRow value1 = GenericRow.genericRow("col1");
+    when(tableStore.get(A_KEY)).thenReturn(ValueAndTimestamp.make(value0, 1L));
+    when(tableStore.get(C_KEY)).thenReturn(ValueAndTimestamp.make(value1, 2L));
+
+    // When:
+    final List<Row> result = table.get(ImmutableList.of(A_KEY, B_KEY, C_KEY));
+
+    // Then:
+    assertThat(result, contains(
+        Row.of(SCHEMA, A_KEY, value0, 1L),
+        Row.of(SCHEMA, C_KEY, value1, 2L)
+    ));
+    verify(stateStore).store(any());
+  }
+
+  @Test
+  public void shouldServeRepeatedGetsFromResultCache() {
+    // Given:
+    final GenericRow value = GenericRow.genericRow("col0");
+    when(tableStore.get(A_KEY)).thenReturn(ValueAndTimestamp.make(value, 1L));
+    table = new KsMaterializedTable(stateStore, Optional.of(resultCache()), ImmutableMap.of());
+
+    // When:
+    table.get(A_KEY);
+    final Optional<Row> result = table.get(A_KEY);
+
+    // Then:
+    assertThat(result, is(Optional.of(Row.of(SCHEMA, A_KEY, value, 1L))));
+    verify(tableStore, times(1)).get(A_KEY);
+  }
+
+  @Test
+  public void shouldReloadFromStoreOnceResultCacheInvalidated() {
+    // Given:
+    final GenericRow value0 = GenericRow.genericRow("col0");
+    final GenericRow value1 = GenericRow.genericRow("col1");
+    when(tableStore.get(A_KEY))
+        .thenReturn(ValueAndTimestamp.make(value0, 1L))
+        .thenReturn(ValueAndTimestamp.make(value1, 2L));
+    final ResultCache cache = resultCache();
+    table = new KsMaterializedTable(stateStore, Optional.of(cache), ImmutableMap.of());
+    table.get(A_KEY);
+
+    // When:
+    cache.invalidate(Bytes.wrap(serializeKey(A_KEY)));
+    final Optional<Row> result = table.get(A_KEY);
+
+    // Then:
+    assertThat(result, is(Optional.of(Row.of(SCHEMA, A_KEY, value1, 2L))));
+  }
+
+  @Test
+  public void shouldCacheAbsentKeys() {
+    // Given:
+    table = new KsMaterializedTable(stateStore, Optional.of(resultCache()), ImmutableMap.of());
+
+    // When:
+    table.get(ImmutableList.of(A_KEY));
+    final List<Row> result = table.get(ImmutableList.of(A_KEY));
+
+    // Then:
+    assertThat(result, is(empty()));
+    verify(tableStore, times(1)).get(A_KEY);
+  }
+
+  @Test
+  public void shouldScanRangeOfPartitionInKeyOrder() {
+    // Given:
+    final GenericRow value0 = GenericRow.genericRow("col0");
+    final GenericRow value1 = GenericRow.genericRow("col1");
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.range(any(), any())).thenReturn(tableIterator);
+    when(tableIterator.hasNext()).thenReturn(true, true, false);
+    when(tableIterator.next())
+        .thenReturn(KeyValue.pair(C_KEY, ValueAndTimestamp.make(value1, 2L)))
+        .thenReturn(KeyValue.pair(B_KEY, ValueAndTimestamp.make(value0, 1L)));
+
+    // When:
+    final List<Row> result = table.get(3, A_KEY, C_KEY);
+
+    // Then:
+    verify(stateStore).store(any(), eq(3));
+    verify(tableStore).range(A_KEY, C_KEY);
+    verify(tableIterator).close();
+    assertThat(result, contains(
+        Row.of(SCHEMA, B_KEY, value0, 1L),
+        Row.of(SCHEMA, C_KEY, value1, 2L)
+    ));
+  }
+
+  @Test
+  public void shouldScanWholePartitionIfSerializedKeyOrderDoesNotMatch() {
+    // Given:
+    final KeyBuilder intKeyBuilder = StructKeyUtil
+        .keyBuilder(ColumnName.of("K0"), SqlTypes.INTEGER);
+    final Struct lower = intKeyBuilder.build(-10);
+    final Struct upper = intKeyBuilder.build(10);
+    final GenericRow value = GenericRow.genericRow("col0");
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.all()).thenReturn(tableIterator);
+    when(tableIterator.hasNext()).thenReturn(true, true, true, false);
+    when(tableIterator.next())
+        .thenReturn(KeyValue.pair(intKeyBuilder.build(11), ValueAndTimestamp.make(value, 1L)))
+        .thenReturn(KeyValue.pair(intKeyBuilder.build(-1), ValueAndTimestamp.make(value, 2L)))
+        .thenReturn(KeyValue.pair(intKeyBuilder.build(-11), ValueAndTimestamp.make(value, 3L)));
+
+    // When:
+    final List<Row> result = table.get(0, lower, upper);
+
+    // Then:
+    verify(tableStore, never()).range(any(), any());
+    assertThat(result, contains(
+        Row.of(SCHEMA, intKeyBuilder.build(-1), value, 2L)
+    ));
+  }
+
+  @Test
+  public void shouldGetRowsByIndex() {
+    // Given:
+    final GenericRow value = GenericRow.genericRow("col0");
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(index.keys(2, "col0")).thenReturn(ImmutableList.of(A_KEY, B_KEY));
+    when(tableStore.get(A_KEY)).thenReturn(ValueAndTimestamp.make(value, 1L));
+
+    // When:
+    final List<Row> result = table.getByIndex(2, ColumnName.of("v0"), "col0");
+
+    // Then:
+    verify(stateStore).store(any(), eq(2));
+    assertThat(result, contains(Row.of(SCHEMA, A_KEY, value, 1L)));
+  }
+
+  @Test
+  public void shouldThrowIfColumnNotIndexed() {
+    // When:
+    final Exception e = assertThrows(
+        IllegalArgumentException.class,
+        () -> table.getByIndex(0, ColumnName.of("other"), "col0")
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Column is not indexed: `other`"));
+  }
+
+  private static ResultCache resultCache() {
+    return new ResultCache("store", 1024 * 1024, (topic, key) -> serializeKey(key));
+  }
+
+  private static byte[] serializeKey(final Struct key) {
+    return key.getString("K0").getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -21,8 +21,12 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +36,7 @@ import com.google.common.testing.NullPointerTester.Visibility;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializationTimeOutException;
+import io.confluent.ksql.execution.streams.materialization.ScanLimitExceededException;
 import io.confluent.ksql.execution.streams.materialization.WindowedRow;
 import io.confluent.ksql.execution.util.StructKeyUtil;
 import io.confluent.ksql.name.ColumnName;
@@ -39,11 +44,13 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreType;
 import org.apache.kafka.streams.state.ReadOnlyWindowStore;
 import org.apache.kafka.streams.state.ValueAndTimestamp;
@@ -87,6 +94,8 @@ public class KsMaterializedWindowTableTest {
   private ReadOnlyWindowStore<Struct, ValueAndTimestamp<GenericRow>> tableStore;
   @Mock
   private WindowStoreIterator<ValueAndTimestamp<GenericRow>> fetchIterator;
+  @Mock
+  private KeyValueIterator<Windowed<Struct>, ValueAndTimestamp<GenericRow>> fetchAllIterator;
   @Captor
   private ArgumentCaptor<QueryableStoreType<?>> storeTypeCaptor;
 
@@ -306,6 +315,122 @@ public class KsMaterializedWindowTableTest {
     ));
   }
 
+  @Test
+  public void shouldStopReadingStoreWhenVisitorStopsScan() {
+    // Given:
+    when(fetchIterator.hasNext()).thenReturn(true);
+
+    final Instant start = WINDOW_START_BOUNDS.lowerEndpoint();
+
+    when(fetchIterator.next())
+        .thenReturn(new KeyValue<>(start.toEpochMilli(), VALUE_1))
+        .thenReturn(new KeyValue<>(start.plusMillis(1).toEpochMilli(), VALUE_2))
+        .thenThrow(new AssertionError());
+
+    final List<WindowedRow> visited = new ArrayList<>();
+
+    // When:
+    table.scan(A_KEY, WINDOW_START_BOUNDS, row -> {
+      visited.add(row);
+      return visited.size() < 2;
+    });
+
+    // Then:
+    assertThat(visited, contains(
+        WindowedRow.of(
+            SCHEMA,
+            windowedKey(start),
+            VALUE_1.value(),
+            VALUE_1.timestamp()
+        ),
+        WindowedRow.of(
+            SCHEMA,
+            windowedKey(start.plusMillis(1)),
+            VALUE_2.value(),
+            VALUE_2.timestamp()
+        )
+    ));
+    verify(fetchIterator, times(2)).next();
+    verify(fetchIterator).close();
+  }
+
+  @Test
+  public void shouldScanAllKeysOfPartitionWithinBounds() {
+    // Given:
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.fetchAll(any(Instant.class), any(Instant.class)))
+        .thenReturn(fetchAllIterator);
+
+    final Struct otherKey = StructKeyUtil
+        .keyBuilder(ColumnName.of("K0"), SqlTypes.STRING).build("y");
+    final Instant start = WINDOW_START_BOUNDS.lowerEndpoint();
+
+    when(fetchAllIterator.hasNext())
+        .thenReturn(true)
+        .thenReturn(true)
+        .thenReturn(true)
+        .thenReturn(false);
+
+    when(fetchAllIterator.next())
+        .thenReturn(new KeyValue<>(windowedKey(start), VALUE_1))
+        .thenReturn(new KeyValue<>(windowedKey(start.minusMillis(1)), VALUE_2))
+        .thenReturn(new KeyValue<>(
+            new Windowed<>(otherKey, windowedKey(start).window()), VALUE_3))
+        .thenThrow(new AssertionError());
+
+    final List<WindowedRow> visited = new ArrayList<>();
+
+    // When:
+    table.scanAll(3, WINDOW_START_BOUNDS, visited::add);
+
+    // Then:
+    verify(stateStore).store(any(), eq(3));
+    verify(tableStore).fetchAll(
+        WINDOW_START_BOUNDS.lowerEndpoint(),
+        WINDOW_START_BOUNDS.upperEndpoint()
+    );
+    assertThat(visited, contains(
+        WindowedRow.of(
+            SCHEMA,
+            windowedKey(start),
+            VALUE_1.value(),
+            VALUE_1.timestamp()
+        ),
+        WindowedRow.of(
+            SCHEMA,
+            new Windowed<>(otherKey, windowedKey(start).window()),
+            VALUE_3.value(),
+            VALUE_3.timestamp()
+        )
+    ));
+    verify(fetchAllIterator).close();
+  }
+
+  @Test
+  public void shouldNotWrapScanLimitExceptionThrownByVisitor() {
+    // Given:
+    when(stateStore.store(any(), anyInt())).thenReturn(tableStore);
+    when(tableStore.fetchAll(any(Instant.class), any(Instant.class)))
+        .thenReturn(fetchAllIterator);
+    when(fetchAllIterator.hasNext()).thenReturn(true);
+    when(fetchAllIterator.next())
+        .thenReturn(new KeyValue<>(windowedKey(WINDOW_START_BOUNDS.lowerEndpoint()), VALUE_1));
+
+    final ScanLimitExceededException limitExceeded = new ScanLimitExceededException("Too many");
+
+    // When:
+    final Exception e = assertThrows(
+        ScanLimitExceededException.class,
+        () -> table.scanAll(3, WINDOW_START_BOUNDS, row -> {
+          throw limitExceeded;
+        })
+    );
+
+    // Then:
+    assertThat(e, is(sameInstance(limitExceeded)));
+    verify(fetchAllIterator).close();
+  }
+
   @Test
   public void shouldSupportRangeAll() {
     // When: